@@ -1366,6 +1366,16 @@ TEST(DBTest, CompactedDB) {
   ASSERT_EQ(DummyString(kFileSize / 2, '1'), Get("aaa"));
   Close();
   Reopen(options);
+  // Unflushed entries in the log, fallback to read-only DB
+  ASSERT_OK(Put("new", "value"));
+  Close();
+  ASSERT_OK(ReadOnlyReopen(options));
+  s = Put("new", "value");
+  ASSERT_EQ(s.ToString(),
+            "Not implemented: Not supported operation in read only mode.");
+  ASSERT_EQ("value", Get("new"));
+  Close();
+  Reopen(options);
   // Add more L0 files
   ASSERT_OK(Put("bbb", DummyString(kFileSize / 2, '2')));
   Flush();
@@ -1759,6 +1769,33 @@ TEST(DBTest, KeyMayExist) {
       ChangeOptions(kSkipPlainTable | kSkipHashIndex | kSkipFIFOCompaction));
 }
 
+TEST(DBTest, NonBlockingGet) {
+  do {
+    ReadOptions non_blocking_opts;
+    non_blocking_opts.read_tier = kBlockCacheTier;
+    CreateAndReopenWithCF({"pikachu"}, CurrentOptions());
+    ASSERT_OK(Put(1, "a", "b"));
+
+    // found in the memtable
+    std::string value;
+    ASSERT_OK(db_->Get(non_blocking_opts, handles_[1], "a", &value));
+    ASSERT_EQ("b", value);
+
+    // after a reopen the key is neither in the memtable nor in the
+    // block cache, which must not be mistaken for an empty value
+    ReopenWithColumnFamilies({"default", "pikachu"}, CurrentOptions());
+    ASSERT_TRUE(
+        db_->Get(non_blocking_opts, handles_[1], "a", &value).IsIncomplete());
+    ASSERT_TRUE(db_->KeyMayExist(non_blocking_opts, handles_[1], "a", &value));
+
+    // a blocking read brings the block into the cache
+    ASSERT_EQ("b", Get(1, "a"));
+    ASSERT_OK(db_->Get(non_blocking_opts, handles_[1], "a", &value));
+    ASSERT_EQ("b", value);
+  } while (ChangeOptions(kSkipPlainTable | kSkipHashIndex | kSkipHashCuckoo |
+                         kSkipMmapReads));
+}
+
 TEST(DBTest, NonBlockingIteration) {
   do {
     ReadOptions non_blocking_opts, regular_opts;
@@ -6120,6 +6157,50 @@ TEST(DBTest, BloomFilterRate) {
   }
 }
 
+TEST(DBTest, BloomFilterColumnFamilyStats) {
+  while (ChangeFilterOptions()) {
+    Options options = CurrentOptions();
+    CreateAndReopenWithCF({"pikachu"}, options);
+
+    const int maxKey = 10000;
+    for (int i = 0; i < maxKey; i++) {
+      ASSERT_OK(Put(1, Key(i), Key(i)));
+    }
+    ASSERT_OK(Put(1, Key(maxKey + 55555), Key(maxKey + 55555)));
+    Flush(1);
+    ASSERT_OK(Put(0, Key(1), Key(1)));
+    Flush(0);
+
+    uint64_t checked = 0;
+    uint64_t useful = 0;
+    for (int i = 0; i < maxKey; i++) {
+      ASSERT_EQ(Key(i), Get(1, Key(i)));
+    }
+    ASSERT_TRUE(dbfull()->GetIntProperty(
+        handles_[1], "rocksdb.bloom-filter-checked", &checked));
+    ASSERT_TRUE(dbfull()->GetIntProperty(
+        handles_[1], "rocksdb.bloom-filter-useful", &useful));
+    ASSERT_GE(checked, static_cast<uint64_t>(maxKey));
+    ASSERT_EQ(useful, 0U);
+
+    for (int i = 0; i < maxKey; i++) {
+      ASSERT_EQ("NOT_FOUND", Get(1, Key(i + 33333)));
+    }
+    ASSERT_TRUE(dbfull()->GetIntProperty(
+        handles_[1], "rocksdb.bloom-filter-useful", &useful));
+    ASSERT_GE(useful, maxKey * 0.98);
+
+    // lookups in the other column family are counted separately
+    ASSERT_TRUE(dbfull()->GetIntProperty(
+        handles_[0], "rocksdb.bloom-filter-useful", &useful));
+    ASSERT_EQ(useful, 0U);
+    ASSERT_EQ("NOT_FOUND", Get(0, Key(2)));
+    ASSERT_TRUE(dbfull()->GetIntProperty(
+        handles_[0], "rocksdb.bloom-filter-checked", &checked));
+    ASSERT_EQ(checked, 1U);
+  }
+}
+
 TEST(DBTest, BloomFilterCompatibility) {
   Options options = CurrentOptions();
   options.statistics = rocksdb::CreateDBStatistics();
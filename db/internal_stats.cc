@@ -138,6 +138,10 @@ DBPropertyType GetPropertyType(const Slice& property, bool* is_int_property,
     return kEstimatedUsageByTableReaders;
   } else if (in == "is-file-deletions-enabled") {
     return kIsFileDeletionEnabled;
+  } else if (in == "bloom-filter-checked") {
+    return kBloomFilterChecked;
+  } else if (in == "bloom-filter-useful") {
+    return kBloomFilterUseful;
   }
   return kUnknown;
 }
@@ -270,6 +274,12 @@ bool InternalStats::GetIntProperty(DBPropertyType property_type,
       *value = db->IsFileDeletionsEnabled();
       return true;
 #endif
+    case kBloomFilterChecked:
+      *value = bloom_filter_checked_.load(std::memory_order_relaxed);
+      return true;
+    case kBloomFilterUseful:
+      *value = bloom_filter_useful_.load(std::memory_order_relaxed);
+      return true;
     default:
       return false;
   }
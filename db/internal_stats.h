@@ -11,6 +11,7 @@
 #pragma once
 #include "db/version_set.h"
 
+#include <atomic>
 #include <vector>
 #include <string>
 
@@ -46,6 +47,8 @@ enum DBPropertyType : uint32_t {
   kEstimatedUsageByTableReaders,  // Estimated memory by table readers.
   kIsFileDeletionEnabled,         // Equals disable_delete_obsolete_files_,
                                   // 0 means file deletions enabled
+  kBloomFilterChecked,  // Number of filter lookups done by Get()
+  kBloomFilterUseful,   // Number of filter lookups which avoided a block read
 };
 
 extern DBPropertyType GetPropertyType(const Slice& property,
@@ -84,6 +87,8 @@ class InternalStats {
         stall_leveln_slowdown_soft_(num_levels),
         stall_leveln_slowdown_count_soft_(num_levels),
         bg_error_count_(0),
+        bloom_filter_checked_(0),
+        bloom_filter_useful_(0),
         number_levels_(num_levels),
         env_(env),
         cfd_(cfd),
@@ -210,6 +215,12 @@ class InternalStats {
     db_stats_[type] += value;
   }
 
+  // Called without holding the DB mutex.
+  void RecordFilterLookups(uint64_t checked, uint64_t useful) {
+    bloom_filter_checked_.fetch_add(checked, std::memory_order_relaxed);
+    bloom_filter_useful_.fetch_add(useful, std::memory_order_relaxed);
+  }
+
   uint64_t GetBackgroundErrorCount() const { return bg_error_count_; }
 
   uint64_t BumpAndGetBackgroundErrorCount() { return ++bg_error_count_; }
@@ -290,6 +301,11 @@ class InternalStats {
   // or compaction will cause the counter to increase too.
   uint64_t bg_error_count_;
 
+  // Filter lookups of Get() in this column family's table files, updated
+  // without holding the DB mutex.
+  std::atomic<uint64_t> bloom_filter_checked_;
+  std::atomic<uint64_t> bloom_filter_useful_;
+
   const int number_levels_;
   Env* env_;
   ColumnFamilyData* cfd_;
@@ -1084,6 +1084,26 @@ TEST(PlainTableDBTest, AdaptiveTable) {
   ASSERT_NE("v5", Get("3000000000000bar"));
 }
 
+TEST(PlainTableDBTest, AdaptiveTableDefaultWriteFactory) {
+  Options options = CurrentOptions();
+  options.create_if_missing = true;
+  // writes block based tables when no factory is given
+  options.table_factory.reset(NewAdaptiveTableFactory());
+  ASSERT_TRUE(!options.table_factory->GetPrintableTableOptions().empty());
+  DestroyAndReopen(&options);
+
+  ASSERT_OK(Put("1000000000000foo", "v1"));
+  ASSERT_OK(Put("0000000000000bar", "v2"));
+  dbfull()->TEST_FlushMemTable();
+  ASSERT_EQ("v1", Get("1000000000000foo"));
+  ASSERT_EQ("v2", Get("0000000000000bar"));
+
+  options.table_factory.reset(NewBlockBasedTableFactory());
+  Reopen(&options);
+  ASSERT_EQ("v1", Get("1000000000000foo"));
+  ASSERT_EQ("v2", Get("0000000000000bar"));
+}
+
 }  // namespace rocksdb
 
 int main(int argc, char** argv) {
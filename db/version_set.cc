@@ -24,6 +24,7 @@
 #include <string>
 
 #include "db/filename.h"
+#include "db/internal_stats.h"
 #include "db/log_reader.h"
 #include "db/log_writer.h"
 #include "db/memtable.h"
@@ -750,6 +751,28 @@ Version::Version(ColumnFamilyData* column_family_data, VersionSet* vset,
       refs_(0),
       version_number_(version_number) {}
 
+namespace {
+// Adds the filter lookups done by a Get() to the column family's stats
+// once the lookup is finished.
+class FilterLookupRecorder {
+ public:
+  FilterLookupRecorder(InternalStats* internal_stats,
+                       const GetContext* get_context)
+      : internal_stats_(internal_stats), get_context_(get_context) {}
+
+  ~FilterLookupRecorder() {
+    if (internal_stats_ != nullptr && get_context_->filter_checked() > 0) {
+      internal_stats_->RecordFilterLookups(get_context_->filter_checked(),
+                                           get_context_->filter_useful());
+    }
+  }
+
+ private:
+  InternalStats* internal_stats_;
+  const GetContext* get_context_;
+};
+}  // namespace
+
 void Version::Get(const ReadOptions& read_options,
                   const LookupKey& k,
                   std::string* value,
@@ -765,6 +788,8 @@ void Version::Get(const ReadOptions& read_options,
       user_comparator(), merge_operator_, info_log_, db_statistics_,
       status->ok() ? GetContext::kNotFound : GetContext::kMerge, user_key,
       value, value_found, merge_context);
+  FilterLookupRecorder filter_lookup_recorder(
+      cfd_ == nullptr ? nullptr : cfd_->internal_stats(), &get_context);
 
   FilePicker fp(
       storage_info_.files_, user_key, ikey, &storage_info_.level_files_brief_,
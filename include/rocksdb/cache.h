@@ -107,6 +107,10 @@ class Cache {
   // returns the memory size for the entries residing in the cache.
   virtual size_t GetUsage() const = 0;
 
+  // returns the memory size for the entries in use by the system, i.e.
+  // entries with outstanding handles that can not be evicted.
+  virtual size_t GetPinnedUsage() const = 0;
+
   // Call this on shutdown if you want to speed it up. Cache will disown
   // any underlying data and will not free it on delete. This call will leak
   // memory - call this only if you're shutting down the process.
@@ -40,6 +40,10 @@ class SliceTransform {
 
 extern const SliceTransform* NewFixedPrefixTransform(size_t prefix_len);
 
+// Uses the first cap_len bytes of a key as prefix, or the whole key if
+// it is shorter than cap_len. All keys are in domain.
+extern const SliceTransform* NewCappedPrefixTransform(size_t cap_len);
+
 extern const SliceTransform* NewNoopTransform();
 
 }
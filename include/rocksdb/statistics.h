@@ -251,6 +251,13 @@ struct HistogramData {
   double percentile99;
   double average;
   double standard_deviation;
+  double max;
+  double min;
+  uint64_t count;
+  uint64_t sum;
+  // the number of values in each bucket, so that histograms can be merged
+  // and other percentiles computed by the caller
+  std::vector<uint64_t> buckets;
 };
 
 // Analyze the performance of a db
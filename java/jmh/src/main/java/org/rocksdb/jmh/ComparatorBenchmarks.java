@@ -0,0 +1,157 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb.jmh;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.rocksdb.AbstractComparator;
+import org.rocksdb.BuiltinComparator;
+import org.rocksdb.Comparator;
+import org.rocksdb.ComparatorOptions;
+import org.rocksdb.DirectComparator;
+import org.rocksdb.DirectSlice;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.Slice;
+
+/**
+ * Writes and reads ordered by the same bytewise order, implemented by
+ * the native comparator, a {@link Comparator} or a
+ * {@link DirectComparator}. The difference to {@code native} is the
+ * cost of calling back into Java for every comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ComparatorBenchmarks {
+  @Param({"native", "java", "direct"})
+  String comparator;
+
+  @Param({"100000"})
+  int keyCount;
+
+  @Param({"100"})
+  int valueSize;
+
+  File directory;
+  ComparatorOptions comparatorOptions;
+  AbstractComparator javaComparator;
+  Options options;
+  RocksDB db;
+  byte[][] keys;
+  byte[] value;
+
+  @Setup
+  public void setup() throws IOException, RocksDBException {
+    directory = Databases.newDirectory("comparator");
+    options = new Options();
+    if (comparator.equals("native")) {
+      options.setComparator(BuiltinComparator.BYTEWISE_COMPARATOR);
+    } else {
+      comparatorOptions = new ComparatorOptions();
+      javaComparator = comparator.equals("java") ?
+          new BytewiseComparator(comparatorOptions) :
+          new DirectBytewiseComparator(comparatorOptions);
+      options.setComparator(javaComparator);
+    }
+    db = Databases.open(options, directory);
+    Databases.fill(db, keyCount, valueSize);
+    keys = Databases.keys(keyCount);
+    value = Databases.value(valueSize);
+  }
+
+  @TearDown
+  public void tearDown() {
+    db.close();
+    options.dispose();
+    if (javaComparator != null) {
+      javaComparator.dispose();
+      comparatorOptions.dispose();
+    }
+    Databases.delete(directory);
+  }
+
+  @State(Scope.Thread)
+  public static class Cursor {
+    int next;
+
+    byte[] nextKey(byte[][] keys) {
+      if (next == keys.length) {
+        next = 0;
+      }
+      return keys[next++];
+    }
+  }
+
+  @Benchmark
+  public void put(Cursor cursor) throws RocksDBException {
+    db.put(cursor.nextKey(keys), value);
+  }
+
+  @Benchmark
+  public byte[] get(Cursor cursor) throws RocksDBException {
+    return db.get(cursor.nextKey(keys));
+  }
+
+  static class BytewiseComparator extends Comparator {
+    BytewiseComparator(ComparatorOptions comparatorOptions) {
+      super(comparatorOptions);
+    }
+
+    @Override public String name() {
+      return "jmh.BytewiseComparator";
+    }
+
+    @Override public int compare(final Slice a, final Slice b) {
+      byte[] x = a.data();
+      byte[] y = b.data();
+      int length = Math.min(x.length, y.length);
+      for (int i = 0; i < length; i++) {
+        int c = (x[i] & 0xff) - (y[i] & 0xff);
+        if (c != 0) {
+          return c;
+        }
+      }
+      return x.length - y.length;
+    }
+  }
+
+  static class DirectBytewiseComparator extends DirectComparator {
+    DirectBytewiseComparator(ComparatorOptions comparatorOptions) {
+      super(comparatorOptions);
+    }
+
+    @Override public String name() {
+      return "jmh.DirectBytewiseComparator";
+    }
+
+    @Override public int compare(final DirectSlice a, final DirectSlice b) {
+      ByteBuffer x = a.data();
+      ByteBuffer y = b.data();
+      int length = Math.min(x.remaining(), y.remaining());
+      for (int i = 0; i < length; i++) {
+        int c = (x.get(i) & 0xff) - (y.get(i) & 0xff);
+        if (c != 0) {
+          return c;
+        }
+      }
+      return x.remaining() - y.remaining();
+    }
+  }
+}
@@ -0,0 +1,102 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb.jmh;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+
+/**
+ * Helpers shared by the benchmarks to create, fill and delete the
+ * databases they run against.
+ */
+final class Databases {
+  /**
+   * System property naming the directory the databases are created in.
+   */
+  static final String DIRECTORY_PROPERTY = "rocksdb.jmh.dir";
+
+  static {
+    RocksDB.loadLibrary();
+  }
+
+  private Databases() {
+  }
+
+  /**
+   * @return a new empty directory for a database, in tmpfs if available.
+   */
+  static File newDirectory(String name) throws IOException {
+    String parent = System.getProperty(DIRECTORY_PROPERTY);
+    if (parent == null) {
+      File shm = new File("/dev/shm");
+      parent = shm.isDirectory() && shm.canWrite() ? shm.getPath() :
+          System.getProperty("java.io.tmpdir");
+    }
+    File directory = File.createTempFile("rocksdbjni_jmh_" + name, "",
+        new File(parent));
+    if (!directory.delete() || !directory.mkdir()) {
+      throw new IOException("Can not create " + directory);
+    }
+    return directory;
+  }
+
+  static RocksDB open(Options options, File directory)
+      throws RocksDBException {
+    return RocksDB.open(options.setCreateIfMissing(true),
+        directory.getPath());
+  }
+
+  /**
+   * Writes the keys returned by {@link #key(int)} for {@code 0..count-1}.
+   */
+  static void fill(RocksDB db, int count, int valueSize)
+      throws RocksDBException {
+    byte[] value = value(valueSize);
+    for (int i = 0; i < count; i++) {
+      db.put(key(i), value);
+    }
+  }
+
+  /**
+   * @return a key of 16 bytes which sorts by {@code i} under the
+   *     bytewise comparator.
+   */
+  static byte[] key(int i) {
+    return String.format("key%013d", i).getBytes();
+  }
+
+  static byte[][] keys(int count) {
+    byte[][] keys = new byte[count][];
+    for (int i = 0; i < count; i++) {
+      keys[i] = key(i);
+    }
+    return keys;
+  }
+
+  /**
+   * @return random, so incompressible, bytes.
+   */
+  static byte[] value(int size) {
+    byte[] value = new byte[size];
+    new Random(301).nextBytes(value);
+    return value;
+  }
+
+  static void delete(File file) {
+    File[] children = file.listFiles();
+    if (children != null) {
+      for (File child : children) {
+        delete(child);
+      }
+    }
+    file.delete();
+  }
+}
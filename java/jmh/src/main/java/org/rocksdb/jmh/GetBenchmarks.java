@@ -0,0 +1,101 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb.jmh;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+
+/**
+ * Point lookups, returning a new array for the value or copying it into
+ * an array owned by the caller.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GetBenchmarks {
+  @Param({"100000"})
+  int keyCount;
+
+  @Param({"16", "1024"})
+  int valueSize;
+
+  File directory;
+  Options options;
+  RocksDB db;
+  byte[][] keys;
+  byte[][] missingKeys;
+
+  @Setup
+  public void setup() throws IOException, RocksDBException {
+    directory = Databases.newDirectory("get");
+    options = new Options();
+    db = Databases.open(options, directory);
+    Databases.fill(db, keyCount, valueSize);
+    keys = Databases.keys(keyCount);
+    // sorted between the existing keys, but not equal to any of them
+    missingKeys = new byte[keyCount][];
+    for (int i = 0; i < keyCount; i++) {
+      missingKeys[i] = (new String(keys[i]) + "0").getBytes();
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    db.close();
+    options.dispose();
+    Databases.delete(directory);
+  }
+
+  /**
+   * The key to read and the buffer to read into, per thread.
+   */
+  @State(Scope.Thread)
+  public static class Cursor {
+    int next;
+    byte[] value;
+
+    @Setup
+    public void setup(GetBenchmarks benchmarks) {
+      value = new byte[benchmarks.valueSize];
+    }
+
+    byte[] nextKey(byte[][] keys) {
+      if (next == keys.length) {
+        next = 0;
+      }
+      return keys[next++];
+    }
+  }
+
+  @Benchmark
+  public byte[] get(Cursor cursor) throws RocksDBException {
+    return db.get(cursor.nextKey(keys));
+  }
+
+  @Benchmark
+  public int getIntoArray(Cursor cursor) throws RocksDBException {
+    return db.get(cursor.nextKey(keys), cursor.value);
+  }
+
+  @Benchmark
+  public byte[] getMissing(Cursor cursor) throws RocksDBException {
+    return db.get(cursor.nextKey(missingKeys));
+  }
+}
@@ -0,0 +1,107 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb.jmh;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+
+/**
+ * The calls of a forward scan: {@code next()}, {@code key()} and
+ * {@code value()}, each on its own and together.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IteratorBenchmarks {
+  @Param({"100000"})
+  int keyCount;
+
+  @Param({"16", "1024"})
+  int valueSize;
+
+  File directory;
+  Options options;
+  RocksDB db;
+
+  @Setup
+  public void setup() throws IOException, RocksDBException {
+    directory = Databases.newDirectory("iterator");
+    options = new Options();
+    db = Databases.open(options, directory);
+    Databases.fill(db, keyCount, valueSize);
+  }
+
+  @TearDown
+  public void tearDown() {
+    db.close();
+    options.dispose();
+    Databases.delete(directory);
+  }
+
+  /**
+   * An iterator per thread, wrapping around at the end of the database.
+   */
+  @State(Scope.Thread)
+  public static class Cursor {
+    RocksIterator iterator;
+
+    @Setup
+    public void setup(IteratorBenchmarks benchmarks) {
+      iterator = benchmarks.db.newIterator();
+      iterator.seekToFirst();
+    }
+
+    @TearDown
+    public void tearDown() {
+      iterator.dispose();
+    }
+
+    void next() {
+      iterator.next();
+      if (!iterator.isValid()) {
+        iterator.seekToFirst();
+      }
+    }
+  }
+
+  @Benchmark
+  public void next(Cursor cursor) {
+    cursor.next();
+  }
+
+  @Benchmark
+  public byte[] key(Cursor cursor) {
+    return cursor.iterator.key();
+  }
+
+  @Benchmark
+  public byte[] value(Cursor cursor) {
+    return cursor.iterator.value();
+  }
+
+  @Benchmark
+  public void nextKeyValue(Cursor cursor, Blackhole blackhole) {
+    cursor.next();
+    blackhole.consume(cursor.iterator.key());
+    blackhole.consume(cursor.iterator.value());
+  }
+}
@@ -0,0 +1,91 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb.jmh;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+
+/**
+ * Batched lookups of {@code batchSize} keys per call, to compare with
+ * {@code batchSize} times {@link GetBenchmarks#get}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MultiGetBenchmarks {
+  @Param({"100000"})
+  int keyCount;
+
+  @Param({"1", "10", "100", "1000"})
+  int batchSize;
+
+  @Param({"100"})
+  int valueSize;
+
+  File directory;
+  Options options;
+  RocksDB db;
+  List<List<byte[]>> batches;
+
+  @Setup
+  public void setup() throws IOException, RocksDBException {
+    directory = Databases.newDirectory("multi_get");
+    options = new Options();
+    db = Databases.open(options, directory);
+    Databases.fill(db, keyCount, valueSize);
+    batches = new ArrayList<List<byte[]>>();
+    byte[][] keys = Databases.keys(keyCount);
+    for (int i = 0; i + batchSize <= keyCount; i += batchSize) {
+      List<byte[]> batch = new ArrayList<byte[]>(batchSize);
+      for (int k = i; k < i + batchSize; k++) {
+        batch.add(keys[k]);
+      }
+      batches.add(batch);
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    db.close();
+    options.dispose();
+    Databases.delete(directory);
+  }
+
+  @State(Scope.Thread)
+  public static class Cursor {
+    int next;
+
+    List<byte[]> nextBatch(List<List<byte[]>> batches) {
+      if (next == batches.size()) {
+        next = 0;
+      }
+      return batches.get(next++);
+    }
+  }
+
+  @Benchmark
+  public Map<byte[], byte[]> multiGet(Cursor cursor)
+      throws RocksDBException {
+    return db.multiGet(cursor.nextBatch(batches));
+  }
+}
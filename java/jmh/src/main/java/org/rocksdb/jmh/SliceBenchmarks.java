@@ -0,0 +1,85 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb.jmh;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.rocksdb.DirectSlice;
+import org.rocksdb.Slice;
+
+/**
+ * Creating and disposing of slices, and reading their data back. Slices
+ * are passed to Java comparators, so this is part of the cost of every
+ * comparison.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SliceBenchmarks {
+  @Param({"16", "1024"})
+  int size;
+
+  byte[] data;
+  String string;
+  ByteBuffer buffer;
+  Slice slice;
+  DirectSlice directSlice;
+
+  @Setup
+  public void setup() {
+    data = Databases.value(size);
+    char[] chars = new char[size];
+    Arrays.fill(chars, 'a');
+    string = new String(chars);
+    buffer = ByteBuffer.allocateDirect(size);
+    buffer.put(data);
+    buffer.flip();
+    slice = new Slice(data);
+    directSlice = new DirectSlice(buffer);
+  }
+
+  @TearDown
+  public void tearDown() {
+    slice.dispose();
+    directSlice.dispose();
+  }
+
+  @Benchmark
+  public void newSlice() {
+    new Slice(data).dispose();
+  }
+
+  @Benchmark
+  public void newSliceFromString() {
+    new Slice(string).dispose();
+  }
+
+  @Benchmark
+  public void newDirectSlice() {
+    new DirectSlice(buffer).dispose();
+  }
+
+  @Benchmark
+  public byte[] sliceData() {
+    return slice.data();
+  }
+
+  @Benchmark
+  public ByteBuffer directSliceData() {
+    return directSlice.data();
+  }
+}
@@ -0,0 +1,125 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb.jmh;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
+
+/**
+ * Writing {@code batchSize} keys per invocation, either with one
+ * {@code put()} per key or buffered in a {@link WriteBatch} and applied
+ * with one {@code write()}. The keys are overwritten in turn, so the
+ * size of the database stays bounded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WriteBatchBenchmarks {
+  @Param({"100000"})
+  int keyCount;
+
+  @Param({"1", "10", "100", "1000"})
+  int batchSize;
+
+  @Param({"100"})
+  int valueSize;
+
+  @Param({"false", "true"})
+  boolean disableWal;
+
+  File directory;
+  Options options;
+  WriteOptions writeOptions;
+  RocksDB db;
+  byte[][] keys;
+  byte[] value;
+
+  @Setup
+  public void setup() throws IOException, RocksDBException {
+    directory = Databases.newDirectory("write_batch");
+    options = new Options();
+    writeOptions = new WriteOptions().setDisableWAL(disableWal);
+    db = Databases.open(options, directory);
+    keys = Databases.keys(keyCount);
+    value = Databases.value(valueSize);
+  }
+
+  @TearDown
+  public void tearDown() {
+    db.close();
+    writeOptions.dispose();
+    options.dispose();
+    Databases.delete(directory);
+  }
+
+  @State(Scope.Thread)
+  public static class Cursor {
+    int next;
+    WriteBatch batch;
+
+    @Setup
+    public void setup() {
+      batch = new WriteBatch();
+    }
+
+    @TearDown
+    public void tearDown() {
+      batch.dispose();
+    }
+
+    byte[] nextKey(byte[][] keys) {
+      if (next == keys.length) {
+        next = 0;
+      }
+      return keys[next++];
+    }
+  }
+
+  @Benchmark
+  public void put(Cursor cursor) throws RocksDBException {
+    for (int i = 0; i < batchSize; i++) {
+      db.put(writeOptions, cursor.nextKey(keys), value);
+    }
+  }
+
+  @Benchmark
+  public void write(Cursor cursor) throws RocksDBException {
+    WriteBatch batch = cursor.batch;
+    batch.clear();
+    for (int i = 0; i < batchSize; i++) {
+      batch.put(cursor.nextKey(keys), value);
+    }
+    db.write(writeOptions, batch);
+  }
+
+  /**
+   * Only the cost of buffering in the batch, without applying it.
+   */
+  @Benchmark
+  public void batchPut(Cursor cursor) {
+    WriteBatch batch = cursor.batch;
+    batch.clear();
+    for (int i = 0; i < batchSize; i++) {
+      batch.put(cursor.nextKey(keys), value);
+    }
+  }
+}
@@ -0,0 +1,59 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+import java.util.BitSet;
+
+/**
+ * <p>Allows an application to remove or modify key/value pairs at the
+ * time of compaction.</p>
+ *
+ * <p>A compaction filter is created by a {@link CompactionFilterFactory}
+ * for a single compaction run and is only ever used by the thread
+ * doing that run.</p>
+ *
+ * <p>Key/value pairs are handed to the filter in batches, each batch
+ * holding all the key/value pairs of the compaction which share the same
+ * prefix, so that a decision for one key can take the other keys of its
+ * prefix into account. Only plain values are passed to the filter,
+ * deletion markers and merge operands are not. If the database has no
+ * snapshots, every value of the compaction input is passed; otherwise
+ * only the values written after the latest snapshot are.</p>
+ */
+public abstract class AbstractCompactionFilter {
+  /**
+   * <p>Called for each batch of key/value pairs sharing the same
+   * prefix.</p>
+   *
+   * <p>A removed entry is replaced by a deletion marker in the output of
+   * the compaction. To modify a preserved entry, set
+   * {@code newValues[i]} to its new value; entries left null are kept
+   * unchanged.</p>
+   *
+   * @param level the level of the compaction input.
+   * @param keys the user keys, in key order.
+   * @param existingValues the current values of the keys.
+   * @param newValues array of the same length as {@code keys} to
+   *     receive changed values.
+   * @return set of the indexes of the entries to remove, or null
+   *     to preserve all entries.
+   */
+  public abstract BitSet filter(int level, byte[][] keys,
+      byte[][] existingValues, byte[][] newValues);
+
+  /**
+   * Called from JNI C++, returns the result of
+   * {@link #filter(int, byte[][], byte[][], byte[][])} as bitmap.
+   */
+  final long[] filter0(int level, byte[][] keys, byte[][] existingValues,
+      byte[][] newValues) {
+    BitSet removals = filter(level, keys, existingValues, newValues);
+    if (removals == null) {
+      return null;
+    }
+    return removals.toLongArray();
+  }
+}
@@ -0,0 +1,41 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+/**
+ * Base class of all table properties collector factories.
+ *
+ * <p>A table properties collector factory creates one collector per
+ * SST file written by flush or compaction. The properties recorded
+ * by the collector are stored in the file and can be read back via
+ * {@link RocksDB#getPropertiesOfAllTables()}.</p>
+ *
+ * <p>Implementers should extend either of the public classes:</p>
+ *
+ * @see org.rocksdb.TimestampRangeCollectorFactory
+ * @see org.rocksdb.TablePropertiesCollectorFactory
+ */
+public abstract class AbstractTablePropertiesCollectorFactory
+    extends RocksObject {
+
+  protected AbstractTablePropertiesCollectorFactory() {
+    super();
+  }
+
+  /**
+   * Deletes underlying C++ collector factory pointer.
+   *
+   * Note that this function should be called only after all
+   * RocksDB instances referencing the factory are closed.
+   * Otherwise an undefined behavior will occur.
+   */
+  @Override protected void disposeInternal() {
+    assert(isInitialized());
+    disposeInternal(nativeHandle_);
+  }
+
+  private native void disposeInternal(long handle);
+}
@@ -0,0 +1,129 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+package org.rocksdb;
+
+/**
+ * The config for the adaptive table format.
+ *
+ * <p>An adaptive table factory writes new SST files with one table
+ * format, but opens block based, plain and cuckoo table files based
+ * on the format recorded in each file. It can be used to convert a
+ * database from one table format to another, as compactions rewrite
+ * the existing files in the new format.</p>
+ *
+ * <p>Note that plain and cuckoo table files are read through mmap,
+ * so {@link Options#setAllowMmapReads(boolean)} has to be enabled
+ * once such files can exist.</p>
+ */
+public class AdaptiveTableConfig extends TableFormatConfig {
+  /**
+   * Creates an adaptive table config which writes block based tables.
+   */
+  public AdaptiveTableConfig() {
+    this(null);
+  }
+
+  /**
+   * Creates an adaptive table config.
+   *
+   * @param writeTableConfig the config of the table format used to
+   *     write new files, or null to write block based tables.
+   */
+  public AdaptiveTableConfig(TableFormatConfig writeTableConfig) {
+    writeTableConfig_ = writeTableConfig;
+    blockBasedTableConfig_ = null;
+    plainTableConfig_ = null;
+    cuckooTableConfig_ = null;
+  }
+
+  /**
+   * @return the config of the table format used to write new files,
+   *     or null if block based tables are written.
+   */
+  public TableFormatConfig writeTableConfig() {
+    return writeTableConfig_;
+  }
+
+  /**
+   * Set the config used to read block based table files.
+   * DEFAULT: null, a default {@link BlockBasedTableConfig}
+   *
+   * @param config the config for reading block based tables.
+   * @return the reference to the current config.
+   */
+  public AdaptiveTableConfig setBlockBasedTableConfig(
+      BlockBasedTableConfig config) {
+    blockBasedTableConfig_ = config;
+    return this;
+  }
+
+  /**
+   * @return the config used to read block based table files, or null
+   *     if the default config is used.
+   */
+  public BlockBasedTableConfig blockBasedTableConfig() {
+    return blockBasedTableConfig_;
+  }
+
+  /**
+   * Set the config used to read plain table files.
+   * DEFAULT: null, a default {@link PlainTableConfig}
+   *
+   * @param config the config for reading plain tables.
+   * @return the reference to the current config.
+   */
+  public AdaptiveTableConfig setPlainTableConfig(PlainTableConfig config) {
+    plainTableConfig_ = config;
+    return this;
+  }
+
+  /**
+   * @return the config used to read plain table files, or null if the
+   *     default config is used.
+   */
+  public PlainTableConfig plainTableConfig() {
+    return plainTableConfig_;
+  }
+
+  /**
+   * Set the config used to read cuckoo table files.
+   * DEFAULT: null, a default {@link CuckooTableConfig}
+   *
+   * @param config the config for reading cuckoo tables.
+   * @return the reference to the current config.
+   */
+  public AdaptiveTableConfig setCuckooTableConfig(CuckooTableConfig config) {
+    cuckooTableConfig_ = config;
+    return this;
+  }
+
+  /**
+   * @return the config used to read cuckoo table files, or null if the
+   *     default config is used.
+   */
+  public CuckooTableConfig cuckooTableConfig() {
+    return cuckooTableConfig_;
+  }
+
+  @Override protected long newTableFactoryHandle() {
+    return newTableFactoryHandle(newTableFactoryHandle(writeTableConfig_),
+        newTableFactoryHandle(blockBasedTableConfig_),
+        newTableFactoryHandle(plainTableConfig_),
+        newTableFactoryHandle(cuckooTableConfig_));
+  }
+
+  private static long newTableFactoryHandle(TableFormatConfig config) {
+    return config == null ? 0 : config.newTableFactoryHandle();
+  }
+
+  private native long newTableFactoryHandle(long writeTableFactoryHandle,
+      long blockBasedTableFactoryHandle, long plainTableFactoryHandle,
+      long cuckooTableFactoryHandle);
+
+  private TableFormatConfig writeTableConfig_;
+  private BlockBasedTableConfig blockBasedTableConfig_;
+  private PlainTableConfig plainTableConfig_;
+  private CuckooTableConfig cuckooTableConfig_;
+}
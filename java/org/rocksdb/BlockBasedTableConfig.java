@@ -13,6 +13,7 @@ public class BlockBasedTableConfig extends TableFormatConfig {
 
   public BlockBasedTableConfig() {
     noBlockCache_ = false;
+    blockCache_ = null;
     blockCacheSize_ = 8 * 1024 * 1024;
     blockCacheNumShardBits_ = 0;
     blockSize_ = 4 * 1024;
@@ -49,6 +50,30 @@ public class BlockBasedTableConfig extends TableFormatConfig {
     return noBlockCache_;
   }
 
+  /**
+   * Use the given {@link org.rocksdb.Cache} as block cache. The same
+   * cache can be set on many configs, in which case all column families
+   * and databases created with these configs share its capacity.
+   * If set, the block cache size and the number of shard bits
+   * of this config are ignored.
+   * DEFAULT: null, a new cache is created for every table factory
+   *
+   * @param blockCache the shared block cache, or null.
+   * @return the reference to the current config.
+   */
+  public BlockBasedTableConfig setBlockCache(Cache blockCache) {
+    blockCache_ = blockCache;
+    return this;
+  }
+
+  /**
+   * @return the shared block cache, or null if a new cache is created
+   *     for every table factory.
+   */
+  public Cache blockCache() {
+    return blockCache_;
+  }
+
   /**
    * Set the amount of cache in bytes that will be used by RocksDB.
    * If cacheSize is non-positive, then cache will not be used.
@@ -340,8 +365,13 @@ public class BlockBasedTableConfig extends TableFormatConfig {
     if (filter_ != null) {
       filterHandle = filter_.nativeHandle_;
     }
+    long blockCacheHandle = 0;
+    if (blockCache_ != null) {
+      blockCacheHandle = blockCache_.nativeHandle_;
+    }
 
-    return newTableFactoryHandle(noBlockCache_, blockCacheSize_,
+    return newTableFactoryHandle(noBlockCache_, blockCacheHandle,
+        blockCacheSize_,
         blockCacheNumShardBits_, blockSize_, blockSizeDeviation_,
         blockRestartInterval_, wholeKeyFiltering_,
         filterHandle, cacheIndexAndFilterBlocks_,
@@ -351,7 +381,8 @@ public class BlockBasedTableConfig extends TableFormatConfig {
   }
 
   private native long newTableFactoryHandle(
-      boolean noBlockCache, long blockCacheSize, int blockCacheNumShardBits,
+      boolean noBlockCache, long blockCacheHandle, long blockCacheSize,
+      int blockCacheNumShardBits,
       long blockSize, int blockSizeDeviation, int blockRestartInterval,
       boolean wholeKeyFiltering, long filterPolicyHandle,
       boolean cacheIndexAndFilterBlocks, boolean hashIndexAllowCollision,
@@ -363,6 +394,7 @@ public class BlockBasedTableConfig extends TableFormatConfig {
   private boolean hashIndexAllowCollision_;
   private ChecksumType checksumType_;
   private boolean noBlockCache_;
+  private Cache blockCache_;
   private long blockSize_;
   private long blockCacheSize_;
   private int blockCacheNumShardBits_;
@@ -79,6 +79,27 @@ public class BloomFilter extends Filter {
     createNewFilter();
   }
 
+  /**
+   * @return the number of bits used per key.
+   */
+  public int bitsPerKey() {
+    return bitsPerKey_;
+  }
+
+  /**
+   * <p>Returns true if a filter is built for every data block, or false
+   * if a single full filter is built for the whole table file.</p>
+   *
+   * <p>A full filter is checked once per table file lookup, which makes
+   * it more efficient for workloads with many lookups of missing
+   * keys.</p>
+   *
+   * @return true if block based filters are built.
+   */
+  public boolean useBlockBasedMode() {
+    return useBlockBasedMode_;
+  }
+
   @Override
   protected void createNewFilter() {
     createNewBloomFilter(bitsPerKey_, useBlockBasedMode_);
@@ -0,0 +1,52 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+/**
+ * A rectangle representing the bounding box of a spatial element or
+ * the area of a query or a spatial index.
+ *
+ * @see org.rocksdb.SpatialDB
+ */
+public class BoundingBox {
+  private final double minX_;
+  private final double minY_;
+  private final double maxX_;
+  private final double maxY_;
+
+  public BoundingBox(double minX, double minY, double maxX, double maxY) {
+    minX_ = minX;
+    minY_ = minY;
+    maxX_ = maxX;
+    maxY_ = maxY;
+  }
+
+  public double minX() {
+    return minX_;
+  }
+
+  public double minY() {
+    return minY_;
+  }
+
+  public double maxX() {
+    return maxX_;
+  }
+
+  public double maxY() {
+    return maxY_;
+  }
+
+  /**
+   * @param other the other bounding box.
+   * @return true if both bounding boxes have at least one point
+   *     in common.
+   */
+  public boolean intersects(BoundingBox other) {
+    return !(minX_ > other.maxX_ || minY_ > other.maxY_ ||
+        other.minX_ > maxX_ || other.minY_ > maxY_);
+  }
+}
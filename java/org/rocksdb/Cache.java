@@ -0,0 +1,56 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+/**
+ * <p>A block cache which can be shared between multiple
+ * {@link org.rocksdb.BlockBasedTableConfig} instances, and thereby
+ * between column families and database instances.</p>
+ *
+ * <p>Every table factory created with this cache keeps its own
+ * reference to the native cache, so it is safe to dispose the java
+ * instance after the options using it have been created.</p>
+ */
+public abstract class Cache extends RocksObject {
+  /**
+   * @return the maximum configured capacity of the cache in bytes.
+   */
+  public long capacity() {
+    assert(isInitialized());
+    return capacity(nativeHandle_);
+  }
+
+  /**
+   * @return the memory size of the entries residing in the cache.
+   */
+  public long usage() {
+    assert(isInitialized());
+    return usage(nativeHandle_);
+  }
+
+  /**
+   * @return the memory size of the entries which are currently in use,
+   *     and therefore can not be evicted from the cache.
+   */
+  public long pinnedUsage() {
+    assert(isInitialized());
+    return pinnedUsage(nativeHandle_);
+  }
+
+  /**
+   * Deletes the reference to the underlying C++ cache. The cache itself
+   * is released after all table factories using it are gone.
+   */
+  @Override protected void disposeInternal() {
+    assert(isInitialized());
+    disposeInternal(nativeHandle_);
+  }
+
+  private native long capacity(long handle);
+  private native long usage(long handle);
+  private native long pinnedUsage(long handle);
+  private native void disposeInternal(long handle);
+}
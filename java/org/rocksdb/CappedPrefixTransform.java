@@ -0,0 +1,24 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+/**
+ * Uses the first {@code capLength} bytes of a key as its prefix, or the
+ * whole key if it is shorter than {@code capLength}. Unlike
+ * {@link FixedPrefixTransform} every key has a prefix.
+ */
+public class CappedPrefixTransform extends SliceTransform {
+  /**
+   * @param capLength the maximum number of bytes of the prefix.
+   */
+  public CappedPrefixTransform(int capLength) {
+    super();
+    assert(capLength >= 0);
+    createNewCappedPrefixTransform(capLength);
+  }
+
+  private native void createNewCappedPrefixTransform(int capLength);
+}
@@ -19,6 +19,7 @@ public class ColumnFamilyHandle extends RocksObject {
     // to guarantee that while a GC cycle starts ColumnFamilyHandle instances
     // are freed prior to RocksDB instances.
     rocksDB_ = rocksDB;
+    rocksDB_.addColumnFamilyHandle(this);
   }
 
   /**
@@ -31,6 +32,7 @@ public class ColumnFamilyHandle extends RocksObject {
    */
   @Override protected void disposeInternal() {
     assert(isInitialized());
+    rocksDB_.removeColumnFamilyHandle(this);
     if (rocksDB_.isInitialized()) {
       disposeInternal(nativeHandle_);
     }
@@ -137,6 +137,24 @@ public interface ColumnFamilyOptionsInterface {
    */
   public Object setMergeOperator(MergeOperator mergeOperator);
 
+  /**
+   * <p>Set a factory providing a compaction filter for each compaction
+   * run. The compaction filters can remove or modify key/value pairs
+   * while they are compacted, which avoids separate scans to clean up
+   * expired data.</p>
+   *
+   * <p>The factory should not be disposed before all options instances
+   * and databases using it are disposed.</p>
+   *
+   * <p>Default: no compaction filter</p>
+   *
+   * @param compactionFilterFactory {@link CompactionFilterFactory}
+   *     instance.
+   * @return the instance of the current Object.
+   */
+  public Object setCompactionFilterFactory(
+      CompactionFilterFactory compactionFilterFactory);
+
   /**
    * Amount of data to build up in memory (backed by an unsorted log
    * on disk) before converting to a sorted on-disk file.
@@ -226,6 +244,39 @@ public interface ColumnFamilyOptionsInterface {
    */
   Object useFixedLengthPrefixExtractor(int n);
 
+  /**
+   * <p>Sets the prefix extractor used by the hash based mem-tables,
+   * the prefix index of plain tables and the prefix bloom filters.</p>
+   *
+   * <p>With a prefix extractor set, iterators only guarantee a correct
+   * order for keys sharing the prefix of the seek key, unless
+   * {@link ReadOptions#setTotalOrderSeek(boolean)} is enabled.</p>
+   *
+   * <p>Default: no prefix extractor</p>
+   *
+   * @param prefixExtractor {@link SliceTransform} instance.
+   * @return the instance of the current Object.
+   */
+  Object setPrefixExtractor(SliceTransform prefixExtractor);
+
+  /**
+   * <p>Adds a factory of table properties collectors. Every SST file
+   * written by flush or compaction gets one collector of each added
+   * factory, and the properties they collect are stored in the
+   * file.</p>
+   *
+   * <p>The collected properties can be read via
+   * {@link RocksDB#getPropertiesOfAllTables()}.</p>
+   *
+   * <p>Default: no user-defined collector</p>
+   *
+   * @param factory {@link AbstractTablePropertiesCollectorFactory}
+   *     instance.
+   * @return the instance of the current Object.
+   */
+  Object addTablePropertiesCollectorFactory(
+      AbstractTablePropertiesCollectorFactory factory);
+
   /**
    * Compress blocks using the specified compression algorithm.  This
    * parameter can be changed dynamically.
@@ -0,0 +1,94 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+/**
+ * <p>Creates a new {@link AbstractCompactionFilter} for each
+ * compaction run.</p>
+ *
+ * <p>The factory is backed by the batched
+ * {@code compaction_filter_factory_v2} of the column family options:
+ * the key/value pairs of a compaction are grouped by prefix and each
+ * group is passed to Java in a single call, so the JNI overhead is
+ * paid per prefix rather than per key.</p>
+ *
+ * <p>{@link #newCompactionFilter(boolean, boolean)} is called from the
+ * background compaction threads, so implementations must be
+ * thread-safe.</p>
+ */
+public abstract class CompactionFilterFactory extends RocksObject {
+  /**
+   * <p>Create a new compaction filter factory which groups keys by
+   * their first {@code prefixLength} bytes. Keys shorter than
+   * {@code prefixLength} are grouped by the whole key.</p>
+   *
+   * <p>Note that all key/value pairs of a prefix are buffered in
+   * memory during compaction, so the prefix should not be shared by
+   * too many keys.</p>
+   *
+   * @param prefixLength the number of bytes of the key prefix.
+   */
+  public CompactionFilterFactory(int prefixLength) {
+    super();
+    assert(prefixLength >= 0);
+    createNewCompactionFilterFactory0(prefixLength);
+  }
+
+  /**
+   * <p>Create a new compaction filter factory which groups keys by
+   * the prefix extracted by {@code prefixExtractor}.</p>
+   *
+   * <p>Note that the prefix is extracted from every key of a
+   * compaction, so the extractor must accept all keys. A
+   * {@link FixedPrefixTransform} is only safe to use if all keys are
+   * at least as long as its prefix.</p>
+   *
+   * @param prefixExtractor the {@link SliceTransform} extracting
+   *     the prefix of a key.
+   */
+  public CompactionFilterFactory(SliceTransform prefixExtractor) {
+    super();
+    createNewCompactionFilterFactory1(prefixExtractor.nativeHandle_);
+  }
+
+  /**
+   * The name of the factory, also used as the name of
+   * its compaction filters.
+   *
+   * @return The name of this factory.
+   */
+  public abstract String name();
+
+  /**
+   * Creates a new compaction filter for a single compaction run.
+   *
+   * @param isFullCompaction true if the compaction includes all
+   *     data files.
+   * @param isManualCompaction true if the compaction was requested
+   *     by the client.
+   * @return a new {@link AbstractCompactionFilter} instance, or null
+   *     to not filter this compaction.
+   */
+  public abstract AbstractCompactionFilter newCompactionFilter(
+      boolean isFullCompaction, boolean isManualCompaction);
+
+  /**
+   * Deletes underlying C++ compaction filter factory pointer.
+   *
+   * Note that this function should be called only after all
+   * RocksDB instances referencing the factory are closed.
+   * Otherwise an undefined behavior will occur.
+   */
+  @Override protected void disposeInternal() {
+    assert(isInitialized());
+    disposeInternal(nativeHandle_);
+  }
+
+  private native void createNewCompactionFilterFactory0(int prefixLength);
+  private native void createNewCompactionFilterFactory1(
+      long prefixExtractorHandle);
+  private native void disposeInternal(long handle);
+}
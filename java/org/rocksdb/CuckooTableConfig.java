@@ -0,0 +1,164 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+package org.rocksdb;
+
+/**
+ * The config for cuckoo table sst format.
+ *
+ * <p>CuckooTable is a RocksDB's SST file format using cache friendly
+ * cuckoo hashing. It is optimized for point lookups, which need only
+ * a few probes into the hash table.</p>
+ *
+ * <p>Cuckoo tables are read through mmap, so
+ * {@link Options#setAllowMmapReads(boolean)} has to be enabled. All keys
+ * and all values of a table need to have the same length, and iteration
+ * is less efficient than with the other table formats.</p>
+ */
+public class CuckooTableConfig extends TableFormatConfig {
+  public static final double DEFAULT_HASH_TABLE_RATIO = 0.9;
+  public static final int DEFAULT_MAX_SEARCH_DEPTH = 100;
+  public static final int DEFAULT_CUCKOO_BLOCK_SIZE = 5;
+  public static final boolean DEFAULT_IDENTITY_AS_FIRST_HASH = false;
+  public static final boolean DEFAULT_USE_MODULE_HASH = true;
+
+  public CuckooTableConfig() {
+    hashTableRatio_ = DEFAULT_HASH_TABLE_RATIO;
+    maxSearchDepth_ = DEFAULT_MAX_SEARCH_DEPTH;
+    cuckooBlockSize_ = DEFAULT_CUCKOO_BLOCK_SIZE;
+    identityAsFirstHash_ = DEFAULT_IDENTITY_AS_FIRST_HASH;
+    useModuleHash_ = DEFAULT_USE_MODULE_HASH;
+  }
+
+  /**
+   * <p>Determines the utilization of hash tables. Smaller values
+   * result in larger hash tables with fewer collisions.</p>
+   *
+   * <p>DEFAULT: 0.9</p>
+   *
+   * @param ratio the hash table ratio.
+   * @return the reference to the current config.
+   */
+  public CuckooTableConfig setHashTableRatio(double ratio) {
+    hashTableRatio_ = ratio;
+    return this;
+  }
+
+  /**
+   * @return the hash table ratio.
+   */
+  public double hashTableRatio() {
+    return hashTableRatio_;
+  }
+
+  /**
+   * <p>The depth the table builder goes to when searching for a path
+   * to displace elements in case of a collision. Higher values result
+   * in more efficient hash tables with fewer lookups, but take more
+   * time to build.</p>
+   *
+   * <p>DEFAULT: 100</p>
+   *
+   * @param depth the maximum search depth.
+   * @return the reference to the current config.
+   */
+  public CuckooTableConfig setMaxSearchDepth(int depth) {
+    maxSearchDepth_ = depth;
+    return this;
+  }
+
+  /**
+   * @return the maximum search depth.
+   */
+  public int maxSearchDepth() {
+    return maxSearchDepth_;
+  }
+
+  /**
+   * <p>In case of a collision while inserting, the builder attempts
+   * to insert in the next cuckooBlockSize locations before skipping
+   * over to the next cuckoo hash function. This makes lookups more
+   * cache friendly in case of collisions.</p>
+   *
+   * <p>DEFAULT: 5</p>
+   *
+   * @param blockSize the cuckoo block size.
+   * @return the reference to the current config.
+   */
+  public CuckooTableConfig setCuckooBlockSize(int blockSize) {
+    cuckooBlockSize_ = blockSize;
+    return this;
+  }
+
+  /**
+   * @return the cuckoo block size.
+   */
+  public int cuckooBlockSize() {
+    return cuckooBlockSize_;
+  }
+
+  /**
+   * <p>If enabled, the user key is treated as a 64 bit integer and its
+   * value is used as hash value directly. This option only changes the
+   * behavior of the builder, readers behave according to the table
+   * properties of a file.</p>
+   *
+   * <p>DEFAULT: false</p>
+   *
+   * @param identityAsFirstHash true to use the identity function as
+   *     first hash function.
+   * @return the reference to the current config.
+   */
+  public CuckooTableConfig setIdentityAsFirstHash(
+      boolean identityAsFirstHash) {
+    identityAsFirstHash_ = identityAsFirstHash;
+    return this;
+  }
+
+  /**
+   * @return true if the identity function is used as first hash
+   *     function.
+   */
+  public boolean identityAsFirstHash() {
+    return identityAsFirstHash_;
+  }
+
+  /**
+   * <p>If true, modulo is used to compute the hash values. This often
+   * yields better space efficiency. If false, the number of entries in
+   * a table is constrained to be a power of two and a bitwise and is
+   * used instead, which is faster in general.</p>
+   *
+   * <p>DEFAULT: true</p>
+   *
+   * @param useModuleHash true to use modulo.
+   * @return the reference to the current config.
+   */
+  public CuckooTableConfig setUseModuleHash(boolean useModuleHash) {
+    useModuleHash_ = useModuleHash;
+    return this;
+  }
+
+  /**
+   * @return true if modulo is used to compute hash values.
+   */
+  public boolean useModuleHash() {
+    return useModuleHash_;
+  }
+
+  @Override protected long newTableFactoryHandle() {
+    return newTableFactoryHandle(hashTableRatio_, maxSearchDepth_,
+        cuckooBlockSize_, identityAsFirstHash_, useModuleHash_);
+  }
+
+  private native long newTableFactoryHandle(double hashTableRatio,
+      int maxSearchDepth, int cuckooBlockSize, boolean identityAsFirstHash,
+      boolean useModuleHash);
+
+  private double hashTableRatio_;
+  private int maxSearchDepth_;
+  private int cuckooBlockSize_;
+  private boolean identityAsFirstHash_;
+  private boolean useModuleHash_;
+}
@@ -44,6 +44,7 @@ public class DirectSlice extends AbstractSlice<ByteBuffer> {
   public DirectSlice(final String str) {
     super();
     createNewSliceFromString(str);
+    internalBuffer_ = true;
   }
 
   /**
@@ -89,7 +90,8 @@ public class DirectSlice extends AbstractSlice<ByteBuffer> {
    */
   public void clear() {
     assert (isInitialized());
-    clear0(nativeHandle_);
+    clear0(nativeHandle_, internalBuffer_);
+    internalBuffer_ = false;
   }
 
   /**
@@ -101,13 +103,36 @@ public class DirectSlice extends AbstractSlice<ByteBuffer> {
    */
   public void removePrefix(final int n) {
     assert (isInitialized());
-    removePrefix0(nativeHandle_, n);
+    removePrefix0(nativeHandle_, n, internalBuffer_);
   }
 
+  /**
+   * Deletes underlying C++ slice pointer
+   * and, when the slice was created from a String,
+   * the copy of the data it owns.
+   *
+   * <p>
+   * Note that this function should be called only after all
+   * RocksDB instances referencing the slice are closed.
+   * Otherwise an undefined behavior will occur.</p>
+   */
+  @Override
+  protected void disposeInternal() {
+    if (internalBuffer_) {
+      disposeInternalBuf(nativeHandle_);
+      internalBuffer_ = false;
+    }
+    super.disposeInternal();
+  }
+
+  private boolean internalBuffer_ = false;
+
   private native void createNewDirectSlice0(ByteBuffer data, int length);
   private native void createNewDirectSlice1(ByteBuffer data);
   @Override protected final native ByteBuffer data0(long handle);
   private native byte get0(long handle, int offset);
-  private native void clear0(long handle);
-  private native void removePrefix0(long handle, int length);
+  private native void clear0(long handle, boolean internalBuffer);
+  private native void removePrefix0(long handle, int length,
+      boolean internalBuffer);
+  private native void disposeInternalBuf(long handle);
 }
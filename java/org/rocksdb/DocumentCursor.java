@@ -0,0 +1,107 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+import java.nio.ByteBuffer;
+
+/**
+ * <p>DocumentCursor returns the documents matching a
+ * {@link DocumentDB#query(ReadOptions, JsonDocument, int)}. To get all
+ * results, call {@link #next()} while {@link #isValid()} is true.</p>
+ *
+ * <p>The query filters are evaluated natively. Matching documents are
+ * fetched in chunks of serialized documents, so only one JNI call is
+ * made per chunk instead of one per document.</p>
+ *
+ * <p>A DocumentCursor is not thread-safe.</p>
+ */
+public class DocumentCursor extends RocksObject {
+  DocumentCursor(DocumentDB documentDB, long nativeHandle, int chunkSize) {
+    super();
+    nativeHandle_ = nativeHandle;
+    // DocumentCursor must hold a reference to the related DocumentDB
+    // instance, see RocksIterator.
+    documentDB_ = documentDB;
+    chunkSize_ = chunkSize;
+  }
+
+  /**
+   * @return true if the cursor is positioned at a document.
+   */
+  public boolean isValid() {
+    return document_ != null;
+  }
+
+  /**
+   * Moves to the next document.
+   * REQUIRES: {@link #isValid()}
+   *
+   * @throws RocksDBException if the query failed while fetching the
+   *     next chunk of results.
+   */
+  public void next() throws RocksDBException {
+    assert(isValid());
+    advance();
+  }
+
+  /**
+   * REQUIRES: {@link #isValid()}
+   *
+   * @return the current document.
+   */
+  public JsonDocument document() {
+    assert(isValid());
+    return document_;
+  }
+
+  /**
+   * Positions the cursor at the next document, fetching the next chunk
+   * of results if the current one is used up.
+   */
+  void advance() throws RocksDBException {
+    assert(isInitialized());
+    if ((chunk_ == null || !chunk_.hasRemaining()) && !exhausted_) {
+      byte[] data = nextChunk(nativeHandle_, chunkSize_);
+      if (data == null) {
+        exhausted_ = true;
+        chunk_ = null;
+      } else {
+        chunk_ = NativeCoding.wrap(data);
+      }
+    }
+    if (chunk_ == null || !chunk_.hasRemaining()) {
+      document_ = null;
+      return;
+    }
+    // a chunk is a sequence of length prefixed serialized documents
+    document_ = JsonDocument.deserialize(
+        NativeCoding.getLengthPrefixed(chunk_));
+  }
+
+  /**
+   * <p>Deletes underlying C++ cursor pointer.</p>
+   *
+   * <p>Note: the underlying handle can only be safely deleted if the
+   * DocumentDB instance related to a certain DocumentCursor is still
+   * valid and initialized.</p>
+   */
+  @Override protected void disposeInternal() {
+    assert(isInitialized());
+    if (documentDB_.isInitialized()) {
+      disposeInternal(nativeHandle_);
+    }
+  }
+
+  private native byte[] nextChunk(long handle, int chunkSize)
+      throws RocksDBException;
+  private native void disposeInternal(long handle);
+
+  final DocumentDB documentDB_;
+  private final int chunkSize_;
+  private ByteBuffer chunk_;
+  private boolean exhausted_;
+  private JsonDocument document_;
+}
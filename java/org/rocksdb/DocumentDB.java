@@ -0,0 +1,273 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+import java.util.List;
+
+/**
+ * <p>DocumentDB is a layer on top of RocksDB that provides a very simple
+ * JSON API. When opening a DocumentDB, you specify a list of indexes you
+ * want to keep on your data. Every {@link org.rocksdb.JsonDocument}
+ * inserted into the DB needs an "_id" field, which is automatically
+ * indexed and is a unique primary key. All other indexes are
+ * non-unique.</p>
+ *
+ * <p>Filters and updates are evaluated natively, so only the matching
+ * documents are passed to Java, in chunks, by the
+ * {@link org.rocksdb.DocumentCursor}.</p>
+ *
+ * <p>NOTE: field names in the JSON are not allowed to start with '$' or
+ * contain '.'.</p>
+ *
+ * <p>NOTE: DocumentDB is experimental and its API may change.</p>
+ */
+public class DocumentDB extends RocksDB {
+  /**
+   * Default number of documents fetched per JNI call by a
+   * {@link org.rocksdb.DocumentCursor}.
+   */
+  public static final int DEFAULT_CURSOR_CHUNK_SIZE = 256;
+
+  /**
+   * Describes a secondary index. Currently an index can only be defined
+   * on a single field X, with the description {@code {X: 1}}.
+   */
+  public static class IndexDescriptor {
+    private final String name_;
+    private final JsonDocument description_;
+
+    /**
+     * @param name the name of the index.
+     * @param description the index description, e.g. {@code {"age": 1}}.
+     */
+    public IndexDescriptor(String name, JsonDocument description) {
+      name_ = name;
+      description_ = description;
+    }
+
+    public String name() {
+      return name_;
+    }
+
+    public JsonDocument description() {
+      return description_;
+    }
+  }
+
+  /**
+   * Opens a DocumentDB, creating it if it does not exist.
+   *
+   * @param options {@link org.rocksdb.DocumentDBOptions} instance.
+   * @param db_path path to database.
+   * @param indexes all secondary indexes present in the DB.
+   *
+   * @return DocumentDB instance.
+   *
+   * @throws RocksDBException thrown if an error occurs within the native
+   *     part of the library.
+   */
+  public static DocumentDB open(DocumentDBOptions options, String db_path,
+      List<IndexDescriptor> indexes) throws RocksDBException {
+    return open(options, db_path, indexes, false);
+  }
+
+  /**
+   * Opens a DocumentDB. The list of indexes has to be complete, i.e.
+   * include all secondary indexes present in the DB. Otherwise an
+   * exception is thrown.
+   *
+   * @param options {@link org.rocksdb.DocumentDBOptions} instance.
+   * @param db_path path to database.
+   * @param indexes all secondary indexes present in the DB.
+   * @param readOnly true to open the database in read-only mode.
+   *
+   * @return DocumentDB instance.
+   *
+   * @throws RocksDBException thrown if an error occurs within the native
+   *     part of the library.
+   */
+  public static DocumentDB open(DocumentDBOptions options, String db_path,
+      List<IndexDescriptor> indexes, boolean readOnly)
+      throws RocksDBException {
+    String[] names = new String[indexes.size()];
+    String[] descriptions = new String[indexes.size()];
+    for (int i = 0; i < indexes.size(); i++) {
+      names[i] = indexes.get(i).name();
+      descriptions[i] = indexes.get(i).description().toJson();
+    }
+    DocumentDB documentDB = new DocumentDB();
+    documentDB.openDocumentDB(options.backgroundThreads(),
+        options.memtableSize(), options.cacheSize(), db_path, names,
+        descriptions, readOnly);
+    return documentDB;
+  }
+
+  /**
+   * Creates a new secondary index. All writes are stopped for the
+   * duration of the call, while the existing documents are indexed.
+   *
+   * @param writeOptions {@link org.rocksdb.WriteOptions} instance.
+   * @param index the index to create.
+   *
+   * @throws RocksDBException thrown if an error occurs within the native
+   *     part of the library.
+   */
+  public void createIndex(WriteOptions writeOptions, IndexDescriptor index)
+      throws RocksDBException {
+    assert(isInitialized());
+    createIndex(nativeHandle_, writeOptions.nativeHandle_, index.name(),
+        index.description().toJson());
+  }
+
+  /**
+   * Drops a secondary index. The client is responsible to make sure
+   * that the index is not used by currently executing queries.
+   *
+   * @param name the name of the index.
+   *
+   * @throws RocksDBException thrown if an error occurs within the native
+   *     part of the library.
+   */
+  public void dropIndex(String name) throws RocksDBException {
+    assert(isInitialized());
+    dropIndex(nativeHandle_, name);
+  }
+
+  /**
+   * Inserts a document. The document needs a primary key "_id", which
+   * is either a string or an integer.
+   *
+   * @param writeOptions {@link org.rocksdb.WriteOptions} instance.
+   * @param document the document to insert.
+   *
+   * @throws RocksDBException thrown if an error occurs within the native
+   *     part of the library.
+   */
+  public void insert(WriteOptions writeOptions, JsonDocument document)
+      throws RocksDBException {
+    assert(isInitialized());
+    insert(nativeHandle_, writeOptions.nativeHandle_, document.toJson());
+  }
+
+  /**
+   * Atomically deletes all documents matching a filter.
+   *
+   * @param readOptions {@link org.rocksdb.ReadOptions} instance.
+   * @param writeOptions {@link org.rocksdb.WriteOptions} instance.
+   * @param filter the filter, see {@link #query(ReadOptions, JsonDocument)}.
+   *
+   * @throws RocksDBException thrown if an error occurs within the native
+   *     part of the library.
+   */
+  public void remove(ReadOptions readOptions, WriteOptions writeOptions,
+      JsonDocument filter) throws RocksDBException {
+    assert(isInitialized());
+    remove(nativeHandle_, readOptions.nativeHandle_,
+        writeOptions.nativeHandle_, filter.toJson());
+  }
+
+  /**
+   * <p>Finds all documents matching a filter and, atomically for each
+   * document, applies the updates and updates the secondary indexes.</p>
+   *
+   * <p>Currently only the $set update operator is supported:
+   * {@code {$set: {key1: value1, key2: value2}}}. The primary key of a
+   * document can not be changed.</p>
+   *
+   * @param readOptions {@link org.rocksdb.ReadOptions} instance.
+   * @param writeOptions {@link org.rocksdb.WriteOptions} instance.
+   * @param filter the filter, e.g. {@code {id: {$gt: 5}, $index: id}}.
+   * @param updates the update operators.
+   *
+   * @throws RocksDBException thrown if an error occurs within the native
+   *     part of the library.
+   */
+  public void update(ReadOptions readOptions, WriteOptions writeOptions,
+      JsonDocument filter, JsonDocument updates) throws RocksDBException {
+    assert(isInitialized());
+    update(nativeHandle_, readOptions.nativeHandle_,
+        writeOptions.nativeHandle_, filter.toJson(), updates.toJson());
+  }
+
+  /**
+   * Executes a query using {@link #DEFAULT_CURSOR_CHUNK_SIZE}.
+   *
+   * @param readOptions {@link org.rocksdb.ReadOptions} instance.
+   * @param query the query.
+   * @return a cursor positioned at the first result.
+   *
+   * @throws RocksDBException thrown if an error occurs within the native
+   *     part of the library.
+   *
+   * @see #query(ReadOptions, JsonDocument, int)
+   */
+  public DocumentCursor query(ReadOptions readOptions, JsonDocument query)
+      throws RocksDBException {
+    return query(readOptions, query, DEFAULT_CURSOR_CHUNK_SIZE);
+  }
+
+  /**
+   * <p>Executes a query. The query has to be an array of operators.
+   * Currently only the $filter operator is supported:
+   * {@code {$filter: {key1: condition1, key2: condition2}}}, where a
+   * condition is either a value to compare for equality, or one of the
+   * operators $gt, $gte, $lt and $lte, e.g. {@code {$gt: 4}}.</p>
+   *
+   * <p>To use an index, specify it within the filter:
+   * {@code [{$filter: {name: John, age: {$gte: 18}, $index: age}}]}.</p>
+   *
+   * @param readOptions {@link org.rocksdb.ReadOptions} instance.
+   * @param query the query.
+   * @param chunkSize the number of documents fetched per JNI call.
+   * @return a cursor positioned at the first result, which must be
+   *     disposed after use.
+   *
+   * @throws RocksDBException thrown if an error occurs within the native
+   *     part of the library.
+   */
+  public DocumentCursor query(ReadOptions readOptions, JsonDocument query,
+      int chunkSize) throws RocksDBException {
+    assert(isInitialized());
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("chunkSize must be positive");
+    }
+    DocumentCursor cursor = new DocumentCursor(this,
+        query(nativeHandle_, readOptions.nativeHandle_, query.toJson()),
+        chunkSize);
+    try {
+      cursor.advance();
+    } catch (RocksDBException e) {
+      cursor.dispose();
+      throw e;
+    }
+    return cursor;
+  }
+
+  /**
+   * A protected constructor that will be used in the static factory
+   * method {@link #open(DocumentDBOptions, String, List, boolean)}.
+   */
+  protected DocumentDB() {
+    super();
+  }
+
+  private native void openDocumentDB(int backgroundThreads,
+      long memtableSize, long cacheSize, String db_path, String[] indexNames,
+      String[] indexDescriptions, boolean readOnly) throws RocksDBException;
+  private native void createIndex(long handle, long writeOptionsHandle,
+      String name, String description) throws RocksDBException;
+  private native void dropIndex(long handle, String name)
+      throws RocksDBException;
+  private native void insert(long handle, long writeOptionsHandle,
+      String document) throws RocksDBException;
+  private native void remove(long handle, long readOptionsHandle,
+      long writeOptionsHandle, String filter) throws RocksDBException;
+  private native void update(long handle, long readOptionsHandle,
+      long writeOptionsHandle, String filter, String updates)
+      throws RocksDBException;
+  private native long query(long handle, long readOptionsHandle,
+      String query) throws RocksDBException;
+}
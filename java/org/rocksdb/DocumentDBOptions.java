@@ -0,0 +1,64 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+/**
+ * Options to open a {@link org.rocksdb.DocumentDB}. The DocumentDB
+ * derives all RocksDB options from these.
+ */
+public class DocumentDBOptions {
+  private int backgroundThreads_ = 4;
+  private long memtableSize_ = 128L * 1024L * 1024L;
+  private long cacheSize_ = 1024L * 1024L * 1024L;
+
+  /**
+   * Number of background threads, one of them is used for flushes.
+   * Default: 4
+   *
+   * @param backgroundThreads number of background threads.
+   * @return the reference to the current DocumentDBOptions.
+   */
+  public DocumentDBOptions setBackgroundThreads(int backgroundThreads) {
+    backgroundThreads_ = backgroundThreads;
+    return this;
+  }
+
+  public int backgroundThreads() {
+    return backgroundThreads_;
+  }
+
+  /**
+   * Size of a single memtable.
+   * Default: 128MB
+   *
+   * @param memtableSize memtable size in bytes.
+   * @return the reference to the current DocumentDBOptions.
+   */
+  public DocumentDBOptions setMemtableSize(long memtableSize) {
+    memtableSize_ = memtableSize;
+    return this;
+  }
+
+  public long memtableSize() {
+    return memtableSize_;
+  }
+
+  /**
+   * Size of the block cache.
+   * Default: 1GB
+   *
+   * @param cacheSize block cache size in bytes.
+   * @return the reference to the current DocumentDBOptions.
+   */
+  public DocumentDBOptions setCacheSize(long cacheSize) {
+    cacheSize_ = cacheSize;
+    return this;
+  }
+
+  public long cacheSize() {
+    return cacheSize_;
+  }
+}
@@ -0,0 +1,158 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>FeatureSet is a map of key-value pairs associated with each
+ * element of a {@link org.rocksdb.SpatialDB}. A value is either null,
+ * a Boolean, a Long, a Double or a String.</p>
+ *
+ * <p>FeatureSets are converted to the format used by the native
+ * {@code rocksdb::spatial::FeatureSet::Serialize()} on the Java side, so
+ * they cross the JNI boundary as plain bytes.</p>
+ */
+public class FeatureSet {
+  // Don't change the values here, they match rocksdb::spatial::Variant::Type
+  private static final byte TYPE_NULL = 0x0;
+  private static final byte TYPE_BOOL = 0x1;
+  private static final byte TYPE_INT = 0x2;
+  private static final byte TYPE_DOUBLE = 0x3;
+  private static final byte TYPE_STRING = 0x4;
+
+  private final Map<String, Object> map_ = new HashMap<String, Object>();
+
+  public FeatureSet set(String key, boolean value) {
+    map_.put(key, value);
+    return this;
+  }
+
+  /**
+   * Sets an integer feature. The native side stores integers as
+   * unsigned 64 bit values.
+   *
+   * @param key the feature key.
+   * @param value the feature value.
+   * @return the reference to the current FeatureSet.
+   */
+  public FeatureSet set(String key, long value) {
+    map_.put(key, value);
+    return this;
+  }
+
+  public FeatureSet set(String key, double value) {
+    map_.put(key, value);
+    return this;
+  }
+
+  /**
+   * @param key the feature key.
+   * @param value the feature value, null for a null feature.
+   * @return the reference to the current FeatureSet.
+   */
+  public FeatureSet set(String key, String value) {
+    map_.put(key, value);
+    return this;
+  }
+
+  public FeatureSet setNull(String key) {
+    map_.put(key, null);
+    return this;
+  }
+
+  public boolean contains(String key) {
+    return map_.containsKey(key);
+  }
+
+  /**
+   * @param key the feature key.
+   * @return the value of the feature, which is either null, a Boolean,
+   *     a Long, a Double or a String.
+   */
+  public Object get(String key) {
+    return map_.get(key);
+  }
+
+  public Set<String> keySet() {
+    return map_.keySet();
+  }
+
+  public int size() {
+    return map_.size();
+  }
+
+  public void clear() {
+    map_.clear();
+  }
+
+  void serialize(ByteArrayOutputStream out) {
+    for (Map.Entry<String, Object> entry : map_.entrySet()) {
+      NativeCoding.putLengthPrefixed(out, entry.getKey());
+      Object value = entry.getValue();
+      if (value == null) {
+        out.write(TYPE_NULL);
+      } else if (value instanceof Boolean) {
+        out.write(TYPE_BOOL);
+        out.write((Boolean) value ? 1 : 0);
+      } else if (value instanceof Long) {
+        out.write(TYPE_INT);
+        NativeCoding.putVarint64(out, (Long) value);
+      } else if (value instanceof Double) {
+        out.write(TYPE_DOUBLE);
+        NativeCoding.putDouble(out, (Double) value);
+      } else {
+        out.write(TYPE_STRING);
+        NativeCoding.putLengthPrefixed(out, (String) value);
+      }
+    }
+  }
+
+  static FeatureSet deserialize(ByteBuffer in) {
+    FeatureSet featureSet = new FeatureSet();
+    while (in.hasRemaining()) {
+      String key = NativeCoding.getLengthPrefixedString(in);
+      byte type = in.get();
+      switch (type) {
+        case TYPE_NULL:
+          featureSet.setNull(key);
+          break;
+        case TYPE_BOOL:
+          featureSet.set(key, in.get() != 0);
+          break;
+        case TYPE_INT:
+          featureSet.set(key, NativeCoding.getVarint64(in));
+          break;
+        case TYPE_DOUBLE:
+          featureSet.set(key, in.getDouble());
+          break;
+        case TYPE_STRING:
+          featureSet.set(key, NativeCoding.getLengthPrefixedString(in));
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown feature type " + type);
+      }
+    }
+    return featureSet;
+  }
+
+  @Override public boolean equals(Object other) {
+    return other instanceof FeatureSet &&
+        map_.equals(((FeatureSet) other).map_);
+  }
+
+  @Override public int hashCode() {
+    return map_.hashCode();
+  }
+
+  @Override public String toString() {
+    return map_.toString();
+  }
+}
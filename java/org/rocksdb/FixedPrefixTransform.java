@@ -0,0 +1,24 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+/**
+ * Uses the first {@code prefixLength} bytes of a key as its prefix.
+ * Keys shorter than {@code prefixLength} have no prefix, so they are
+ * not part of the prefix bloom filters.
+ */
+public class FixedPrefixTransform extends SliceTransform {
+  /**
+   * @param prefixLength the number of bytes of the prefix.
+   */
+  public FixedPrefixTransform(int prefixLength) {
+    super();
+    assert(prefixLength >= 0);
+    createNewFixedPrefixTransform(prefixLength);
+  }
+
+  private native void createNewFixedPrefixTransform(int prefixLength);
+}
@@ -0,0 +1,172 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+import java.util.List;
+
+/**
+ * <p>Database which indexes objects by their GPS location.</p>
+ *
+ * <p>Objects are stored under a quadkey of their position, which allows
+ * {@link #searchRadial(GeoPosition, double, int)} to find the objects
+ * around a location natively by scanning the tiles which cover the
+ * search area. All results of a search are returned by a single native
+ * call.</p>
+ *
+ * <p>GeoDB extends {@link org.rocksdb.RocksDB}, but the keys and values
+ * written by GeoDB have an internal format, so objects should only be
+ * inserted, read and removed through the methods of this class.</p>
+ */
+public class GeoDB extends RocksDB {
+  /**
+   * Opens a GeoDB. The database is created if
+   * {@link Options#setCreateIfMissing(boolean)} is set.
+   *
+   * @param options {@link org.rocksdb.Options} instance.
+   * @param db_path path to database.
+   *
+   * @return GeoDB instance.
+   *
+   * @throws RocksDBException thrown if an error occurs within the native
+   *     part of the library.
+   */
+  public static GeoDB open(Options options, String db_path)
+      throws RocksDBException {
+    GeoDB geoDB = new GeoDB();
+    geoDB.openGeoDB(options.nativeHandle_, db_path);
+
+    geoDB.storeOptionsInstance(options);
+    return geoDB;
+  }
+
+  /**
+   * Insert a new object into the location database. The object is
+   * uniquely identified by the id. If an object with the same id already
+   * exists in the db, then the old one is overwritten by the new
+   * object being inserted here.
+   *
+   * @param object the object to insert.
+   *
+   * @throws RocksDBException thrown if an error occurs within the native
+   *     part of the library.
+   */
+  public void insert(GeoObject object) throws RocksDBException {
+    assert(isInitialized());
+    insert(nativeHandle_, object.position().latitude(),
+        object.position().longitude(), object.id(), object.value());
+  }
+
+  /**
+   * Retrieve the value of the object located at the specified GPS
+   * location and is identified by the 'id'.
+   *
+   * @param position the location of the object.
+   * @param id the id of the object.
+   * @return the value of the object, or null if there is no such object.
+   *
+   * @throws RocksDBException thrown if an error occurs within the native
+   *     part of the library.
+   */
+  public byte[] getByPosition(GeoPosition position, String id)
+      throws RocksDBException {
+    assert(isInitialized());
+    return getByPosition(nativeHandle_, position.latitude(),
+        position.longitude(), id);
+  }
+
+  /**
+   * Retrieve the object identified by the 'id'. This method
+   * could be potentially slower than
+   * {@link #getByPosition(GeoPosition, String)}.
+   *
+   * @param id the id of the object.
+   * @return the object, or null if there is no object with this id.
+   *
+   * @throws RocksDBException thrown if an error occurs within the native
+   *     part of the library.
+   */
+  public GeoObject getById(String id) throws RocksDBException {
+    assert(isInitialized());
+    return getById(nativeHandle_, id);
+  }
+
+  /**
+   * Delete the object identified by the 'id'.
+   *
+   * @param id the id of the object.
+   * @return true if the object was removed, false if there is no
+   *     object with this id.
+   *
+   * @throws RocksDBException thrown if an error occurs within the native
+   *     part of the library.
+   */
+  public boolean remove(String id) throws RocksDBException {
+    assert(isInitialized());
+    return remove(nativeHandle_, id);
+  }
+
+  /**
+   * Returns all objects within a circular radius from the
+   * specified location.
+   *
+   * @param position the center of the search.
+   * @param radius the radius in meters.
+   * @return the objects found.
+   *
+   * @throws RocksDBException thrown if an error occurs within the native
+   *     part of the library.
+   *
+   * @see #searchRadial(GeoPosition, double, int)
+   */
+  public List<GeoObject> searchRadial(GeoPosition position, double radius)
+      throws RocksDBException {
+    return searchRadial(position, radius, Integer.MAX_VALUE);
+  }
+
+  /**
+   * <p>Returns a list of the items within a circular radius from the
+   * specified location, at most {@code limit} of them.</p>
+   *
+   * <p>The search scans the quadkey tiles covering the bounding square
+   * of the circle, so objects close to the corners of that square may be
+   * returned as well.</p>
+   *
+   * @param position the center of the search.
+   * @param radius the radius in meters.
+   * @param limit the maximum number of objects to return.
+   * @return the objects found.
+   *
+   * @throws RocksDBException thrown if an error occurs within the native
+   *     part of the library.
+   */
+  public List<GeoObject> searchRadial(GeoPosition position, double radius,
+      int limit) throws RocksDBException {
+    assert(isInitialized());
+    return searchRadial(nativeHandle_, position.latitude(),
+        position.longitude(), radius, limit);
+  }
+
+  /**
+   * A protected constructor that will be used in the static factory
+   * method {@link #open(Options, String)}.
+   */
+  protected GeoDB() {
+    super();
+  }
+
+  private native void openGeoDB(long optionsHandle, String db_path)
+      throws RocksDBException;
+  private native void insert(long handle, double latitude, double longitude,
+      String id, byte[] value) throws RocksDBException;
+  private native byte[] getByPosition(long handle, double latitude,
+      double longitude, String id) throws RocksDBException;
+  private native GeoObject getById(long handle, String id)
+      throws RocksDBException;
+  private native boolean remove(long handle, String id)
+      throws RocksDBException;
+  private native List<GeoObject> searchRadial(long handle, double latitude,
+      double longitude, double radius, int limit) throws RocksDBException;
+}
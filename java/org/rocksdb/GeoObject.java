@@ -0,0 +1,53 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+/**
+ * An object stored in a {@link org.rocksdb.GeoDB}. The object is located
+ * at a {@link org.rocksdb.GeoPosition}, uniquely identified by its id
+ * and carries a value.
+ */
+public class GeoObject {
+  private final GeoPosition position_;
+  private final String id_;
+  private final byte[] value_;
+
+  /**
+   * @param position the location of the object.
+   * @param id the id of the object, it must not contain ':'.
+   * @param value the value of the object.
+   */
+  public GeoObject(GeoPosition position, String id, byte[] value) {
+    position_ = position;
+    id_ = id;
+    value_ = value;
+  }
+
+  GeoObject(double latitude, double longitude, String id, byte[] value) {
+    this(new GeoPosition(latitude, longitude), id, value);
+  }
+
+  /**
+   * @return the location of the object.
+   */
+  public GeoPosition position() {
+    return position_;
+  }
+
+  /**
+   * @return the id of the object.
+   */
+  public String id() {
+    return id_;
+  }
+
+  /**
+   * @return the value of the object.
+   */
+  public byte[] value() {
+    return value_;
+  }
+}
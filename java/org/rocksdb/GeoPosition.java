@@ -0,0 +1,39 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+/**
+ * A GPS location given by its latitude and longitude in degrees.
+ *
+ * @see org.rocksdb.GeoDB
+ */
+public class GeoPosition {
+  private final double latitude_;
+  private final double longitude_;
+
+  /**
+   * @param latitude latitude in degrees.
+   * @param longitude longitude in degrees.
+   */
+  public GeoPosition(double latitude, double longitude) {
+    latitude_ = latitude;
+    longitude_ = longitude;
+  }
+
+  /**
+   * @return the latitude in degrees.
+   */
+  public double latitude() {
+    return latitude_;
+  }
+
+  /**
+   * @return the longitude in degrees.
+   */
+  public double longitude() {
+    return longitude_;
+  }
+}
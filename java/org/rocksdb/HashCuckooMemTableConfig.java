@@ -0,0 +1,103 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+package org.rocksdb;
+
+/**
+ * The config for hash cuckoo memtable representation.
+ *
+ * <p>This memtable is based on cuckoo hashing and is designed for
+ * point lookup and overwrite heavy workloads. Each key is stored in
+ * one of hashFunctionCount possible buckets, so a lookup needs at most
+ * that many probes, and writing to an existing key replaces the
+ * previous entry.</p>
+ *
+ * <p>Note that it does not support snapshots, and its iterator is
+ * expensive as it sorts all entries on creation.</p>
+ */
+public class HashCuckooMemTableConfig extends MemTableConfig {
+  public static final long DEFAULT_WRITE_BUFFER_SIZE = 4 * 1024 * 1024;
+  public static final long DEFAULT_AVERAGE_DATA_SIZE = 64;
+  public static final int DEFAULT_HASH_FUNCTION_COUNT = 4;
+
+  /**
+   * HashCuckooMemTableConfig constructor
+   */
+  public HashCuckooMemTableConfig() {
+    writeBufferSize_ = DEFAULT_WRITE_BUFFER_SIZE;
+    averageDataSize_ = DEFAULT_AVERAGE_DATA_SIZE;
+    hashFunctionCount_ = DEFAULT_HASH_FUNCTION_COUNT;
+  }
+
+  /**
+   * Set the write buffer size in bytes. Together with the average
+   * data size it determines the number of buckets, and should match
+   * {@link Options#setWriteBufferSize(long)}.
+   *
+   * @param size the write buffer size in bytes.
+   * @return the reference to the current HashCuckooMemTableConfig.
+   */
+  public HashCuckooMemTableConfig setWriteBufferSize(long size) {
+    writeBufferSize_ = size;
+    return this;
+  }
+
+  /**
+   * @return the write buffer size in bytes.
+   */
+  public long writeBufferSize() {
+    return writeBufferSize_;
+  }
+
+  /**
+   * Set the average size of key + value in bytes.
+   *
+   * @param size the average data size in bytes.
+   * @return the reference to the current HashCuckooMemTableConfig.
+   */
+  public HashCuckooMemTableConfig setAverageDataSize(long size) {
+    averageDataSize_ = size;
+    return this;
+  }
+
+  /**
+   * @return the average size of key + value in bytes.
+   */
+  public long averageDataSize() {
+    return averageDataSize_;
+  }
+
+  /**
+   * Set the number of hash functions used by the cuckoo hash, which
+   * equals the number of buckets a key can be stored in.
+   *
+   * @param count the number of hash functions.
+   * @return the reference to the current HashCuckooMemTableConfig.
+   */
+  public HashCuckooMemTableConfig setHashFunctionCount(int count) {
+    hashFunctionCount_ = count;
+    return this;
+  }
+
+  /**
+   * @return the number of hash functions.
+   */
+  public int hashFunctionCount() {
+    return hashFunctionCount_;
+  }
+
+  @Override protected long newMemTableFactoryHandle()
+      throws RocksDBException {
+    return newMemTableFactoryHandle(writeBufferSize_, averageDataSize_,
+        hashFunctionCount_);
+  }
+
+  private native long newMemTableFactoryHandle(long writeBufferSize,
+      long averageDataSize, int hashFunctionCount)
+      throws RocksDBException;
+
+  private long writeBufferSize_;
+  private long averageDataSize_;
+  private int hashFunctionCount_;
+}
@@ -5,20 +5,62 @@
 
 package org.rocksdb;
 
+/**
+ * <p>Data of a histogram in {@link org.rocksdb.Statistics}.</p>
+ *
+ * <p>Besides the summary values it carries the number of values in each
+ * bucket, see {@link #bucketLimits()}. Histograms of several instances can
+ * therefore be combined with {@link #merge(HistogramData)}, and any
+ * percentile can be computed with {@link #getPercentile(double)}.</p>
+ */
 public class HistogramData {
   private final double median_;
   private final double percentile95_;
   private final double percentile99_;
   private final double average_;
   private final double standardDeviation_;
+  private final double max_;
+  private final double min_;
+  private final long count_;
+  private final long sum_;
+  private final long[] buckets_;
+
+  private static long[] bucketLimits_;
 
   public HistogramData(double median, double percentile95,
       double percentile99, double average, double standardDeviation) {
+    this(median, percentile95, percentile99, average, standardDeviation,
+        0.0, 0.0, 0, 0, new long[0]);
+  }
+
+  public HistogramData(double median, double percentile95,
+      double percentile99, double average, double standardDeviation,
+      double max, double min, long count, long sum, long[] buckets) {
     median_ = median;
     percentile95_ = percentile95;
     percentile99_ = percentile99;
     average_ = average;
     standardDeviation_ = standardDeviation;
+    max_ = max;
+    min_ = min;
+    count_ = count;
+    sum_ = sum;
+    buckets_ = buckets;
+  }
+
+  /**
+   * Returns the inclusive upper limits of the buckets. Bucket {@code b}
+   * holds the values in {@code (limits[b - 1], limits[b]]}, the first
+   * bucket holds the values in {@code [0, limits[0]]}.
+   *
+   * @return the upper limits of the buckets.
+   */
+  public static synchronized long[] bucketLimits() {
+    if (bucketLimits_ == null) {
+      RocksDB.loadLibrary();
+      bucketLimits_ = bucketLimits0();
+    }
+    return bucketLimits_.clone();
   }
 
   public double getMedian() {
@@ -40,4 +82,153 @@ public class HistogramData {
   public double getStandardDeviation() {
     return standardDeviation_;
   }
+
+  public double getMax() {
+    return max_;
+  }
+
+  public double getMin() {
+    return min_;
+  }
+
+  public long getCount() {
+    return count_;
+  }
+
+  public long getSum() {
+    return sum_;
+  }
+
+  /**
+   * @return the number of values in each bucket, empty if this
+   *     instance was created without buckets.
+   */
+  public long[] getBuckets() {
+    return buckets_.clone();
+  }
+
+  /**
+   * Computes a percentile from the buckets, interpolating linearly
+   * within a bucket in the same way as the native histogram.
+   *
+   * @param p the percentile, e.g. 99.9.
+   * @return the estimated value of the percentile.
+   */
+  public double getPercentile(double p) {
+    return percentile(p, min_, max_, count_, buckets_);
+  }
+
+  /**
+   * Combines this histogram with one of another instance, e.g. of
+   * another database.
+   *
+   * @param other the histogram to add.
+   * @return a new histogram with the values of both.
+   */
+  public HistogramData merge(HistogramData other) {
+    if (other.count_ == 0) {
+      return this;
+    }
+    if (count_ == 0) {
+      return other;
+    }
+    long[] buckets = new long[Math.max(buckets_.length,
+        other.buckets_.length)];
+    for (int b = 0; b < buckets.length; b++) {
+      buckets[b] = bucket(buckets_, b) + bucket(other.buckets_, b);
+    }
+    return create(Math.max(max_, other.max_), Math.min(min_, other.min_),
+        count_ + other.count_, sum_ + other.sum_,
+        sumSquares() + other.sumSquares(), buckets);
+  }
+
+  /**
+   * <p>Returns the histogram of the values added since {@code previous}
+   * was read from the same histogram.</p>
+   *
+   * <p>The minimum and maximum of the interval are not known, they are
+   * estimated from the limits of the lowest and highest non-empty
+   * bucket.</p>
+   *
+   * @param previous an earlier read of the same histogram.
+   * @return a new histogram with the values added since then.
+   */
+  public HistogramData delta(HistogramData previous) {
+    if (previous.count_ == 0) {
+      return this;
+    }
+    long[] buckets = new long[buckets_.length];
+    int first = -1;
+    int last = -1;
+    for (int b = 0; b < buckets.length; b++) {
+      buckets[b] = Math.max(0, buckets_[b] - bucket(previous.buckets_, b));
+      if (buckets[b] > 0) {
+        if (first < 0) {
+          first = b;
+        }
+        last = b;
+      }
+    }
+    long count = Math.max(0, count_ - previous.count_);
+    if (count == 0 || first < 0) {
+      return create(0.0, 0.0, 0, 0, 0.0, buckets);
+    }
+    long[] limits = bucketLimits();
+    double min = Math.max(min_, first == 0 ? 0 : limits[first - 1]);
+    double max = Math.min(max_, limits[last]);
+    return create(max, min, count, sum_ - previous.sum_,
+        Math.max(0.0, sumSquares() - previous.sumSquares()), buckets);
+  }
+
+  // the sum of the squared values, derived from the standard deviation
+  private double sumSquares() {
+    return (standardDeviation_ * standardDeviation_ + average_ * average_) *
+        count_;
+  }
+
+  static HistogramData create(double max, double min, long count,
+      long sum, double sumSquares, long[] buckets) {
+    double average = 0.0;
+    double standardDeviation = 0.0;
+    if (count > 0) {
+      average = (double) sum / count;
+      double variance = sumSquares / count - average * average;
+      standardDeviation = Math.sqrt(Math.max(0.0, variance));
+    }
+    return new HistogramData(percentile(50, min, max, count, buckets),
+        percentile(95, min, max, count, buckets),
+        percentile(99, min, max, count, buckets), average, standardDeviation,
+        max, min, count, sum, buckets);
+  }
+
+  private static double percentile(double p, double min, double max,
+      long count, long[] buckets) {
+    double threshold = count * (p / 100.0);
+    long[] limits = buckets.length > 0 ? bucketLimits() : buckets;
+    double sum = 0;
+    for (int b = 0; b < buckets.length; b++) {
+      sum += buckets[b];
+      if (sum >= threshold) {
+        // Scale linearly within this bucket
+        double leftPoint = (b == 0) ? 0 : limits[b - 1];
+        double rightPoint = limits[b];
+        double leftSum = sum - buckets[b];
+        double pos = 0;
+        if (sum - leftSum != 0) {
+          pos = (threshold - leftSum) / (sum - leftSum);
+        }
+        double r = leftPoint + (rightPoint - leftPoint) * pos;
+        if (r < min) r = min;
+        if (r > max) r = max;
+        return r;
+      }
+    }
+    return max;
+  }
+
+  private static long bucket(long[] buckets, int b) {
+    return b < buckets.length ? buckets[b] : 0;
+  }
+
+  private static native long[] bucketLimits0();
 }
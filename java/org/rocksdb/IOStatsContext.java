@@ -0,0 +1,77 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+/**
+ * <p>A snapshot of the IO counters of the current thread.</p>
+ *
+ * <p>Like the {@link org.rocksdb.PerfContext}, the counters are kept in
+ * a thread local context by RocksDB. They are always collected,
+ * independent of the {@link org.rocksdb.PerfLevel}.</p>
+ */
+public class IOStatsContext {
+  private static final int THREAD_POOL_ID = 0;
+  private static final int BYTES_WRITTEN = 1;
+  private static final int BYTES_READ = 2;
+  private static final int NUM_COUNTERS = 3;
+
+  static {
+    RocksDB.loadLibrary();
+  }
+
+  /**
+   * Resets all IO counters of the current thread to zero.
+   */
+  public static void reset() {
+    reset0();
+  }
+
+  public IOStatsContext() {
+    counters_ = new long[NUM_COUNTERS];
+  }
+
+  /**
+   * Copies the counters of the current thread into this instance.
+   *
+   * @return the reference to the current IOStatsContext.
+   */
+  public IOStatsContext update() {
+    getCounters(counters_);
+    return this;
+  }
+
+  /**
+   * @return the id of the thread pool the thread belongs to.
+   */
+  public long threadPoolId() {
+    return counters_[THREAD_POOL_ID];
+  }
+
+  /**
+   * @return number of bytes that have been written.
+   */
+  public long bytesWritten() {
+    return counters_[BYTES_WRITTEN];
+  }
+
+  /**
+   * @return number of bytes that have been read.
+   */
+  public long bytesRead() {
+    return counters_[BYTES_READ];
+  }
+
+  @Override public String toString() {
+    return "thread_pool_id = " + threadPoolId() +
+        ", bytes_written = " + bytesWritten() +
+        ", bytes_read = " + bytesRead();
+  }
+
+  private static native void reset0();
+  private static native void getCounters(long[] counters);
+
+  private final long[] counters_;
+}
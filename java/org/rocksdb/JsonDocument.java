@@ -0,0 +1,488 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>JsonDocument is a JSON value used by the {@link org.rocksdb.DocumentDB}
+ * API. It is either null, an array, a boolean, a double, a 64 bit integer,
+ * an object or a string.</p>
+ *
+ * <p>Documents are passed to the native side as JSON text and
+ * documents returned by queries are decoded from the native serialization
+ * format, so a JsonDocument has no native handle and needs no disposal.</p>
+ *
+ * <p>NOTE: none of this is thread-safe.</p>
+ */
+public class JsonDocument {
+  /**
+   * The types of JSON values. Don't change the order, it matches
+   * {@code rocksdb::JSONDocument::Type}.
+   */
+  public enum Type {
+    NULL,
+    ARRAY,
+    BOOL,
+    DOUBLE,
+    INT64,
+    OBJECT,
+    STRING
+  }
+
+  private static final byte SERIALIZATION_FORMAT_VERSION = 1;
+
+  private final Type type_;
+  private Object value_;
+
+  /**
+   * Constructs a null JsonDocument.
+   */
+  public JsonDocument() {
+    this(Type.NULL);
+  }
+
+  public JsonDocument(boolean b) {
+    type_ = Type.BOOL;
+    value_ = b;
+  }
+
+  public JsonDocument(double d) {
+    type_ = Type.DOUBLE;
+    value_ = d;
+  }
+
+  public JsonDocument(long i) {
+    type_ = Type.INT64;
+    value_ = i;
+  }
+
+  /**
+   * @param s the string value, must not be null.
+   */
+  public JsonDocument(String s) {
+    assert(s != null);
+    type_ = Type.STRING;
+    value_ = s;
+  }
+
+  /**
+   * Constructs a JsonDocument of the given type with a default value,
+   * i.e. an empty array or object, false, zero or an empty string.
+   *
+   * @param type the type of the document.
+   */
+  public JsonDocument(Type type) {
+    type_ = type;
+    switch (type) {
+      case ARRAY:
+        value_ = new ArrayList<JsonDocument>();
+        break;
+      case BOOL:
+        value_ = false;
+        break;
+      case DOUBLE:
+        value_ = 0.0;
+        break;
+      case INT64:
+        value_ = 0L;
+        break;
+      case OBJECT:
+        value_ = new LinkedHashMap<String, JsonDocument>();
+        break;
+      case STRING:
+        value_ = "";
+        break;
+      default:
+        value_ = null;
+    }
+  }
+
+  /**
+   * Parses JSON text using the native JSON parser.
+   *
+   * @param json the JSON text.
+   * @return the parsed document, or null if the text is not valid JSON.
+   */
+  public static JsonDocument parse(String json) {
+    RocksDB.loadLibrary();
+    byte[] serialized = parse0(json);
+    if (serialized == null) {
+      return null;
+    }
+    // the native side wraps the parsed value as {"": value}, as only
+    // objects can be serialized
+    return deserialize(serialized).get("");
+  }
+
+  public Type type() {
+    return type_;
+  }
+
+  public boolean isNull() {
+    return type_ == Type.NULL;
+  }
+
+  public boolean isArray() {
+    return type_ == Type.ARRAY;
+  }
+
+  public boolean isBool() {
+    return type_ == Type.BOOL;
+  }
+
+  public boolean isDouble() {
+    return type_ == Type.DOUBLE;
+  }
+
+  public boolean isInt64() {
+    return type_ == Type.INT64;
+  }
+
+  public boolean isObject() {
+    return type_ == Type.OBJECT;
+  }
+
+  public boolean isString() {
+    return type_ == Type.STRING;
+  }
+
+  /**
+   * REQUIRES: {@link #isBool()}
+   *
+   * @return the boolean value.
+   */
+  public boolean getBool() {
+    assert(isBool());
+    return (Boolean) value_;
+  }
+
+  /**
+   * REQUIRES: {@link #isDouble()}
+   *
+   * @return the double value.
+   */
+  public double getDouble() {
+    assert(isDouble());
+    return (Double) value_;
+  }
+
+  /**
+   * REQUIRES: {@link #isInt64()}
+   *
+   * @return the integer value.
+   */
+  public long getInt64() {
+    assert(isInt64());
+    return (Long) value_;
+  }
+
+  /**
+   * REQUIRES: {@link #isString()}
+   *
+   * @return the string value.
+   */
+  public String getString() {
+    assert(isString());
+    return (String) value_;
+  }
+
+  /**
+   * REQUIRES: {@link #isObject()}
+   *
+   * @param key the key to look up.
+   * @return true if the object contains the key.
+   */
+  public boolean contains(String key) {
+    return object().containsKey(key);
+  }
+
+  /**
+   * REQUIRES: {@link #isObject()}
+   *
+   * @param key the key to look up.
+   * @return the value of the key, or null if the object does not
+   *     contain the key.
+   */
+  public JsonDocument get(String key) {
+    return object().get(key);
+  }
+
+  /**
+   * REQUIRES: {@link #isObject()}
+   *
+   * @param key the key to set.
+   * @param value the value to set, not copied.
+   * @return the reference to the current JsonDocument.
+   */
+  public JsonDocument set(String key, JsonDocument value) {
+    assert(value != null);
+    object().put(key, value);
+    return this;
+  }
+
+  public JsonDocument set(String key, boolean value) {
+    return set(key, new JsonDocument(value));
+  }
+
+  public JsonDocument set(String key, double value) {
+    return set(key, new JsonDocument(value));
+  }
+
+  public JsonDocument set(String key, long value) {
+    return set(key, new JsonDocument(value));
+  }
+
+  public JsonDocument set(String key, String value) {
+    return set(key, new JsonDocument(value));
+  }
+
+  /**
+   * REQUIRES: {@link #isObject()}
+   *
+   * @return the keys of the object.
+   */
+  public Set<String> keySet() {
+    return object().keySet();
+  }
+
+  /**
+   * REQUIRES: {@link #isArray()} or {@link #isObject()}
+   *
+   * @return the number of elements or entries.
+   */
+  public int count() {
+    return isArray() ? array().size() : object().size();
+  }
+
+  /**
+   * REQUIRES: {@link #isArray()}
+   *
+   * @param i the index of the element.
+   * @return the element at index i.
+   */
+  public JsonDocument getFromArray(int i) {
+    return array().get(i);
+  }
+
+  /**
+   * REQUIRES: {@link #isArray()} and {@code i < count()}
+   *
+   * @param i the index of the element.
+   * @param value the value to set, not copied.
+   * @return the reference to the current JsonDocument.
+   */
+  public JsonDocument setInArray(int i, JsonDocument value) {
+    assert(value != null);
+    array().set(i, value);
+    return this;
+  }
+
+  /**
+   * REQUIRES: {@link #isArray()}
+   *
+   * @param value the value to append, not copied.
+   * @return the reference to the current JsonDocument.
+   */
+  public JsonDocument pushBack(JsonDocument value) {
+    assert(value != null);
+    array().add(value);
+    return this;
+  }
+
+  /**
+   * Returns the JSON text of this document. JSON has no literals for
+   * NaN and infinite doubles, they are written as {@code null}.
+   *
+   * @return the JSON text of this document.
+   */
+  public String toJson() {
+    StringBuilder sb = new StringBuilder();
+    appendJson(sb);
+    return sb.toString();
+  }
+
+  @Override public String toString() {
+    return toJson();
+  }
+
+  @Override public boolean equals(Object other) {
+    if (!(other instanceof JsonDocument)) {
+      return false;
+    }
+    JsonDocument rhs = (JsonDocument) other;
+    return type_ == rhs.type_ &&
+        (value_ == null ? rhs.value_ == null : value_.equals(rhs.value_));
+  }
+
+  @Override public int hashCode() {
+    return 31 * type_.hashCode() + (value_ == null ? 0 : value_.hashCode());
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<JsonDocument> array() {
+    assert(isArray());
+    return (List<JsonDocument>) value_;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, JsonDocument> object() {
+    assert(isObject());
+    return (Map<String, JsonDocument>) value_;
+  }
+
+  private void appendJson(StringBuilder sb) {
+    switch (type_) {
+      case NULL:
+        sb.append("null");
+        break;
+      case ARRAY: {
+        sb.append('[');
+        boolean first = true;
+        for (JsonDocument element : array()) {
+          if (!first) {
+            sb.append(',');
+          }
+          first = false;
+          element.appendJson(sb);
+        }
+        sb.append(']');
+        break;
+      }
+      case OBJECT: {
+        sb.append('{');
+        boolean first = true;
+        for (Map.Entry<String, JsonDocument> entry : object().entrySet()) {
+          if (!first) {
+            sb.append(',');
+          }
+          first = false;
+          appendJsonString(sb, entry.getKey());
+          sb.append(':');
+          entry.getValue().appendJson(sb);
+        }
+        sb.append('}');
+        break;
+      }
+      case STRING:
+        appendJsonString(sb, (String) value_);
+        break;
+      case DOUBLE: {
+        double d = (Double) value_;
+        if (Double.isNaN(d) || Double.isInfinite(d)) {
+          sb.append("null");
+        } else {
+          sb.append(d);
+        }
+        break;
+      }
+      default:
+        // bool and int64
+        sb.append(value_);
+    }
+  }
+
+  private static void appendJsonString(StringBuilder sb, String s) {
+    sb.append('"');
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      switch (c) {
+        case '"':
+          sb.append("\\\"");
+          break;
+        case '\\':
+          sb.append("\\\\");
+          break;
+        case '\n':
+          sb.append("\\n");
+          break;
+        case '\r':
+          sb.append("\\r");
+          break;
+        case '\t':
+          sb.append("\\t");
+          break;
+        default:
+          if (c < 0x20) {
+            sb.append(String.format("\\u%04x", (int) c));
+          } else {
+            sb.append(c);
+          }
+      }
+    }
+    sb.append('"');
+  }
+
+  /**
+   * Decodes an object serialized by the native
+   * {@code JSONDocument::Serialize()}.
+   *
+   * @param serialized the serialized object.
+   * @return the decoded object.
+   */
+  static JsonDocument deserialize(byte[] serialized) {
+    ByteBuffer in = NativeCoding.wrap(serialized);
+    if (in.get() != SERIALIZATION_FORMAT_VERSION) {
+      throw new IllegalArgumentException(
+          "Unknown JSON serialization format version");
+    }
+    JsonDocument document = new JsonDocument(Type.OBJECT);
+    document.deserializeInternal(in);
+    return document;
+  }
+
+  private void deserializeInternal(ByteBuffer in) {
+    switch (type_) {
+      case ARRAY: {
+        long count = NativeCoding.getVarint64(in);
+        for (long i = 0; i < count; i++) {
+          array().add(deserializeWithType(in));
+        }
+        break;
+      }
+      case BOOL:
+        value_ = in.get() != 0;
+        break;
+      case DOUBLE:
+        value_ = in.getDouble();
+        break;
+      case INT64:
+        value_ = NativeCoding.getFixed64(in);
+        break;
+      case OBJECT: {
+        long count = NativeCoding.getVarint64(in);
+        for (long i = 0; i < count; i++) {
+          String key = NativeCoding.getLengthPrefixedString(in);
+          object().put(key, deserializeWithType(in));
+        }
+        break;
+      }
+      case STRING:
+        value_ = NativeCoding.getLengthPrefixedString(in);
+        break;
+      default:
+        // null has no payload
+    }
+  }
+
+  private static JsonDocument deserializeWithType(ByteBuffer in) {
+    // type prefixes start at 1
+    int prefix = in.get();
+    if (prefix < 1 || prefix > Type.values().length) {
+      throw new IllegalArgumentException("Unknown JSON type " + prefix);
+    }
+    JsonDocument document = new JsonDocument(Type.values()[prefix - 1]);
+    document.deserializeInternal(in);
+    return document;
+  }
+
+  private static native byte[] parse0(String json);
+}
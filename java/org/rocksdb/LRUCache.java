@@ -0,0 +1,42 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+/**
+ * <p>Least-recently-used {@link org.rocksdb.Cache} with a fixed
+ * capacity.</p>
+ *
+ * <p>The cache is sharded by key hash to reduce lock contention, each
+ * shard gets {@code capacity / 2^numShardBits} bytes.</p>
+ */
+public class LRUCache extends Cache {
+  public static final int DEFAULT_NUM_SHARD_BITS = 4;
+
+  /**
+   * Creates a new LRU cache with {@value #DEFAULT_NUM_SHARD_BITS}
+   * shard bits.
+   *
+   * @param capacity the capacity of the cache in bytes.
+   */
+  public LRUCache(long capacity) {
+    this(capacity, DEFAULT_NUM_SHARD_BITS);
+  }
+
+  /**
+   * Creates a new LRU cache.
+   *
+   * @param capacity the capacity of the cache in bytes.
+   * @param numShardBits the cache is sharded into 2^numShardBits shards.
+   */
+  public LRUCache(long capacity, int numShardBits) {
+    super();
+    assert(capacity >= 0);
+    assert(numShardBits >= 0 && numShardBits < 20);
+    nativeHandle_ = newLRUCache(capacity, numShardBits);
+  }
+
+  private native long newLRUCache(long capacity, int numShardBits);
+}
@@ -0,0 +1,113 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * <p>Native memory used by a database or one of its column families, see
+ * {@link RocksDB#getMemoryUsage()}.</p>
+ *
+ * <p>The block cache usage of a database counts every cache once, even
+ * if it is shared by several column families. A cache shared by several
+ * databases is counted by each of them.</p>
+ */
+public class MemoryUsage {
+  private final long memTableUsage_;
+  private final long tableReadersUsage_;
+  private final long blockCacheUsage_;
+  private final long blockCachePinnedUsage_;
+  private final int liveIterators_;
+  private final int liveSnapshots_;
+  private final Map<String, MemoryUsage> columnFamilies_;
+
+  MemoryUsage(long memTableUsage, long tableReadersUsage,
+      long blockCacheUsage, long blockCachePinnedUsage, int liveIterators,
+      int liveSnapshots, Map<String, MemoryUsage> columnFamilies) {
+    memTableUsage_ = memTableUsage;
+    tableReadersUsage_ = tableReadersUsage;
+    blockCacheUsage_ = blockCacheUsage;
+    blockCachePinnedUsage_ = blockCachePinnedUsage;
+    liveIterators_ = liveIterators;
+    liveSnapshots_ = liveSnapshots;
+    columnFamilies_ = Collections.unmodifiableMap(columnFamilies);
+  }
+
+  /**
+   * @return the size of the active and the unflushed immutable
+   *     memtables in bytes.
+   */
+  public long memTableUsage() {
+    return memTableUsage_;
+  }
+
+  /**
+   * @return the memory used by the table readers, e.g. indexes and
+   *     filters which are not stored in the block cache.
+   */
+  public long tableReadersUsage() {
+    return tableReadersUsage_;
+  }
+
+  /**
+   * @return the memory used by the block cache and the compressed
+   *     block cache.
+   */
+  public long blockCacheUsage() {
+    return blockCacheUsage_;
+  }
+
+  /**
+   * @return the part of the block cache usage held by readers, which
+   *     can not be evicted.
+   */
+  public long blockCachePinnedUsage() {
+    return blockCachePinnedUsage_;
+  }
+
+  /**
+   * @return the sum of the memtable, table reader and block cache
+   *     usage.
+   */
+  public long totalUsage() {
+    return memTableUsage_ + tableReadersUsage_ + blockCacheUsage_;
+  }
+
+  /**
+   * @return the number of iterators created from Java which have not
+   *     been disposed yet. Iterators keep the memtables and table files
+   *     they read from alive. Always 0 for a column family.
+   */
+  public int liveIterators() {
+    return liveIterators_;
+  }
+
+  /**
+   * @return the number of snapshots taken from Java which have not
+   *     been released yet. Always 0 for a column family.
+   */
+  public int liveSnapshots() {
+    return liveSnapshots_;
+  }
+
+  /**
+   * @return the usage of each column family by name, empty for a
+   *     column family.
+   */
+  public Map<String, MemoryUsage> columnFamilies() {
+    return columnFamilies_;
+  }
+
+  @Override public String toString() {
+    return "mem_table_usage = " + memTableUsage_ +
+        ", table_readers_usage = " + tableReadersUsage_ +
+        ", block_cache_usage = " + blockCacheUsage_ +
+        ", block_cache_pinned_usage = " + blockCachePinnedUsage_ +
+        ", live_iterators = " + liveIterators_ +
+        ", live_snapshots = " + liveSnapshots_;
+  }
+}
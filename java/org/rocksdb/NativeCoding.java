@@ -0,0 +1,88 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+
+/**
+ * Encoding helpers mirroring {@code util/coding.h}, used to exchange
+ * many values with the native side in a single byte array, e.g. SpatialDB
+ * features and serialized JSON documents. Doubles are in native byte
+ * order, as they are written by the native PutDouble helpers.
+ */
+final class NativeCoding {
+  static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private NativeCoding() {
+  }
+
+  static void putVarint64(ByteArrayOutputStream out, long v) {
+    while ((v & ~0x7FL) != 0) {
+      out.write((int) ((v & 0x7F) | 0x80));
+      v >>>= 7;
+    }
+    out.write((int) v);
+  }
+
+  static void putDouble(ByteArrayOutputStream out, double d) {
+    ByteBuffer buffer = ByteBuffer.allocate(8).order(ByteOrder.nativeOrder());
+    buffer.putDouble(d);
+    out.write(buffer.array(), 0, 8);
+  }
+
+  static void putLengthPrefixed(ByteArrayOutputStream out, byte[] data) {
+    putVarint64(out, data.length);
+    out.write(data, 0, data.length);
+  }
+
+  static void putLengthPrefixed(ByteArrayOutputStream out, String s) {
+    putLengthPrefixed(out, s.getBytes(UTF_8));
+  }
+
+  /**
+   * @param data encoded data.
+   * @return a buffer reading {@code data} in native byte order.
+   */
+  static ByteBuffer wrap(byte[] data) {
+    return ByteBuffer.wrap(data).order(ByteOrder.nativeOrder());
+  }
+
+  static long getVarint64(ByteBuffer in) {
+    long result = 0;
+    for (int shift = 0; shift <= 63; shift += 7) {
+      byte b = in.get();
+      result |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return result;
+      }
+    }
+    throw new IllegalArgumentException("Malformed varint");
+  }
+
+  /**
+   * Reads a fixed64 value, which is always little endian.
+   */
+  static long getFixed64(ByteBuffer in) {
+    long result = 0;
+    for (int i = 0; i < 8; i++) {
+      result |= (long) (in.get() & 0xFF) << (8 * i);
+    }
+    return result;
+  }
+
+  static byte[] getLengthPrefixed(ByteBuffer in) {
+    byte[] data = new byte[(int) getVarint64(in)];
+    in.get(data);
+    return data;
+  }
+
+  static String getLengthPrefixedString(ByteBuffer in) {
+    return new String(getLengthPrefixed(in), UTF_8);
+  }
+}
@@ -0,0 +1,85 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+/**
+ * <p>Latency histograms of the operations of {@link RocksDB},
+ * {@link WriteBatch} and {@link RocksIterator}, measured in Java around
+ * the native calls. Unlike {@link Statistics} they include the cost of
+ * crossing JNI and copying keys and values.</p>
+ *
+ * <p>Timing is disabled by default. When disabled each operation only
+ * reads a volatile flag; when enabled it reads the clock twice and
+ * updates a histogram without taking a lock. The histograms are shared
+ * by all databases of the process and use the buckets of the native
+ * histograms, with the values in nanoseconds.</p>
+ */
+public class OperationLatency {
+  private static volatile boolean enabled_ = false;
+  private static final StripedHistogram[] histograms_ =
+      new StripedHistogram[OperationType.values().length];
+
+  static {
+    for (int i = 0; i < histograms_.length; i++) {
+      histograms_[i] = new StripedHistogram();
+    }
+  }
+
+  private OperationLatency() {
+  }
+
+  /**
+   * Enables or disables timing. Operations which are running while this
+   * is changed may or may not be recorded.
+   *
+   * @param enabled true to record the latency of the operations.
+   */
+  public static void setEnabled(boolean enabled) {
+    enabled_ = enabled;
+  }
+
+  /**
+   * @return true if the latency of the operations is recorded.
+   */
+  public static boolean isEnabled() {
+    return enabled_;
+  }
+
+  /**
+   * @param type the operation.
+   * @return the latencies in nanoseconds recorded since the start of the
+   *     process or the last {@link #reset()}. Use
+   *     {@link HistogramData#delta(HistogramData)} to get the latencies
+   *     of an interval.
+   */
+  public static HistogramData getHistogramData(OperationType type) {
+    return histograms_[type.ordinal()].getHistogramData();
+  }
+
+  /**
+   * Clears all histograms. Operations recorded concurrently may be
+   * partially cleared.
+   */
+  public static void reset() {
+    for (StripedHistogram histogram : histograms_) {
+      histogram.clear();
+    }
+  }
+
+  /**
+   * @return the start time to pass to {@link #record}, or 0 if timing
+   *     is disabled.
+   */
+  static long start() {
+    return enabled_ ? System.nanoTime() : 0;
+  }
+
+  static void record(OperationType type, long start) {
+    if (start != 0) {
+      histograms_[type.ordinal()].add(System.nanoTime() - start);
+    }
+  }
+}
@@ -0,0 +1,29 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+/**
+ * The Java operations timed by {@link OperationLatency}.
+ */
+public enum OperationType {
+  GET,
+  MULTI_GET,
+  KEY_MAY_EXIST,
+  PUT,
+  MERGE,
+  REMOVE,
+  WRITE,
+  NEW_ITERATOR,
+  WRITE_BATCH_PUT,
+  WRITE_BATCH_MERGE,
+  WRITE_BATCH_REMOVE,
+  ITERATOR_IS_VALID,
+  ITERATOR_SEEK,
+  ITERATOR_NEXT,
+  ITERATOR_PREV,
+  ITERATOR_KEY,
+  ITERATOR_VALUE
+}
@@ -5,6 +5,9 @@
 
 package org.rocksdb;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Options to control the behavior of a database.  It will be used
  * during the creation of a {@link org.rocksdb.RocksDB} (i.e., RocksDB.open()).
@@ -153,6 +156,16 @@ public class Options extends RocksObject
     return this;
   }
 
+  @Override
+  public Options setCompactionFilterFactory(
+      CompactionFilterFactory compactionFilterFactory) {
+    assert(isInitialized());
+    setCompactionFilterFactory(nativeHandle_,
+        compactionFilterFactory.nativeHandle_);
+    compactionFilterFactory_ = compactionFilterFactory;
+    return this;
+  }
+
   @Override
   public Options setWriteBufferSize(long writeBufferSize)
       throws RocksDBException {
@@ -620,6 +633,23 @@ public class Options extends RocksObject
     return this;
   }
 
+  @Override
+  public Options setPrefixExtractor(SliceTransform prefixExtractor) {
+    assert(isInitialized());
+    setPrefixExtractor(nativeHandle_, prefixExtractor.nativeHandle_);
+    prefixExtractor_ = prefixExtractor;
+    return this;
+  }
+
+  @Override
+  public Options addTablePropertiesCollectorFactory(
+      AbstractTablePropertiesCollectorFactory factory) {
+    assert(isInitialized());
+    addTablePropertiesCollectorFactory(nativeHandle_, factory.nativeHandle_);
+    tablePropertiesCollectorFactories_.add(factory);
+    return this;
+  }
+
   @Override
   public CompressionType compressionType() {
     return CompressionType.values()[compressionType(nativeHandle_)];
@@ -1093,6 +1123,8 @@ public class Options extends RocksObject
       long handle, String name);
   private native void setMergeOperator(
       long handle, long mergeOperatorHandle);
+  private native void setCompactionFilterFactory(
+      long handle, long compactionFilterFactoryHandle);
   private native void setWriteBufferSize(long handle, long writeBufferSize)
       throws RocksDBException;
   private native long writeBufferSize(long handle);
@@ -1106,6 +1138,10 @@ public class Options extends RocksObject
   private native byte compressionType(long handle);
   private native void useFixedLengthPrefixExtractor(
       long handle, int prefixLength);
+  private native void setPrefixExtractor(
+      long handle, long prefixExtractorHandle);
+  private native void addTablePropertiesCollectorFactory(
+      long handle, long factoryHandle);
   private native void setNumLevels(
       long handle, int numLevels);
   private native int numLevels(long handle);
@@ -1202,4 +1238,9 @@ public class Options extends RocksObject
   TableFormatConfig tableFormatConfig_;
   RateLimiterConfig rateLimiterConfig_;
   AbstractComparator comparator_;
+  CompactionFilterFactory compactionFilterFactory_;
+  SliceTransform prefixExtractor_;
+  List<AbstractTablePropertiesCollectorFactory>
+      tablePropertiesCollectorFactories_ =
+      new ArrayList<AbstractTablePropertiesCollectorFactory>();
 }
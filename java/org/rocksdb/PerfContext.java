@@ -0,0 +1,283 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+/**
+ * <p>A snapshot of the performance counters of the current thread.</p>
+ *
+ * <p>RocksDB keeps the counters in a thread local context, which is
+ * updated by every operation the thread executes, e.g. to find out why
+ * a single {@code get} was slow:</p>
+ *
+ * <pre>
+ *   PerfContext.setPerfLevel(PerfLevel.ENABLE_TIME);
+ *   PerfContext.reset();
+ *   db.get(key);
+ *   perfContext.update();
+ *   perfContext.blockReadTime();
+ * </pre>
+ *
+ * <p>{@link #update()} copies all counters with a single native call,
+ * so a PerfContext instance can be reused for every operation. Times
+ * are in nanoseconds and are only collected with
+ * {@link PerfLevel#ENABLE_TIME}.</p>
+ */
+public class PerfContext {
+  private static final int USER_KEY_COMPARISON_COUNT = 0;
+  private static final int BLOCK_CACHE_HIT_COUNT = 1;
+  private static final int BLOCK_READ_COUNT = 2;
+  private static final int BLOCK_READ_BYTE = 3;
+  private static final int BLOCK_READ_TIME = 4;
+  private static final int BLOCK_CHECKSUM_TIME = 5;
+  private static final int BLOCK_DECOMPRESS_TIME = 6;
+  private static final int INTERNAL_KEY_SKIPPED_COUNT = 7;
+  private static final int INTERNAL_DELETE_SKIPPED_COUNT = 8;
+  private static final int GET_SNAPSHOT_TIME = 9;
+  private static final int GET_FROM_MEMTABLE_TIME = 10;
+  private static final int GET_FROM_MEMTABLE_COUNT = 11;
+  private static final int GET_POST_PROCESS_TIME = 12;
+  private static final int GET_FROM_OUTPUT_FILES_TIME = 13;
+  private static final int SEEK_CHILD_SEEK_TIME = 14;
+  private static final int SEEK_CHILD_SEEK_COUNT = 15;
+  private static final int SEEK_MIN_HEAP_TIME = 16;
+  private static final int SEEK_INTERNAL_SEEK_TIME = 17;
+  private static final int FIND_NEXT_USER_ENTRY_TIME = 18;
+  private static final int WRITE_PRE_AND_POST_PROCESS_TIME = 19;
+  private static final int WRITE_WAL_TIME = 20;
+  private static final int WRITE_MEMTABLE_TIME = 21;
+  private static final int NUM_COUNTERS = 22;
+
+  static {
+    RocksDB.loadLibrary();
+  }
+
+  /**
+   * Set the perf level of the current thread.
+   *
+   * @param level {@link org.rocksdb.PerfLevel} instance.
+   */
+  public static void setPerfLevel(PerfLevel level) {
+    setPerfLevel(level.getValue());
+  }
+
+  /**
+   * @return the perf level of the current thread.
+   */
+  public static PerfLevel perfLevel() {
+    return PerfLevel.getPerfLevel(getPerfLevel());
+  }
+
+  /**
+   * Resets all performance counters of the current thread to zero.
+   */
+  public static void reset() {
+    reset0();
+  }
+
+  public PerfContext() {
+    counters_ = new long[NUM_COUNTERS];
+  }
+
+  /**
+   * Copies the counters of the current thread into this instance.
+   *
+   * @return the reference to the current PerfContext.
+   */
+  public PerfContext update() {
+    getCounters(counters_);
+    return this;
+  }
+
+  /**
+   * @return total number of user key comparisons.
+   */
+  public long userKeyComparisonCount() {
+    return counters_[USER_KEY_COMPARISON_COUNT];
+  }
+
+  /**
+   * @return total number of block cache hits.
+   */
+  public long blockCacheHitCount() {
+    return counters_[BLOCK_CACHE_HIT_COUNT];
+  }
+
+  /**
+   * @return total number of block reads (with IO).
+   */
+  public long blockReadCount() {
+    return counters_[BLOCK_READ_COUNT];
+  }
+
+  /**
+   * @return total number of bytes from block reads.
+   */
+  public long blockReadByte() {
+    return counters_[BLOCK_READ_BYTE];
+  }
+
+  /**
+   * @return total time spent on block reads.
+   */
+  public long blockReadTime() {
+    return counters_[BLOCK_READ_TIME];
+  }
+
+  /**
+   * @return total time spent on block checksum.
+   */
+  public long blockChecksumTime() {
+    return counters_[BLOCK_CHECKSUM_TIME];
+  }
+
+  /**
+   * @return total time spent on block decompression.
+   */
+  public long blockDecompressTime() {
+    return counters_[BLOCK_DECOMPRESS_TIME];
+  }
+
+  /**
+   * @return total number of internal keys skipped over during iteration,
+   *     i.e. keys hidden by a put or delete of the same key.
+   */
+  public long internalKeySkippedCount() {
+    return counters_[INTERNAL_KEY_SKIPPED_COUNT];
+  }
+
+  /**
+   * @return total number of deletes skipped over during iteration.
+   */
+  public long internalDeleteSkippedCount() {
+    return counters_[INTERNAL_DELETE_SKIPPED_COUNT];
+  }
+
+  /**
+   * @return total time spent on getting snapshot.
+   */
+  public long getSnapshotTime() {
+    return counters_[GET_SNAPSHOT_TIME];
+  }
+
+  /**
+   * @return total time spent on querying memtables.
+   */
+  public long getFromMemtableTime() {
+    return counters_[GET_FROM_MEMTABLE_TIME];
+  }
+
+  /**
+   * @return number of memtables queried.
+   */
+  public long getFromMemtableCount() {
+    return counters_[GET_FROM_MEMTABLE_COUNT];
+  }
+
+  /**
+   * @return total time spent after get finds a key.
+   */
+  public long getPostProcessTime() {
+    return counters_[GET_POST_PROCESS_TIME];
+  }
+
+  /**
+   * @return total time reading from table files.
+   */
+  public long getFromOutputFilesTime() {
+    return counters_[GET_FROM_OUTPUT_FILES_TIME];
+  }
+
+  /**
+   * @return total time spent on seeking child iterators.
+   */
+  public long seekChildSeekTime() {
+    return counters_[SEEK_CHILD_SEEK_TIME];
+  }
+
+  /**
+   * @return number of seeks issued in child iterators.
+   */
+  public long seekChildSeekCount() {
+    return counters_[SEEK_CHILD_SEEK_COUNT];
+  }
+
+  /**
+   * @return total time spent on the merge heap.
+   */
+  public long seekMinHeapTime() {
+    return counters_[SEEK_MIN_HEAP_TIME];
+  }
+
+  /**
+   * @return total time spent on seeking the internal entries.
+   */
+  public long seekInternalSeekTime() {
+    return counters_[SEEK_INTERNAL_SEEK_TIME];
+  }
+
+  /**
+   * @return total time spent on iterating internal entries to find the
+   *     next user entry.
+   */
+  public long findNextUserEntryTime() {
+    return counters_[FIND_NEXT_USER_ENTRY_TIME];
+  }
+
+  /**
+   * @return total time spent on pre or post processing when writing
+   *     a record.
+   */
+  public long writePreAndPostProcessTime() {
+    return counters_[WRITE_PRE_AND_POST_PROCESS_TIME];
+  }
+
+  /**
+   * @return total time spent on writing to the WAL.
+   */
+  public long writeWalTime() {
+    return counters_[WRITE_WAL_TIME];
+  }
+
+  /**
+   * @return total time spent on writing to memtables.
+   */
+  public long writeMemtableTime() {
+    return counters_[WRITE_MEMTABLE_TIME];
+  }
+
+  @Override public String toString() {
+    return "user_key_comparison_count = " + userKeyComparisonCount() +
+        ", block_cache_hit_count = " + blockCacheHitCount() +
+        ", block_read_count = " + blockReadCount() +
+        ", block_read_byte = " + blockReadByte() +
+        ", block_read_time = " + blockReadTime() +
+        ", block_checksum_time = " + blockChecksumTime() +
+        ", block_decompress_time = " + blockDecompressTime() +
+        ", internal_key_skipped_count = " + internalKeySkippedCount() +
+        ", internal_delete_skipped_count = " + internalDeleteSkippedCount() +
+        ", get_snapshot_time = " + getSnapshotTime() +
+        ", get_from_memtable_time = " + getFromMemtableTime() +
+        ", get_from_memtable_count = " + getFromMemtableCount() +
+        ", get_post_process_time = " + getPostProcessTime() +
+        ", get_from_output_files_time = " + getFromOutputFilesTime() +
+        ", seek_child_seek_time = " + seekChildSeekTime() +
+        ", seek_child_seek_count = " + seekChildSeekCount() +
+        ", seek_min_heap_time = " + seekMinHeapTime() +
+        ", seek_internal_seek_time = " + seekInternalSeekTime() +
+        ", find_next_user_entry_time = " + findNextUserEntryTime() +
+        ", write_pre_and_post_process_time = " +
+        writePreAndPostProcessTime() +
+        ", write_wal_time = " + writeWalTime() +
+        ", write_memtable_time = " + writeMemtableTime();
+  }
+
+  private static native void setPerfLevel(byte level);
+  private static native byte getPerfLevel();
+  private static native void reset0();
+  private static native void getCounters(long[] counters);
+
+  private final long[] counters_;
+}
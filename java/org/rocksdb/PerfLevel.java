@@ -0,0 +1,59 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+/**
+ * Enum PerfLevel
+ *
+ * <p>Controls which counters of the {@link org.rocksdb.PerfContext}
+ * are updated by the current thread.</p>
+ */
+public enum PerfLevel {
+  /**
+   * Disable all perf stats.
+   */
+  DISABLE((byte) 0),
+  /**
+   * Enable only the count stats.
+   */
+  ENABLE_COUNT((byte) 1),
+  /**
+   * Enable the time stats too.
+   */
+  ENABLE_TIME((byte) 2);
+
+  private final byte value_;
+
+  private PerfLevel(byte value) {
+    value_ = value;
+  }
+
+  /**
+   * Returns the byte value of the enumerations value
+   *
+   * @return byte representation
+   */
+  public byte getValue() {
+    return value_;
+  }
+
+  /**
+   * Get the PerfLevel enumeration value by passing the byte
+   * representation to this method.
+   *
+   * @param value byte representation of PerfLevel.
+   * @return {@link org.rocksdb.PerfLevel} instance.
+   * @throws IllegalArgumentException if the value is unknown.
+   */
+  public static PerfLevel getPerfLevel(byte value) {
+    for (PerfLevel perfLevel : PerfLevel.values()) {
+      if (perfLevel.getValue() == value) {
+        return perfLevel;
+      }
+    }
+    throw new IllegalArgumentException("Illegal value provided for PerfLevel.");
+  }
+}
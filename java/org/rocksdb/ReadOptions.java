@@ -153,6 +153,116 @@ public class ReadOptions extends RocksObject {
   private native void setTailing(
       long handle, boolean tailing);
 
+  /**
+   * Returns whether a total order seek is enforced, regardless of
+   * the prefix extractor of the column family.
+   * Default: false
+   *
+   * @return true if total order seek is enabled.
+   */
+  public boolean totalOrderSeek() {
+    assert(isInitialized());
+    return totalOrderSeek(nativeHandle_);
+  }
+  private native boolean totalOrderSeek(long handle);
+
+  /**
+   * <p>Enable a total order seek regardless of the prefix extractor of
+   * the column family.</p>
+   *
+   * <p>With a prefix extractor set, iterators use the prefix of the seek
+   * key to only look at the mem-table buckets, hash index entries and
+   * bloom filters of that prefix, and are only guaranteed to return the
+   * keys sharing that prefix in order. Iterating past the prefix therefore
+   * needs a total order seek, which is slower with the hash based
+   * mem-tables and is not supported by plain tables in prefix mode.</p>
+   * Default: false
+   *
+   * @param totalOrderSeek if true, then total order seek will be enabled.
+   * @return the reference to the current ReadOptions.
+   */
+  public ReadOptions setTotalOrderSeek(boolean totalOrderSeek) {
+    assert(isInitialized());
+    setTotalOrderSeek(nativeHandle_, totalOrderSeek);
+    return this;
+  }
+  private native void setTotalOrderSeek(
+      long handle, boolean totalOrderSeek);
+
+  /**
+   * Returns the upper bound of iterators created with these
+   * read options.
+   *
+   * @return the exclusive upper bound, or null if unbounded.
+   * @see #setIterateUpperBound(Slice)
+   */
+  public Slice iterateUpperBound() {
+    assert(isInitialized());
+    return iterateUpperBound_;
+  }
+
+  /**
+   * <p>Defines the exclusive upper bound of forward iteration. Once the
+   * bound is reached, the iterator becomes invalid without reading
+   * any further keys, e.g. without skipping over deleted keys past
+   * the bound.</p>
+   *
+   * <p>If a prefix extractor is set, the seek target and the upper bound
+   * need to share the same prefix, as ordering is not guaranteed
+   * across prefixes.</p>
+   *
+   * <p>The slice is referenced rather than copied, so it must not be
+   * disposed while iterators using these read options are in use.</p>
+   * Default: null
+   *
+   * @param iterateUpperBound the exclusive upper bound, or null
+   *     for unbounded iteration.
+   * @return the reference to the current ReadOptions.
+   */
+  public ReadOptions setIterateUpperBound(Slice iterateUpperBound) {
+    assert(isInitialized());
+    setIterateUpperBound(nativeHandle_,
+        iterateUpperBound == null ? 0 : iterateUpperBound.nativeHandle_);
+    iterateUpperBound_ = iterateUpperBound;
+    return this;
+  }
+  private native void setIterateUpperBound(
+      long handle, long sliceHandle);
+
+  /**
+   * Returns the tier of data reads are allowed to access.
+   * Default: {@link ReadTier#READ_ALL_TIER}
+   *
+   * @return the {@link ReadTier} of reads.
+   */
+  public ReadTier readTier() {
+    assert(isInitialized());
+    return ReadTier.values()[readTier(nativeHandle_)];
+  }
+  private native byte readTier(long handle);
+
+  /**
+   * <p>Specify the tier of data reads are allowed to access.</p>
+   *
+   * <p>With {@link ReadTier#BLOCK_CACHE_TIER} reads are served from
+   * memory only: a get which would need I/O returns
+   * {@link RocksDB#INCOMPLETE} (or throws a {@link RocksDBException} for
+   * the variants returning the value), and an iterator becomes invalid
+   * with an incomplete status. The caller can then retry the read with
+   * {@link ReadTier#READ_ALL_TIER} off its latency-critical path.</p>
+   * Default: {@link ReadTier#READ_ALL_TIER}
+   *
+   * @param readTier the {@link ReadTier} of reads.
+   * @return the reference to the current ReadOptions.
+   */
+  public ReadOptions setReadTier(ReadTier readTier) {
+    assert(isInitialized());
+    setReadTier(nativeHandle_, readTier.getValue());
+    return this;
+  }
+  private native void setReadTier(
+      long handle, byte readTier);
+
 
   @Override protected void disposeInternal() {
     assert(isInitialized());
@@ -160,4 +270,5 @@ public class ReadOptions extends RocksObject {
   }
   private native void disposeInternal(long handle);
 
+  private Slice iterateUpperBound_;
 }
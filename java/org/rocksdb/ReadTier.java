@@ -0,0 +1,39 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+/**
+ * Enum ReadTier
+ *
+ * Specifies which data a read is allowed to access.
+ *
+ * <ol>
+ *   <li><strong>READ_ALL_TIER</strong> - data in the mem-tables, the
+ *   block cache, the OS cache and on storage.</li>
+ *   <li><strong>BLOCK_CACHE_TIER</strong> - only data in the mem-tables
+ *   and the block cache. A read needing I/O fails as incomplete
+ *   instead.</li>
+ * </ol>
+ */
+public enum ReadTier {
+  READ_ALL_TIER((byte) 0),
+  BLOCK_CACHE_TIER((byte) 1);
+
+  private final byte value_;
+
+  private ReadTier(byte value) {
+    value_ = value;
+  }
+
+  /**
+   * Returns the byte value of the enumerations value
+   *
+   * @return byte representation
+   */
+  public byte getValue() {
+    return value_;
+  }
+}
@@ -0,0 +1,287 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+import java.util.List;
+
+/**
+ * <p>A persistent implementation of Redis lists
+ * (see http://redis.io/commands#list) on top of RocksDB.</p>
+ *
+ * <p>Each list operation, including the bulk {@link #range(byte[], int, int)},
+ * is executed by a single native call. A list is stored under its key as a
+ * sequence of length prefixed elements.</p>
+ *
+ * <p>All operations throw a {@link org.rocksdb.RocksDBException} if the
+ * list data is corrupt.</p>
+ */
+public class RedisLists extends RocksObject {
+  /**
+   * Opens the lists database, restoring the saved lists.
+   *
+   * @param options {@link org.rocksdb.Options} instance.
+   * @param db_path path to database.
+   *
+   * @return RedisLists instance.
+   *
+   * @throws RocksDBException thrown if the database can not be opened.
+   */
+  public static RedisLists open(Options options, String db_path)
+      throws RocksDBException {
+    return open(options, db_path, false);
+  }
+
+  /**
+   * Opens the lists database.
+   *
+   * @param options {@link org.rocksdb.Options} instance.
+   * @param db_path path to database.
+   * @param destructive if true, the database is destroyed before it
+   *     is opened.
+   *
+   * @return RedisLists instance.
+   *
+   * @throws RocksDBException thrown if the database can not be opened.
+   */
+  public static RedisLists open(Options options, String db_path,
+      boolean destructive) throws RocksDBException {
+    RedisLists redisLists = new RedisLists();
+    redisLists.nativeHandle_ = redisLists.open(options.nativeHandle_,
+        db_path, destructive);
+    redisLists.options_ = options;
+    return redisLists;
+  }
+
+  /**
+   * @param key the list key.
+   * @return the number of elements in the list.
+   *
+   * @throws RocksDBException thrown if the list data is corrupt.
+   */
+  public int length(byte[] key) throws RocksDBException {
+    assert(isInitialized());
+    return length(nativeHandle_, key);
+  }
+
+  /**
+   * Returns the element at the given index. A negative index counts
+   * from the end of the list, i.e. -1 is the last element.
+   *
+   * @param key the list key.
+   * @param index the 0-based index.
+   * @return the element, or null if the index is out of range.
+   *
+   * @throws RocksDBException thrown if the list data is corrupt.
+   */
+  public byte[] index(byte[] key, int index) throws RocksDBException {
+    assert(isInitialized());
+    return index(nativeHandle_, key, index);
+  }
+
+  /**
+   * Returns the elements from first to last (inclusive). Negative
+   * indexes count from the end of the list.
+   *
+   * @param key the list key.
+   * @param first the index of the first element.
+   * @param last the index of the last element.
+   * @return the elements in the range.
+   *
+   * @throws RocksDBException thrown if the list data is corrupt.
+   */
+  public List<byte[]> range(byte[] key, int first, int last)
+      throws RocksDBException {
+    assert(isInitialized());
+    return range(nativeHandle_, key, first, last);
+  }
+
+  /**
+   * Inserts value before the first occurrence of pivot.
+   *
+   * @param key the list key.
+   * @param pivot the element to insert before.
+   * @param value the value to insert.
+   * @return the length of the list, unchanged if pivot was not found.
+   *
+   * @throws RocksDBException thrown if the list data is corrupt.
+   */
+  public int insertBefore(byte[] key, byte[] pivot, byte[] value)
+      throws RocksDBException {
+    assert(isInitialized());
+    return insert(nativeHandle_, key, pivot, value, false);
+  }
+
+  /**
+   * Inserts value after the first occurrence of pivot.
+   *
+   * @param key the list key.
+   * @param pivot the element to insert after.
+   * @param value the value to insert.
+   * @return the length of the list, unchanged if pivot was not found.
+   *
+   * @throws RocksDBException thrown if the list data is corrupt.
+   */
+  public int insertAfter(byte[] key, byte[] pivot, byte[] value)
+      throws RocksDBException {
+    assert(isInitialized());
+    return insert(nativeHandle_, key, pivot, value, true);
+  }
+
+  /**
+   * Inserts value at the beginning of the list.
+   *
+   * @param key the list key.
+   * @param value the value to insert.
+   * @return the length of the list.
+   *
+   * @throws RocksDBException thrown if the list data is corrupt.
+   */
+  public int pushLeft(byte[] key, byte[] value) throws RocksDBException {
+    assert(isInitialized());
+    return pushLeft(nativeHandle_, key, value);
+  }
+
+  /**
+   * Appends value to the end of the list.
+   *
+   * @param key the list key.
+   * @param value the value to append.
+   * @return the length of the list.
+   *
+   * @throws RocksDBException thrown if the list data is corrupt.
+   */
+  public int pushRight(byte[] key, byte[] value) throws RocksDBException {
+    assert(isInitialized());
+    return pushRight(nativeHandle_, key, value);
+  }
+
+  /**
+   * Replaces the element at the given index.
+   *
+   * @param key the list key.
+   * @param index the 0-based index, negative to count from the end.
+   * @param value the new value.
+   * @return true on success, false if the index is out of range.
+   *
+   * @throws RocksDBException thrown if the list data is corrupt.
+   */
+  public boolean set(byte[] key, int index, byte[] value)
+      throws RocksDBException {
+    assert(isInitialized());
+    return set(nativeHandle_, key, index, value);
+  }
+
+  /**
+   * Trims the list so that it only contains the elements from start to
+   * stop (inclusive).
+   *
+   * @param key the list key.
+   * @param start the index of the first element to keep.
+   * @param stop the index of the last element to keep.
+   * @return true on success.
+   *
+   * @throws RocksDBException thrown if the list data is corrupt.
+   */
+  public boolean trim(byte[] key, int start, int stop)
+      throws RocksDBException {
+    assert(isInitialized());
+    return trim(nativeHandle_, key, start, stop);
+  }
+
+  /**
+   * Removes and returns the first element of the list.
+   *
+   * @param key the list key.
+   * @return the removed element, or null if the list is empty.
+   *
+   * @throws RocksDBException thrown if the list data is corrupt.
+   */
+  public byte[] popLeft(byte[] key) throws RocksDBException {
+    assert(isInitialized());
+    return popLeft(nativeHandle_, key);
+  }
+
+  /**
+   * Removes and returns the last element of the list.
+   *
+   * @param key the list key.
+   * @return the removed element, or null if the list is empty.
+   *
+   * @throws RocksDBException thrown if the list data is corrupt.
+   */
+  public byte[] popRight(byte[] key) throws RocksDBException {
+    assert(isInitialized());
+    return popRight(nativeHandle_, key);
+  }
+
+  /**
+   * Removes the first num occurrences of value from the list if num is
+   * positive, the last -num occurrences if num is negative, or all
+   * occurrences if num is zero.
+   *
+   * @param key the list key.
+   * @param num the number of occurrences to remove.
+   * @param value the value to remove.
+   * @return the number of removed elements.
+   *
+   * @throws RocksDBException thrown if the list data is corrupt.
+   */
+  public int remove(byte[] key, int num, byte[] value)
+      throws RocksDBException {
+    assert(isInitialized());
+    return remove(nativeHandle_, key, num, value);
+  }
+
+  /**
+   * Closes the database and releases the native handle.
+   */
+  public synchronized void close() {
+    if (isInitialized()) {
+      dispose();
+    }
+  }
+
+  @Override protected void disposeInternal() {
+    assert(isInitialized());
+    disposeInternal(nativeHandle_);
+  }
+
+  /**
+   * Private constructor, use one of the static open methods.
+   */
+  private RedisLists() {
+    super();
+  }
+
+  private native long open(long optionsHandle, String db_path,
+      boolean destructive) throws RocksDBException;
+  private native int length(long handle, byte[] key)
+      throws RocksDBException;
+  private native byte[] index(long handle, byte[] key, int index)
+      throws RocksDBException;
+  private native List<byte[]> range(long handle, byte[] key, int first,
+      int last) throws RocksDBException;
+  private native int insert(long handle, byte[] key, byte[] pivot,
+      byte[] value, boolean insertAfter) throws RocksDBException;
+  private native int pushLeft(long handle, byte[] key, byte[] value)
+      throws RocksDBException;
+  private native int pushRight(long handle, byte[] key, byte[] value)
+      throws RocksDBException;
+  private native boolean set(long handle, byte[] key, int index,
+      byte[] value) throws RocksDBException;
+  private native boolean trim(long handle, byte[] key, int start, int stop)
+      throws RocksDBException;
+  private native byte[] popLeft(long handle, byte[] key)
+      throws RocksDBException;
+  private native byte[] popRight(long handle, byte[] key)
+      throws RocksDBException;
+  private native int remove(long handle, byte[] key, int num, byte[] value)
+      throws RocksDBException;
+  private native void disposeInternal(long handle);
+
+  // the Options instance must outlive the native handle
+  private Options options_;
+}
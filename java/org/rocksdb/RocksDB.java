@@ -6,6 +6,7 @@
 package org.rocksdb;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.io.IOException;
 import org.rocksdb.util.Environment;
 
@@ -17,8 +18,12 @@ import org.rocksdb.util.Environment;
  */
 public class RocksDB extends RocksObject {
   public static final int NOT_FOUND = -1;
+  public static final int INCOMPLETE = -2;
   private static final String[] compressionLibs_ = {
       "snappy", "z", "bzip2", "lz4", "lz4hc"};
+  // every extraction is a separate copy of the library with its own
+  // globals, e.g. the thread-local PerfContext, so only load it once.
+  private static boolean libraryLoaded_;
 
   static {
     RocksDB.loadLibrary();
@@ -32,6 +37,9 @@ public class RocksDB extends RocksObject {
    * setting the environment variable ROCKSDB_SHAREDLIB_DIR.
    */
   public static synchronized void loadLibrary() {
+    if (libraryLoaded_) {
+      return;
+    }
     String tmpDir = System.getenv("ROCKSDB_SHAREDLIB_DIR");
     // loading possibly necessary libraries.
     for (String lib : compressionLibs_) {
@@ -49,6 +57,7 @@ public class RocksDB extends RocksObject {
     {
       throw new RuntimeException("Unable to load the RocksDB shared library" + e);
     }
+    libraryLoaded_ = true;
   }
 
   /**
@@ -83,6 +92,7 @@ public class RocksDB extends RocksObject {
     if (!success) {
       throw err;
     }
+    libraryLoaded_ = true;
   }
 
   /**
@@ -322,6 +332,38 @@ public class RocksDB extends RocksObject {
     db.storeOptionsInstance(options);
     return db;
   }
+  /**
+   * The factory constructor of RocksDB that opens a fully compacted
+   * RocksDB instance in Read-Only mode given the path to the database
+   * using the specified options and db path.
+   *
+   * <p>A fully compacted database keeps all its data either in a single
+   * level-0 file or in files of one single level, and has no entries
+   * left in its log files. Such a database is served by a specialized
+   * implementation which looks up keys by a binary search over the
+   * files of that level, without the memtable and version overhead
+   * of {@link #openReadOnly(Options, String)}. Put, merge, delete and
+   * write operations are not supported.</p>
+   *
+   * <p>The options must disable the table cache limit by setting
+   * {@link Options#setMaxOpenFiles(int)} to -1 and must not use a merge
+   * operator. Only the default column family is opened.</p>
+   *
+   * @param options {@link Options} instance.
+   * @param path the path to the RocksDB.
+   * @return a {@link RocksDB} instance on success.
+   * @throws RocksDBException if the database is not eligible for the
+   *     compacted mode or can not be opened.
+   */
+  public static RocksDB openAsCompactedDB(Options options, String path)
+      throws RocksDBException {
+    RocksDB db = new RocksDB();
+    db.openAsCompactedDB(options.nativeHandle_, path);
+
+    db.storeOptionsInstance(options);
+    return db;
+  }
+
   /**
    * Static method to determine all available column families for a
    * rocksdb database identified by path
@@ -337,12 +379,15 @@ public class RocksDB extends RocksObject {
     return RocksDB.listColumnFamilies(options.nativeHandle_, path);
   }
 
-  private void storeOptionsInstance(Options options) {
+  protected void storeOptionsInstance(Options options) {
     options_ = options;
   }
 
   @Override protected void disposeInternal() {
     assert(isInitialized());
+    synchronized (columnFamilyHandles_) {
+      columnFamilyHandles_.clear();
+    }
     disposeInternal(nativeHandle_);
   }
 
@@ -363,7 +408,12 @@ public class RocksDB extends RocksObject {
    * @see RocksDBException
    */
   public void put(byte[] key, byte[] value) throws RocksDBException {
-    put(nativeHandle_, key, key.length, value, value.length);
+    long start = OperationLatency.start();
+    try {
+      put(nativeHandle_, key, key.length, value, value.length);
+    } finally {
+      OperationLatency.record(OperationType.PUT, start);
+    }
   }
 
   /**
@@ -381,8 +431,13 @@ public class RocksDB extends RocksObject {
    */
   public void put(ColumnFamilyHandle columnFamilyHandle, byte[] key,
       byte[] value) throws RocksDBException {
-    put(nativeHandle_, key, key.length, value, value.length,
-        columnFamilyHandle.nativeHandle_);
+    long start = OperationLatency.start();
+    try {
+      put(nativeHandle_, key, key.length, value, value.length,
+          columnFamilyHandle.nativeHandle_);
+    } finally {
+      OperationLatency.record(OperationType.PUT, start);
+    }
   }
 
   /**
@@ -395,8 +450,13 @@ public class RocksDB extends RocksObject {
    */
   public void put(WriteOptions writeOpts, byte[] key, byte[] value)
       throws RocksDBException {
-    put(nativeHandle_, writeOpts.nativeHandle_,
-        key, key.length, value, value.length);
+    long start = OperationLatency.start();
+    try {
+      put(nativeHandle_, writeOpts.nativeHandle_,
+          key, key.length, value, value.length);
+    } finally {
+      OperationLatency.record(OperationType.PUT, start);
+    }
   }
 
   /**
@@ -415,8 +475,13 @@ public class RocksDB extends RocksObject {
    */
   public void put(ColumnFamilyHandle columnFamilyHandle, WriteOptions writeOpts,
       byte[] key, byte[] value) throws RocksDBException {
-    put(nativeHandle_, writeOpts.nativeHandle_, key, key.length, value, value.length,
-        columnFamilyHandle.nativeHandle_);
+    long start = OperationLatency.start();
+    try {
+      put(nativeHandle_, writeOpts.nativeHandle_, key, key.length, value, value.length,
+          columnFamilyHandle.nativeHandle_);
+    } finally {
+      OperationLatency.record(OperationType.PUT, start);
+    }
   }
 
   /**
@@ -432,7 +497,12 @@ public class RocksDB extends RocksObject {
    * @return boolean value indicating if key does not exist or might exist.
    */
   public boolean keyMayExist(byte[] key, StringBuffer value){
-    return keyMayExist(key, key.length, value);
+    long start = OperationLatency.start();
+    try {
+      return keyMayExist(key, key.length, value);
+    } finally {
+      OperationLatency.record(OperationType.KEY_MAY_EXIST, start);
+    }
   }
 
   /**
@@ -450,8 +520,13 @@ public class RocksDB extends RocksObject {
    */
   public boolean keyMayExist(ColumnFamilyHandle columnFamilyHandle,
       byte[] key, StringBuffer value){
-    return keyMayExist(key, key.length, columnFamilyHandle.nativeHandle_,
-        value);
+    long start = OperationLatency.start();
+    try {
+      return keyMayExist(key, key.length, columnFamilyHandle.nativeHandle_,
+          value);
+    } finally {
+      OperationLatency.record(OperationType.KEY_MAY_EXIST, start);
+    }
   }
 
   /**
@@ -469,8 +544,13 @@ public class RocksDB extends RocksObject {
    */
   public boolean keyMayExist(ReadOptions readOptions,
       byte[] key, StringBuffer value){
-    return keyMayExist(readOptions.nativeHandle_,
-        key, key.length, value);
+    long start = OperationLatency.start();
+    try {
+      return keyMayExist(readOptions.nativeHandle_,
+          key, key.length, value);
+    } finally {
+      OperationLatency.record(OperationType.KEY_MAY_EXIST, start);
+    }
   }
 
   /**
@@ -489,9 +569,14 @@ public class RocksDB extends RocksObject {
    */
   public boolean keyMayExist(ReadOptions readOptions,
       ColumnFamilyHandle columnFamilyHandle, byte[] key, StringBuffer value){
-    return keyMayExist(readOptions.nativeHandle_,
-        key, key.length, columnFamilyHandle.nativeHandle_,
-        value);
+    long start = OperationLatency.start();
+    try {
+      return keyMayExist(readOptions.nativeHandle_,
+          key, key.length, columnFamilyHandle.nativeHandle_,
+          value);
+    } finally {
+      OperationLatency.record(OperationType.KEY_MAY_EXIST, start);
+    }
   }
 
   /**
@@ -504,7 +589,31 @@ public class RocksDB extends RocksObject {
    */
   public void write(WriteOptions writeOpts, WriteBatch updates)
       throws RocksDBException {
-    write(writeOpts.nativeHandle_, updates.nativeHandle_);
+    long start = OperationLatency.start();
+    try {
+      write(writeOpts.nativeHandle_, updates.nativeHandle_);
+    } finally {
+      OperationLatency.record(OperationType.WRITE, start);
+    }
+  }
+
+  /**
+   * Apply the specified updates of a {@link WriteBatchWithIndex}
+   * to the database.
+   *
+   * @param writeOpts WriteOptions instance
+   * @param updates WriteBatchWithIndex instance
+   *
+   * @see RocksDBException
+   */
+  public void write(WriteOptions writeOpts, WriteBatchWithIndex updates)
+      throws RocksDBException {
+    long start = OperationLatency.start();
+    try {
+      writeWithIndex(writeOpts.nativeHandle_, updates.nativeHandle_);
+    } finally {
+      OperationLatency.record(OperationType.WRITE, start);
+    }
   }
 
   /**
@@ -515,7 +624,12 @@ public class RocksDB extends RocksObject {
    * the specified key.
    */
   public void merge(byte[] key, byte[] value) throws RocksDBException {
-    merge(nativeHandle_, key, key.length, value, value.length);
+    long start = OperationLatency.start();
+    try {
+      merge(nativeHandle_, key, key.length, value, value.length);
+    } finally {
+      OperationLatency.record(OperationType.MERGE, start);
+    }
   }
 
   /**
@@ -528,8 +642,13 @@ public class RocksDB extends RocksObject {
    */
   public void merge(ColumnFamilyHandle columnFamilyHandle, byte[] key,
       byte[] value) throws RocksDBException {
-    merge(nativeHandle_, key, key.length, value, value.length,
-        columnFamilyHandle.nativeHandle_);
+    long start = OperationLatency.start();
+    try {
+      merge(nativeHandle_, key, key.length, value, value.length,
+          columnFamilyHandle.nativeHandle_);
+    } finally {
+      OperationLatency.record(OperationType.MERGE, start);
+    }
   }
 
   /**
@@ -542,8 +661,13 @@ public class RocksDB extends RocksObject {
    */
   public void merge(WriteOptions writeOpts, byte[] key, byte[] value)
       throws RocksDBException {
-    merge(nativeHandle_, writeOpts.nativeHandle_,
-        key, key.length, value, value.length);
+    long start = OperationLatency.start();
+    try {
+      merge(nativeHandle_, writeOpts.nativeHandle_,
+          key, key.length, value, value.length);
+    } finally {
+      OperationLatency.record(OperationType.MERGE, start);
+    }
   }
 
   /**
@@ -558,9 +682,14 @@ public class RocksDB extends RocksObject {
   public void merge(ColumnFamilyHandle columnFamilyHandle,
       WriteOptions writeOpts, byte[] key, byte[] value)
       throws RocksDBException {
-    merge(nativeHandle_, writeOpts.nativeHandle_,
-        key, key.length, value, value.length,
-        columnFamilyHandle.nativeHandle_);
+    long start = OperationLatency.start();
+    try {
+      merge(nativeHandle_, writeOpts.nativeHandle_,
+          key, key.length, value, value.length,
+          columnFamilyHandle.nativeHandle_);
+    } finally {
+      OperationLatency.record(OperationType.MERGE, start);
+    }
   }
 
   /**
@@ -577,7 +706,12 @@ public class RocksDB extends RocksObject {
    * @see RocksDBException
    */
   public int get(byte[] key, byte[] value) throws RocksDBException {
-    return get(nativeHandle_, key, key.length, value, value.length);
+    long start = OperationLatency.start();
+    try {
+      return get(nativeHandle_, key, key.length, value, value.length);
+    } finally {
+      OperationLatency.record(OperationType.GET, start);
+    }
   }
 
   /**
@@ -598,8 +732,13 @@ public class RocksDB extends RocksObject {
    */
   public int get(ColumnFamilyHandle columnFamilyHandle, byte[] key, byte[] value)
       throws RocksDBException, IllegalArgumentException {
-    return get(nativeHandle_, key, key.length, value, value.length,
-        columnFamilyHandle.nativeHandle_);
+    long start = OperationLatency.start();
+    try {
+      return get(nativeHandle_, key, key.length, value, value.length,
+          columnFamilyHandle.nativeHandle_);
+    } finally {
+      OperationLatency.record(OperationType.GET, start);
+    }
   }
 
   /**
@@ -612,14 +751,20 @@ public class RocksDB extends RocksObject {
    *     length of {@code value}, then it indicates that the size of the
    *     input buffer {@code value} is insufficient and partial result will
    *     be returned.  RocksDB.NOT_FOUND will be returned if the value not
-   *     found.
+   *     found, RocksDB.INCOMPLETE if the {@link ReadTier} of {@code opt}
+   *     did not allow reading it.
    *
    * @throws RocksDBException
    */
   public int get(ReadOptions opt, byte[] key, byte[] value)
       throws RocksDBException {
-    return get(nativeHandle_, opt.nativeHandle_,
-               key, key.length, value, value.length);
+    long start = OperationLatency.start();
+    try {
+      return get(nativeHandle_, opt.nativeHandle_,
+                 key, key.length, value, value.length);
+    } finally {
+      OperationLatency.record(OperationType.GET, start);
+    }
   }
   /**
    * Get the value associated with the specified key within column family.
@@ -633,14 +778,20 @@ public class RocksDB extends RocksObject {
    *     length of {@code value}, then it indicates that the size of the
    *     input buffer {@code value} is insufficient and partial result will
    *     be returned.  RocksDB.NOT_FOUND will be returned if the value not
-   *     found.
+   *     found, RocksDB.INCOMPLETE if the {@link ReadTier} of {@code opt}
+   *     did not allow reading it.
    *
    * @throws RocksDBException
    */
   public int get(ColumnFamilyHandle columnFamilyHandle, ReadOptions opt, byte[] key,
       byte[] value) throws RocksDBException {
-    return get(nativeHandle_, opt.nativeHandle_, key, key.length, value,
-        value.length, columnFamilyHandle.nativeHandle_);
+    long start = OperationLatency.start();
+    try {
+      return get(nativeHandle_, opt.nativeHandle_, key, key.length, value,
+          value.length, columnFamilyHandle.nativeHandle_);
+    } finally {
+      OperationLatency.record(OperationType.GET, start);
+    }
   }
 
   /**
@@ -655,7 +806,12 @@ public class RocksDB extends RocksObject {
    * @throws RocksDBException
    */
   public byte[] get(byte[] key) throws RocksDBException {
-    return get(nativeHandle_, key, key.length);
+    long start = OperationLatency.start();
+    try {
+      return get(nativeHandle_, key, key.length);
+    } finally {
+      OperationLatency.record(OperationType.GET, start);
+    }
   }
 
   /**
@@ -673,7 +829,12 @@ public class RocksDB extends RocksObject {
    */
   public byte[] get(ColumnFamilyHandle columnFamilyHandle, byte[] key)
       throws RocksDBException {
-    return get(nativeHandle_, key, key.length, columnFamilyHandle.nativeHandle_);
+    long start = OperationLatency.start();
+    try {
+      return get(nativeHandle_, key, key.length, columnFamilyHandle.nativeHandle_);
+    } finally {
+      OperationLatency.record(OperationType.GET, start);
+    }
   }
 
   /**
@@ -689,7 +850,12 @@ public class RocksDB extends RocksObject {
    * @throws RocksDBException
    */
   public byte[] get(ReadOptions opt, byte[] key) throws RocksDBException {
-    return get(nativeHandle_, opt.nativeHandle_, key, key.length);
+    long start = OperationLatency.start();
+    try {
+      return get(nativeHandle_, opt.nativeHandle_, key, key.length);
+    } finally {
+      OperationLatency.record(OperationType.GET, start);
+    }
   }
 
   /**
@@ -708,8 +874,13 @@ public class RocksDB extends RocksObject {
    */
   public byte[] get(ColumnFamilyHandle columnFamilyHandle, ReadOptions opt,
       byte[] key) throws RocksDBException {
-    return get(nativeHandle_, opt.nativeHandle_, key, key.length,
-        columnFamilyHandle.nativeHandle_);
+    long start = OperationLatency.start();
+    try {
+      return get(nativeHandle_, opt.nativeHandle_, key, key.length,
+          columnFamilyHandle.nativeHandle_);
+    } finally {
+      OperationLatency.record(OperationType.GET, start);
+    }
   }
 
   /**
@@ -724,20 +895,25 @@ public class RocksDB extends RocksObject {
   public Map<byte[], byte[]> multiGet(List<byte[]> keys)
       throws RocksDBException {
     assert(keys.size() != 0);
+    long start = OperationLatency.start();
+    try {
+
+      List<byte[]> values = multiGet(
+          nativeHandle_, keys, keys.size());
 
-    List<byte[]> values = multiGet(
-        nativeHandle_, keys, keys.size());
+      Map<byte[], byte[]> keyValueMap = new HashMap<byte[], byte[]>();
+      for(int i = 0; i < values.size(); i++) {
+        if(values.get(i) == null) {
+          continue;
+        }
 
-    Map<byte[], byte[]> keyValueMap = new HashMap<byte[], byte[]>();
-    for(int i = 0; i < values.size(); i++) {
-      if(values.get(i) == null) {
-        continue;
+        keyValueMap.put(keys.get(i), values.get(i));
       }
 
-      keyValueMap.put(keys.get(i), values.get(i));
+      return keyValueMap;
+    } finally {
+      OperationLatency.record(OperationType.MULTI_GET, start);
     }
-
-    return keyValueMap;
   }
 
   /**
@@ -759,23 +935,28 @@ public class RocksDB extends RocksObject {
   public Map<byte[], byte[]> multiGet(List<ColumnFamilyHandle> columnFamilyHandleList,
       List<byte[]> keys) throws RocksDBException, IllegalArgumentException {
     assert(keys.size() != 0);
-    // Check if key size equals cfList size. If not a exception must be
-    // thrown. If not a Segmentation fault happens.
-    if (keys.size()!=columnFamilyHandleList.size()) {
-        throw new IllegalArgumentException(
-            "For each key there must be a ColumnFamilyHandle.");
-    }
-    List<byte[]> values = multiGet(nativeHandle_, keys, keys.size(),
-        columnFamilyHandleList);
+    long start = OperationLatency.start();
+    try {
+      // Check if key size equals cfList size. If not a exception must be
+      // thrown. If not a Segmentation fault happens.
+      if (keys.size()!=columnFamilyHandleList.size()) {
+          throw new IllegalArgumentException(
+              "For each key there must be a ColumnFamilyHandle.");
+      }
+      List<byte[]> values = multiGet(nativeHandle_, keys, keys.size(),
+          columnFamilyHandleList);
 
-    Map<byte[], byte[]> keyValueMap = new HashMap<byte[], byte[]>();
-    for(int i = 0; i < values.size(); i++) {
-      if (values.get(i) == null) {
-        continue;
+      Map<byte[], byte[]> keyValueMap = new HashMap<byte[], byte[]>();
+      for(int i = 0; i < values.size(); i++) {
+        if (values.get(i) == null) {
+          continue;
+        }
+        keyValueMap.put(keys.get(i), values.get(i));
       }
-      keyValueMap.put(keys.get(i), values.get(i));
+      return keyValueMap;
+    } finally {
+      OperationLatency.record(OperationType.MULTI_GET, start);
     }
-    return keyValueMap;
   }
 
   /**
@@ -791,20 +972,25 @@ public class RocksDB extends RocksObject {
   public Map<byte[], byte[]> multiGet(ReadOptions opt, List<byte[]> keys)
       throws RocksDBException {
     assert(keys.size() != 0);
+    long start = OperationLatency.start();
+    try {
+
+      List<byte[]> values = multiGet(
+          nativeHandle_, opt.nativeHandle_, keys, keys.size());
 
-    List<byte[]> values = multiGet(
-        nativeHandle_, opt.nativeHandle_, keys, keys.size());
+      Map<byte[], byte[]> keyValueMap = new HashMap<byte[], byte[]>();
+      for(int i = 0; i < values.size(); i++) {
+        if(values.get(i) == null) {
+          continue;
+        }
 
-    Map<byte[], byte[]> keyValueMap = new HashMap<byte[], byte[]>();
-    for(int i = 0; i < values.size(); i++) {
-      if(values.get(i) == null) {
-        continue;
+        keyValueMap.put(keys.get(i), values.get(i));
       }
 
-      keyValueMap.put(keys.get(i), values.get(i));
+      return keyValueMap;
+    } finally {
+      OperationLatency.record(OperationType.MULTI_GET, start);
     }
-
-    return keyValueMap;
   }
 
   /**
@@ -828,25 +1014,30 @@ public class RocksDB extends RocksObject {
       List<ColumnFamilyHandle> columnFamilyHandleList, List<byte[]> keys)
       throws RocksDBException {
     assert(keys.size() != 0);
-    // Check if key size equals cfList size. If not a exception must be
-    // thrown. If not a Segmentation fault happens.
-    if (keys.size()!=columnFamilyHandleList.size()){
-      throw new IllegalArgumentException(
-          "For each key there must be a ColumnFamilyHandle.");
-    }
+    long start = OperationLatency.start();
+    try {
+      // Check if key size equals cfList size. If not a exception must be
+      // thrown. If not a Segmentation fault happens.
+      if (keys.size()!=columnFamilyHandleList.size()){
+        throw new IllegalArgumentException(
+            "For each key there must be a ColumnFamilyHandle.");
+      }
 
-    List<byte[]> values = multiGet(nativeHandle_, opt.nativeHandle_,
-        keys, keys.size(), columnFamilyHandleList);
+      List<byte[]> values = multiGet(nativeHandle_, opt.nativeHandle_,
+          keys, keys.size(), columnFamilyHandleList);
 
-    Map<byte[], byte[]> keyValueMap = new HashMap<byte[], byte[]>();
-    for(int i = 0; i < values.size(); i++) {
-      if(values.get(i) == null) {
-        continue;
+      Map<byte[], byte[]> keyValueMap = new HashMap<byte[], byte[]>();
+      for(int i = 0; i < values.size(); i++) {
+        if(values.get(i) == null) {
+          continue;
+        }
+        keyValueMap.put(keys.get(i), values.get(i));
       }
-      keyValueMap.put(keys.get(i), values.get(i));
-    }
 
-    return keyValueMap;
+      return keyValueMap;
+    } finally {
+      OperationLatency.record(OperationType.MULTI_GET, start);
+    }
   }
 
   /**
@@ -859,7 +1050,12 @@ public class RocksDB extends RocksObject {
    * @throws RocksDBException
    */
   public void remove(byte[] key) throws RocksDBException {
-    remove(nativeHandle_, key, key.length);
+    long start = OperationLatency.start();
+    try {
+      remove(nativeHandle_, key, key.length);
+    } finally {
+      OperationLatency.record(OperationType.REMOVE, start);
+    }
   }
 
   /**
@@ -875,7 +1071,12 @@ public class RocksDB extends RocksObject {
    */
   public void remove(ColumnFamilyHandle columnFamilyHandle, byte[] key)
       throws RocksDBException {
-    remove(nativeHandle_, key, key.length, columnFamilyHandle.nativeHandle_);
+    long start = OperationLatency.start();
+    try {
+      remove(nativeHandle_, key, key.length, columnFamilyHandle.nativeHandle_);
+    } finally {
+      OperationLatency.record(OperationType.REMOVE, start);
+    }
   }
 
   /**
@@ -890,7 +1091,12 @@ public class RocksDB extends RocksObject {
    */
   public void remove(WriteOptions writeOpt, byte[] key)
       throws RocksDBException {
-    remove(nativeHandle_, writeOpt.nativeHandle_, key, key.length);
+    long start = OperationLatency.start();
+    try {
+      remove(nativeHandle_, writeOpt.nativeHandle_, key, key.length);
+    } finally {
+      OperationLatency.record(OperationType.REMOVE, start);
+    }
   }
 
   /**
@@ -907,8 +1113,13 @@ public class RocksDB extends RocksObject {
    */
   public void remove(ColumnFamilyHandle columnFamilyHandle, WriteOptions writeOpt,
       byte[] key) throws RocksDBException {
-    remove(nativeHandle_, writeOpt.nativeHandle_, key, key.length,
-        columnFamilyHandle.nativeHandle_);
+    long start = OperationLatency.start();
+    try {
+      remove(nativeHandle_, writeOpt.nativeHandle_, key, key.length,
+          columnFamilyHandle.nativeHandle_);
+    } finally {
+      OperationLatency.record(OperationType.REMOVE, start);
+    }
   }
 
   /**
@@ -927,6 +1138,10 @@ public class RocksDB extends RocksObject {
    *     about the internal operation of the DB.</li>
    * <li>"rocksdb.sstables" - returns a multi-line string that describes all
    *    of the sstables that make up the db contents.</li>
+   * <li>"rocksdb.bloom-filter-checked" - returns the number of filter
+   *    lookups done by reads of the column family.</li>
+   * <li>"rocksdb.bloom-filter-useful" - returns the number of filter
+   *    lookups which ruled out a key, and thereby avoided a block read.</li>
    * </ul>
    *
    * @param columnFamilyHandle {@link org.rocksdb.ColumnFamilyHandle}
@@ -967,6 +1182,177 @@ public class RocksDB extends RocksObject {
     return getProperty0(nativeHandle_, property, property.length());
   }
 
+  /**
+   * Flushes the memtable of the default column family into a table
+   * file, and waits until the flush is done.
+   *
+   * @throws RocksDBException if the flush fails.
+   */
+  public void flush() throws RocksDBException {
+    assert(isInitialized());
+    flush(nativeHandle_, 0);
+  }
+
+  /**
+   * Flushes the memtable of a column family into a table file, and
+   * waits until the flush is done.
+   *
+   * @param columnFamilyHandle {@link org.rocksdb.ColumnFamilyHandle}
+   *     instance
+   *
+   * @throws RocksDBException if the flush fails.
+   */
+  public void flush(ColumnFamilyHandle columnFamilyHandle)
+      throws RocksDBException {
+    assert(isInitialized());
+    flush(nativeHandle_, columnFamilyHandle.nativeHandle_);
+  }
+
+  /**
+   * <p>Returns the native memory used by this database: the memtables,
+   * the table readers and the block caches of every column family, and
+   * the number of live iterators and snapshots created from Java.</p>
+   *
+   * <p>The column families are those opened or created through this
+   * instance whose handles have not been disposed, and the default
+   * column family.</p>
+   *
+   * @return the memory usage of the database and of each column family.
+   */
+  public MemoryUsage getMemoryUsage() {
+    assert(isInitialized());
+    long[] cfHandles;
+    String[] cfNames;
+    long[] values;
+    synchronized (columnFamilyHandles_) {
+      cfHandles = new long[columnFamilyHandles_.size() + 1];
+      int i = 1;
+      for (long cfHandle : columnFamilyHandles_) {
+        cfHandles[i++] = cfHandle;
+      }
+      cfNames = new String[cfHandles.length];
+      values = getMemoryUsage0(nativeHandle_, cfHandles, cfNames);
+    }
+
+    // a handle of the default column family may be among the handles,
+    // and a cache may be shared by several column families
+    Map<String, MemoryUsage> columnFamilies =
+        new LinkedHashMap<String, MemoryUsage>();
+    Map<Long, long[]> caches = new HashMap<Long, long[]>();
+    for (int i = 0; i < cfHandles.length; i++) {
+      int v = i * MEMORY_USAGE_VALUES;
+      long cacheUsage = 0;
+      long cachePinnedUsage = 0;
+      for (int c = v + 2; c < v + MEMORY_USAGE_VALUES; c += 3) {
+        if (values[c] != 0) {
+          caches.put(values[c], new long[] {values[c + 1], values[c + 2]});
+          cacheUsage += values[c + 1];
+          cachePinnedUsage += values[c + 2];
+        }
+      }
+      columnFamilies.put(cfNames[i], new MemoryUsage(values[v],
+          values[v + 1], cacheUsage, cachePinnedUsage, 0, 0,
+          Collections.<String, MemoryUsage>emptyMap()));
+    }
+
+    long memTableUsage = 0;
+    long tableReadersUsage = 0;
+    for (MemoryUsage usage : columnFamilies.values()) {
+      memTableUsage += usage.memTableUsage();
+      tableReadersUsage += usage.tableReadersUsage();
+    }
+    long cacheUsage = 0;
+    long cachePinnedUsage = 0;
+    for (long[] cache : caches.values()) {
+      cacheUsage += cache[0];
+      cachePinnedUsage += cache[1];
+    }
+    return new MemoryUsage(memTableUsage, tableReadersUsage, cacheUsage,
+        cachePinnedUsage, liveIterators_.get(), liveSnapshots_.get(),
+        columnFamilies);
+  }
+
+  void addColumnFamilyHandle(ColumnFamilyHandle columnFamilyHandle) {
+    synchronized (columnFamilyHandles_) {
+      columnFamilyHandles_.add(columnFamilyHandle.nativeHandle_);
+    }
+  }
+
+  void removeColumnFamilyHandle(ColumnFamilyHandle columnFamilyHandle) {
+    synchronized (columnFamilyHandles_) {
+      columnFamilyHandles_.remove(columnFamilyHandle.nativeHandle_);
+    }
+  }
+
+  void iteratorCreated() {
+    liveIterators_.incrementAndGet();
+  }
+
+  void iteratorDisposed() {
+    liveIterators_.decrementAndGet();
+  }
+
+  /**
+   * Reads several integer properties of a column family with a single
+   * native call, e.g. "rocksdb.estimate-num-keys" or
+   * "rocksdb.cur-size-all-mem-tables".
+   *
+   * @param columnFamilyHandle {@link org.rocksdb.ColumnFamilyHandle}
+   *     instance, or null for the default column family.
+   * @param properties the names of the integer properties.
+   * @return the values, in the order of the names.
+   *
+   * @throws RocksDBException if one of the properties is not an integer
+   *     property understood by this DB.
+   */
+  public long[] getIntProperties(ColumnFamilyHandle columnFamilyHandle,
+      String[] properties) throws RocksDBException {
+    assert(isInitialized());
+    return getIntProperties0(nativeHandle_, columnFamilyHandle == null ?
+        0 : columnFamilyHandle.nativeHandle_, properties);
+  }
+
+  /**
+   * <p>Returns the properties of all SST files of the default
+   * column family, keyed by file name.</p>
+   *
+   * <p>Besides the built-in properties this includes the
+   * properties recorded by any table properties collector
+   * registered when the files were written.</p>
+   *
+   * @return Map of file name to {@link org.rocksdb.TableProperties}.
+   *
+   * @throws RocksDBException
+   * @see Options#addTablePropertiesCollectorFactory(
+   *     AbstractTablePropertiesCollectorFactory)
+   */
+  public Map<String, TableProperties> getPropertiesOfAllTables()
+      throws RocksDBException {
+    return getPropertiesOfAllTables(nativeHandle_);
+  }
+
+  /**
+   * <p>Returns the properties of all SST files of a column family,
+   * keyed by file name.</p>
+   *
+   * <p>Besides the built-in properties this includes the
+   * properties recorded by any table properties collector
+   * registered when the files were written.</p>
+   *
+   * @param columnFamilyHandle {@link org.rocksdb.ColumnFamilyHandle}
+   *     instance
+   * @return Map of file name to {@link org.rocksdb.TableProperties}.
+   *
+   * @throws RocksDBException
+   * @see Options#addTablePropertiesCollectorFactory(
+   *     AbstractTablePropertiesCollectorFactory)
+   */
+  public Map<String, TableProperties> getPropertiesOfAllTables(
+      ColumnFamilyHandle columnFamilyHandle) throws RocksDBException {
+    return getPropertiesOfAllTables(nativeHandle_,
+        columnFamilyHandle.nativeHandle_);
+  }
+
   /**
    * Return a heap-allocated iterator over the contents of the database.
    * The result of newIterator() is initially invalid (caller must
@@ -978,7 +1364,33 @@ public class RocksDB extends RocksObject {
    * @return instance of iterator object.
    */
   public RocksIterator newIterator() {
-    return new RocksIterator(this, iterator0(nativeHandle_));
+    long start = OperationLatency.start();
+    try {
+      return new RocksIterator(this, iterator0(nativeHandle_));
+    } finally {
+      OperationLatency.record(OperationType.NEW_ITERATOR, start);
+    }
+  }
+
+  /**
+   * Return a heap-allocated iterator over the contents of the database.
+   * The result of newIterator() is initially invalid (caller must
+   * call one of the Seek methods on the iterator before using it).
+   *
+   * Caller should close the iterator when it is no longer needed.
+   * The returned iterator should be closed before this db is closed.
+   *
+   * @param readOptions {@link ReadOptions} instance.
+   * @return instance of iterator object.
+   */
+  public RocksIterator newIterator(ReadOptions readOptions) {
+    long start = OperationLatency.start();
+    try {
+      return new RocksIterator(this, iterator(nativeHandle_,
+          readOptions.nativeHandle_));
+    } finally {
+      OperationLatency.record(OperationType.NEW_ITERATOR, start);
+    }
   }
 
 
@@ -996,6 +1408,7 @@ public class RocksDB extends RocksObject {
   public Snapshot getSnapshot() {
     long snapshotHandle = getSnapshot(nativeHandle_);
     if (snapshotHandle != 0) {
+      liveSnapshots_.incrementAndGet();
       return new Snapshot(snapshotHandle);
     }
     return null;
@@ -1010,6 +1423,7 @@ public class RocksDB extends RocksObject {
   public void releaseSnapshot(final Snapshot snapshot) {
     if (snapshot != null) {
       releaseSnapshot(nativeHandle_, snapshot.nativeHandle_);
+      liveSnapshots_.decrementAndGet();
     }
   }
 
@@ -1026,8 +1440,37 @@ public class RocksDB extends RocksObject {
    * @return instance of iterator object.
    */
   public RocksIterator newIterator(ColumnFamilyHandle columnFamilyHandle) {
-    return new RocksIterator(this, iterator0(nativeHandle_,
-        columnFamilyHandle.nativeHandle_));
+    long start = OperationLatency.start();
+    try {
+      return new RocksIterator(this, iterator0(nativeHandle_,
+          columnFamilyHandle.nativeHandle_));
+    } finally {
+      OperationLatency.record(OperationType.NEW_ITERATOR, start);
+    }
+  }
+
+  /**
+   * Return a heap-allocated iterator over the contents of the database.
+   * The result of newIterator() is initially invalid (caller must
+   * call one of the Seek methods on the iterator before using it).
+   *
+   * Caller should close the iterator when it is no longer needed.
+   * The returned iterator should be closed before this db is closed.
+   *
+   * @param columnFamilyHandle {@link org.rocksdb.ColumnFamilyHandle}
+   *     instance
+   * @param readOptions {@link ReadOptions} instance.
+   * @return instance of iterator object.
+   */
+  public RocksIterator newIterator(ColumnFamilyHandle columnFamilyHandle,
+      ReadOptions readOptions) {
+    long start = OperationLatency.start();
+    try {
+      return new RocksIterator(this, iterator(nativeHandle_,
+          columnFamilyHandle.nativeHandle_, readOptions.nativeHandle_));
+    } finally {
+      OperationLatency.record(OperationType.NEW_ITERATOR, start);
+    }
   }
 
   /**
@@ -1044,14 +1487,19 @@ public class RocksDB extends RocksObject {
    */
   public List<RocksIterator> newIterators(
       List<ColumnFamilyHandle> columnFamilyHandleList) throws RocksDBException {
-    List<RocksIterator> iterators =
-        new ArrayList<RocksIterator>(columnFamilyHandleList.size());
-
-    long[] iteratorRefs = iterators(nativeHandle_, columnFamilyHandleList);
-    for (int i=0; i<columnFamilyHandleList.size(); i++){
-      iterators.add(new RocksIterator(this, iteratorRefs[i]));
+    long start = OperationLatency.start();
+    try {
+      List<RocksIterator> iterators =
+          new ArrayList<RocksIterator>(columnFamilyHandleList.size());
+
+      long[] iteratorRefs = iterators(nativeHandle_, columnFamilyHandleList);
+      for (int i=0; i<columnFamilyHandleList.size(); i++){
+        iterators.add(new RocksIterator(this, iteratorRefs[i]));
+      }
+      return iterators;
+    } finally {
+      OperationLatency.record(OperationType.NEW_ITERATOR, start);
     }
-    return iterators;
   }
 
   /**
@@ -1069,6 +1517,26 @@ public class RocksDB extends RocksObject {
         options_.nativeHandle_, columnFamilyName));
   }
 
+  /**
+   * <p>Creates a new column family with the name columnFamilyName using
+   * the column family specific settings of the given options, e.g. its
+   * table format and filter policy. Database wide settings of the
+   * options are ignored.</p>
+   *
+   * <p>The ColumnFamilyHandle is automatically disposed with DB
+   * disposal.</p>
+   *
+   * @param columnFamilyName Name of column family to be created.
+   * @param options {@link org.rocksdb.Options} of the column family.
+   * @return {@link org.rocksdb.ColumnFamilyHandle} instance
+   * @throws RocksDBException
+   */
+  public ColumnFamilyHandle createColumnFamily(String columnFamilyName,
+      Options options) throws RocksDBException {
+    return new ColumnFamilyHandle(this, createColumnFamily(nativeHandle_,
+        options.nativeHandle_, columnFamilyName));
+  }
+
   /**
    * Drops the column family identified by columnFamilyName. Internal
    * handles to this column family will be disposed. If the column family
@@ -1098,6 +1566,8 @@ public class RocksDB extends RocksObject {
   protected native List<Long> open(long optionsHandle, String path,
       List<String> columnFamilyNames, int columnFamilyNamesLength)
       throws RocksDBException;
+  protected native void openAsCompactedDB(
+      long optionsHandle, String path) throws RocksDBException;
   protected native static List<byte[]> listColumnFamilies(
       long optionsHandle, String path) throws RocksDBException;
   protected native void openROnly(
@@ -1121,6 +1591,8 @@ public class RocksDB extends RocksObject {
       byte[] value, int valueLen, long cfHandle) throws RocksDBException;
   protected native void write(
       long writeOptHandle, long batchHandle) throws RocksDBException;
+  protected native void writeWithIndex(
+      long writeOptHandle, long wbwiHandle) throws RocksDBException;
   protected native boolean keyMayExist(byte[] key, int keyLen,
       StringBuffer stringBuffer);
   protected native boolean keyMayExist(byte[] key, int keyLen,
@@ -1189,8 +1661,21 @@ public class RocksDB extends RocksObject {
       String property, int propertyLength) throws RocksDBException;
   protected native String getProperty0(long nativeHandle, long cfHandle,
       String property, int propertyLength) throws RocksDBException;
+  protected native long[] getIntProperties0(long nativeHandle, long cfHandle,
+      String[] properties) throws RocksDBException;
+  private native void flush(long nativeHandle, long cfHandle)
+      throws RocksDBException;
+  private native long[] getMemoryUsage0(long nativeHandle, long[] cfHandles,
+      String[] cfNames);
+  protected native Map<String, TableProperties> getPropertiesOfAllTables(
+      long nativeHandle) throws RocksDBException;
+  protected native Map<String, TableProperties> getPropertiesOfAllTables(
+      long nativeHandle, long cfHandle) throws RocksDBException;
   protected native long iterator0(long handle);
   protected native long iterator0(long handle, long cfHandle);
+  protected native long iterator(long handle, long readOptHandle);
+  protected native long iterator(long handle, long cfHandle,
+      long readOptHandle);
   protected native long[] iterators(long handle,
       List<ColumnFamilyHandle> columnFamilyNames) throws RocksDBException;
   protected native long getSnapshot(long nativeHandle);
@@ -1203,4 +1688,14 @@ public class RocksDB extends RocksObject {
   private native void dropColumnFamily(long handle, long cfHandle) throws RocksDBException;
 
   protected Options options_;
+
+  // memtables, table readers, block cache (id, usage, pinned usage) and
+  // compressed block cache (id, usage, pinned usage) per column family
+  private static final int MEMORY_USAGE_VALUES = 8;
+  // native handles of the column family handles which have not been
+  // disposed; the Java objects are not referenced, so that a handle
+  // which is no longer used can still be finalized
+  private final Set<Long> columnFamilyHandles_ = new LinkedHashSet<Long>();
+  private final AtomicInteger liveIterators_ = new AtomicInteger();
+  private final AtomicInteger liveSnapshots_ = new AtomicInteger();
 }
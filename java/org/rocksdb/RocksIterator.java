@@ -28,6 +28,18 @@ public class RocksIterator extends RocksObject {
     // to guarantee that while a GC cycle starts RocksDBIterator instances
     // are freed prior to RocksDB instances.
     rocksDB_ = rocksDB;
+    rocksDB_.iteratorCreated();
+  }
+
+  /**
+   * Creates an iterator which reads from {@code owner} as well, e.g. the
+   * index of a {@link WriteBatchWithIndex}, and keeps a reference to it
+   * so that it is not garbage collected before this iterator.
+   */
+  RocksIterator(RocksDB rocksDB, long nativeHandle, RocksObject owner) {
+    this(rocksDB, nativeHandle);
+    assert(owner != null);
+    owner_ = owner;
   }
 
   /**
@@ -38,7 +50,12 @@ public class RocksIterator extends RocksObject {
    */
   public boolean isValid() {
     assert(isInitialized());
-    return isValid0(nativeHandle_);
+    long start = OperationLatency.start();
+    try {
+      return isValid0(nativeHandle_);
+    } finally {
+      OperationLatency.record(OperationType.ITERATOR_IS_VALID, start);
+    }
   }
 
   /**
@@ -47,7 +64,12 @@ public class RocksIterator extends RocksObject {
    */
   public void seekToFirst() {
     assert(isInitialized());
-    seekToFirst0(nativeHandle_);
+    long start = OperationLatency.start();
+    try {
+      seekToFirst0(nativeHandle_);
+    } finally {
+      OperationLatency.record(OperationType.ITERATOR_SEEK, start);
+    }
   }
 
   /**
@@ -56,7 +78,12 @@ public class RocksIterator extends RocksObject {
    */
   public void seekToLast() {
     assert(isInitialized());
-    seekToLast0(nativeHandle_);
+    long start = OperationLatency.start();
+    try {
+      seekToLast0(nativeHandle_);
+    } finally {
+      OperationLatency.record(OperationType.ITERATOR_SEEK, start);
+    }
   }
 
   /**
@@ -67,7 +94,12 @@ public class RocksIterator extends RocksObject {
    */
   public void next() {
     assert(isInitialized());
-    next0(nativeHandle_);
+    long start = OperationLatency.start();
+    try {
+      next0(nativeHandle_);
+    } finally {
+      OperationLatency.record(OperationType.ITERATOR_NEXT, start);
+    }
   }
 
   /**
@@ -78,7 +110,12 @@ public class RocksIterator extends RocksObject {
    */
   public void prev() {
     assert(isInitialized());
-    prev0(nativeHandle_);
+    long start = OperationLatency.start();
+    try {
+      prev0(nativeHandle_);
+    } finally {
+      OperationLatency.record(OperationType.ITERATOR_PREV, start);
+    }
   }
 
   /**
@@ -92,7 +129,12 @@ public class RocksIterator extends RocksObject {
    */
   public byte[] key() {
     assert(isInitialized());
-    return key0(nativeHandle_);
+    long start = OperationLatency.start();
+    try {
+      return key0(nativeHandle_);
+    } finally {
+      OperationLatency.record(OperationType.ITERATOR_KEY, start);
+    }
   }
 
   /**
@@ -105,7 +147,12 @@ public class RocksIterator extends RocksObject {
    */
   public byte[] value() {
     assert(isInitialized());
-    return value0(nativeHandle_);
+    long start = OperationLatency.start();
+    try {
+      return value0(nativeHandle_);
+    } finally {
+      OperationLatency.record(OperationType.ITERATOR_VALUE, start);
+    }
   }
 
   /**
@@ -115,7 +162,12 @@ public class RocksIterator extends RocksObject {
    */
   public void seek(byte[] target) {
     assert(isInitialized());
-    seek0(nativeHandle_, target, target.length);
+    long start = OperationLatency.start();
+    try {
+      seek0(nativeHandle_, target, target.length);
+    } finally {
+      OperationLatency.record(OperationType.ITERATOR_SEEK, start);
+    }
   }
 
   /**
@@ -140,6 +192,7 @@ public class RocksIterator extends RocksObject {
    */
   @Override protected void disposeInternal() {
     assert(isInitialized());
+    rocksDB_.iteratorDisposed();
     if (rocksDB_.isInitialized()) {
       disposeInternal(nativeHandle_);
     }
@@ -157,4 +210,5 @@ public class RocksIterator extends RocksObject {
   private native void status0(long handle);
 
   RocksDB rocksDB_;
+  private RocksObject owner_;
 }
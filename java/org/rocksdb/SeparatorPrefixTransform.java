@@ -0,0 +1,29 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+/**
+ * <p>Uses the bytes of a key up to and including the first occurrence of
+ * a separator byte as its prefix, e.g. {@code "tenant1:"} for the key
+ * {@code "tenant1:user42"} and separator {@code ':'}. This allows prefixes
+ * of variable length such as tenant or user ids.</p>
+ *
+ * <p>Keys not containing the separator have no prefix, so they are
+ * not part of the prefix bloom filters. Where a prefix is required
+ * nevertheless, e.g. by hash based mem-tables, the whole key is
+ * used.</p>
+ */
+public class SeparatorPrefixTransform extends SliceTransform {
+  /**
+   * @param separator the byte terminating the prefix.
+   */
+  public SeparatorPrefixTransform(byte separator) {
+    super();
+    createNewSeparatorPrefixTransform(separator);
+  }
+
+  private native void createNewSeparatorPrefixTransform(byte separator);
+}
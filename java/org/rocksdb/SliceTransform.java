@@ -0,0 +1,42 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+/**
+ * <p>A SliceTransform extracts the prefix of a key.</p>
+ *
+ * <p>Used as prefix extractor, the prefix drives the bucketing of the
+ * hash based mem-tables, the prefix index of plain tables and the
+ * prefix bloom filters. Keys sharing a prefix can then be scanned
+ * efficiently by seeking to the prefix with
+ * {@link ReadOptions#setTotalOrderSeek(boolean)} left disabled.</p>
+ *
+ * <p>All implementations are native, so extracting a prefix does
+ * not cross the JNI boundary.</p>
+ *
+ * @see org.rocksdb.FixedPrefixTransform
+ * @see org.rocksdb.CappedPrefixTransform
+ * @see org.rocksdb.SeparatorPrefixTransform
+ */
+public abstract class SliceTransform extends RocksObject {
+  protected SliceTransform() {
+    super();
+  }
+
+  /**
+   * Deletes underlying C++ slice transform pointer.
+   *
+   * Note that the C++ slice transform is shared with the options
+   * and databases it was passed to, so it stays alive as long as
+   * they use it.
+   */
+  @Override protected void disposeInternal() {
+    assert(isInitialized());
+    disposeInternal(nativeHandle_);
+  }
+
+  private native void disposeInternal(long handle);
+}
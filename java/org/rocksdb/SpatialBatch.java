@@ -0,0 +1,77 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+/**
+ * <p>SpatialBatch collects elements which are inserted into a
+ * {@link org.rocksdb.SpatialDB} by a single call to
+ * {@link SpatialDB#insert(WriteOptions, SpatialBatch)}.</p>
+ *
+ * <p>Elements are encoded into one byte array while they are added,
+ * so a whole batch crosses the JNI boundary at once. This makes
+ * SpatialBatch the preferred way to bulk load a SpatialDB.</p>
+ *
+ * <p>Each element is inserted atomically, but the batch as a whole
+ * is not: if the insertion of an element fails, the elements added
+ * before it remain in the database.</p>
+ */
+public class SpatialBatch {
+  private final ByteArrayOutputStream data_ = new ByteArrayOutputStream();
+  private int count_ = 0;
+
+  /**
+   * Adds an element to the batch.
+   *
+   * @param bbox the bounding box, which determines where the element
+   *     is indexed.
+   * @param blob the element data, usually the WKB representation of
+   *     the polygon.
+   * @param featureSet the features of the element.
+   * @param spatialIndexes the spatial indexes to insert the element in,
+   *     must not be empty.
+   * @return the reference to the current SpatialBatch.
+   */
+  public SpatialBatch add(BoundingBox bbox, byte[] blob,
+      FeatureSet featureSet, List<String> spatialIndexes) {
+    // see rocksjni/spatial_db.cc for the format
+    NativeCoding.putDouble(data_, bbox.minX());
+    NativeCoding.putDouble(data_, bbox.minY());
+    NativeCoding.putDouble(data_, bbox.maxX());
+    NativeCoding.putDouble(data_, bbox.maxY());
+    NativeCoding.putLengthPrefixed(data_, blob);
+    ByteArrayOutputStream features = new ByteArrayOutputStream();
+    featureSet.serialize(features);
+    NativeCoding.putLengthPrefixed(data_, features.toByteArray());
+    NativeCoding.putVarint64(data_, spatialIndexes.size());
+    for (String spatialIndex : spatialIndexes) {
+      NativeCoding.putLengthPrefixed(data_, spatialIndex);
+    }
+    count_++;
+    return this;
+  }
+
+  /**
+   * @return the number of elements in the batch.
+   */
+  public int count() {
+    return count_;
+  }
+
+  /**
+   * Removes all elements from the batch, so it can be reused.
+   */
+  public void clear() {
+    data_.reset();
+    count_ = 0;
+  }
+
+  byte[] data() {
+    return data_.toByteArray();
+  }
+}
@@ -0,0 +1,119 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+import java.nio.ByteBuffer;
+
+/**
+ * <p>SpatialCursor returns the elements found by
+ * {@link SpatialDB#query(ReadOptions, BoundingBox, String, int)}. To get
+ * all results, call {@link #next()} while {@link #isValid()} is true.</p>
+ *
+ * <p>Results are fetched from the native cursor in chunks, so only one
+ * JNI call is made per chunk instead of one per element.</p>
+ *
+ * <p>A SpatialCursor is not thread-safe.</p>
+ */
+public class SpatialCursor extends RocksObject {
+  SpatialCursor(SpatialDB spatialDB, long nativeHandle, int chunkSize) {
+    super();
+    nativeHandle_ = nativeHandle;
+    // SpatialCursor must hold a reference to the related SpatialDB
+    // instance, see RocksIterator.
+    spatialDB_ = spatialDB;
+    chunkSize_ = chunkSize;
+  }
+
+  /**
+   * @return true if the cursor is positioned at an element.
+   */
+  public boolean isValid() {
+    return blob_ != null;
+  }
+
+  /**
+   * Moves to the next element.
+   * REQUIRES: {@link #isValid()}
+   *
+   * @throws RocksDBException if the query failed while fetching the
+   *     next chunk of results.
+   */
+  public void next() throws RocksDBException {
+    assert(isValid());
+    advance();
+  }
+
+  /**
+   * REQUIRES: {@link #isValid()}
+   *
+   * @return the data of the current element.
+   */
+  public byte[] blob() {
+    assert(isValid());
+    return blob_;
+  }
+
+  /**
+   * REQUIRES: {@link #isValid()}
+   *
+   * @return the features of the current element.
+   */
+  public FeatureSet featureSet() {
+    assert(isValid());
+    return featureSet_;
+  }
+
+  /**
+   * Positions the cursor at the next element, fetching the next chunk
+   * of results if the current one is used up.
+   */
+  void advance() throws RocksDBException {
+    assert(isInitialized());
+    if ((chunk_ == null || !chunk_.hasRemaining()) && !exhausted_) {
+      byte[] data = nextChunk(nativeHandle_, chunkSize_);
+      if (data == null) {
+        exhausted_ = true;
+        chunk_ = null;
+      } else {
+        chunk_ = NativeCoding.wrap(data);
+      }
+    }
+    if (chunk_ == null || !chunk_.hasRemaining()) {
+      blob_ = null;
+      featureSet_ = null;
+      return;
+    }
+    // see rocksjni/spatial_db.cc for the format
+    blob_ = NativeCoding.getLengthPrefixed(chunk_);
+    featureSet_ = FeatureSet.deserialize(
+        NativeCoding.wrap(NativeCoding.getLengthPrefixed(chunk_)));
+  }
+
+  /**
+   * <p>Deletes underlying C++ cursor pointer.</p>
+   *
+   * <p>Note: the underlying handle can only be safely deleted if the
+   * SpatialDB instance related to a certain SpatialCursor is still valid
+   * and initialized.</p>
+   */
+  @Override protected void disposeInternal() {
+    assert(isInitialized());
+    if (spatialDB_.isInitialized()) {
+      disposeInternal(nativeHandle_);
+    }
+  }
+
+  private native byte[] nextChunk(long handle, int chunkSize)
+      throws RocksDBException;
+  private native void disposeInternal(long handle);
+
+  final SpatialDB spatialDB_;
+  private final int chunkSize_;
+  private ByteBuffer chunk_;
+  private boolean exhausted_;
+  private byte[] blob_;
+  private FeatureSet featureSet_;
+}
@@ -0,0 +1,230 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>SpatialDB adds spatial indexes on top of RocksDB. Each spatial
+ * index is defined by an area and a granularity, so different indexes
+ * can be used e.g. for different zoom levels of map data.</p>
+ *
+ * <p>Each element inserted into SpatialDB has a bounding box, a blob
+ * (usually the WKB representation of the polygon), a
+ * {@link org.rocksdb.FeatureSet} and a list of the indexes it is
+ * inserted into.</p>
+ *
+ * <p>A query is executed on a single spatial index. It returns all
+ * elements intersecting the bounding box of the query, but it might
+ * also return some extra non-intersecting elements.</p>
+ *
+ * <p>To rebuild a SpatialDB from scratch, {@link #create} it, open it
+ * with {@link SpatialDBOptions#setBulkLoad(boolean)} enabled, insert the
+ * elements through {@link org.rocksdb.SpatialBatch}es and
+ * {@link #compact()} it afterwards.</p>
+ *
+ * <p>NOTE: SpatialDB is experimental and its API may change.</p>
+ */
+public class SpatialDB extends RocksDB {
+  /**
+   * Default number of elements fetched per JNI call by a
+   * {@link org.rocksdb.SpatialCursor}.
+   */
+  public static final int DEFAULT_CURSOR_CHUNK_SIZE = 256;
+
+  /**
+   * Creates a new SpatialDB with the given spatial indexes.
+   * REQUIRED: the database does not exist.
+   *
+   * @param options {@link org.rocksdb.SpatialDBOptions} instance.
+   * @param db_path path to database.
+   * @param spatialIndexes the spatial indexes to build.
+   *
+   * @throws RocksDBException thrown if an error occurs within the native
+   *     part of the library.
+   */
+  public static void create(SpatialDBOptions options, String db_path,
+      List<SpatialIndexOptions> spatialIndexes) throws RocksDBException {
+    String[] names = new String[spatialIndexes.size()];
+    double[] bboxes = new double[4 * spatialIndexes.size()];
+    int[] tileBits = new int[spatialIndexes.size()];
+    for (int i = 0; i < spatialIndexes.size(); i++) {
+      SpatialIndexOptions index = spatialIndexes.get(i);
+      names[i] = index.name();
+      bboxes[4 * i] = index.bbox().minX();
+      bboxes[4 * i + 1] = index.bbox().minY();
+      bboxes[4 * i + 2] = index.bbox().maxX();
+      bboxes[4 * i + 3] = index.bbox().maxY();
+      tileBits[i] = index.tileBits();
+    }
+    createSpatialDB(options.cacheSize(), options.numThreads(),
+        options.bulkLoad(), db_path, names, bboxes, tileBits);
+  }
+
+  /**
+   * Opens an existing SpatialDB.
+   * REQUIRED: the database was created by {@link #create}.
+   *
+   * @param options {@link org.rocksdb.SpatialDBOptions} instance.
+   * @param db_path path to database.
+   *
+   * @return SpatialDB instance.
+   *
+   * @throws RocksDBException thrown if an error occurs within the native
+   *     part of the library.
+   */
+  public static SpatialDB open(SpatialDBOptions options, String db_path)
+      throws RocksDBException {
+    return open(options, db_path, false);
+  }
+
+  /**
+   * Opens an existing SpatialDB.
+   * REQUIRED: the database was created by {@link #create}.
+   *
+   * @param options {@link org.rocksdb.SpatialDBOptions} instance.
+   * @param db_path path to database.
+   * @param readOnly true to open the database in read-only mode.
+   *
+   * @return SpatialDB instance.
+   *
+   * @throws RocksDBException thrown if an error occurs within the native
+   *     part of the library.
+   */
+  public static SpatialDB open(SpatialDBOptions options, String db_path,
+      boolean readOnly) throws RocksDBException {
+    SpatialDB spatialDB = new SpatialDB();
+    spatialDB.openSpatialDB(options.cacheSize(), options.numThreads(),
+        options.bulkLoad(), db_path, readOnly);
+    return spatialDB;
+  }
+
+  /**
+   * Inserts a single element. Prefer
+   * {@link #insert(WriteOptions, SpatialBatch)} to insert many elements.
+   *
+   * @param writeOptions {@link org.rocksdb.WriteOptions} instance.
+   * @param bbox the bounding box of the element.
+   * @param blob the element data.
+   * @param featureSet the features of the element.
+   * @param spatialIndexes the spatial indexes to insert the element in,
+   *     must not be empty.
+   *
+   * @throws RocksDBException thrown if an error occurs within the native
+   *     part of the library.
+   */
+  public void insert(WriteOptions writeOptions, BoundingBox bbox,
+      byte[] blob, FeatureSet featureSet, String... spatialIndexes)
+      throws RocksDBException {
+    insert(writeOptions, new SpatialBatch().add(bbox, blob, featureSet,
+        Arrays.asList(spatialIndexes)));
+  }
+
+  /**
+   * Inserts all elements of the batch with a single JNI call.
+   *
+   * @param writeOptions {@link org.rocksdb.WriteOptions} instance.
+   * @param batch the elements to insert.
+   *
+   * @throws RocksDBException thrown if an error occurs within the native
+   *     part of the library.
+   *
+   * @see org.rocksdb.SpatialBatch
+   */
+  public void insert(WriteOptions writeOptions, SpatialBatch batch)
+      throws RocksDBException {
+    assert(isInitialized());
+    if (batch.count() > 0) {
+      insert(nativeHandle_, writeOptions.nativeHandle_, batch.data(),
+          batch.count());
+    }
+  }
+
+  /**
+   * Flushes and compacts the data and all spatial indexes. Calling
+   * compact() after inserting a bunch of elements speeds up reading,
+   * especially after a bulk load.
+   *
+   * @throws RocksDBException thrown if an error occurs within the native
+   *     part of the library.
+   */
+  public void compact() throws RocksDBException {
+    assert(isInitialized());
+    compact(nativeHandle_);
+  }
+
+  /**
+   * Queries a spatial index using
+   * {@link #DEFAULT_CURSOR_CHUNK_SIZE}.
+   *
+   * @param readOptions {@link org.rocksdb.ReadOptions} instance.
+   * @param bbox the area to query.
+   * @param spatialIndex the name of the spatial index.
+   * @return a cursor positioned at the first result.
+   *
+   * @throws RocksDBException thrown if an error occurs within the native
+   *     part of the library.
+   */
+  public SpatialCursor query(ReadOptions readOptions, BoundingBox bbox,
+      String spatialIndex) throws RocksDBException {
+    return query(readOptions, bbox, spatialIndex, DEFAULT_CURSOR_CHUNK_SIZE);
+  }
+
+  /**
+   * Queries a spatial index. All elements intersecting the bbox are
+   * returned, but there may be some extra elements as well.
+   *
+   * @param readOptions {@link org.rocksdb.ReadOptions} instance.
+   * @param bbox the area to query.
+   * @param spatialIndex the name of the spatial index.
+   * @param chunkSize the number of elements fetched per JNI call.
+   * @return a cursor positioned at the first result, which must be
+   *     disposed after use.
+   *
+   * @throws RocksDBException thrown if an error occurs within the native
+   *     part of the library.
+   */
+  public SpatialCursor query(ReadOptions readOptions, BoundingBox bbox,
+      String spatialIndex, int chunkSize) throws RocksDBException {
+    assert(isInitialized());
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("chunkSize must be positive");
+    }
+    SpatialCursor cursor = new SpatialCursor(this,
+        query(nativeHandle_, readOptions.nativeHandle_, bbox.minX(),
+            bbox.minY(), bbox.maxX(), bbox.maxY(), spatialIndex),
+        chunkSize);
+    try {
+      cursor.advance();
+    } catch (RocksDBException e) {
+      cursor.dispose();
+      throw e;
+    }
+    return cursor;
+  }
+
+  /**
+   * A protected constructor that will be used in the static factory
+   * method {@link #open(SpatialDBOptions, String, boolean)}.
+   */
+  protected SpatialDB() {
+    super();
+  }
+
+  private static native void createSpatialDB(long cacheSize, int numThreads,
+      boolean bulkLoad, String db_path, String[] indexNames,
+      double[] indexBboxes, int[] indexTileBits) throws RocksDBException;
+  private native void openSpatialDB(long cacheSize, int numThreads,
+      boolean bulkLoad, String db_path, boolean readOnly)
+      throws RocksDBException;
+  private native void insert(long handle, long writeOptionsHandle,
+      byte[] elements, int count) throws RocksDBException;
+  private native void compact(long handle) throws RocksDBException;
+  private native long query(long handle, long readOptionsHandle,
+      double minX, double minY, double maxX, double maxY,
+      String spatialIndex);
+}
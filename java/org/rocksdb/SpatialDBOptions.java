@@ -0,0 +1,66 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+/**
+ * Options to create and open a {@link org.rocksdb.SpatialDB}. The
+ * SpatialDB derives all RocksDB options from these.
+ */
+public class SpatialDBOptions {
+  private long cacheSize_ = 1024L * 1024L * 1024L;
+  private int numThreads_ = 16;
+  private boolean bulkLoad_ = true;
+
+  /**
+   * Size of the block cache shared by all column families.
+   * Default: 1GB
+   *
+   * @param cacheSize block cache size in bytes.
+   * @return the reference to the current SpatialDBOptions.
+   */
+  public SpatialDBOptions setCacheSize(long cacheSize) {
+    cacheSize_ = cacheSize;
+    return this;
+  }
+
+  public long cacheSize() {
+    return cacheSize_;
+  }
+
+  /**
+   * Number of background threads used for flushes and compactions.
+   * Default: 16
+   *
+   * @param numThreads number of background threads.
+   * @return the reference to the current SpatialDBOptions.
+   */
+  public SpatialDBOptions setNumThreads(int numThreads) {
+    numThreads_ = numThreads;
+    return this;
+  }
+
+  public int numThreads() {
+    return numThreads_;
+  }
+
+  /**
+   * Tunes the database for loading many elements at once, e.g. data
+   * is not synced to disk. Call {@link SpatialDB#compact()} once all
+   * elements are inserted.
+   * Default: true
+   *
+   * @param bulkLoad true to optimize for bulk loading.
+   * @return the reference to the current SpatialDBOptions.
+   */
+  public SpatialDBOptions setBulkLoad(boolean bulkLoad) {
+    bulkLoad_ = bulkLoad;
+    return this;
+  }
+
+  public boolean bulkLoad() {
+    return bulkLoad_;
+  }
+}
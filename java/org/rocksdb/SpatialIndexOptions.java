@@ -0,0 +1,43 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+/**
+ * Defines a spatial index that is built on the data of a
+ * {@link org.rocksdb.SpatialDB}.
+ */
+public class SpatialIndexOptions {
+  private final String name_;
+  private final BoundingBox bbox_;
+  private final int tileBits_;
+
+  /**
+   * @param name spatial indexes are referenced by names.
+   * @param bbox the area that is indexed. Elements which do not
+   *     intersect with it are not inserted into the index.
+   * @param tileBits controls the granularity of the index. Each
+   *     dimension of the bbox is split into {@code (1 << tileBits)} tiles.
+   *     The size of a tile should be approximately the size of the
+   *     queries on that index.
+   */
+  public SpatialIndexOptions(String name, BoundingBox bbox, int tileBits) {
+    name_ = name;
+    bbox_ = bbox;
+    tileBits_ = tileBits;
+  }
+
+  public String name() {
+    return name_;
+  }
+
+  public BoundingBox bbox() {
+    return bbox_;
+  }
+
+  public int tileBits() {
+    return tileBits_;
+  }
+}
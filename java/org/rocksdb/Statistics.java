@@ -5,6 +5,9 @@
 
 package org.rocksdb;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 /**
  * Statistics to analyze the performance of a db. Pointer for statistics object
  * is managed by Options class.
@@ -12,6 +15,8 @@ package org.rocksdb;
 public class Statistics {
 
   private final long statsHandle_;
+  private final Map<HistogramType, HistogramData> lastHistogramData_ =
+      new EnumMap<HistogramType, HistogramData>(HistogramType.class);
 
   public Statistics(long statsHandle) {
     statsHandle_ = statsHandle;
@@ -29,10 +34,88 @@ public class Statistics {
     return hist;
   }
 
+  /**
+   * Returns the values added to a histogram since the previous call
+   * of this method for the same histogram type on this instance. The
+   * first call returns all values.
+   *
+   * @param histogramType the histogram.
+   * @return histogram of the values added since the last read.
+   * @see HistogramData#delta(HistogramData)
+   */
+  public synchronized HistogramData getHistogramDelta(
+      HistogramType histogramType) {
+    HistogramData current = geHistogramData(histogramType);
+    HistogramData previous = lastHistogramData_.put(histogramType, current);
+    if (previous == null) {
+      return current;
+    }
+    return current.delta(previous);
+  }
+
+  /**
+   * Reads all tickers and histograms with a single native call.
+   *
+   * @return the current values of all tickers and histograms.
+   */
+  public StatisticsSnapshot snapshot() {
+    assert(isInitialized());
+    TickerType[] tickerTypes = TickerType.values();
+    HistogramType[] histogramTypes = HistogramType.values();
+    int bucketCount = HistogramData.bucketLimits().length;
+    long[] tickers = new long[tickerTypes.length];
+    double[] histogramValues =
+        new double[histogramTypes.length * HISTOGRAM_VALUES];
+    long[] histogramCounts =
+        new long[histogramTypes.length * (HISTOGRAM_COUNTS + bucketCount)];
+    snapshot0(statsHandle_, TICKER_TYPE_VALUES, HISTOGRAM_TYPE_VALUES, tickers,
+        histogramValues, histogramCounts);
+
+    HistogramData[] histograms = new HistogramData[histogramTypes.length];
+    for (int i = 0; i < histograms.length; i++) {
+      int v = i * HISTOGRAM_VALUES;
+      int c = i * (HISTOGRAM_COUNTS + bucketCount);
+      long[] buckets = new long[bucketCount];
+      System.arraycopy(histogramCounts, c + HISTOGRAM_COUNTS, buckets, 0,
+          bucketCount);
+      histograms[i] = new HistogramData(histogramValues[v],
+          histogramValues[v + 1], histogramValues[v + 2],
+          histogramValues[v + 3], histogramValues[v + 4],
+          histogramValues[v + 5], histogramValues[v + 6],
+          histogramCounts[c], histogramCounts[c + 1], buckets);
+    }
+    return new StatisticsSnapshot(tickers, histograms);
+  }
+
   private boolean isInitialized() {
     return (statsHandle_ != 0);
   }
 
   private native long getTickerCount0(int tickerType, long handle);
   private native HistogramData geHistogramData0(int histogramType, long handle);
+  private native void snapshot0(long handle, int[] tickerTypes,
+      int[] histogramTypes, long[] tickers, double[] histogramValues,
+      long[] histogramCounts);
+
+  // median, percentile95, percentile99, average, standard deviation,
+  // max and min of each histogram
+  private static final int HISTOGRAM_VALUES = 7;
+  // count and sum of each histogram, followed by its buckets
+  private static final int HISTOGRAM_COUNTS = 2;
+
+  private static final int[] TICKER_TYPE_VALUES;
+  private static final int[] HISTOGRAM_TYPE_VALUES;
+
+  static {
+    TickerType[] tickerTypes = TickerType.values();
+    TICKER_TYPE_VALUES = new int[tickerTypes.length];
+    for (int i = 0; i < tickerTypes.length; i++) {
+      TICKER_TYPE_VALUES[i] = tickerTypes[i].getValue();
+    }
+    HistogramType[] histogramTypes = HistogramType.values();
+    HISTOGRAM_TYPE_VALUES = new int[histogramTypes.length];
+    for (int i = 0; i < histogramTypes.length; i++) {
+      HISTOGRAM_TYPE_VALUES[i] = histogramTypes[i].getValue();
+    }
+  }
 }
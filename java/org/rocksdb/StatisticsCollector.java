@@ -5,27 +5,33 @@
 
 package org.rocksdb;
 
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.ArrayBlockingQueue;
+import java.util.Map;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * <p>Helper class to collect DB statistics periodically at a period specified in
  * constructor. Callback function (provided in constructor) is called with
  * every statistics collection.</p>
  *
+ * <p>Each collection reads all statistics of an input with a single
+ * {@link Statistics#snapshot()} and passes the changes since the previous
+ * collection to the callback. The first collection passes the totals.</p>
+ *
  * <p>Caller should call start() to start statistics collection. Shutdown() should
  * be called to stop stats collection and should be called before statistics (
  * provided in constructor) reference has been disposed.</p>
  */
 public class StatisticsCollector {
   private final List<StatsCollectorInput> _statsCollectorInputList;
-  private final ExecutorService _executorService;
+  private final ScheduledExecutorService _executorService;
   private final int _statsCollectionInterval;
-  private volatile boolean _isRunning = true;
+  // only accessed by the collection thread
+  private final Map<StatsCollectorInput, StatisticsSnapshot> _lastSnapshots =
+      new HashMap<StatsCollectorInput, StatisticsSnapshot>();
 
   /**
    * Constructor for statistics collector.
@@ -39,11 +45,16 @@ public class StatisticsCollector {
     _statsCollectorInputList = statsCollectorInputList;
     _statsCollectionInterval = statsCollectionIntervalInMilliSeconds;
 
-    _executorService = Executors.newSingleThreadExecutor();
+    _executorService = Executors.newSingleThreadScheduledExecutor();
   }
 
+  /**
+   * Starts collecting at a fixed rate, the first collection is done
+   * immediately.
+   */
   public void start() {
-    _executorService.submit(collectStatistics());
+    _executorService.scheduleAtFixedRate(collectStatistics(), 0,
+        _statsCollectionInterval, TimeUnit.MILLISECONDS);
   }
 
   /**
@@ -53,8 +64,6 @@ public class StatisticsCollector {
    *        killing the collection process.
    */
   public void shutDown(int shutdownTimeout) throws InterruptedException {
-    _isRunning = false;
-
     _executorService.shutdownNow();
     // Wait for collectStatistics runnable to finish so that disposal of
     // statistics does not cause any exceptions to be thrown.
@@ -66,42 +75,53 @@ public class StatisticsCollector {
 
       @Override
       public void run() {
-        while (_isRunning) {
-          try {
-            if(Thread.currentThread().isInterrupted()) {
-              break;
-            }
-            for(StatsCollectorInput statsCollectorInput :
-                _statsCollectorInputList) {
-              Statistics statistics = statsCollectorInput.getStatistics();
-              StatisticsCollectorCallback statsCallback =
-                  statsCollectorInput.getCallback();
-
-                // Collect ticker data
-              for(TickerType ticker : TickerType.values()) {
-                long tickerValue = statistics.getTickerCount(ticker);
-                statsCallback.tickerCallback(ticker, tickerValue);
-              }
-
-              // Collect histogram data
-              for(HistogramType histogramType : HistogramType.values()) {
-                HistogramData histogramData =
-                    statistics.geHistogramData(histogramType);
-                statsCallback.histogramCallback(histogramType, histogramData);
-              }
-
-              Thread.sleep(_statsCollectionInterval);
-            }
-          }
-          catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        for (StatsCollectorInput statsCollectorInput :
+            _statsCollectorInputList) {
+          if (Thread.currentThread().isInterrupted()) {
             break;
           }
-          catch (Exception e) {
-            throw new RuntimeException("Error while calculating statistics", e);
+          try {
+            collect(statsCollectorInput);
+          } catch (RuntimeException e) {
+            // An exception thrown out of run() would cancel all further
+            // collections, so a failing input only skips its own one.
+            onCollectionError(statsCollectorInput, e);
           }
         }
       }
     };
   }
+
+  /**
+   * Called on the collection thread when collecting an input fails.
+   * The collection of the other inputs and later collections continue.
+   * The default implementation prints the error to {@code System.err}.
+   *
+   * @param statsCollectorInput the input which failed.
+   * @param e the exception thrown while collecting it.
+   */
+  protected void onCollectionError(StatsCollectorInput statsCollectorInput,
+      RuntimeException e) {
+    System.err.format("[ERROR]: collecting statistics failed: %s%n", e);
+    e.printStackTrace();
+  }
+
+  private void collect(StatsCollectorInput statsCollectorInput) {
+    StatisticsSnapshot snapshot =
+        statsCollectorInput.getStatistics().snapshot();
+    StatisticsSnapshot previous =
+        _lastSnapshots.put(statsCollectorInput, snapshot);
+    StatisticsSnapshot delta =
+        previous == null ? snapshot : snapshot.delta(previous);
+    StatisticsCollectorCallback statsCallback =
+        statsCollectorInput.getCallback();
+
+    for (TickerType ticker : TickerType.values()) {
+      statsCallback.tickerCallback(ticker, delta.getTickerCount(ticker));
+    }
+    for (HistogramType histogramType : HistogramType.values()) {
+      statsCallback.histogramCallback(histogramType,
+          delta.getHistogramData(histogramType));
+    }
+  }
 }
@@ -19,14 +19,16 @@ public interface StatisticsCollectorCallback {
   /**
    * Callback function to get ticker values.
    * @param tickerType Ticker type.
-   * @param tickerCount Value of ticker type.
+   * @param tickerCount Increase of the ticker since the previous
+   *     collection, or its value on the first collection.
   */
   void tickerCallback(TickerType tickerType, long tickerCount);
 
   /**
    * Callback function to get histogram values.
    * @param histType Histogram type.
-   * @param histData Histogram data.
+   * @param histData Histogram of the values added since the previous
+   *     collection, or of all values on the first collection.
   */
   void histogramCallback(HistogramType histType, HistogramData histData);
 }
@@ -0,0 +1,57 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+/**
+ * The values of all tickers and histograms of a {@link Statistics}
+ * instance at one point in time, see {@link Statistics#snapshot()}.
+ */
+public class StatisticsSnapshot {
+  private final long[] tickers_;
+  private final HistogramData[] histograms_;
+
+  /**
+   * @param tickers the ticker counts, indexed by the ordinal of the
+   *     {@link TickerType}.
+   * @param histograms the histograms, indexed by the ordinal of the
+   *     {@link HistogramType}.
+   */
+  StatisticsSnapshot(long[] tickers, HistogramData[] histograms) {
+    assert(tickers.length == TickerType.values().length);
+    assert(histograms.length == HistogramType.values().length);
+    tickers_ = tickers;
+    histograms_ = histograms;
+  }
+
+  public long getTickerCount(TickerType tickerType) {
+    return tickers_[tickerType.ordinal()];
+  }
+
+  public HistogramData getHistogramData(HistogramType histogramType) {
+    return histograms_[histogramType.ordinal()];
+  }
+
+  /**
+   * Returns the changes since an earlier snapshot of the same
+   * statistics: the increase of every ticker and the histograms of the
+   * values added in between.
+   *
+   * @param previous an earlier snapshot.
+   * @return a new snapshot holding the changes.
+   * @see HistogramData#delta(HistogramData)
+   */
+  public StatisticsSnapshot delta(StatisticsSnapshot previous) {
+    long[] tickers = new long[tickers_.length];
+    for (int i = 0; i < tickers.length; i++) {
+      tickers[i] = tickers_[i] - previous.tickers_[i];
+    }
+    HistogramData[] histograms = new HistogramData[histograms_.length];
+    for (int i = 0; i < histograms.length; i++) {
+      histograms[i] = histograms_[i].delta(previous.histograms_[i]);
+    }
+    return new StatisticsSnapshot(tickers, histograms);
+  }
+}
@@ -0,0 +1,111 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>A lock-free histogram using the buckets of the native histograms,
+ * see {@link HistogramData#bucketLimits()}.</p>
+ *
+ * <p>Values are added to one of several stripes chosen by the id of the
+ * calling thread, so that concurrent writers rarely update the same
+ * counters. The stripes are summed up when the data is read.</p>
+ */
+class StripedHistogram {
+  private static final long[] BUCKET_LIMITS = HistogramData.bucketLimits();
+
+  private final Stripe[] stripes_;
+
+  StripedHistogram() {
+    int stripes = 1;
+    while (stripes < 2 * Runtime.getRuntime().availableProcessors() &&
+        stripes < 64) {
+      stripes <<= 1;
+    }
+    stripes_ = new Stripe[stripes];
+    for (int i = 0; i < stripes; i++) {
+      stripes_[i] = new Stripe();
+    }
+  }
+
+  void add(long value) {
+    int index = Arrays.binarySearch(BUCKET_LIMITS, value);
+    if (index < 0) {
+      // the first bucket with a limit larger than the value
+      index = Math.min(-index - 1, BUCKET_LIMITS.length - 1);
+    }
+    stripes_[(int) Thread.currentThread().getId() & (stripes_.length - 1)]
+        .add(index, value);
+  }
+
+  void clear() {
+    for (Stripe stripe : stripes_) {
+      stripe.clear();
+    }
+  }
+
+  HistogramData getHistogramData() {
+    long[] buckets = new long[BUCKET_LIMITS.length];
+    long count = 0;
+    long sum = 0;
+    double sumSquares = 0;
+    long min = Long.MAX_VALUE;
+    long max = 0;
+    for (Stripe stripe : stripes_) {
+      for (int b = 0; b < buckets.length; b++) {
+        long bucket = stripe.buckets_.get(b);
+        buckets[b] += bucket;
+        count += bucket;
+      }
+      sum += stripe.sum_.get();
+      sumSquares += Double.longBitsToDouble(stripe.sumSquares_.get());
+      min = Math.min(min, stripe.min_.get());
+      max = Math.max(max, stripe.max_.get());
+    }
+    if (count == 0) {
+      min = 0;
+    }
+    return HistogramData.create(max, min, count, sum, sumSquares, buckets);
+  }
+
+  private static class Stripe {
+    private final AtomicLongArray buckets_ =
+        new AtomicLongArray(BUCKET_LIMITS.length);
+    private final AtomicLong sum_ = new AtomicLong();
+    private final AtomicLong sumSquares_ = new AtomicLong();
+    private final AtomicLong min_ = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max_ = new AtomicLong();
+
+    void add(int index, long value) {
+      buckets_.incrementAndGet(index);
+      sum_.addAndGet(value);
+      long bits;
+      do {
+        bits = sumSquares_.get();
+      } while (!sumSquares_.compareAndSet(bits, Double.doubleToRawLongBits(
+          Double.longBitsToDouble(bits) + (double) value * value)));
+      long min;
+      while (value < (min = min_.get()) && !min_.compareAndSet(min, value)) {
+      }
+      long max;
+      while (value > (max = max_.get()) && !max_.compareAndSet(max, value)) {
+      }
+    }
+
+    void clear() {
+      for (int b = 0; b < buckets_.length(); b++) {
+        buckets_.set(b, 0);
+      }
+      sum_.set(0);
+      sumSquares_.set(0);
+      min_.set(Long.MAX_VALUE);
+      max_.set(0);
+    }
+  }
+}
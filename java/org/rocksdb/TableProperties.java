@@ -0,0 +1,148 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * TableProperties contains the properties of a single SST file,
+ * including the properties recorded by any
+ * {@link org.rocksdb.AbstractTablePropertiesCollectorFactory}
+ * registered when the file was written.
+ *
+ * @see RocksDB#getPropertiesOfAllTables()
+ */
+public class TableProperties {
+  private final long dataSize_;
+  private final long indexSize_;
+  private final long filterSize_;
+  private final long rawKeySize_;
+  private final long rawValueSize_;
+  private final long numDataBlocks_;
+  private final long numEntries_;
+  private final long numDeletions_;
+  private final long formatVersion_;
+  private final long fixedKeyLen_;
+  private final String filterPolicyName_;
+  private final Map<String, byte[]> userCollectedProperties_;
+
+  /**
+   * Called from JNI C++
+   */
+  TableProperties(long dataSize, long indexSize, long filterSize,
+      long rawKeySize, long rawValueSize, long numDataBlocks,
+      long numEntries, long numDeletions, long formatVersion,
+      long fixedKeyLen, String filterPolicyName,
+      Map<String, byte[]> userCollectedProperties) {
+    dataSize_ = dataSize;
+    indexSize_ = indexSize;
+    filterSize_ = filterSize;
+    rawKeySize_ = rawKeySize;
+    rawValueSize_ = rawValueSize;
+    numDataBlocks_ = numDataBlocks;
+    numEntries_ = numEntries;
+    numDeletions_ = numDeletions;
+    formatVersion_ = formatVersion;
+    fixedKeyLen_ = fixedKeyLen;
+    filterPolicyName_ = filterPolicyName;
+    userCollectedProperties_ =
+        Collections.unmodifiableMap(userCollectedProperties);
+  }
+
+  /**
+   * @return the total size of all data blocks.
+   */
+  public long dataSize() {
+    return dataSize_;
+  }
+
+  /**
+   * @return the size of the index block.
+   */
+  public long indexSize() {
+    return indexSize_;
+  }
+
+  /**
+   * @return the size of the filter block.
+   */
+  public long filterSize() {
+    return filterSize_;
+  }
+
+  /**
+   * @return the total raw key size.
+   */
+  public long rawKeySize() {
+    return rawKeySize_;
+  }
+
+  /**
+   * @return the total raw value size.
+   */
+  public long rawValueSize() {
+    return rawValueSize_;
+  }
+
+  /**
+   * @return the number of data blocks in the table.
+   */
+  public long numDataBlocks() {
+    return numDataBlocks_;
+  }
+
+  /**
+   * @return the number of entries in the table.
+   */
+  public long numEntries() {
+    return numEntries_;
+  }
+
+  /**
+   * Returns the number of deletion markers in the table. This is
+   * recorded for every table by RocksDB itself, no collector
+   * needs to be registered for it.
+   *
+   * @return the number of deletion markers in the table.
+   */
+  public long numDeletions() {
+    return numDeletions_;
+  }
+
+  /**
+   * @return the format version, reserved for backward compatibility.
+   */
+  public long formatVersion() {
+    return formatVersion_;
+  }
+
+  /**
+   * @return 0 if keys are of variable length, otherwise the
+   *     number of bytes of each key.
+   */
+  public long fixedKeyLen() {
+    return fixedKeyLen_;
+  }
+
+  /**
+   * @return the name of the filter policy used in the table, or an
+   *     empty string if no filter policy is used.
+   */
+  public String filterPolicyName() {
+    return filterPolicyName_;
+  }
+
+  /**
+   * Returns the properties recorded by the table properties
+   * collectors, keyed by property name.
+   *
+   * @return unmodifiable map of user collected properties.
+   */
+  public Map<String, byte[]> userCollectedProperties() {
+    return userCollectedProperties_;
+  }
+}
@@ -0,0 +1,58 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+import java.nio.charset.Charset;
+import java.util.Map;
+
+/**
+ * <p>Collects user defined properties of a single SST file.</p>
+ *
+ * <p>A collector is created by a {@link TablePropertiesCollectorFactory}
+ * and is only used by the thread writing its table.</p>
+ */
+public abstract class TablePropertiesCollector {
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  /**
+   * Called with the next batch of key/value pairs inserted into
+   * the table, in table order.
+   *
+   * <p>Note that the arrays are only filled up to {@code count}.</p>
+   *
+   * @param keys the user keys.
+   * @param values the values, empty for deletion markers.
+   * @param count the number of key/value pairs in this batch.
+   */
+  public abstract void add(byte[][] keys, byte[][] values, int count);
+
+  /**
+   * Called once all key/value pairs have been added and the table
+   * is ready for writing its properties block.
+   *
+   * @return the properties to store in the table, keyed by
+   *     property name.
+   */
+  public abstract Map<String, byte[]> finish();
+
+  /**
+   * Called from JNI C++, flattens the result of {@link #finish()}
+   * into {name0, value0, name1, value1, ...}.
+   */
+  final byte[][] finish0() {
+    Map<String, byte[]> properties = finish();
+    if (properties == null) {
+      return null;
+    }
+    byte[][] result = new byte[properties.size() * 2][];
+    int i = 0;
+    for (Map.Entry<String, byte[]> property : properties.entrySet()) {
+      result[i++] = property.getKey().getBytes(UTF_8);
+      result[i++] = property.getValue();
+    }
+    return result;
+  }
+}
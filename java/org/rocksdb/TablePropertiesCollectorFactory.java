@@ -0,0 +1,56 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+/**
+ * <p>Base class for table properties collector factories implemented
+ * in Java.</p>
+ *
+ * <p>{@link #newCollector()} is called from the background flush and
+ * compaction threads, once for every SST file written, so
+ * implementations must be thread-safe.</p>
+ *
+ * <p>The key/value pairs of a table are buffered in C++ and handed to
+ * {@link TablePropertiesCollector#add(byte[][], byte[][], int)} in
+ * batches of at most {@code batchSize} entries, which keeps the
+ * JNI overhead per batch rather than per key.</p>
+ */
+public abstract class TablePropertiesCollectorFactory
+    extends AbstractTablePropertiesCollectorFactory {
+  public static final int DEFAULT_BATCH_SIZE = 1024;
+
+  public TablePropertiesCollectorFactory() {
+    this(DEFAULT_BATCH_SIZE);
+  }
+
+  /**
+   * @param batchSize the maximum number of key/value pairs passed
+   *     to a collector in a single call.
+   */
+  public TablePropertiesCollectorFactory(int batchSize) {
+    super();
+    assert(batchSize > 0);
+    createNewTablePropertiesCollectorFactory0(batchSize);
+  }
+
+  /**
+   * The name of the factory, also used as the name of
+   * its collectors.
+   *
+   * @return The name of this factory.
+   */
+  public abstract String name();
+
+  /**
+   * Creates a new collector for a single table.
+   *
+   * @return a new {@link TablePropertiesCollector} instance.
+   */
+  public abstract TablePropertiesCollector newCollector();
+
+  private native void createNewTablePropertiesCollectorFactory0(
+      int batchSize);
+}
@@ -0,0 +1,93 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+import java.util.Map;
+
+/**
+ * <p>Native table properties collector which records the smallest and
+ * the largest timestamp of each SST file. The timestamp is read as an
+ * unsigned 8 byte big-endian integer at a fixed offset of either
+ * the key or the value. Entries too short to contain the timestamp
+ * are ignored.</p>
+ *
+ * <p>For a collector named {@code name} the following properties are
+ * written, each encoded as an 8 byte big-endian integer:</p>
+ * <ul>
+ *   <li>{@code name.min} - the smallest timestamp (absent if count is 0)</li>
+ *   <li>{@code name.max} - the largest timestamp (absent if count is 0)</li>
+ *   <li>{@code name.count} - the number of entries holding a timestamp</li>
+ * </ul>
+ *
+ * <p>As the whole collector runs in C++, it does not add any JNI
+ * overhead to flushes and compactions.</p>
+ */
+public class TimestampRangeCollectorFactory
+    extends AbstractTablePropertiesCollectorFactory {
+  /**
+   * Source of the timestamp within each entry.
+   */
+  public enum Source {
+    KEY,
+    VALUE
+  }
+
+  /**
+   * Create a new timestamp range collector factory.
+   *
+   * @param name the name of the collector, also used as
+   *     prefix of the recorded property names.
+   * @param source whether the timestamp is part of the key or the value.
+   * @param offset the offset in bytes of the timestamp.
+   */
+  public TimestampRangeCollectorFactory(String name, Source source,
+      int offset) {
+    super();
+    assert(offset >= 0);
+    name_ = name;
+    createNewTimestampRangeCollectorFactory(name, source == Source.VALUE,
+        offset);
+  }
+
+  /**
+   * Returns the smallest timestamp recorded in a table.
+   *
+   * @param properties {@link TableProperties} of a table.
+   * @return the smallest timestamp or null if the table
+   *     contains no timestamp.
+   */
+  public Long minTimestamp(TableProperties properties) {
+    return decode(properties.userCollectedProperties(), name_ + ".min");
+  }
+
+  /**
+   * Returns the largest timestamp recorded in a table.
+   *
+   * @param properties {@link TableProperties} of a table.
+   * @return the largest timestamp or null if the table
+   *     contains no timestamp.
+   */
+  public Long maxTimestamp(TableProperties properties) {
+    return decode(properties.userCollectedProperties(), name_ + ".max");
+  }
+
+  private static Long decode(Map<String, byte[]> properties, String name) {
+    byte[] bytes = properties.get(name);
+    if (bytes == null || bytes.length != 8) {
+      return null;
+    }
+    long value = 0;
+    for (byte b : bytes) {
+      value = (value << 8) | (b & 0xff);
+    }
+    return value;
+  }
+
+  private native void createNewTimestampRangeCollectorFactory(String name,
+      boolean fromValue, int offset);
+
+  private final String name_;
+}
@@ -0,0 +1,201 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+import java.util.List;
+
+/**
+ * Database with TTL support.
+ *
+ * <p><strong>Use case</strong></p>
+ * <p>This API should be used to open the db when key-values inserted are
+ * meant to be removed from the db in a non-strict 'ttl' amount of time.
+ * Therefore, this guarantees that key-values inserted will remain in the
+ * db for &gt;= ttl amount of time and the db will make efforts to remove the
+ * key-values as soon as possible after ttl seconds of their insertion.</p>
+ *
+ * <p><strong>Behaviour</strong></p>
+ * <p>TTL is accepted in seconds
+ * (int32_t)Timestamp(creation) is suffixed to values in Put internally.
+ * Expired TTL values are deleted in compaction only:
+ * (Timestamp+ttl&lt;time_now). Get/Iterator may return expired entries
+ * (compaction not run on them yet). Different TTL may be used during
+ * different Opens.</p>
+ *
+ * <p>Example: Open1 at t=0 with ttl=4 and insert k1,k2, close at t=2.
+ * Open2 at t=3 with ttl=5. Now k1,k2 should be deleted at t&gt;=5.</p>
+ *
+ * <p>read_only=true opens in the usual read-only mode. Compactions will not
+ * be triggered(neither manual nor automatic), so no expired entries
+ * removed.</p>
+ *
+ * <p><strong>Constraints</strong></p>
+ * <p>Not specifying/passing or non-positive TTL behaves
+ * like TTL = infinity</p>
+ *
+ * <p><strong>!!!WARNING!!!</strong></p>
+ * <p>Calling DB::Open directly to re-open a db created by this API will get
+ * corrupt values(timestamp suffixed) and no ttl effect will be there
+ * during the second Open, so use this API consistently to open the db.
+ * Be careful when passing ttl with a small positive value because the
+ * whole database may be deleted in a small amount of time.</p>
+ */
+public class TtlDB extends RocksDB {
+
+  /**
+   * <p>Opens a TtlDB.</p>
+   *
+   * <p>Database is opened in read-write mode without default TTL.</p>
+   *
+   * @param options {@link org.rocksdb.Options} instance.
+   * @param db_path path to database.
+   *
+   * @return TtlDB instance.
+   *
+   * @throws RocksDBException thrown if an error occurs within the native
+   *     part of the library.
+   */
+  public static TtlDB open(Options options, String db_path)
+      throws RocksDBException {
+    return open(options, db_path, 0, false);
+  }
+
+  /**
+   * <p>Opens a TtlDB.</p>
+   *
+   * @param options {@link org.rocksdb.Options} instance.
+   * @param db_path path to database.
+   * @param ttl time to live for new entries in seconds. Non-positive
+   *     values disable the expiration.
+   * @param readOnly boolean value indicating if database if db is
+   *     opened read-only.
+   *
+   * @return TtlDB instance.
+   *
+   * @throws RocksDBException thrown if an error occurs within the native
+   *     part of the library.
+   */
+  public static TtlDB open(Options options, String db_path, int ttl,
+      boolean readOnly) throws RocksDBException {
+    TtlDB ttldb = new TtlDB();
+    ttldb.open(options.nativeHandle_, db_path, ttl, readOnly);
+
+    ttldb.storeOptionsInstance(options);
+    return ttldb;
+  }
+
+  /**
+   * <p>Opens a TtlDB with column families.</p>
+   *
+   * <p>Every column family gets its own TTL, so the list of TTLs must
+   * have the same size as the list of column family names. If opened
+   * in read-write mode every existing column family name must be
+   * passed within the list.</p>
+   *
+   * <p>ColumnFamily handles are disposed when the TtlDB instance is
+   * disposed.</p>
+   *
+   * @param options {@link org.rocksdb.Options} instance.
+   * @param db_path path to database.
+   * @param columnFamilyNames list of column family names
+   * @param columnFamilyHandles will be filled with ColumnFamilyHandle
+   *     instances on open.
+   * @param ttlValues time to live values in seconds, one per column
+   *     family.
+   * @param readOnly boolean value indicating if database if db is
+   *     opened read-only.
+   *
+   * @return TtlDB instance.
+   *
+   * @throws RocksDBException thrown if an error occurs within the native
+   *     part of the library.
+   * @throws java.lang.IllegalArgumentException when there is not a ttl
+   *     value for every column family.
+   */
+  public static TtlDB open(Options options, String db_path,
+      List<String> columnFamilyNames,
+      List<ColumnFamilyHandle> columnFamilyHandles,
+      List<Integer> ttlValues, boolean readOnly) throws RocksDBException {
+    if (columnFamilyNames.size() != ttlValues.size()) {
+      throw new IllegalArgumentException("There must be a ttl value per column"
+          + " family name.");
+    }
+    int[] ttls = new int[ttlValues.size()];
+    for (int i = 0; i < ttls.length; i++) {
+      ttls[i] = ttlValues.get(i);
+    }
+
+    TtlDB ttldb = new TtlDB();
+    List<Long> cfReferences = ttldb.open(options.nativeHandle_, db_path,
+        columnFamilyNames, columnFamilyNames.size(), ttls, readOnly);
+    for (int i = 0; i < columnFamilyNames.size(); i++) {
+      columnFamilyHandles.add(new ColumnFamilyHandle(ttldb,
+          cfReferences.get(i)));
+    }
+    ttldb.storeOptionsInstance(options);
+    return ttldb;
+  }
+
+  /**
+   * <p>Creates a new ttl based column family with a name defined
+   * in given columnFamilyName and the options of this database.</p>
+   *
+   * @param columnFamilyName name of the new column family.
+   * @param ttl ttl value in seconds for new entries of the column family.
+   *
+   * @return {@link org.rocksdb.ColumnFamilyHandle} instance.
+   *
+   * @throws RocksDBException thrown if an error occurs within the native
+   *     part of the library.
+   */
+  public ColumnFamilyHandle createColumnFamilyWithTtl(
+      String columnFamilyName, int ttl) throws RocksDBException {
+    assert(isInitialized());
+    return new ColumnFamilyHandle(this,
+        createColumnFamilyWithTtl(nativeHandle_, options_.nativeHandle_,
+            columnFamilyName, ttl));
+  }
+
+  /**
+   * <p>Close the TtlDB instance and release resource.</p>
+   *
+   * <p>The native handle points to a c++ {@code rocksdb::DBWithTTL}
+   * instance which is released like any other
+   * {@link org.rocksdb.RocksDB}.</p>
+   */
+  @Override public synchronized void close() {
+    if (isInitialized()) {
+      super.close();
+    }
+  }
+
+  /**
+   * <p>A protected constructor that will be used in the static
+   * factory method
+   * {@link #open(Options, String, int, boolean)}
+   * and
+   * {@link #open(Options, String, java.util.List, java.util.List,
+   * java.util.List, boolean)}.
+   * </p>
+   */
+  protected TtlDB() {
+    super();
+  }
+
+  @Override protected void finalize() {
+    close();
+    super.finalize();
+  }
+
+  private native void open(long optionsHandle, String db_path, int ttl,
+      boolean readOnly) throws RocksDBException;
+  private native List<Long> open(long optionsHandle, String db_path,
+      List<String> columnFamilyNames, int columnFamilyNamesLength,
+      int[] ttlValues, boolean readOnly) throws RocksDBException;
+  private native long createColumnFamilyWithTtl(long handle,
+      long optionsHandle, String columnFamilyName, int ttl)
+      throws RocksDBException;
+}
@@ -0,0 +1,199 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+/**
+ * <p>Iterator over the updates of a {@link org.rocksdb.WriteBatchWithIndex}
+ * in the order of the index comparator.</p>
+ *
+ * <p>Multiple threads can invoke const methods on a WBWIIterator without
+ * external synchronization, but if any of the threads may call a
+ * non-const method, all threads accessing the same WBWIIterator must use
+ * external synchronization.</p>
+ */
+public class WBWIIterator extends RocksObject {
+  WBWIIterator(WriteBatchWithIndex wbwi, long nativeHandle) {
+    super();
+    nativeHandle_ = nativeHandle;
+    // WBWIIterator must hold a reference to the related
+    // WriteBatchWithIndex instance to guarantee that while a GC cycle
+    // starts WBWIIterator instances are freed prior to the
+    // WriteBatchWithIndex instances.
+    wbwi_ = wbwi;
+  }
+
+  /**
+   * An iterator is either positioned at an entry, or
+   * not valid.  This method returns true iff the iterator is valid.
+   *
+   * @return true if iterator is valid.
+   */
+  public boolean isValid() {
+    assert(isInitialized());
+    return isValid0(nativeHandle_);
+  }
+
+  /**
+   * Position at the first entry in the source.  The iterator is valid
+   * after this call iff the source is not empty.
+   */
+  public void seekToFirst() {
+    assert(isInitialized());
+    seekToFirst0(nativeHandle_);
+  }
+
+  /**
+   * Position at the last entry in the source.  The iterator is
+   * valid after this call iff the source is not empty.
+   */
+  public void seekToLast() {
+    assert(isInitialized());
+    seekToLast0(nativeHandle_);
+  }
+
+  /**
+   * Position at the first entry in the source whose key is at or past
+   * target. The iterator is valid after this call iff the source contains
+   * an entry that comes at or past target.
+   *
+   * @param target byte array describing a key.
+   */
+  public void seek(byte[] target) {
+    assert(isInitialized());
+    seek0(nativeHandle_, target, target.length);
+  }
+
+  /**
+   * <p>Moves to the next entry in the source.</p>
+   *
+   * <p>REQUIRES: {@link #isValid()}</p>
+   */
+  public void next() {
+    assert(isInitialized());
+    next0(nativeHandle_);
+  }
+
+  /**
+   * <p>Moves to the previous entry in the source.</p>
+   *
+   * <p>REQUIRES: {@link #isValid()}</p>
+   */
+  public void prev() {
+    assert(isInitialized());
+    prev0(nativeHandle_);
+  }
+
+  /**
+   * <p>Returns the current entry. Type, key and value are copied
+   * with a single native call.</p>
+   *
+   * <p>REQUIRES: {@link #isValid()}</p>
+   *
+   * @return the current entry.
+   */
+  public WriteEntry entry() {
+    assert(isInitialized());
+    return entry0(nativeHandle_);
+  }
+
+  /**
+   * If an error has occurred, return it.  Else return an ok status.
+   *
+   * @throws org.rocksdb.RocksDBException
+   */
+  public void status() throws RocksDBException {
+    assert(isInitialized());
+    status0(nativeHandle_);
+  }
+
+  /**
+   * <p>Deletes underlying C++ iterator pointer.</p>
+   *
+   * <p>Note: the underlying handle can only be safely deleted if the
+   * WriteBatchWithIndex instance related to a certain WBWIIterator is
+   * still valid and initialized. Therefore {@code disposeInternal()}
+   * checks if the WriteBatchWithIndex is initialized before freeing
+   * the native handle.</p>
+   */
+  @Override protected void disposeInternal() {
+    assert(isInitialized());
+    if (wbwi_.isInitialized()) {
+      disposeInternal(nativeHandle_);
+    }
+  }
+
+  /**
+   * Enumeration of the Write operation
+   * that created the record in the Write Batch
+   */
+  public enum WriteType {
+    PUT,
+    MERGE,
+    DELETE,
+    LOG
+  }
+
+  /**
+   * Represents an entry returned by
+   * {@link org.rocksdb.WBWIIterator#entry()}
+   *
+   * It is worth noting that a WriteEntry with
+   * the type {@link org.rocksdb.WBWIIterator.WriteType#DELETE}
+   * or {@link org.rocksdb.WBWIIterator.WriteType#LOG}
+   * will not have a value.
+   */
+  public static class WriteEntry {
+    private final WriteType type;
+    private final byte[] key;
+    private final byte[] value;
+
+    WriteEntry(int type, byte[] key, byte[] value) {
+      this.type = WriteType.values()[type];
+      this.key = key;
+      this.value = value;
+    }
+
+    /**
+     * Returns the type of the Write Entry
+     *
+     * @return the WriteType of the WriteEntry
+     */
+    public WriteType getType() {
+      return type;
+    }
+
+    /**
+     * Returns the key of the Write Entry
+     *
+     * @return The key of the WriteEntry
+     */
+    public byte[] getKey() {
+      return key;
+    }
+
+    /**
+     * Returns the value of the Write Entry
+     *
+     * @return The value of the WriteEntry, or null if the WriteEntry
+     *     has no value
+     */
+    public byte[] getValue() {
+      return value;
+    }
+  }
+
+  private native boolean isValid0(long handle);
+  private native void seekToFirst0(long handle);
+  private native void seekToLast0(long handle);
+  private native void seek0(long handle, byte[] target, int targetLen);
+  private native void next0(long handle);
+  private native void prev0(long handle);
+  private native WriteEntry entry0(long handle);
+  private native void status0(long handle);
+  private native void disposeInternal(long handle);
+
+  private final WriteBatchWithIndex wbwi_;
+}
@@ -44,7 +44,12 @@ public class WriteBatch extends RocksObject {
    * Store the mapping "key-&gt;value" in the database.
    */
   public void put(byte[] key, byte[] value) {
-    put(key, key.length, value, value.length);
+    long start = OperationLatency.start();
+    try {
+      put(key, key.length, value, value.length);
+    } finally {
+      OperationLatency.record(OperationType.WRITE_BATCH_PUT, start);
+    }
   }
 
   /**
@@ -53,8 +58,13 @@ public class WriteBatch extends RocksObject {
    */
   public void put(ColumnFamilyHandle columnFamilyHandle,
       byte[] key, byte[] value) {
-    put(key, key.length, value, value.length,
-        columnFamilyHandle.nativeHandle_);
+    long start = OperationLatency.start();
+    try {
+      put(key, key.length, value, value.length,
+          columnFamilyHandle.nativeHandle_);
+    } finally {
+      OperationLatency.record(OperationType.WRITE_BATCH_PUT, start);
+    }
   }
 
   /**
@@ -62,7 +72,12 @@ public class WriteBatch extends RocksObject {
    * "key-&gt;merge(existing, value)"
    */
   public void merge(byte[] key, byte[] value) {
-    merge(key, key.length, value, value.length);
+    long start = OperationLatency.start();
+    try {
+      merge(key, key.length, value, value.length);
+    } finally {
+      OperationLatency.record(OperationType.WRITE_BATCH_MERGE, start);
+    }
   }
 
   /**
@@ -71,22 +86,37 @@ public class WriteBatch extends RocksObject {
    */
   public void merge(ColumnFamilyHandle columnFamilyHandle,
       byte[] key, byte[] value) {
-    merge(key, key.length, value, value.length,
-        columnFamilyHandle.nativeHandle_);
+    long start = OperationLatency.start();
+    try {
+      merge(key, key.length, value, value.length,
+          columnFamilyHandle.nativeHandle_);
+    } finally {
+      OperationLatency.record(OperationType.WRITE_BATCH_MERGE, start);
+    }
   }
 
   /**
    * If the database contains a mapping for "key", erase it.  Else do nothing.
    */
   public void remove(byte[] key) {
-    remove(key, key.length);
+    long start = OperationLatency.start();
+    try {
+      remove(key, key.length);
+    } finally {
+      OperationLatency.record(OperationType.WRITE_BATCH_REMOVE, start);
+    }
   }
 
   /**
    * If column family contains a mapping for "key", erase it.  Else do nothing.
    */
   public void remove(ColumnFamilyHandle columnFamilyHandle, byte[] key) {
-    remove(key, key.length, columnFamilyHandle.nativeHandle_);
+    long start = OperationLatency.start();
+    try {
+      remove(key, key.length, columnFamilyHandle.nativeHandle_);
+    } finally {
+      OperationLatency.record(OperationType.WRITE_BATCH_REMOVE, start);
+    }
   }
 
   /**
@@ -0,0 +1,315 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb;
+
+/**
+ * Similar to {@link org.rocksdb.WriteBatch} but with a binary searchable
+ * index built for all the keys inserted.
+ *
+ * Calling put, merge, remove or putLogData calls the same function
+ * as with {@link org.rocksdb.WriteBatch} whilst also building an index.
+ *
+ * A user can call {@link org.rocksdb.WriteBatchWithIndex#newIterator()} to
+ * create an iterator over the write batch or
+ * {@link org.rocksdb.WriteBatchWithIndex#newIteratorWithBase(org.rocksdb.RocksIterator)}
+ * to get an iterator for the database with Read-Your-Own-Writes like
+ * capability.
+ *
+ * The batch is written to the database with
+ * {@link org.rocksdb.RocksDB#write(WriteOptions, WriteBatchWithIndex)}.
+ */
+public class WriteBatchWithIndex extends RocksObject {
+  /**
+   * Creates a WriteBatchWithIndex where no bytes
+   * are reserved up-front, bytewise comparison is
+   * used for fallback key comparisons,
+   * and duplicate keys operations are retained
+   */
+  public WriteBatchWithIndex() {
+    super();
+    newWriteBatchWithIndex();
+  }
+
+  /**
+   * Creates a WriteBatchWithIndex where no bytes
+   * are reserved up-front, bytewise comparison is
+   * used for fallback key comparisons, and duplicate key
+   * assignment is determined by the constructor argument
+   *
+   * @param overwriteKey if true, overwrite the key in the index when
+   *   inserting a duplicate key, in this way an iterator will never
+   *   show two entries with the same key.
+   */
+  public WriteBatchWithIndex(boolean overwriteKey) {
+    super();
+    overwriteKey_ = overwriteKey;
+    newWriteBatchWithIndex(overwriteKey);
+  }
+
+  /**
+   * Creates a WriteBatchWithIndex
+   *
+   * @param fallbackIndexComparator We fallback to this comparator
+   *  to compare keys within a column family if we cannot determine
+   *  the column family and so look up it's comparator.
+   *
+   * @param reservedBytes reserved bytes in underlying WriteBatch
+   *
+   * @param overwriteKey if true, overwrite the key in the index when
+   *   inserting a duplicate key, in this way an iterator will never
+   *   show two entries with the same key.
+   */
+  public WriteBatchWithIndex(
+      AbstractComparator<? extends AbstractSlice<?>> fallbackIndexComparator,
+      int reservedBytes, boolean overwriteKey) {
+    super();
+    overwriteKey_ = overwriteKey;
+    // the native index keeps a pointer to the comparator
+    comparator_ = fallbackIndexComparator;
+    newWriteBatchWithIndex(fallbackIndexComparator.nativeHandle_,
+        reservedBytes, overwriteKey);
+  }
+
+  /**
+   * Returns the number of updates in the batch.
+   *
+   * @return number of items in WriteBatchWithIndex
+   */
+  public int count() {
+    assert(isInitialized());
+    return count0(nativeHandle_);
+  }
+
+  /**
+   * Store the mapping "key-&gt;value" in the database.
+   *
+   * @param key the specified key to be inserted.
+   * @param value the value associated with the specified key.
+   */
+  public void put(byte[] key, byte[] value) {
+    assert(isInitialized());
+    put(nativeHandle_, key, key.length, value, value.length);
+  }
+
+  /**
+   * Store the mapping "key-&gt;value" within given column
+   * family.
+   *
+   * @param columnFamilyHandle {@link org.rocksdb.ColumnFamilyHandle}
+   *     instance
+   * @param key the specified key to be inserted.
+   * @param value the value associated with the specified key.
+   */
+  public void put(ColumnFamilyHandle columnFamilyHandle,
+      byte[] key, byte[] value) {
+    assert(isInitialized());
+    put(nativeHandle_, key, key.length, value, value.length,
+        columnFamilyHandle.nativeHandle_);
+  }
+
+  /**
+   * Merge "value" with the existing value of "key" in the database.
+   * "key-&gt;merge(existing, value)"
+   *
+   * <p>Note: merge operands are not resolved by the iterators
+   * of this batch, see
+   * {@link #newIteratorWithBase(org.rocksdb.RocksIterator)}.</p>
+   *
+   * @param key the specified key to be merged.
+   * @param value the value to be merged with the current value for
+   *     the specified key.
+   */
+  public void merge(byte[] key, byte[] value) {
+    assert(isInitialized());
+    merge(nativeHandle_, key, key.length, value, value.length);
+  }
+
+  /**
+   * Merge "value" with the existing value of "key" in given column family.
+   * "key-&gt;merge(existing, value)"
+   *
+   * @param columnFamilyHandle {@link ColumnFamilyHandle} instance
+   * @param key the specified key to be merged.
+   * @param value the value to be merged with the current value for
+   *     the specified key.
+   */
+  public void merge(ColumnFamilyHandle columnFamilyHandle,
+      byte[] key, byte[] value) {
+    assert(isInitialized());
+    merge(nativeHandle_, key, key.length, value, value.length,
+        columnFamilyHandle.nativeHandle_);
+  }
+
+  /**
+   * If the database contains a mapping for "key", erase it.  Else do nothing.
+   *
+   * @param key Key to delete within database
+   */
+  public void remove(byte[] key) {
+    assert(isInitialized());
+    remove(nativeHandle_, key, key.length);
+  }
+
+  /**
+   * If column family contains a mapping for "key", erase it.  Else do nothing.
+   *
+   * @param columnFamilyHandle {@link ColumnFamilyHandle} instance
+   * @param key Key to delete within database
+   */
+  public void remove(ColumnFamilyHandle columnFamilyHandle, byte[] key) {
+    assert(isInitialized());
+    remove(nativeHandle_, key, key.length,
+        columnFamilyHandle.nativeHandle_);
+  }
+
+  /**
+   * Append a blob of arbitrary size to the records in this batch. The blob
+   * will be stored in the transaction log but not in any other file.
+   * The blob will NOT consume sequence number(s) and will NOT increase
+   * the count of the batch.
+   *
+   * @param blob binary object to be inserted
+   */
+  public void putLogData(byte[] blob) {
+    assert(isInitialized());
+    putLogData(nativeHandle_, blob, blob.length);
+  }
+
+  /**
+   * Create an iterator of a column family. User can call
+   * {@link org.rocksdb.WBWIIterator#seek(byte[])} to
+   * search to the next entry of or after a key. Keys will be iterated in the
+   * order given by index_comparator. For multiple updates on the same key,
+   * each update will be returned as a separate entry, in the order of update
+   * time.
+   *
+   * @param columnFamilyHandle The column family to iterate over
+   * @return An iterator for the Write Batch contents, restricted to the column
+   * family
+   */
+  public WBWIIterator newIterator(ColumnFamilyHandle columnFamilyHandle) {
+    assert(isInitialized());
+    return new WBWIIterator(this, iterator1(nativeHandle_,
+        columnFamilyHandle.nativeHandle_));
+  }
+
+  /**
+   * Create an iterator of the default column family. User can call
+   * {@link org.rocksdb.WBWIIterator#seek(byte[])} to
+   * search to the next entry of or after a key. Keys will be iterated in the
+   * order given by index_comparator. For multiple updates on the same key,
+   * each update will be returned as a separate entry, in the order of update
+   * time.
+   *
+   * @return An iterator for the Write Batch contents
+   */
+  public WBWIIterator newIterator() {
+    assert(isInitialized());
+    return new WBWIIterator(this, iterator0(nativeHandle_));
+  }
+
+  /**
+   * Provides Read-Your-Own-Writes like functionality by
+   * creating a new Iterator that will use {@link org.rocksdb.WBWIIterator}
+   * as a delta and baseIterator as a base. Both are merged natively, the
+   * entries of this batch shadow the entries of the base iterator with the
+   * same key and deleted keys are skipped.
+   *
+   * <p>The batch must be created with {@code overwriteKey} set to true
+   * and must not contain merge operands. The returned iterator takes over
+   * the ownership of baseIterator, which must no longer be used. It reads
+   * the index of this batch, so the batch must not be disposed before the
+   * returned iterator; the iterator keeps a reference to the batch so that
+   * it is not garbage collected first.</p>
+   *
+   * @param columnFamilyHandle The column family to iterate over
+   * @param baseIterator The base iterator,
+   *   e.g. {@link org.rocksdb.RocksDB#newIterator(ColumnFamilyHandle)}
+   * @return An iterator which shows a view comprised of both the database
+   *     point-in-time from baseIterator and modifications made in this
+   *     write batch.
+   * @throws java.lang.IllegalStateException if the batch does not
+   *     overwrite duplicate keys.
+   */
+  public RocksIterator newIteratorWithBase(
+      ColumnFamilyHandle columnFamilyHandle,
+      RocksIterator baseIterator) {
+    return newIteratorWithBase(columnFamilyHandle.nativeHandle_,
+        baseIterator);
+  }
+
+  /**
+   * Provides Read-Your-Own-Writes like functionality by
+   * creating a new Iterator that will use {@link org.rocksdb.WBWIIterator}
+   * as a delta and baseIterator as a base. Operates on the default column
+   * family.
+   *
+   * @param baseIterator The base iterator,
+   *   e.g. {@link org.rocksdb.RocksDB#newIterator()}
+   * @return An iterator which shows a view comprised of both the database
+   *     point-in-time from baseIterator and modifications made in this write
+   *     batch.
+   * @throws java.lang.IllegalStateException if the batch does not
+   *     overwrite duplicate keys.
+   *
+   * @see #newIteratorWithBase(ColumnFamilyHandle, RocksIterator)
+   */
+  public RocksIterator newIteratorWithBase(RocksIterator baseIterator) {
+    return newIteratorWithBase(0, baseIterator);
+  }
+
+  private RocksIterator newIteratorWithBase(long cfHandle,
+      RocksIterator baseIterator) {
+    assert(isInitialized());
+    assert(baseIterator.isInitialized());
+    if (!overwriteKey_) {
+      throw new IllegalStateException("An iterator with base requires a "
+          + "WriteBatchWithIndex which overwrites duplicate keys.");
+    }
+    RocksIterator iterator = new RocksIterator(baseIterator.rocksDB_,
+        iteratorWithBase(nativeHandle_, baseIterator.rocksDB_.nativeHandle_,
+            cfHandle, baseIterator.nativeHandle_), this);
+    // the native iterator is now owned by the merged iterator, so
+    // disposing the base iterator will not count it as disposed
+    baseIterator.disOwnNativeHandle();
+    baseIterator.rocksDB_.iteratorDisposed();
+    return iterator;
+  }
+
+  /**
+   * Delete the c++ side pointer.
+   */
+  @Override protected void disposeInternal() {
+    assert(isInitialized());
+    disposeInternal(nativeHandle_);
+  }
+
+  private native void newWriteBatchWithIndex();
+  private native void newWriteBatchWithIndex(boolean overwriteKey);
+  private native void newWriteBatchWithIndex(long fallbackIndexComparatorHandle,
+      int reservedBytes, boolean overwriteKey);
+  private native int count0(long handle);
+  private native void put(long handle, byte[] key, int keyLen,
+      byte[] value, int valueLen);
+  private native void put(long handle, byte[] key, int keyLen,
+      byte[] value, int valueLen, long cfHandle);
+  private native void merge(long handle, byte[] key, int keyLen,
+      byte[] value, int valueLen);
+  private native void merge(long handle, byte[] key, int keyLen,
+      byte[] value, int valueLen, long cfHandle);
+  private native void remove(long handle, byte[] key, int keyLen);
+  private native void remove(long handle, byte[] key, int keyLen,
+      long cfHandle);
+  private native void putLogData(long handle, byte[] blob, int blobLen);
+  private native long iterator0(long handle);
+  private native long iterator1(long handle, long cfHandle);
+  private native long iteratorWithBase(long handle, long dbHandle,
+      long cfHandle, long baseIteratorHandle);
+  private native void disposeInternal(long handle);
+
+  private boolean overwriteKey_ = false;
+  private AbstractComparator<? extends AbstractSlice<?>> comparator_;
+}
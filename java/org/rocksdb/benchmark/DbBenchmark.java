@@ -24,11 +24,13 @@ package org.rocksdb.benchmark;
 import java.lang.Runnable;
 import java.lang.Math;
 import java.io.File;
+import java.io.PrintStream;
 import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.Date;
 import java.util.EnumMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
@@ -38,6 +40,8 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import org.rocksdb.*;
 import org.rocksdb.util.SizeUnit;
@@ -155,7 +159,8 @@ class Stats {
 public class DbBenchmark {
   enum Order {
     SEQUENTIAL,
-    RANDOM
+    RANDOM,
+    UNIQUE_RANDOM
   }
 
   enum DBState {
@@ -215,10 +220,8 @@ public class DbBenchmark {
     public WriteTask(
         int tid, long randSeed, long numEntries, long keyRange,
         WriteOptions writeOpt, long entriesPerBatch) {
-      super(tid, randSeed, numEntries, keyRange);
-      writeOpt_ = writeOpt;
-      entriesPerBatch_ = entriesPerBatch;
-      maxWritesPerSecond_ = -1;
+      this(tid, randSeed, numEntries, keyRange, writeOpt, entriesPerBatch,
+           -1);
     }
 
     public WriteTask(
@@ -228,6 +231,18 @@ public class DbBenchmark {
       writeOpt_ = writeOpt;
       entriesPerBatch_ = entriesPerBatch;
       maxWritesPerSecond_ = maxWritesPerSecond;
+      keyOffset_ = 0;
+      // a generator per task, as generating values is not thread-safe
+      gen_ = new RandomGenerator(randSeed + tid, compressionRatio_);
+    }
+
+    /**
+     * Makes the task write keys starting at the given offset, so that
+     * concurrent tasks can write disjoint key ranges.
+     */
+    public WriteTask setKeyOffset(long keyOffset) {
+      keyOffset_ = keyOffset;
+      return this;
     }
 
     @Override public void runTask() throws RocksDBException {
@@ -241,7 +256,7 @@ public class DbBenchmark {
         if (entriesPerBatch_ == 1) {
           for (long i = 0; i < numEntries_; ++i) {
             getKey(key, i, keyRange_);
-            DbBenchmark.this.gen_.generate(value);
+            gen_.generate(value);
             db_.put(writeOpt_, key, value);
             stats_.finishedSingleOp(keySize_ + valueSize_);
             writeRateControl(i);
@@ -250,20 +265,25 @@ public class DbBenchmark {
             }
           }
         } else {
-          for (long i = 0; i < numEntries_; i += entriesPerBatch_) {
-            WriteBatch batch = new WriteBatch();
-            for (long j = 0; j < entriesPerBatch_; j++) {
-              getKey(key, i + j, keyRange_);
-              DbBenchmark.this.gen_.generate(value);
-              batch.put(key, value);
-              stats_.finishedSingleOp(keySize_ + valueSize_);
+          WriteBatch batch = new WriteBatch();
+          try {
+            for (long i = 0; i < numEntries_; i += entriesPerBatch_) {
+              batch.clear();
+              for (long j = 0; j < entriesPerBatch_ && i + j < numEntries_;
+                   j++) {
+                getKey(key, i + j, keyRange_);
+                gen_.generate(value);
+                batch.put(key, value);
+                stats_.finishedSingleOp(keySize_ + valueSize_);
+              }
+              db_.write(writeOpt_, batch);
+              writeRateControl(i);
+              if (isFinished()) {
+                return;
+              }
             }
-            db_.write(writeOpt_, batch);
+          } finally {
             batch.dispose();
-            writeRateControl(i);
-            if (isFinished()) {
-              return;
-            }
           }
         }
       } catch (InterruptedException e) {
@@ -286,6 +306,8 @@ public class DbBenchmark {
     protected WriteOptions writeOpt_;
     protected long entriesPerBatch_;
     protected long maxWritesPerSecond_;
+    protected long keyOffset_;
+    protected RandomGenerator gen_;
   }
 
   class WriteSequentialTask extends WriteTask {
@@ -304,7 +326,7 @@ public class DbBenchmark {
             maxWritesPerSecond);
     }
     @Override protected void getKey(byte[] key, long id, long range) {
-      getFixedKey(key, id);
+      getFixedKey(key, keyOffset_ + id);
     }
   }
 
@@ -324,7 +346,7 @@ public class DbBenchmark {
             maxWritesPerSecond);
     }
     @Override protected void getKey(byte[] key, long id, long range) {
-      getRandomKey(key, range);
+      generateKeyFromLong(key, keyOffset_ + Math.abs(rand_.nextLong() % range));
     }
   }
 
@@ -347,7 +369,7 @@ public class DbBenchmark {
       initRandomKeySequence();
     }
     @Override protected void getKey(byte[] key, long id, long range) {
-      generateKeyFromLong(key, nextUniqueRandom());
+      generateKeyFromLong(key, keyOffset_ + nextUniqueRandom());
     }
 
     protected void initRandomKeySequence() {
@@ -356,7 +378,7 @@ public class DbBenchmark {
         bufferSize_ = (int) keyRange_;
       }
       currentKeyCount_ = bufferSize_;
-      keyBuffer_ = new long[MAX_BUFFER_SIZE];
+      keyBuffer_ = new long[bufferSize_];
       for (int k = 0; k < bufferSize_; ++k) {
         keyBuffer_[k] = k;
       }
@@ -437,6 +459,20 @@ public class DbBenchmark {
     benchmarks_ = (List<String>) flags.get(Flag.benchmarks);
     num_ = (Integer) flags.get(Flag.num);
     threadNum_ = (Integer) flags.get(Flag.threads);
+    batchSize_ = (Long) flags.get(Flag.batch_size);
+    disjointKeyRanges_ = (Boolean) flags.get(Flag.disjoint_key_ranges);
+    writeOptionsPerThread_ =
+        (Boolean) flags.get(Flag.write_options_per_thread);
+    histogram_ = (Boolean) flags.get(Flag.histogram);
+    statsIntervalSeconds_ = (Integer) flags.get(Flag.stats_interval_seconds);
+    reportFormat_ = (String) flags.get(Flag.report_format);
+    if (!reportFormat_.equals("text") && !reportFormat_.equals("json") &&
+        !reportFormat_.equals("csv")) {
+      throw new IllegalArgumentException(
+          "Unknown report format: " + reportFormat_);
+    }
+    // keep stdout machine-readable unless reporting as text
+    out_ = reportFormat_.equals("text") ? System.out : System.err;
     reads_ = (Integer) (flags.get(Flag.reads) == null ?
         flags.get(Flag.num) : flags.get(Flag.reads));
     keySize_ = (Integer) flags.get(Flag.key_size);
@@ -453,7 +489,6 @@ public class DbBenchmark {
     hashBucketCount_ = (Long) flags.get(Flag.hash_bucket_count);
     usePlainTable_ = (Boolean) flags.get(Flag.use_plain_table);
     flags_ = flags;
-    finishLock_ = new Object();
     // options.setPrefixSize((Integer)flags_.get(Flag.prefix_size));
     // options.setKeysPerPrefix((Long)flags_.get(Flag.keys_per_prefix));
     compressionType_ = (String) flags.get(Flag.compression_type);
@@ -476,7 +511,6 @@ public class DbBenchmark {
           compressionType_, e.toString());
       compressionType_ = "none";
     }
-    gen_ = new RandomGenerator(randSeed_, compressionRatio_);
   }
 
   private void prepareReadOptions(ReadOptions options) {
@@ -634,10 +668,15 @@ public class DbBenchmark {
     open(options);
 
     printHeader(options);
+    OperationLatency.setEnabled(histogram_ || statsIntervalSeconds_ > 0);
+    if (reportFormat_.equals("csv")) {
+      System.out.println(CSV_COLUMNS);
+    }
 
     for (String benchmark : benchmarks_) {
       List<Callable<Stats>> tasks = new ArrayList<Callable<Stats>>();
       List<Callable<Stats>> bgTasks = new ArrayList<Callable<Stats>>();
+      List<WriteOptions> threadWriteOpts = new ArrayList<WriteOptions>();
       WriteOptions writeOpt = new WriteOptions();
       prepareWriteOptions(writeOpt);
       ReadOptions readOpt = new ReadOptions();
@@ -646,22 +685,22 @@ public class DbBenchmark {
       boolean known = true;
 
       if (benchmark.equals("fillseq")) {
-        tasks.add(new WriteSequentialTask(
-            currentTaskId++, randSeed_, num_, num_, writeOpt, 1));
+        currentTaskId = addWriteTasks(tasks, currentTaskId, Order.SEQUENTIAL,
+            num_, num_, writeOpt, batchSize_, threadWriteOpts);
       } else if (benchmark.equals("fillbatch")) {
-        tasks.add(new WriteRandomTask(
-            currentTaskId++, randSeed_, num_ / 1000, num_, writeOpt, 1000));
+        currentTaskId = addWriteTasks(tasks, currentTaskId, Order.RANDOM,
+            num_, num_, writeOpt, 1000, threadWriteOpts);
       } else if (benchmark.equals("fillrandom")) {
-        tasks.add(new WriteRandomTask(
-            currentTaskId++, randSeed_, num_, num_, writeOpt, 1));
+        currentTaskId = addWriteTasks(tasks, currentTaskId, Order.RANDOM,
+            num_, num_, writeOpt, batchSize_, threadWriteOpts);
       } else if (benchmark.equals("filluniquerandom")) {
-        tasks.add(new WriteUniqueRandomTask(
-            currentTaskId++, randSeed_, num_, num_, writeOpt, 1));
+        currentTaskId = addWriteTasks(tasks, currentTaskId,
+            Order.UNIQUE_RANDOM, num_, num_, writeOpt, batchSize_,
+            threadWriteOpts);
       } else if (benchmark.equals("fillsync")) {
         writeOpt.setSync(true);
-        tasks.add(new WriteRandomTask(
-            currentTaskId++, randSeed_, num_ / 1000, num_ / 1000,
-            writeOpt, 1));
+        currentTaskId = addWriteTasks(tasks, currentTaskId, Order.RANDOM,
+            num_ / 1000, num_ / 1000, writeOpt, 1, threadWriteOpts);
       } else if (benchmark.equals("readseq")) {
         for (int t = 0; t < threadNum_; ++t) {
           tasks.add(new ReadSequentialTask(
@@ -696,37 +735,65 @@ public class DbBenchmark {
       if (known) {
         ExecutorService executor = Executors.newCachedThreadPool();
         ExecutorService bgExecutor = Executors.newCachedThreadPool();
+        ScheduledExecutorService reporter = null;
         try {
+          OperationLatency.reset();
           // measure only the main executor time
           List<Future<Stats>> bgResults = new ArrayList<Future<Stats>>();
           for (Callable bgTask : bgTasks) {
             bgResults.add(bgExecutor.submit(bgTask));
           }
           start();
-          List<Future<Stats>> results = executor.invokeAll(tasks);
-          executor.shutdown();
-          boolean finished = executor.awaitTermination(10, TimeUnit.SECONDS);
-          if (!finished) {
-            System.out.format(
-                "Benchmark %s was not finished before timeout.",
-                benchmark);
-            executor.shutdownNow();
+          if (statsIntervalSeconds_ > 0) {
+            reporter = startIntervalReports(benchmark);
           }
-          setFinished(true);
-          bgExecutor.shutdown();
-          finished = bgExecutor.awaitTermination(10, TimeUnit.SECONDS);
-          if (!finished) {
-            System.out.format(
-                "Benchmark %s was not finished before timeout.",
-                benchmark);
-            bgExecutor.shutdownNow();
+          List<Future<Stats>> results;
+          try {
+            results = executor.invokeAll(tasks);
+            executor.shutdown();
+            boolean finished =
+                executor.awaitTermination(10, TimeUnit.SECONDS);
+            if (!finished) {
+              out_.format(
+                  "Benchmark %s was not finished before timeout.",
+                  benchmark);
+              executor.shutdownNow();
+            }
+            setFinished(true);
+            bgExecutor.shutdown();
+            finished = bgExecutor.awaitTermination(10, TimeUnit.SECONDS);
+            if (!finished) {
+              out_.format(
+                  "Benchmark %s was not finished before timeout.",
+                  benchmark);
+              bgExecutor.shutdownNow();
+            }
+          } finally {
+            // no interval may be reported after the total
+            if (reporter != null) {
+              reporter.shutdownNow();
+              reporter.awaitTermination(10, TimeUnit.SECONDS);
+            }
           }
 
-          stop(benchmark, results, currentTaskId);
+          double elapsedSeconds = stop(benchmark, results, currentTaskId);
+          if (histogram_) {
+            for (OperationType type : OperationType.values()) {
+              HistogramData latency = OperationLatency.getHistogramData(type);
+              if (latency.getCount() > 0) {
+                report(benchmark, "total", elapsedSeconds, type.name(),
+                    latency.getCount(), latency.getCount() / elapsedSeconds,
+                    null, latency);
+              }
+            }
+          }
         } catch (InterruptedException e) {
           System.err.println(e);
         }
       }
+      for (WriteOptions threadWriteOpt : threadWriteOpts) {
+        threadWriteOpt.dispose();
+      }
       writeOpt.dispose();
       readOpt.dispose();
     }
@@ -734,29 +801,78 @@ public class DbBenchmark {
     db_.close();
   }
 
+  /**
+   * Adds one write task per thread, which together write {@code numEntries}
+   * keys out of {@code keyRange}.
+   *
+   * @return the id of the next task.
+   */
+  private int addWriteTasks(List<Callable<Stats>> tasks, int taskId,
+      Order order, long numEntries, long keyRange, WriteOptions writeOpt,
+      long entriesPerBatch, List<WriteOptions> threadWriteOpts) {
+    for (int t = 0; t < threadNum_; ++t) {
+      // the last thread also takes the remainder
+      long entries = numEntries / threadNum_;
+      if (t == threadNum_ - 1) {
+        entries = numEntries - t * entries;
+      }
+      long keyOffset = 0;
+      long range = keyRange;
+      if (disjointKeyRanges_) {
+        keyOffset = t * (keyRange / threadNum_);
+        range = t == threadNum_ - 1 ?
+            keyRange - keyOffset : keyRange / threadNum_;
+      }
+      WriteOptions opt = writeOpt;
+      if (writeOptionsPerThread_) {
+        opt = new WriteOptions();
+        prepareWriteOptions(opt);
+        opt.setSync(writeOpt.sync());
+        threadWriteOpts.add(opt);
+      }
+      WriteTask task;
+      switch (order) {
+        case SEQUENTIAL:
+          task = new WriteSequentialTask(
+              taskId++, randSeed_, entries, range, opt, entriesPerBatch);
+          break;
+        case UNIQUE_RANDOM:
+          task = new WriteUniqueRandomTask(
+              taskId++, randSeed_, entries, range, opt, entriesPerBatch);
+          break;
+        default:
+          task = new WriteRandomTask(
+              taskId++, randSeed_, entries, range, opt, entriesPerBatch);
+          break;
+      }
+      tasks.add(task.setKeyOffset(keyOffset));
+    }
+    return taskId;
+  }
+
   private void printHeader(Options options) {
     int kKeySize = 16;
-    System.out.printf("Keys:     %d bytes each\n", kKeySize);
-    System.out.printf("Values:   %d bytes each (%d bytes after compression)\n",
+    out_.printf("Keys:     %d bytes each\n", kKeySize);
+    out_.printf("Values:   %d bytes each (%d bytes after compression)\n",
         valueSize_,
         (int) (valueSize_ * compressionRatio_ + 0.5));
-    System.out.printf("Entries:  %d\n", num_);
-    System.out.printf("RawSize:  %.1f MB (estimated)\n",
+    out_.printf("Entries:  %d\n", num_);
+    out_.printf("RawSize:  %.1f MB (estimated)\n",
         ((double)(kKeySize + valueSize_) * num_) / SizeUnit.MB);
-    System.out.printf("FileSize:   %.1f MB (estimated)\n",
+    out_.printf("FileSize:   %.1f MB (estimated)\n",
         (((kKeySize + valueSize_ * compressionRatio_) * num_) / SizeUnit.MB));
-    System.out.format("Memtable Factory: %s%n", options.memTableFactoryName());
-    System.out.format("Prefix:   %d bytes%n", prefixSize_);
-    System.out.format("Compression: %s%n", compressionType_);
+    out_.format("Memtable Factory: %s%n", options.memTableFactoryName());
+    out_.format("Prefix:   %d bytes%n", prefixSize_);
+    out_.format("Compression: %s%n", compressionType_);
     printWarnings();
-    System.out.printf("------------------------------------------------\n");
+    out_.printf("------------------------------------------------\n");
   }
 
   void printWarnings() {
     boolean assertsEnabled = false;
     assert assertsEnabled = true; // Intentional side effect!!!
     if (assertsEnabled) {
-      System.out.printf(
+      out_.printf(
           "WARNING: Assertions are enabled; benchmarks unnecessarily slow\n");
     }
   }
@@ -770,7 +886,7 @@ public class DbBenchmark {
     startTime_ = System.nanoTime();
   }
 
-  private void stop(
+  private double stop(
       String benchmark, List<Future<Stats>> results, int concurrentThreads) {
     long endTime = System.nanoTime();
     double elapsedSeconds =
@@ -798,11 +914,153 @@ public class DbBenchmark {
       extra = String.format(" %d ops done; ", stats.done_);
     }
 
-    System.out.printf(
+    out_.printf(
         "%-16s : %11.5f micros/op; %6.1f MB/s;%s %d / %d task(s) finished.\n",
         benchmark, (double) elapsedSeconds / stats.done_ * 1e6,
         (stats.bytes_ / 1048576.0) / elapsedSeconds, extra,
         taskFinishedCount, concurrentThreads);
+    if (!reportFormat_.equals("text")) {
+      report(benchmark, "total", elapsedSeconds, "all", stats.done_,
+          stats.done_ / elapsedSeconds,
+          (stats.bytes_ / 1048576.0) / elapsedSeconds, null);
+    }
+    return elapsedSeconds;
+  }
+
+  /**
+   * Reports the latencies of the operations done in each interval of
+   * --stats_interval_seconds until the returned executor is shut down.
+   */
+  private ScheduledExecutorService startIntervalReports(
+      final String benchmark) {
+    final Map<OperationType, HistogramData> lastLatencies =
+        new EnumMap<OperationType, HistogramData>(OperationType.class);
+    for (OperationType type : OperationType.values()) {
+      lastLatencies.put(type, OperationLatency.getHistogramData(type));
+    }
+    // a daemon thread does not keep the JVM alive if the benchmark fails
+    ScheduledExecutorService reporter =
+        Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+          @Override public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "stats-interval-reporter");
+            thread.setDaemon(true);
+            return thread;
+          }
+        });
+    reporter.scheduleAtFixedRate(new Runnable() {
+      long lastTime_ = startTime_;
+
+      @Override public void run() {
+        long now = System.nanoTime();
+        double elapsedSeconds =
+            1.0d * (now - startTime_) / TimeUnit.SECONDS.toNanos(1);
+        double intervalSeconds =
+            1.0d * (now - lastTime_) / TimeUnit.SECONDS.toNanos(1);
+        lastTime_ = now;
+        for (OperationType type : OperationType.values()) {
+          HistogramData latency = OperationLatency.getHistogramData(type);
+          HistogramData delta = latency.delta(lastLatencies.get(type));
+          lastLatencies.put(type, latency);
+          if (delta.getCount() > 0) {
+            report(benchmark, "interval", elapsedSeconds, type.name(),
+                delta.getCount(), delta.getCount() / intervalSeconds, null,
+                delta);
+          }
+        }
+      }
+    }, statsIntervalSeconds_, statsIntervalSeconds_, TimeUnit.SECONDS);
+    return reporter;
+  }
+
+  /**
+   * Prints one line of the report in the format of --report_format.
+   *
+   * @param kind "interval" for the operations of the last interval, or
+   *     "total" for all operations of the benchmark.
+   * @param operation an {@link OperationType}, or "all" for the
+   *     throughput of the benchmark itself.
+   * @param mbPerSecond the throughput in MB/s, or null if not known.
+   * @param latency the latencies in nanoseconds, or null if not known.
+   */
+  private void report(String benchmark, String kind, double elapsedSeconds,
+      String operation, long count, double opsPerSecond, Double mbPerSecond,
+      HistogramData latency) {
+    if (reportFormat_.equals("text")) {
+      if (latency == null) {
+        return;
+      }
+      out_.format("%-16s : %-15s %8s %10d ops; %10.0f ops/sec; " +
+          "avg %9.3f p50 %9.3f p99 %9.3f p99.9 %9.3f max %9.3f micros/op%n",
+          benchmark, operation, kind.equals("interval") ?
+          String.format("%7.1fs", elapsedSeconds) : kind, count, opsPerSecond,
+          latency.getAverage() / 1000, latency.getMedian() / 1000,
+          latency.getPercentile99() / 1000,
+          latency.getPercentile(99.9) / 1000, latency.getMax() / 1000);
+      return;
+    }
+    String[] values = {
+        benchmark, kind, decimal(elapsedSeconds), operation,
+        Long.toString(count), decimal(opsPerSecond),
+        mbPerSecond == null ? null : decimal(mbPerSecond),
+        latency == null ? null : decimal(latency.getAverage() / 1000),
+        latency == null ? null : decimal(latency.getMedian() / 1000),
+        latency == null ? null : decimal(latency.getPercentile99() / 1000),
+        latency == null ? null : decimal(latency.getPercentile(99.9) / 1000),
+        latency == null ? null : decimal(latency.getMax() / 1000)};
+    String[] columns = CSV_COLUMNS.split(",");
+    StringBuilder line = new StringBuilder();
+    if (reportFormat_.equals("json")) {
+      line.append("{");
+      for (int i = 0; i < values.length; i++) {
+        if (values[i] == null) {
+          continue;
+        }
+        if (line.length() > 1) {
+          line.append(", ");
+        }
+        line.append('"').append(columns[i]).append("\": ");
+        // benchmark, kind and operation are strings, the rest numbers
+        if (i == 0 || i == 1 || i == 3) {
+          appendJsonString(line, values[i]);
+        } else {
+          line.append(values[i]);
+        }
+      }
+      line.append("}");
+    } else {
+      for (int i = 0; i < values.length; i++) {
+        if (i > 0) {
+          line.append(",");
+        }
+        if (values[i] != null) {
+          line.append(values[i]);
+        }
+      }
+    }
+    // lines of concurrent reports must not interleave
+    synchronized (System.out) {
+      System.out.println(line);
+    }
+  }
+
+  private static void appendJsonString(StringBuilder sb, String value) {
+    sb.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        sb.append('\\').append(c);
+      } else if (c < 0x20) {
+        sb.append(String.format("\\u%04x", (int) c));
+      } else {
+        sb.append(c);
+      }
+    }
+    sb.append('"');
+  }
+
+  private static String decimal(double value) {
+    // independent of the default locale, which may use decimal commas
+    return String.format(Locale.ROOT, "%.3f", value);
   }
 
   public void generateKeyFromLong(byte[] slice, long n) {
@@ -840,6 +1098,10 @@ public class DbBenchmark {
   private void printStats() {
   }
 
+  static final String CSV_COLUMNS = "benchmark,kind,elapsed_seconds," +
+      "operation,count,ops_per_second,mb_per_second,avg_micros," +
+      "p50_micros,p99_micros,p99_9_micros,max_micros";
+
   static void printHelp() {
     System.out.println("usage:");
     for (Flag flag : Flag.values()) {
@@ -902,6 +1164,8 @@ public class DbBenchmark {
         "\tActual benchmarks:\n" +
         "\t\tfillseq          -- write N values in sequential key order in async mode.\n" +
         "\t\tfillrandom       -- write N values in random key order in async mode.\n" +
+        "\t\tfilluniquerandom -- write N values in a random key order where each\n" +
+        "\t\t                   key is written once, in async mode.\n" +
         "\t\tfillbatch        -- write N/1000 batch where each batch has 1000 values\n" +
         "\t\t                   in random key order in sync mode.\n" +
         "\t\tfillsync         -- write N/100 values in random key order in sync mode.\n" +
@@ -912,6 +1176,8 @@ public class DbBenchmark {
         "\t\treadwhilewriting -- measure the read performance of multiple readers\n" +
         "\t\t                   with a bg single writer.  The write rate of the bg\n" +
         "\t\t                   is capped by --writes_per_second.\n" +
+        "\tThe fill benchmarks split the N values among --threads threads,\n" +
+        "\tsee --disjoint_key_ranges and --write_options_per_thread.\n" +
         "\tMeta Operations:\n" +
         "\t\tdelete            -- delete DB") {
       @Override public Object parseValue(String value) {
@@ -945,6 +1211,28 @@ public class DbBenchmark {
         return Integer.parseInt(value);
       }
     },
+    batch_size(1L,
+        "Number of entries per write batch in fillseq, fillrandom and\n" +
+        "\tfilluniquerandom.  1 writes every entry with its own put().") {
+      @Override public Object parseValue(String value) {
+        return Long.parseLong(value);
+      }
+    },
+    disjoint_key_ranges(true,
+        "If true, each thread of a fill benchmark writes its own slice\n" +
+        "\tof the key range.  Otherwise all threads write anywhere in\n" +
+        "\tthe whole key range, so their keys overlap.") {
+      @Override public Object parseValue(String value) {
+        return parseBoolean(value);
+      }
+    },
+    write_options_per_thread(false,
+        "If true, each thread of a fill benchmark uses its own\n" +
+        "\tWriteOptions.  Otherwise all threads share one instance.") {
+      @Override public Object parseValue(String value) {
+        return parseBoolean(value);
+      }
+    },
     reads(null,
         "Number of read operations to do.  If negative, do --nums reads.") {
       @Override public Object parseValue(String value) {
@@ -1074,7 +1362,8 @@ public class DbBenchmark {
         return Integer.parseInt(value);
       }
     },
-    histogram(false,"Print histogram of operation timings.") {
+    histogram(false,"Print the latency percentiles of each operation, measured\n" +
+        "\taround the calls into RocksDB, at the end of each benchmark.") {
       @Override public Object parseValue(String value) {
         return parseBoolean(value);
       }
@@ -1345,6 +1634,20 @@ public class DbBenchmark {
         return Integer.parseInt(value);
       }
     },
+    stats_interval_seconds(0,"Report the throughput and latency\n" +
+        "\tpercentiles of each operation every N seconds when this is\n" +
+        "\tgreater than 0.") {
+      @Override public Object parseValue(String value) {
+        return Integer.parseInt(value);
+      }
+    },
+    report_format("text","The format of the reports: text, json (one\n" +
+        "\tobject per line) or csv.  With json or csv the reports are\n" +
+        "\tprinted to stdout and everything else to stderr.") {
+      @Override public Object parseValue(String value) {
+        return value;
+      }
+    },
     perf_level(0,"Level of perf collection.") {
       @Override public Object parseValue(String value) {
         return Integer.parseInt(value);
@@ -1558,16 +1861,13 @@ public class DbBenchmark {
     }
   }
 
+  // read after every op by every task, so it must not take a lock
   boolean isFinished() {
-    synchronized(finishLock_) {
-      return isFinished_;
-    }
+    return isFinished_;
   }
 
   void setFinished(boolean flag) {
-    synchronized(finishLock_) {
-      isFinished_ = flag;
-    }
+    isFinished_ = flag;
   }
 
   RocksDB db_;
@@ -1577,12 +1877,18 @@ public class DbBenchmark {
   final int keySize_;
   final int valueSize_;
   final int threadNum_;
+  final long batchSize_;
+  final boolean disjointKeyRanges_;
+  final boolean writeOptionsPerThread_;
+  final boolean histogram_;
+  final int statsIntervalSeconds_;
+  final String reportFormat_;
+  final PrintStream out_;
   final int writesPerSeconds_;
   final long randSeed_;
   final boolean useExisting_;
   final String databaseDir_;
   double compressionRatio_;
-  RandomGenerator gen_;
   long startTime_;
 
   // memtable related
@@ -1595,8 +1901,7 @@ public class DbBenchmark {
   // sst format related
   boolean usePlainTable_;
 
-  Object finishLock_;
-  boolean isFinished_;
+  volatile boolean isFinished_;
   Map<Flag, Object> flags_;
   // as the scope of a static member equals to the scope of the problem,
   // we let its c++ pointer to be disposed in its finalizer.
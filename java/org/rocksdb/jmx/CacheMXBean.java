@@ -0,0 +1,26 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb.jmx;
+
+/**
+ * Management interface of a block cache.
+ */
+public interface CacheMXBean {
+  /**
+   * @return the capacity of the cache in bytes.
+   */
+  long getCapacity();
+
+  /**
+   * @return the memory size of the entries in the cache.
+   */
+  long getUsage();
+
+  /**
+   * @return the memory size of the entries in use.
+   */
+  long getPinnedUsage();
+}
@@ -0,0 +1,55 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb.jmx;
+
+import org.rocksdb.Cache;
+
+/**
+ * MBean of a block cache.
+ */
+class CacheMetrics extends CachedSnapshot implements CacheMXBean {
+  private final Cache cache_;
+  private long capacity_;
+  private long usage_;
+  private long pinnedUsage_;
+
+  CacheMetrics(Cache cache, long refreshIntervalMillis) {
+    super(refreshIntervalMillis);
+    cache_ = cache;
+  }
+
+  @Override protected void refresh(long nanoTime) {
+    // dispose() holds the same lock, so the cache is not disposed
+    // while it is read
+    synchronized (cache_) {
+      if (!isOpen()) {
+        throw new IllegalStateException("The cache has been disposed");
+      }
+      capacity_ = cache_.capacity();
+      usage_ = cache_.usage();
+      pinnedUsage_ = cache_.pinnedUsage();
+    }
+  }
+
+  @Override protected boolean isOpen() {
+    return cache_.isInitialized();
+  }
+
+  @Override public synchronized long getCapacity() {
+    ensureFresh();
+    return capacity_;
+  }
+
+  @Override public synchronized long getUsage() {
+    ensureFresh();
+    return usage_;
+  }
+
+  @Override public synchronized long getPinnedUsage() {
+    ensureFresh();
+    return pinnedUsage_;
+  }
+}
@@ -0,0 +1,59 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb.jmx;
+
+import org.rocksdb.RocksDBException;
+
+/**
+ * Base class of the MBeans. The values are read in bulk and cached, so
+ * that reading attributes does not cause a native call each.
+ */
+abstract class CachedSnapshot {
+  private final long refreshIntervalNanos_;
+  private long refreshTime_;
+  private boolean refreshed_;
+
+  CachedSnapshot(long refreshIntervalMillis) {
+    refreshIntervalNanos_ = refreshIntervalMillis * 1000000L;
+  }
+
+  /**
+   * Refreshes the snapshot if it is older than the refresh interval.
+   *
+   * @throws IllegalStateException if the objects read by this MBean
+   *     have been disposed.
+   */
+  protected synchronized void ensureFresh() {
+    if (!isOpen()) {
+      throw new IllegalStateException("The MBean has been closed");
+    }
+    long now = System.nanoTime();
+    if (refreshed_ && now - refreshTime_ < refreshIntervalNanos_) {
+      return;
+    }
+    try {
+      refresh(now);
+    } catch (RocksDBException e) {
+      throw new IllegalStateException("Unable to read the statistics", e);
+    }
+    refreshTime_ = now;
+    refreshed_ = true;
+  }
+
+  /**
+   * Reads the values, called with the lock of this instance held.
+   *
+   * @param nanoTime the time of the refresh, see
+   *     {@link System#nanoTime()}.
+   */
+  protected abstract void refresh(long nanoTime) throws RocksDBException;
+
+  /**
+   * @return false once an object read by this MBean has been disposed,
+   *     e.g. the database has been closed.
+   */
+  protected abstract boolean isOpen();
+}
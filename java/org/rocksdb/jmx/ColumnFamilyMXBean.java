@@ -0,0 +1,66 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb.jmx;
+
+/**
+ * Management interface of a column family. The values are read from a
+ * cached snapshot of the column family properties, see
+ * {@link RocksDBJmx}.
+ */
+public interface ColumnFamilyMXBean {
+  /**
+   * @return the estimated number of keys.
+   */
+  long getEstimatedNumKeys();
+
+  /**
+   * @return the approximate size of the active memtable in bytes.
+   */
+  long getCurSizeActiveMemTable();
+
+  /**
+   * @return the approximate size of the active and the unflushed
+   *     immutable memtables in bytes.
+   */
+  long getCurSizeAllMemTables();
+
+  /**
+   * @return the number of immutable memtables that have not been
+   *     flushed yet.
+   */
+  long getNumImmutableMemTables();
+
+  /**
+   * @return the number of entries in the active memtable.
+   */
+  long getNumEntriesActiveMemTable();
+
+  /**
+   * @return the memory used by the table readers, not including the
+   *     block cache.
+   */
+  long getEstimatedTableReadersMemory();
+
+  /**
+   * @return true if a memtable flush is pending.
+   */
+  boolean isMemTableFlushPending();
+
+  /**
+   * @return true if at least one compaction is pending.
+   */
+  boolean isCompactionPending();
+
+  /**
+   * @return the number of filter lookups done by reads.
+   */
+  long getBloomFilterChecked();
+
+  /**
+   * @return the number of filter lookups which ruled out a key.
+   */
+  long getBloomFilterUseful();
+}
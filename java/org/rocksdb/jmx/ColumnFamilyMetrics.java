@@ -0,0 +1,126 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb.jmx;
+
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+
+/**
+ * MBean of a column family, reading all properties with one call of
+ * {@link RocksDB#getIntProperties(ColumnFamilyHandle, String[])}.
+ */
+class ColumnFamilyMetrics extends CachedSnapshot
+    implements ColumnFamilyMXBean {
+  private static final String[] PROPERTIES = {
+      "rocksdb.estimate-num-keys",
+      "rocksdb.cur-size-active-mem-table",
+      "rocksdb.cur-size-all-mem-tables",
+      "rocksdb.num-immutable-mem-table",
+      "rocksdb.num-entries-active-mem-table",
+      "rocksdb.estimate-table-readers-mem",
+      "rocksdb.mem-table-flush-pending",
+      "rocksdb.compaction-pending",
+      "rocksdb.bloom-filter-checked",
+      "rocksdb.bloom-filter-useful",
+      "rocksdb.background-errors"};
+  private static final int ESTIMATE_NUM_KEYS = 0;
+  private static final int CUR_SIZE_ACTIVE_MEM_TABLE = 1;
+  private static final int CUR_SIZE_ALL_MEM_TABLES = 2;
+  private static final int NUM_IMMUTABLE_MEM_TABLE = 3;
+  private static final int NUM_ENTRIES_ACTIVE_MEM_TABLE = 4;
+  private static final int ESTIMATE_TABLE_READERS_MEM = 5;
+  private static final int MEM_TABLE_FLUSH_PENDING = 6;
+  private static final int COMPACTION_PENDING = 7;
+  private static final int BLOOM_FILTER_CHECKED = 8;
+  private static final int BLOOM_FILTER_USEFUL = 9;
+  private static final int BACKGROUND_ERRORS = 10;
+
+  private final RocksDB db_;
+  private final ColumnFamilyHandle columnFamilyHandle_;
+  private long[] properties_;
+
+  /**
+   * @param db the database.
+   * @param columnFamilyHandle the column family, null for the default
+   *     column family.
+   * @param refreshIntervalMillis the maximum age of the values.
+   */
+  ColumnFamilyMetrics(RocksDB db, ColumnFamilyHandle columnFamilyHandle,
+      long refreshIntervalMillis) {
+    super(refreshIntervalMillis);
+    db_ = db;
+    columnFamilyHandle_ = columnFamilyHandle;
+  }
+
+  @Override protected void refresh(long nanoTime) throws RocksDBException {
+    // dispose() holds the same lock, so the database is not closed
+    // while the properties are read
+    synchronized (db_) {
+      if (!isOpen()) {
+        throw new IllegalStateException("The database has been closed");
+      }
+      properties_ = db_.getIntProperties(columnFamilyHandle_, PROPERTIES);
+    }
+  }
+
+  @Override protected boolean isOpen() {
+    return db_.isInitialized() && (columnFamilyHandle_ == null ||
+        columnFamilyHandle_.isInitialized());
+  }
+
+  @Override public long getEstimatedNumKeys() {
+    return property(ESTIMATE_NUM_KEYS);
+  }
+
+  @Override public long getCurSizeActiveMemTable() {
+    return property(CUR_SIZE_ACTIVE_MEM_TABLE);
+  }
+
+  @Override public long getCurSizeAllMemTables() {
+    return property(CUR_SIZE_ALL_MEM_TABLES);
+  }
+
+  @Override public long getNumImmutableMemTables() {
+    return property(NUM_IMMUTABLE_MEM_TABLE);
+  }
+
+  @Override public long getNumEntriesActiveMemTable() {
+    return property(NUM_ENTRIES_ACTIVE_MEM_TABLE);
+  }
+
+  @Override public long getEstimatedTableReadersMemory() {
+    return property(ESTIMATE_TABLE_READERS_MEM);
+  }
+
+  @Override public boolean isMemTableFlushPending() {
+    return property(MEM_TABLE_FLUSH_PENDING) != 0;
+  }
+
+  @Override public boolean isCompactionPending() {
+    return property(COMPACTION_PENDING) != 0;
+  }
+
+  @Override public long getBloomFilterChecked() {
+    return property(BLOOM_FILTER_CHECKED);
+  }
+
+  @Override public long getBloomFilterUseful() {
+    return property(BLOOM_FILTER_USEFUL);
+  }
+
+  /**
+   * @return the number of background errors of the database.
+   */
+  public long getBackgroundErrors() {
+    return property(BACKGROUND_ERRORS);
+  }
+
+  private synchronized long property(int index) {
+    ensureFresh();
+    return properties_[index];
+  }
+}
@@ -0,0 +1,165 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb.jmx;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.rocksdb.Cache;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.RocksDB;
+import org.rocksdb.Statistics;
+
+/**
+ * <p>Registers MBeans of databases, column families and block caches
+ * with an {@link MBeanServer}. Nothing is registered unless one of the
+ * register methods is called.</p>
+ *
+ * <p>The MBeans read their values in bulk, at most once per refresh
+ * interval, and serve attribute reads from that snapshot.</p>
+ *
+ * <p>The MBeans should be unregistered before the objects they read are
+ * disposed, e.g. before the database is closed. Until then reading an
+ * attribute throws an {@link IllegalStateException}.</p>
+ *
+ * <pre>
+ * RocksDBJmx jmx = new RocksDBJmx();
+ * jmx.registerDatabase("main", db, options.statisticsPtr());
+ * jmx.registerCache("main", cache);
+ * ...
+ * jmx.unregisterAll();
+ * db.close();
+ * </pre>
+ */
+public class RocksDBJmx {
+  public static final String DOMAIN = "org.rocksdb";
+  public static final long DEFAULT_REFRESH_INTERVAL_MILLIS = 1000;
+
+  private final MBeanServer server_;
+  private final long refreshIntervalMillis_;
+  private final List<ObjectName> registered_ = new ArrayList<ObjectName>();
+
+  /**
+   * Registers with the platform MBean server, refreshing the values at
+   * most once per second.
+   */
+  public RocksDBJmx() {
+    this(ManagementFactory.getPlatformMBeanServer(),
+        DEFAULT_REFRESH_INTERVAL_MILLIS);
+  }
+
+  /**
+   * @param server the MBean server to register with.
+   * @param refreshIntervalMillis the maximum age of the values returned
+   *     by the MBeans.
+   */
+  public RocksDBJmx(MBeanServer server, long refreshIntervalMillis) {
+    assert(refreshIntervalMillis >= 0);
+    server_ = server;
+    refreshIntervalMillis_ = refreshIntervalMillis;
+  }
+
+  /**
+   * Registers a {@link RocksDBMXBean} named
+   * {@code org.rocksdb:type=RocksDB,name=<name>}.
+   *
+   * @param name the name of the database in the object name.
+   * @param db the database.
+   * @param statistics the statistics of the database, or null to only
+   *     expose its properties.
+   * @return the object name of the MBean.
+   *
+   * @throws JMException if the MBean can not be registered.
+   */
+  public ObjectName registerDatabase(String name, RocksDB db,
+      Statistics statistics) throws JMException {
+    return register(objectName("RocksDB", "name=" + quote(name)),
+        new RocksDBMetrics(db, statistics, refreshIntervalMillis_));
+  }
+
+  /**
+   * Registers a {@link ColumnFamilyMXBean} named
+   * {@code org.rocksdb:type=ColumnFamily,db=<dbName>,name=<name>}.
+   *
+   * @param dbName the name of the database in the object name.
+   * @param name the name of the column family in the object name.
+   * @param db the database.
+   * @param columnFamilyHandle the column family.
+   * @return the object name of the MBean.
+   *
+   * @throws JMException if the MBean can not be registered.
+   */
+  public ObjectName registerColumnFamily(String dbName, String name,
+      RocksDB db, ColumnFamilyHandle columnFamilyHandle)
+      throws JMException {
+    assert(columnFamilyHandle != null);
+    return register(objectName("ColumnFamily",
+        "db=" + quote(dbName) + ",name=" + quote(name)),
+        new ColumnFamilyMetrics(db, columnFamilyHandle,
+            refreshIntervalMillis_));
+  }
+
+  /**
+   * Registers a {@link CacheMXBean} named
+   * {@code org.rocksdb:type=Cache,name=<name>}.
+   *
+   * @param name the name of the cache in the object name.
+   * @param cache the block cache.
+   * @return the object name of the MBean.
+   *
+   * @throws JMException if the MBean can not be registered.
+   */
+  public ObjectName registerCache(String name, Cache cache)
+      throws JMException {
+    return register(objectName("Cache", "name=" + quote(name)),
+        new CacheMetrics(cache, refreshIntervalMillis_));
+  }
+
+  /**
+   * Unregisters an MBean registered by this instance.
+   *
+   * @param objectName the name returned when it was registered.
+   *
+   * @throws JMException if the MBean can not be unregistered.
+   */
+  public synchronized void unregister(ObjectName objectName)
+      throws JMException {
+    server_.unregisterMBean(objectName);
+    registered_.remove(objectName);
+  }
+
+  /**
+   * Unregisters all MBeans registered by this instance.
+   *
+   * @throws JMException if an MBean can not be unregistered.
+   */
+  public synchronized void unregisterAll() throws JMException {
+    while (!registered_.isEmpty()) {
+      unregister(registered_.get(registered_.size() - 1));
+    }
+  }
+
+  private synchronized ObjectName register(ObjectName objectName,
+      Object mbean) throws JMException {
+    server_.registerMBean(mbean, objectName);
+    registered_.add(objectName);
+    return objectName;
+  }
+
+  private static ObjectName objectName(String type, String keys)
+      throws JMException {
+    return new ObjectName(DOMAIN + ":type=" + type + "," + keys);
+  }
+
+  private static String quote(String value) {
+    return ObjectName.quote(value);
+  }
+}
@@ -0,0 +1,40 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb.jmx;
+
+import java.util.Map;
+
+/**
+ * <p>Management interface of a database. The column family attributes
+ * are those of the default column family.</p>
+ *
+ * <p>The ticker and histogram attributes are empty if the database was
+ * registered without {@link org.rocksdb.Statistics}.</p>
+ */
+public interface RocksDBMXBean extends ColumnFamilyMXBean {
+  /**
+   * @return the number of background errors.
+   */
+  long getBackgroundErrors();
+
+  /**
+   * @return the value of every ticker, by ticker name.
+   */
+  Map<String, Long> getTickerCounts();
+
+  /**
+   * @return the increase of every ticker per second between the last
+   *     two snapshots, by ticker name.
+   */
+  Map<String, Double> getTickerRates();
+
+  /**
+   * @return the median, p95, p99, p99.9 and max of every histogram,
+   *     by histogram name followed by the percentile, e.g.
+   *     "DB_GET.p99".
+   */
+  Map<String, Double> getHistogramPercentiles();
+}
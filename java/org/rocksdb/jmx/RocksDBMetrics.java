@@ -0,0 +1,100 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb.jmx;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.rocksdb.HistogramData;
+import org.rocksdb.HistogramType;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.Statistics;
+import org.rocksdb.StatisticsSnapshot;
+import org.rocksdb.TickerType;
+
+/**
+ * MBean of a database. Besides the properties of the default column
+ * family it reads all tickers and histograms with one
+ * {@link Statistics#snapshot()} per refresh.
+ */
+class RocksDBMetrics extends ColumnFamilyMetrics implements RocksDBMXBean {
+  private static final double[] PERCENTILES = {50, 95, 99, 99.9};
+  private static final String[] PERCENTILE_NAMES = {
+      "p50", "p95", "p99", "p99.9"};
+
+  private final Statistics statistics_;
+  private StatisticsSnapshot snapshot_;
+  private long snapshotTime_;
+  private StatisticsSnapshot previousSnapshot_;
+  private long previousSnapshotTime_;
+
+  /**
+   * @param db the database.
+   * @param statistics the statistics of the database, may be null.
+   * @param refreshIntervalMillis the maximum age of the values.
+   */
+  RocksDBMetrics(RocksDB db, Statistics statistics,
+      long refreshIntervalMillis) {
+    super(db, null, refreshIntervalMillis);
+    statistics_ = statistics;
+  }
+
+  @Override protected void refresh(long nanoTime) throws RocksDBException {
+    super.refresh(nanoTime);
+    if (statistics_ != null) {
+      previousSnapshot_ = snapshot_;
+      previousSnapshotTime_ = snapshotTime_;
+      snapshot_ = statistics_.snapshot();
+      snapshotTime_ = nanoTime;
+    }
+  }
+
+  @Override public synchronized Map<String, Long> getTickerCounts() {
+    ensureFresh();
+    Map<String, Long> counts = new TreeMap<String, Long>();
+    if (snapshot_ != null) {
+      for (TickerType tickerType : TickerType.values()) {
+        counts.put(tickerType.name(), snapshot_.getTickerCount(tickerType));
+      }
+    }
+    return counts;
+  }
+
+  @Override public synchronized Map<String, Double> getTickerRates() {
+    ensureFresh();
+    Map<String, Double> rates = new TreeMap<String, Double>();
+    if (snapshot_ != null) {
+      StatisticsSnapshot delta = null;
+      double seconds = (snapshotTime_ - previousSnapshotTime_) / 1e9;
+      if (previousSnapshot_ != null && seconds > 0) {
+        delta = snapshot_.delta(previousSnapshot_);
+      }
+      for (TickerType tickerType : TickerType.values()) {
+        rates.put(tickerType.name(), delta == null ? 0.0 :
+            delta.getTickerCount(tickerType) / seconds);
+      }
+    }
+    return rates;
+  }
+
+  @Override public synchronized Map<String, Double> getHistogramPercentiles() {
+    ensureFresh();
+    Map<String, Double> percentiles = new TreeMap<String, Double>();
+    if (snapshot_ != null) {
+      for (HistogramType histogramType : HistogramType.values()) {
+        HistogramData data = snapshot_.getHistogramData(histogramType);
+        String name = histogramType.name();
+        for (int i = 0; i < PERCENTILES.length; i++) {
+          percentiles.put(name + "." + PERCENTILE_NAMES[i],
+              data.getPercentile(PERCENTILES[i]));
+        }
+        percentiles.put(name + ".max", data.getMax());
+      }
+    }
+    return percentiles;
+  }
+}
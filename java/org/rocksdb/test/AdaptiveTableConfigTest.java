@@ -0,0 +1,133 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb.test;
+
+import java.io.IOException;
+
+import org.rocksdb.AdaptiveTableConfig;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.Options;
+import org.rocksdb.PlainTableConfig;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+
+public class AdaptiveTableConfigTest {
+  static final String db_path = "/tmp/rocksdbjni_adaptive_table_test";
+  static final String db_default_path =
+      "/tmp/rocksdbjni_adaptive_table_default_test";
+
+  static {
+    RocksDB.loadLibrary();
+  }
+
+  public static void main(String[] args) throws IOException {
+    // without a prefix extractor plain tables need a total order index
+    PlainTableConfig plainTableConfig = new PlainTableConfig()
+        .setHashTableRatio(0);
+    BlockBasedTableConfig blockBasedTableConfig =
+        new BlockBasedTableConfig();
+    AdaptiveTableConfig adaptiveTableConfig = new AdaptiveTableConfig();
+    assert(adaptiveTableConfig.writeTableConfig() == null);
+    adaptiveTableConfig = new AdaptiveTableConfig(plainTableConfig);
+    assert(adaptiveTableConfig.writeTableConfig() == plainTableConfig);
+    adaptiveTableConfig.setBlockBasedTableConfig(blockBasedTableConfig);
+    assert(adaptiveTableConfig.blockBasedTableConfig() ==
+        blockBasedTableConfig);
+    adaptiveTableConfig.setPlainTableConfig(plainTableConfig);
+    assert(adaptiveTableConfig.plainTableConfig() == plainTableConfig);
+    assert(adaptiveTableConfig.cuckooTableConfig() == null);
+
+    Options options = new Options();
+    options.setCreateIfMissing(true);
+    options.setTableFormatConfig(blockBasedTableConfig);
+    RocksDB db = null;
+    try {
+      // the number of table files is checked below
+      DirectoryHelper.removeDirectory(db_path);
+      // write a block based table file
+      db = RocksDB.open(options, db_path);
+      for (int i = 0; i < 100; i++) {
+        db.put(("block" + i).getBytes(), ("value" + i).getBytes());
+      }
+      db.close();
+      db = RocksDB.open(options, db_path);
+      db.close();
+      db = null;
+
+      // switch to plain tables, the block based table stays readable
+      options.setAllowMmapReads(true);
+      options.setTableFormatConfig(adaptiveTableConfig);
+      assert(options.tableFactoryName().equals("AdaptiveTableFactory"));
+      db = RocksDB.open(options, db_path);
+      for (int i = 0; i < 100; i++) {
+        assert(new String(db.get(("block" + i).getBytes())).equals(
+            "value" + i));
+        db.put(("plain" + i).getBytes(), ("value" + i).getBytes());
+      }
+      db.close();
+      // reopening writes the recovered memtable into a plain table
+      db = RocksDB.open(options, db_path);
+      assert(db.getProperty("rocksdb.num-files-at-level0").equals("2"));
+      for (int i = 0; i < 100; i++) {
+        assert(new String(db.get(("block" + i).getBytes())).equals(
+            "value" + i));
+        assert(new String(db.get(("plain" + i).getBytes())).equals(
+            "value" + i));
+      }
+    } catch (RocksDBException e) {
+      System.out.format("[ERROR]: %s%n", e);
+      e.printStackTrace();
+      assert(false);
+    } finally {
+      if (db != null) {
+        db.close();
+      }
+      options.dispose();
+    }
+
+    // the default config writes block based tables
+    options = new Options();
+    options.setCreateIfMissing(true);
+    options.setAllowMmapReads(true);
+    options.setTableFormatConfig(new AdaptiveTableConfig());
+    db = null;
+    try {
+      DirectoryHelper.removeDirectory(db_default_path);
+      db = RocksDB.open(options, db_default_path);
+      for (int i = 0; i < 100; i++) {
+        db.put(("key" + i).getBytes(), ("value" + i).getBytes());
+      }
+      db.close();
+      // reopening writes the recovered memtable into a table file
+      db = RocksDB.open(options, db_default_path);
+      assert(db.getProperty("rocksdb.num-files-at-level0").equals("1"));
+      for (int i = 0; i < 100; i++) {
+        assert(new String(db.get(("key" + i).getBytes())).equals(
+            "value" + i));
+      }
+      db.close();
+      db = null;
+
+      // the table is readable without the adaptive table factory
+      options.setTableFormatConfig(new BlockBasedTableConfig());
+      db = RocksDB.open(options, db_default_path);
+      for (int i = 0; i < 100; i++) {
+        assert(new String(db.get(("key" + i).getBytes())).equals(
+            "value" + i));
+      }
+    } catch (RocksDBException e) {
+      System.out.format("[ERROR]: %s%n", e);
+      e.printStackTrace();
+      assert(false);
+    } finally {
+      if (db != null) {
+        db.close();
+      }
+      options.dispose();
+    }
+    System.out.println("Passed AdaptiveTableConfigTest.");
+  }
+}
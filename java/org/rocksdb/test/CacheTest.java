@@ -0,0 +1,75 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb.test;
+
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.Cache;
+import org.rocksdb.LRUCache;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+
+public class CacheTest {
+  static final String db_path = "/tmp/rocksdbjni_cache_test";
+
+  static {
+    RocksDB.loadLibrary();
+  }
+
+  public static void main(String[] args) {
+    Cache cache = new LRUCache(8 * 1024 * 1024, 2);
+    assert(cache.capacity() == 8 * 1024 * 1024);
+    assert(cache.usage() == 0);
+    assert(cache.pinnedUsage() == 0);
+
+    BlockBasedTableConfig tableConfig = new BlockBasedTableConfig();
+    tableConfig.setBlockCache(cache);
+    assert(tableConfig.blockCache() == cache);
+
+    // two databases sharing the same block cache
+    Options options = new Options();
+    options.setCreateIfMissing(true);
+    options.setTableFormatConfig(tableConfig);
+    RocksDB db1 = null;
+    RocksDB db2 = null;
+    try {
+      for (String path : new String[] {db_path + "1", db_path + "2"}) {
+        RocksDB db = RocksDB.open(options, path);
+        for (int i = 0; i < 100; i++) {
+          db.put(("key" + i).getBytes(), ("value" + i).getBytes());
+        }
+        db.close();
+      }
+      // reopening writes the recovered memtables into table files
+      db1 = RocksDB.open(options, db_path + "1");
+      assert(new String(db1.get("key1".getBytes())).equals("value1"));
+      long usage = cache.usage();
+      assert(usage > 0);
+
+      db2 = RocksDB.open(options, db_path + "2");
+      assert(new String(db2.get("key2".getBytes())).equals("value2"));
+      assert(cache.usage() > usage);
+      // all block handles were released after the reads
+      assert(cache.pinnedUsage() <= cache.usage());
+
+      // the native cache stays alive as long as the databases use it
+      cache.dispose();
+      assert(new String(db1.get("key3".getBytes())).equals("value3"));
+    } catch (RocksDBException e) {
+      System.out.format("[ERROR]: %s%n", e);
+      e.printStackTrace();
+    } finally {
+      if (db1 != null) {
+        db1.close();
+      }
+      if (db2 != null) {
+        db2.close();
+      }
+      options.dispose();
+    }
+    System.out.println("Passed CacheTest.");
+  }
+}
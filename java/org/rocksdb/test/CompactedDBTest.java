@@ -0,0 +1,99 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+package org.rocksdb.test;
+
+import org.rocksdb.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public class CompactedDBTest {
+  static final String DB_PATH = "/tmp/rocksdbjni_compacted_db_test";
+  static {
+    RocksDB.loadLibrary();
+  }
+
+  private static void assertNotEligible(Options options) {
+    try {
+      RocksDB.openAsCompactedDB(options, DB_PATH);
+      assert(false);
+    } catch (RocksDBException e) {
+      assert(e.getMessage() != null);
+    }
+  }
+
+  public static void main(String[] args) {
+    RocksDB db = null;
+    Options options = new Options();
+    try {
+      options.setCreateIfMissing(true);
+      db = RocksDB.open(options, DB_PATH);
+      for (int i = 0; i < 100; i += 2) {
+        db.put(("key" + i).getBytes(), ("value" + i).getBytes());
+      }
+      db.close();
+      db = null;
+
+      // requires max_open_files = -1
+      assertNotEligible(options);
+      options.setMaxOpenFiles(-1);
+      // the entries are still in the log files
+      assertNotEligible(options);
+
+      // recovery writes a single level-0 file
+      db = RocksDB.open(options, DB_PATH);
+      db.close();
+
+      db = RocksDB.openAsCompactedDB(options, DB_PATH);
+      assert(Arrays.equals(db.get("key0".getBytes()), "value0".getBytes()));
+      assert(Arrays.equals(db.get("key98".getBytes()),
+          "value98".getBytes()));
+      assert(db.get("key1".getBytes()) == null);
+      assert(db.get("zzz".getBytes()) == null);
+
+      List<byte[]> keys = new ArrayList<byte[]>();
+      keys.add("key2".getBytes());
+      keys.add("key3".getBytes());
+      keys.add("key4".getBytes());
+      Map<byte[], byte[]> values = db.multiGet(keys);
+      assert(values.size() == 2);
+      assert(Arrays.equals(values.get(keys.get(0)), "value2".getBytes()));
+      assert(Arrays.equals(values.get(keys.get(2)), "value4".getBytes()));
+
+      try {
+        db.put("key1".getBytes(), "value1".getBytes());
+        assert(false);
+      } catch (RocksDBException e) {
+        assert(true);
+      }
+      db.close();
+      db = null;
+
+      // a second level-0 file makes the db ineligible
+      db = RocksDB.open(options, DB_PATH);
+      db.put("key1".getBytes(), "value1".getBytes());
+      db.close();
+      db = RocksDB.open(options, DB_PATH);
+      db.close();
+      db = null;
+      assertNotEligible(options);
+
+      // the regular read-only mode still works
+      db = RocksDB.openReadOnly(options, DB_PATH);
+      assert(Arrays.equals(db.get("key1".getBytes()), "value1".getBytes()));
+    } catch (RocksDBException e) {
+      System.err.format("[ERROR]: %s%n", e);
+      e.printStackTrace();
+    } finally {
+      if (db != null) {
+        db.close();
+      }
+      options.dispose();
+    }
+    System.out.println("Passed CompactedDBTest.");
+  }
+}
@@ -0,0 +1,133 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+package org.rocksdb.test;
+
+import org.rocksdb.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CompactionFilterTest {
+  static final String DB_PATH = "/tmp/rocksdbjni_compaction_filter_test";
+  static {
+    RocksDB.loadLibrary();
+  }
+
+  // removes all keys of a user once the user is marked
+  // as deleted and appends "!" to all other values
+  static class UserCompactionFilterFactory extends CompactionFilterFactory {
+    final AtomicInteger filterCalls = new AtomicInteger();
+    final AtomicInteger filteredKeys = new AtomicInteger();
+
+    UserCompactionFilterFactory() {
+      // keys are prefixed by "userN"
+      super(5);
+    }
+
+    @Override public String name() {
+      return "UserCompactionFilterFactory";
+    }
+
+    @Override public AbstractCompactionFilter newCompactionFilter(
+        boolean isFullCompaction, boolean isManualCompaction) {
+      return new AbstractCompactionFilter() {
+        @Override public BitSet filter(int level, byte[][] keys,
+            byte[][] existingValues, byte[][] newValues) {
+          filterCalls.incrementAndGet();
+          filteredKeys.addAndGet(keys.length);
+          assert(keys.length == existingValues.length);
+          assert(keys.length == newValues.length);
+
+          boolean deleted = false;
+          for (byte[] key : keys) {
+            deleted |= new String(key).endsWith(":deleted");
+          }
+          BitSet removals = new BitSet(keys.length);
+          if (deleted) {
+            removals.set(0, keys.length);
+          } else {
+            for (int i = 0; i < keys.length; i++) {
+              newValues[i] = (new String(existingValues[i]) + "!").getBytes();
+            }
+          }
+          return removals;
+        }
+      };
+    }
+  }
+
+  private static void reopen(Options options) throws RocksDBException {
+    RocksDB db = RocksDB.open(options, DB_PATH);
+    db.close();
+  }
+
+  public static void main(String[] args) throws IOException {
+    // the test counts the level 0 files
+    DirectoryHelper.removeDirectory(DB_PATH);
+
+    RocksDB db = null;
+    Options options = new Options();
+    UserCompactionFilterFactory factory = new UserCompactionFilterFactory();
+    try {
+      options.setCreateIfMissing(true).
+          setLevelZeroFileNumCompactionTrigger(2).
+          setCompactionFilterFactory(factory);
+
+      // each reopen writes the recovered data into a level-0 file
+      db = RocksDB.open(options, DB_PATH);
+      db.put("user1:name".getBytes(), "alice".getBytes());
+      db.put("user1:deleted".getBytes(), "true".getBytes());
+      db.put("user2:name".getBytes(), "bob".getBytes());
+      db.put("user2:city".getBytes(), "paris".getBytes());
+      db.close();
+      reopen(options);
+
+      db = RocksDB.open(options, DB_PATH);
+      db.put("user3:name".getBytes(), "carol".getBytes());
+      db.put("u4".getBytes(), "short".getBytes());
+      db.close();
+
+      // the second level-0 file triggers the compaction
+      db = RocksDB.open(options, DB_PATH);
+      for (int i = 0; i < 100 &&
+          !"0".equals(db.getProperty("rocksdb.num-files-at-level0")); i++) {
+        Thread.sleep(100);
+      }
+      assert("0".equals(db.getProperty("rocksdb.num-files-at-level0")));
+
+      // one batch per prefix
+      assert(factory.filterCalls.get() == 4);
+      assert(factory.filteredKeys.get() == 6);
+
+      assert(db.get("user1:name".getBytes()) == null);
+      assert(db.get("user1:deleted".getBytes()) == null);
+      assert(Arrays.equals(db.get("user2:name".getBytes()),
+          "bob!".getBytes()));
+      assert(Arrays.equals(db.get("user2:city".getBytes()),
+          "paris!".getBytes()));
+      assert(Arrays.equals(db.get("user3:name".getBytes()),
+          "carol!".getBytes()));
+      assert(Arrays.equals(db.get("u4".getBytes()),
+          "short!".getBytes()));
+    } catch (RocksDBException e) {
+      System.err.format("[ERROR]: %s%n", e);
+      e.printStackTrace();
+      assert(false);
+    } catch (InterruptedException e) {
+      System.err.format("[ERROR]: %s%n", e);
+      e.printStackTrace();
+      assert(false);
+    } finally {
+      if (db != null) {
+        db.close();
+      }
+      options.dispose();
+      factory.dispose();
+    }
+    System.out.println("Passed CompactionFilterTest.");
+  }
+}
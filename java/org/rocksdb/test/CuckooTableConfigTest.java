@@ -0,0 +1,74 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb.test;
+
+import java.io.IOException;
+
+import org.rocksdb.CuckooTableConfig;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+
+public class CuckooTableConfigTest {
+  static final String db_path = "/tmp/rocksdbjni_cuckoo_table_test";
+
+  static {
+    RocksDB.loadLibrary();
+  }
+
+  public static void main(String[] args) throws IOException {
+    CuckooTableConfig cuckooTableConfig = new CuckooTableConfig();
+    assert(cuckooTableConfig.hashTableRatio() ==
+        CuckooTableConfig.DEFAULT_HASH_TABLE_RATIO);
+    assert(cuckooTableConfig.useModuleHash());
+    cuckooTableConfig.setHashTableRatio(0.75);
+    assert(cuckooTableConfig.hashTableRatio() == 0.75);
+    cuckooTableConfig.setMaxSearchDepth(50);
+    assert(cuckooTableConfig.maxSearchDepth() == 50);
+    cuckooTableConfig.setCuckooBlockSize(8);
+    assert(cuckooTableConfig.cuckooBlockSize() == 8);
+    cuckooTableConfig.setIdentityAsFirstHash(true);
+    assert(cuckooTableConfig.identityAsFirstHash());
+    cuckooTableConfig.setUseModuleHash(false);
+    assert(!cuckooTableConfig.useModuleHash());
+
+    // cuckoo tables are read through mmap and need keys and values
+    // of a fixed length.
+    Options options = new Options();
+    options.setCreateIfMissing(true);
+    options.setAllowMmapReads(true);
+    options.setTableFormatConfig(new CuckooTableConfig());
+    RocksDB db = null;
+    try {
+      // the number of table files is checked below
+      DirectoryHelper.removeDirectory(db_path);
+      db = RocksDB.open(options, db_path);
+      for (int i = 0; i < 100; i++) {
+        db.put(String.format("key%04d", i).getBytes(),
+            String.format("value%04d", i).getBytes());
+      }
+      db.close();
+      // reopening writes the recovered memtable into a cuckoo table
+      db = RocksDB.open(options, db_path);
+      for (int i = 0; i < 100; i++) {
+        assert(new String(db.get(String.format("key%04d", i).getBytes()))
+            .equals(String.format("value%04d", i)));
+      }
+      assert(db.get("key9999".getBytes()) == null);
+      assert(db.getProperty("rocksdb.num-files-at-level0").equals("1"));
+    } catch (RocksDBException e) {
+      System.out.format("[ERROR]: %s%n", e);
+      e.printStackTrace();
+      assert(false);
+    } finally {
+      if (db != null) {
+        db.close();
+      }
+      options.dispose();
+    }
+    System.out.println("Passed CuckooTableConfigTest.");
+  }
+}
@@ -0,0 +1,47 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+package org.rocksdb.test;
+
+import java.nio.ByteBuffer;
+import org.rocksdb.DirectSlice;
+import org.rocksdb.RocksDB;
+
+public class DirectSliceTest {
+  static {
+    RocksDB.loadLibrary();
+  }
+
+  public static void main(String[] args) {
+    { // String backed slice owns a copy of the data
+      DirectSlice slice = new DirectSlice("abc");
+      assert(slice.size() == 3);
+      assert(slice.toString().equals("abc"));
+      assert(slice.get(1) == 'b');
+      slice.removePrefix(1);
+      assert(slice.toString().equals("bc"));
+      slice.dispose();
+    }
+
+    { // clearing a String backed slice releases the copy only once
+      DirectSlice slice = new DirectSlice("abc");
+      slice.clear();
+      assert(slice.empty());
+      slice.dispose();
+    }
+
+    { // ByteBuffer backed slice leaves the buffer to Java
+      ByteBuffer buffer = ByteBuffer.allocateDirect(3);
+      buffer.put("xyz".getBytes());
+      DirectSlice slice = new DirectSlice(buffer, 3);
+      assert(slice.toString().equals("xyz"));
+      slice.clear();
+      assert(slice.empty());
+      slice.dispose();
+      assert(buffer.get(0) == 'x');
+    }
+
+    System.out.println("Passed DirectSliceTest");
+  }
+}
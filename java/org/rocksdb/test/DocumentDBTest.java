@@ -0,0 +1,206 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+package org.rocksdb.test;
+
+import org.rocksdb.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class DocumentDBTest {
+  static final String DB_PATH = "/tmp/rocksdbjni_document_db_test";
+  static {
+    RocksDB.loadLibrary();
+  }
+
+  private static JsonDocument parse(String json) {
+    JsonDocument document = JsonDocument.parse(json.replace('\'', '"'));
+    assert(document != null);
+    return document;
+  }
+
+  private static Set<Long> queryIds(DocumentDB db, String query,
+      int chunkSize) throws RocksDBException {
+    Set<Long> ids = new HashSet<Long>();
+    ReadOptions readOptions = new ReadOptions();
+    DocumentCursor cursor = db.query(readOptions, parse(query), chunkSize);
+    try {
+      while (cursor.isValid()) {
+        assert(ids.add(cursor.document().get("_id").getInt64()));
+        cursor.next();
+      }
+    } finally {
+      cursor.dispose();
+      readOptions.dispose();
+    }
+    return ids;
+  }
+
+  private static Set<Long> ids(long... ids) {
+    Set<Long> set = new HashSet<Long>();
+    for (long id : ids) {
+      set.add(id);
+    }
+    return set;
+  }
+
+  private static void testJsonDocument() {
+    JsonDocument document = parse(
+        "{'a': [1, 2.5, true, null, 'x'], 'b': {'c': 'd\\n'}, 'e': -7}");
+    assert(document.isObject());
+    assert(document.count() == 3);
+    JsonDocument array = document.get("a");
+    assert(array.isArray());
+    assert(array.count() == 5);
+    assert(array.getFromArray(0).getInt64() == 1);
+    assert(array.getFromArray(1).getDouble() == 2.5);
+    assert(array.getFromArray(2).getBool());
+    assert(array.getFromArray(3).isNull());
+    assert(array.getFromArray(4).getString().equals("x"));
+    assert(document.get("b").get("c").getString().equals("d\n"));
+    assert(document.get("e").getInt64() == -7);
+    assert(document.get("f") == null);
+    // JSON text round trip through the native parser
+    assert(JsonDocument.parse(document.toJson()).equals(document));
+
+    JsonDocument built = new JsonDocument(JsonDocument.Type.OBJECT)
+        .set("s", "quote\" backslash\\")
+        .set("d", 3.0)
+        .set("i", 3L)
+        .set("list", new JsonDocument(JsonDocument.Type.ARRAY)
+            .pushBack(new JsonDocument())
+            .pushBack(new JsonDocument(false)));
+    assert(JsonDocument.parse(built.toJson()).equals(built));
+    assert(JsonDocument.parse(built.toJson()).get("d").isDouble());
+    assert(JsonDocument.parse("[1]").isArray());
+    // JSON has no literals for non-finite doubles
+    assert(new JsonDocument(Double.NaN).toJson().equals("null"));
+    assert(new JsonDocument(JsonDocument.Type.ARRAY)
+        .pushBack(new JsonDocument(Double.POSITIVE_INFINITY))
+        .pushBack(new JsonDocument(Double.NEGATIVE_INFINITY))
+        .toJson().equals("[null,null]"));
+    assert(JsonDocument.parse("{'a'}") == null);
+  }
+
+  private static void testDocumentDB() throws RocksDBException {
+    DocumentDBOptions options = new DocumentDBOptions()
+        .setBackgroundThreads(2)
+        .setMemtableSize(4 * 1024 * 1024)
+        .setCacheSize(8 * 1024 * 1024);
+    WriteOptions writeOptions = new WriteOptions();
+    ReadOptions readOptions = new ReadOptions();
+    DocumentDB db = null;
+    try {
+      DocumentDB.IndexDescriptor priority = new DocumentDB.IndexDescriptor(
+          "priority", parse("{'priority': 1}"));
+      DocumentDB.IndexDescriptor jobName = new DocumentDB.IndexDescriptor(
+          "job_name", parse("{'job_name': 1}"));
+      List<DocumentDB.IndexDescriptor> indexes =
+          new ArrayList<DocumentDB.IndexDescriptor>();
+      db = DocumentDB.open(options, DB_PATH, indexes);
+      db.createIndex(writeOptions, priority);
+      db.close();
+
+      // the list of indexes has to be complete
+      try {
+        db = DocumentDB.open(options, DB_PATH, indexes);
+        assert(false);
+      } catch (RocksDBException e) {
+        assert(true);
+      }
+      indexes.add(priority);
+      db = DocumentDB.open(options, DB_PATH, indexes);
+      db.createIndex(writeOptions, jobName);
+
+      String[] jobs = {"play", "white", "straw", "temporary", "white",
+          "tea", "delete", "rock", "steady", "white", "who"};
+      long[] priorities = {10, 2, 5, 3, 4, 1, 2, 3, 3, 1, 4};
+      for (int i = 0; i < jobs.length; i++) {
+        db.insert(writeOptions, new JsonDocument(JsonDocument.Type.OBJECT)
+            .set("_id", (long) (i + 1))
+            .set("job_name", jobs[i])
+            .set("priority", priorities[i])
+            .set("progress", 10.0 * i));
+      }
+      // the primary key is unique
+      try {
+        db.insert(writeOptions, parse("{'_id': 1}"));
+        assert(false);
+      } catch (RocksDBException e) {
+        assert(true);
+      }
+
+      for (int chunkSize : new int[] {1, 2, 100}) {
+        assert(queryIds(db, "[{'$filter': {'priority': {'$lt': 4, " +
+            "'$gt': 2}, 'progress': {'$gt': 35.0}, '$index': 'priority'}}]",
+            chunkSize).equals(ids(8, 9)));
+        assert(queryIds(db, "[{'$filter': {'job_name': 'white', " +
+            "'priority': {'$gte': 2}, '$index': 'job_name'}}]",
+            chunkSize).equals(ids(2, 5)));
+        assert(queryIds(db, "[]", chunkSize).size() == jobs.length);
+      }
+      // filters without index
+      assert(queryIds(db, "[{'$filter': {'job_name': 'white'}}]", 3)
+          .equals(ids(2, 5, 10)));
+
+      DocumentCursor cursor = db.query(readOptions,
+          parse("[{'$filter': {'_id': 6}}]"));
+      assert(cursor.isValid());
+      JsonDocument document = cursor.document();
+      assert(document.get("job_name").getString().equals("tea"));
+      assert(document.get("priority").getInt64() == 1);
+      assert(document.get("progress").getDouble() == 50.0);
+      cursor.next();
+      assert(!cursor.isValid());
+      cursor.dispose();
+
+      // invalid queries are reported when the query is executed
+      try {
+        db.query(readOptions, parse("{'_id': 1}"));
+        assert(false);
+      } catch (RocksDBException e) {
+        assert(true);
+      }
+
+      db.update(readOptions, writeOptions,
+          parse("{'job_name': 'white', '$index': 'job_name'}"),
+          parse("{'$set': {'job_name': 'black', 'done': true}}"));
+      assert(queryIds(db, "[{'$filter': {'job_name': 'black', " +
+          "'$index': 'job_name'}}]", 2).equals(ids(2, 5, 10)));
+      assert(queryIds(db, "[{'$filter': {'done': true}}]", 2)
+          .equals(ids(2, 5, 10)));
+
+      db.remove(readOptions, writeOptions,
+          parse("{'priority': {'$lte': 2}, '$index': 'priority'}"));
+      assert(queryIds(db, "[]", 4).equals(ids(1, 3, 4, 5, 8, 9, 11)));
+
+      db.dropIndex("job_name");
+      db.close();
+      db = DocumentDB.open(options, DB_PATH, indexes, true);
+      assert(queryIds(db, "[{'$filter': {'priority': 3, " +
+          "'$index': 'priority'}}]", 1).equals(ids(4, 8, 9)));
+    } finally {
+      if (db != null) {
+        db.close();
+      }
+      readOptions.dispose();
+      writeOptions.dispose();
+    }
+  }
+
+  public static void main(String[] args) {
+    try {
+      testJsonDocument();
+      testDocumentDB();
+    } catch (RocksDBException e) {
+      System.err.format("[ERROR]: %s%n", e);
+      e.printStackTrace();
+    }
+    System.out.println("Passed DocumentDBTest.");
+  }
+}
@@ -8,6 +8,8 @@ package org.rocksdb.test;
 import org.rocksdb.*;
 
 public class FilterTest {
+  static final String db_path = "/tmp/rocksdbjni_filter_test";
+
   static {
     RocksDB.loadLibrary();
   }
@@ -37,6 +39,53 @@ public class FilterTest {
     blockConfig = null;
     System.gc();
     System.runFinalization();
+    // full filter for a single column family
+    BloomFilter fullFilter = new BloomFilter(10, false);
+    assert(fullFilter.bitsPerKey() == 10);
+    assert(!fullFilter.useBlockBasedMode());
+    options = new Options();
+    options.setCreateIfMissing(true);
+    Options cfOptions = new Options();
+    cfOptions.setTableFormatConfig(
+        new BlockBasedTableConfig().setFilter(fullFilter));
+    RocksDB db = null;
+    try {
+      cfOptions.setWriteBufferSize(64 * 1024);
+      db = RocksDB.open(options, db_path);
+      ColumnFamilyHandle cfHandle =
+          db.createColumnFamily("filtered", cfOptions);
+      byte[] value = new byte[100];
+      for (int i = 0; i < 2000; i++) {
+        db.put(cfHandle, ("key" + i).getBytes(), value);
+      }
+      db.flush(cfHandle);
+      // the files may be compacted into level 1 already
+      assert(db.getProperty(cfHandle,
+          "rocksdb.num-entries-active-mem-table").equals("0"));
+      for (int i = 0; i < 100; i++) {
+        assert(db.get(cfHandle, ("key" + i + ".missing").getBytes()) == null);
+      }
+      assert(Long.parseLong(db.getProperty(cfHandle,
+          "rocksdb.bloom-filter-useful")) > 0);
+      assert(Long.parseLong(db.getProperty(cfHandle,
+          "rocksdb.bloom-filter-checked")) >= Long.parseLong(
+          db.getProperty(cfHandle, "rocksdb.bloom-filter-useful")));
+      assert(db.getProperty("rocksdb.bloom-filter-checked").equals("0"));
+
+      // drop the column family, so that the next run can open the db
+      db.dropColumnFamily(cfHandle);
+      cfHandle.dispose();
+    } catch (RocksDBException e) {
+      System.out.format("[ERROR]: %s%n", e);
+      e.printStackTrace();
+      assert(false);
+    } finally {
+      if (db != null) {
+        db.close();
+      }
+      cfOptions.dispose();
+      options.dispose();
+    }
     System.out.println("Filter test passed");
   }
 }
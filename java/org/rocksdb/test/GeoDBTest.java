@@ -0,0 +1,83 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+package org.rocksdb.test;
+
+import org.rocksdb.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class GeoDBTest {
+  static final String DB_PATH = "/tmp/rocksdbjni_geodb_test";
+  static {
+    RocksDB.loadLibrary();
+  }
+
+  public static void main(String[] args) {
+    GeoDB db = null;
+    Options options = new Options();
+    try {
+      options.setCreateIfMissing(true);
+      db = GeoDB.open(options, DB_PATH);
+
+      GeoPosition pos1 = new GeoPosition(45, 45);
+      GeoPosition pos2 = new GeoPosition(45.001, 45.001);
+      GeoPosition pos3 = new GeoPosition(10, 10);
+      db.insert(new GeoObject(pos1, "id1", "value1".getBytes()));
+      db.insert(new GeoObject(pos2, "id2", "value2".getBytes()));
+      db.insert(new GeoObject(pos3, "id3", "value3".getBytes()));
+
+      assert(Arrays.equals(db.getByPosition(pos1, "id1"),
+          "value1".getBytes()));
+      assert(db.getByPosition(pos3, "id1") == null);
+
+      GeoObject obj = db.getById("id2");
+      assert(obj != null);
+      assert(obj.id().equals("id2"));
+      assert(obj.position().latitude() == 45.001);
+      assert(obj.position().longitude() == 45.001);
+      assert(Arrays.equals(obj.value(), "value2".getBytes()));
+      assert(db.getById("unknown") == null);
+
+      // both objects near 45,45 are found, the one at 10,10 is not
+      List<GeoObject> objects = db.searchRadial(new GeoPosition(45, 45),
+          1000);
+      assert(objects.size() == 2);
+      Set<String> ids = new HashSet<String>();
+      for (GeoObject object : objects) {
+        ids.add(object.id());
+      }
+      assert(ids.contains("id1"));
+      assert(ids.contains("id2"));
+      assert(db.searchRadial(new GeoPosition(45, 45), 1000, 1).size() == 1);
+      assert(db.searchRadial(new GeoPosition(-45, -45), 1000).isEmpty());
+
+      // inserting an existing id moves the object
+      db.insert(new GeoObject(pos3, "id1", "moved".getBytes()));
+      assert(db.getByPosition(pos1, "id1") == null);
+      assert(Arrays.equals(db.getByPosition(pos3, "id1"),
+          "moved".getBytes()));
+      objects = db.searchRadial(new GeoPosition(45, 45), 1000);
+      assert(objects.size() == 1);
+      assert(objects.get(0).id().equals("id2"));
+
+      assert(db.remove("id2"));
+      assert(!db.remove("id2"));
+      assert(db.getById("id2") == null);
+      assert(db.searchRadial(new GeoPosition(45, 45), 1000).isEmpty());
+    } catch (RocksDBException e) {
+      System.err.format("[ERROR]: %s%n", e);
+      e.printStackTrace();
+    } finally {
+      if (db != null) {
+        db.close();
+      }
+      options.dispose();
+    }
+    System.out.println("Passed GeoDBTest.");
+  }
+}
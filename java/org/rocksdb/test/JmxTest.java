@@ -0,0 +1,198 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb.test;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.rocksdb.*;
+import org.rocksdb.jmx.CacheMXBean;
+import org.rocksdb.jmx.ColumnFamilyMXBean;
+import org.rocksdb.jmx.RocksDBJmx;
+import org.rocksdb.jmx.RocksDBMXBean;
+
+public class JmxTest {
+  static final String db_path = "/tmp/rocksdbjni_jmx_test";
+  static final String db_closed_path = "/tmp/rocksdbjni_jmx_closed_test";
+  static {
+    RocksDB.loadLibrary();
+  }
+
+  public static void main(String[] args) throws IOException {
+    // the test creates a column family
+    DirectoryHelper.removeDirectory(db_path);
+    DirectoryHelper.removeDirectory(db_closed_path);
+
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    RocksDBJmx jmx = new RocksDBJmx(server, 100);
+    LRUCache cache = new LRUCache(8 * 1024 * 1024);
+    Options options = new Options().setCreateIfMissing(true)
+        .createStatistics()
+        .setTableFormatConfig(new BlockBasedTableConfig()
+            .setBlockCache(cache));
+    RocksDB db = null;
+    ColumnFamilyHandle cfHandle = null;
+    try {
+      options.setWriteBufferSize(64 * 1024);
+      db = RocksDB.open(options, db_path);
+      cfHandle = db.createColumnFamily("new_cf");
+
+      ObjectName dbName = jmx.registerDatabase("jmx_test", db,
+          options.statisticsPtr());
+      ObjectName cfName = jmx.registerColumnFamily("jmx_test", "new_cf",
+          db, cfHandle);
+      ObjectName cacheName = jmx.registerCache("jmx_test", cache);
+      assert(dbName.toString().equals(
+          "org.rocksdb:type=RocksDB,name=\"jmx_test\""));
+      assert(server.isRegistered(dbName));
+      assert(server.isRegistered(cfName));
+      assert(server.isRegistered(cacheName));
+
+      RocksDBMXBean dbBean = JMX.newMXBeanProxy(server, dbName,
+          RocksDBMXBean.class);
+      ColumnFamilyMXBean cfBean = JMX.newMXBeanProxy(server, cfName,
+          ColumnFamilyMXBean.class);
+      CacheMXBean cacheBean = JMX.newMXBeanProxy(server, cacheName,
+          CacheMXBean.class);
+
+      assert(dbBean.getNumEntriesActiveMemTable() == 0);
+      for (int i = 0; i < 100; i++) {
+        db.put(("key" + i).getBytes(), "value".getBytes());
+        db.put(cfHandle, ("key" + i).getBytes(), "value".getBytes());
+      }
+      db.put(cfHandle, "key".getBytes(), "value".getBytes());
+      // served from the cached snapshot until it is refreshed
+      assert(dbBean.getNumEntriesActiveMemTable() == 0);
+      Thread.sleep(150);
+      assert(dbBean.getNumEntriesActiveMemTable() == 100);
+      assert(dbBean.getEstimatedNumKeys() == 100);
+      assert(dbBean.getCurSizeAllMemTables() > 0);
+      assert(!dbBean.isCompactionPending());
+      assert(dbBean.getBackgroundErrors() == 0);
+      assert(dbBean.getTickerCounts().get("NUMBER_KEYS_WRITTEN") == 201);
+      assert(dbBean.getTickerRates().containsKey("NUMBER_KEYS_WRITTEN"));
+      assert(dbBean.getHistogramPercentiles().containsKey("DB_GET.p99.9"));
+      assert(cfBean.getNumEntriesActiveMemTable() == 101);
+      assert(cfBean.getNumImmutableMemTables() == 0);
+
+      // fill the memtables until table files are written
+      byte[] value = new byte[1024];
+      for (int i = 0; i < 1000; i++) {
+        db.put(("key" + i).getBytes(), value);
+      }
+      for (int i = 0; i < 100 &&
+          db.getProperty("rocksdb.num-files-at-level0").equals("0"); i++) {
+        Thread.sleep(10);
+      }
+      for (int i = 0; i < 1000; i++) {
+        assert(db.get(("key" + i).getBytes()) != null);
+      }
+      Thread.sleep(150);
+      assert(cacheBean.getCapacity() == 8 * 1024 * 1024);
+      assert(cacheBean.getUsage() > 0);
+      assert(cacheBean.getPinnedUsage() >= 0);
+      assert(dbBean.getTickerRates().get("NUMBER_KEYS_READ") > 0);
+      assert(dbBean.getHistogramPercentiles().get("DB_GET.p99") > 0);
+
+      // the exception names the property which is not an integer property
+      boolean thrown = false;
+      try {
+        db.getIntProperties(null, new String[] {
+            "rocksdb.estimate-num-keys", "rocksdb.stats"});
+      } catch (RocksDBException e) {
+        thrown = true;
+        assert(e.getMessage().contains("rocksdb.stats"));
+      }
+      assert(thrown);
+
+      jmx.unregister(cacheName);
+      assert(!server.isRegistered(cacheName));
+      jmx.unregisterAll();
+      assert(!server.isRegistered(dbName));
+      assert(!server.isRegistered(cfName));
+    } catch (RocksDBException e) {
+      System.out.format("[ERROR]: %s%n", e);
+      e.printStackTrace();
+      assert(false);
+    } catch (JMException e) {
+      System.out.format("[ERROR]: %s%n", e);
+      e.printStackTrace();
+      assert(false);
+    } catch (InterruptedException e) {
+      System.out.format("[ERROR]: %s%n", e);
+      e.printStackTrace();
+      assert(false);
+    } finally {
+      if (cfHandle != null) {
+        cfHandle.dispose();
+      }
+      if (db != null) {
+        db.close();
+      }
+      options.dispose();
+      cache.dispose();
+    }
+
+    try {
+      testClosedDatabase(server);
+    } catch (RocksDBException e) {
+      System.out.format("[ERROR]: %s%n", e);
+      e.printStackTrace();
+      assert(false);
+    } catch (JMException e) {
+      System.out.format("[ERROR]: %s%n", e);
+      e.printStackTrace();
+      assert(false);
+    }
+    System.out.println("Passed JmxTest.");
+  }
+
+  private static void testClosedDatabase(MBeanServer server)
+      throws RocksDBException, JMException {
+    RocksDBJmx jmx = new RocksDBJmx(server, 0);
+    LRUCache cache = new LRUCache(1024 * 1024);
+    Options options = new Options().setCreateIfMissing(true);
+    RocksDB db = RocksDB.open(options, db_closed_path);
+    try {
+      RocksDBMXBean dbBean = JMX.newMXBeanProxy(server,
+          jmx.registerDatabase("jmx_closed_test", db, null),
+          RocksDBMXBean.class);
+      CacheMXBean cacheBean = JMX.newMXBeanProxy(server,
+          jmx.registerCache("jmx_closed_test", cache), CacheMXBean.class);
+      db.put("key".getBytes(), "value".getBytes());
+      assert(dbBean.getNumEntriesActiveMemTable() == 1);
+      assert(cacheBean.getCapacity() == 1024 * 1024);
+
+      // the MBeans stay registered, but must not read the closed objects
+      db.close();
+      cache.dispose();
+      boolean thrown = false;
+      try {
+        dbBean.getNumEntriesActiveMemTable();
+      } catch (IllegalStateException e) {
+        thrown = true;
+      }
+      assert(thrown);
+      thrown = false;
+      try {
+        cacheBean.getCapacity();
+      } catch (IllegalStateException e) {
+        thrown = true;
+      }
+      assert(thrown);
+    } finally {
+      jmx.unregisterAll();
+      db.close();
+      cache.dispose();
+      options.dispose();
+    }
+  }
+}
@@ -102,6 +102,40 @@ public class MemTableTest {
     options.dispose();
     System.gc();
     System.runFinalization();
+    // test HashCuckooMemTableConfig
+    options = new Options();
+    HashCuckooMemTableConfig hashCuckooMemTableConfig =
+        new HashCuckooMemTableConfig();
+    assert(hashCuckooMemTableConfig.writeBufferSize() == 4 * 1024 * 1024);
+    hashCuckooMemTableConfig.setWriteBufferSize(1024 * 1024);
+    assert(hashCuckooMemTableConfig.writeBufferSize() == 1024 * 1024);
+    assert(hashCuckooMemTableConfig.averageDataSize() == 64);
+    hashCuckooMemTableConfig.setAverageDataSize(32);
+    assert(hashCuckooMemTableConfig.averageDataSize() == 32);
+    assert(hashCuckooMemTableConfig.hashFunctionCount() == 4);
+    hashCuckooMemTableConfig.setHashFunctionCount(3);
+    assert(hashCuckooMemTableConfig.hashFunctionCount() == 3);
+    RocksDB db = null;
+    try {
+      options.setCreateIfMissing(true);
+      options.setWriteBufferSize(1024 * 1024);
+      options.setMemTableConfig(hashCuckooMemTableConfig);
+      db = RocksDB.open(options, "/tmp/rocksdbjni_memtable_test");
+      db.put("key".getBytes(), "value1".getBytes());
+      db.put("key".getBytes(), "value2".getBytes());
+      assert(new String(db.get("key".getBytes())).equals("value2"));
+      assert(db.get("missing".getBytes()) == null);
+    } catch (RocksDBException e) {
+      assert(false);
+    } finally {
+      if (db != null) {
+        db.close();
+      }
+    }
+    hashCuckooMemTableConfig = null;
+    options.dispose();
+    System.gc();
+    System.runFinalization();
     System.out.println("Mem-table test passed");
   }
 }
@@ -0,0 +1,115 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb.test;
+
+import org.rocksdb.*;
+
+public class MemoryUsageTest {
+  static final String db_path = "/tmp/rocksdbjni_memory_usage_test";
+  static {
+    RocksDB.loadLibrary();
+  }
+
+  public static void main(String[] args) {
+    LRUCache cache = new LRUCache(8 * 1024 * 1024);
+    Options options = new Options().setCreateIfMissing(true)
+        .setTableFormatConfig(new BlockBasedTableConfig()
+            .setBlockCache(cache));
+    RocksDB db = null;
+    ColumnFamilyHandle cfHandle = null;
+    try {
+      options.setWriteBufferSize(64 * 1024);
+      db = RocksDB.open(options, db_path);
+      cfHandle = db.createColumnFamily("new_cf");
+
+      MemoryUsage usage = db.getMemoryUsage();
+      assert(usage.columnFamilies().size() == 2);
+      assert(usage.columnFamilies().containsKey("default"));
+      assert(usage.columnFamilies().containsKey("new_cf"));
+      assert(usage.liveIterators() == 0);
+      assert(usage.liveSnapshots() == 0);
+
+      // fill the memtables until table files are written
+      byte[] value = new byte[1024];
+      for (int i = 0; i < 1000; i++) {
+        db.put(("key" + i).getBytes(), value);
+      }
+      db.put(cfHandle, "key".getBytes(), "value".getBytes());
+      for (int i = 0; i < 100 &&
+          db.getProperty("rocksdb.num-files-at-level0").equals("0"); i++) {
+        Thread.sleep(10);
+      }
+      for (int i = 0; i < 1000; i++) {
+        assert(db.get(("key" + i).getBytes()) != null);
+      }
+
+      Snapshot snapshot = db.getSnapshot();
+      RocksIterator iterator = db.newIterator();
+      iterator.seekToFirst();
+      usage = db.getMemoryUsage();
+      MemoryUsage defaultUsage = usage.columnFamilies().get("default");
+      MemoryUsage cfUsage = usage.columnFamilies().get("new_cf");
+      assert(defaultUsage.memTableUsage() > 0);
+      assert(defaultUsage.tableReadersUsage() > 0);
+      assert(cfUsage.memTableUsage() > 0);
+      assert(cfUsage.tableReadersUsage() == 0);
+      assert(usage.memTableUsage() ==
+          defaultUsage.memTableUsage() + cfUsage.memTableUsage());
+      // the cache shared by both column families is counted once
+      assert(usage.blockCacheUsage() > 0);
+      assert(usage.blockCacheUsage() == cache.usage());
+      assert(defaultUsage.blockCacheUsage() == usage.blockCacheUsage());
+      assert(cfUsage.blockCacheUsage() == usage.blockCacheUsage());
+      assert(usage.blockCachePinnedUsage() <= usage.blockCacheUsage());
+      assert(usage.totalUsage() == usage.memTableUsage() +
+          usage.tableReadersUsage() + usage.blockCacheUsage());
+      assert(usage.liveIterators() == 1);
+      assert(usage.liveSnapshots() == 1);
+
+      iterator.dispose();
+      db.releaseSnapshot(snapshot);
+      assert(db.getMemoryUsage().liveIterators() == 0);
+
+      // the base iterator is owned by the iterator with base
+      WriteBatchWithIndex batch = new WriteBatchWithIndex(true);
+      batch.put("batch_key".getBytes(), "value".getBytes());
+      RocksIterator baseIterator = db.newIterator();
+      iterator = batch.newIteratorWithBase(baseIterator);
+      iterator.seekToFirst();
+      assert(db.getMemoryUsage().liveIterators() == 1);
+      iterator.dispose();
+      baseIterator.dispose();
+      batch.dispose();
+
+      // drop the column family, so that the next run can open the db
+      db.dropColumnFamily(cfHandle);
+      cfHandle.dispose();
+      cfHandle = null;
+      usage = db.getMemoryUsage();
+      assert(usage.liveIterators() == 0);
+      assert(usage.liveSnapshots() == 0);
+      assert(usage.columnFamilies().size() == 1);
+    } catch (RocksDBException e) {
+      System.out.format("[ERROR]: %s%n", e);
+      e.printStackTrace();
+      assert(false);
+    } catch (InterruptedException e) {
+      System.out.format("[ERROR]: %s%n", e);
+      e.printStackTrace();
+      assert(false);
+    } finally {
+      if (cfHandle != null) {
+        cfHandle.dispose();
+      }
+      if (db != null) {
+        db.close();
+      }
+      options.dispose();
+      cache.dispose();
+    }
+    System.out.println("Passed MemoryUsageTest.");
+  }
+}
@@ -0,0 +1,142 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb.test;
+
+import org.rocksdb.*;
+
+public class OperationLatencyTest {
+  static final String db_path = "/tmp/rocksdbjni_operation_latency_test";
+  static {
+    RocksDB.loadLibrary();
+  }
+
+  public static void main(String[] args) {
+    Options options = new Options().setCreateIfMissing(true);
+    WriteOptions writeOptions = new WriteOptions();
+    WriteBatch batch = new WriteBatch();
+    RocksDB db = null;
+    RocksIterator iterator = null;
+    try {
+      db = RocksDB.open(options, db_path);
+
+      // nothing is recorded by default
+      assert(!OperationLatency.isEnabled());
+      db.put("key".getBytes(), "value".getBytes());
+      db.get("key".getBytes());
+      assert(OperationLatency.getHistogramData(OperationType.PUT)
+          .getCount() == 0);
+      assert(OperationLatency.getHistogramData(OperationType.GET)
+          .getCount() == 0);
+
+      OperationLatency.setEnabled(true);
+      for (int i = 0; i < 100; i++) {
+        db.put(("key" + i).getBytes(), "value".getBytes());
+        assert(db.get(("key" + i).getBytes()) != null);
+      }
+      db.remove("key".getBytes());
+      batch.put("batch_key".getBytes(), "value".getBytes());
+      batch.remove("key0".getBytes());
+      db.write(writeOptions, batch);
+      iterator = db.newIterator();
+      int count = 0;
+      for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
+        iterator.key();
+        iterator.value();
+        count++;
+      }
+      assert(count == 100);
+
+      HistogramData put = OperationLatency.getHistogramData(
+          OperationType.PUT);
+      assert(put.getCount() == 100);
+      assert(put.getMin() > 0);
+      assert(put.getMin() <= put.getMedian());
+      assert(put.getMedian() <= put.getMax());
+      assert(put.getSum() >= put.getCount() * (long) put.getMin());
+      assert(put.getPercentile(99.9) <= put.getMax());
+      long buckets = 0;
+      for (long bucket : put.getBuckets()) {
+        buckets += bucket;
+      }
+      assert(buckets == 100);
+      assert(OperationLatency.getHistogramData(OperationType.GET)
+          .getCount() == 100);
+      assert(OperationLatency.getHistogramData(OperationType.REMOVE)
+          .getCount() == 1);
+      assert(OperationLatency.getHistogramData(OperationType.WRITE)
+          .getCount() == 1);
+      assert(OperationLatency.getHistogramData(
+          OperationType.WRITE_BATCH_PUT).getCount() == 1);
+      assert(OperationLatency.getHistogramData(
+          OperationType.WRITE_BATCH_REMOVE).getCount() == 1);
+      assert(OperationLatency.getHistogramData(
+          OperationType.NEW_ITERATOR).getCount() == 1);
+      assert(OperationLatency.getHistogramData(
+          OperationType.ITERATOR_SEEK).getCount() == 1);
+      assert(OperationLatency.getHistogramData(
+          OperationType.ITERATOR_NEXT).getCount() == 100);
+      assert(OperationLatency.getHistogramData(
+          OperationType.ITERATOR_IS_VALID).getCount() == 101);
+      assert(OperationLatency.getHistogramData(
+          OperationType.ITERATOR_KEY).getCount() == 100);
+
+      // latencies recorded from several threads
+      final RocksDB database = db;
+      final HistogramData before = OperationLatency.getHistogramData(
+          OperationType.GET);
+      Thread[] threads = new Thread[4];
+      for (int t = 0; t < threads.length; t++) {
+        threads[t] = new Thread(new Runnable() {
+          @Override public void run() {
+            try {
+              for (int i = 0; i < 1000; i++) {
+                database.get(("key" + (i % 100)).getBytes());
+              }
+            } catch (RocksDBException e) {
+              throw new RuntimeException(e);
+            }
+          }
+        });
+        threads[t].start();
+      }
+      for (Thread thread : threads) {
+        thread.join();
+      }
+      HistogramData delta = OperationLatency.getHistogramData(
+          OperationType.GET).delta(before);
+      assert(delta.getCount() == 4000);
+
+      OperationLatency.setEnabled(false);
+      db.put("key".getBytes(), "value".getBytes());
+      assert(OperationLatency.getHistogramData(OperationType.PUT)
+          .getCount() == 100);
+
+      OperationLatency.reset();
+      assert(OperationLatency.getHistogramData(OperationType.PUT)
+          .getCount() == 0);
+      assert(OperationLatency.getHistogramData(OperationType.PUT)
+          .getMax() == 0);
+    } catch (RocksDBException e) {
+      System.out.format("[ERROR]: %s%n", e);
+      e.printStackTrace();
+    } catch (InterruptedException e) {
+      System.out.format("[ERROR]: %s%n", e);
+      e.printStackTrace();
+    } finally {
+      OperationLatency.setEnabled(false);
+      if (iterator != null) {
+        iterator.dispose();
+      }
+      if (db != null) {
+        db.close();
+      }
+      batch.dispose();
+      writeOptions.dispose();
+      options.dispose();
+    }
+    System.out.println("Passed OperationLatencyTest.");
+  }
+}
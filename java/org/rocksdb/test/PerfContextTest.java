@@ -0,0 +1,81 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb.test;
+
+import org.rocksdb.IOStatsContext;
+import org.rocksdb.Options;
+import org.rocksdb.PerfContext;
+import org.rocksdb.PerfLevel;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+
+public class PerfContextTest {
+  static final String db_path = "/tmp/rocksdbjni_perf_context_test";
+
+  static {
+    RocksDB.loadLibrary();
+  }
+
+  public static void main(String[] args) {
+    PerfContext.setPerfLevel(PerfLevel.ENABLE_TIME);
+    assert(PerfContext.perfLevel() == PerfLevel.ENABLE_TIME);
+
+    Options options = new Options();
+    options.setCreateIfMissing(true);
+    RocksDB db = null;
+    try {
+      db = RocksDB.open(options, db_path);
+      PerfContext perfContext = new PerfContext();
+      IOStatsContext ioStatsContext = new IOStatsContext();
+
+      PerfContext.reset();
+      IOStatsContext.reset();
+      db.put("key".getBytes(), "value".getBytes());
+      perfContext.update();
+      assert(perfContext.writeMemtableTime() > 0);
+      assert(perfContext.getFromMemtableCount() == 0);
+      assert(ioStatsContext.update().bytesWritten() > 0);
+
+      PerfContext.reset();
+      assert(perfContext.update().writeMemtableTime() == 0);
+      db.get("key".getBytes());
+      perfContext.update();
+      assert(perfContext.getFromMemtableCount() == 1);
+      assert(perfContext.getFromMemtableTime() > 0);
+      assert(perfContext.writeMemtableTime() == 0);
+      assert(perfContext.toString().contains("get_from_memtable_count = 1"));
+
+      // the counters of other threads are not affected
+      Thread thread = new Thread() {
+        @Override public void run() {
+          assert(new PerfContext().update().getFromMemtableCount() == 0);
+        }
+      };
+      thread.start();
+      thread.join();
+
+      // only counts are collected
+      PerfContext.setPerfLevel(PerfLevel.ENABLE_COUNT);
+      PerfContext.reset();
+      db.get("key".getBytes());
+      perfContext.update();
+      assert(perfContext.getFromMemtableCount() == 1);
+      assert(perfContext.getFromMemtableTime() == 0);
+    } catch (RocksDBException e) {
+      System.out.format("[ERROR]: %s%n", e);
+      e.printStackTrace();
+    } catch (InterruptedException e) {
+      System.out.format("[ERROR]: %s%n", e);
+      e.printStackTrace();
+    } finally {
+      if (db != null) {
+        db.close();
+      }
+      options.dispose();
+    }
+    System.out.println("Passed PerfContextTest.");
+  }
+}
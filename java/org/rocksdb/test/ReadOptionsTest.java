@@ -5,11 +5,14 @@
 
 package org.rocksdb.test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
-import org.rocksdb.RocksDB;
-import org.rocksdb.ReadOptions;
+import org.rocksdb.*;
 
 public class ReadOptionsTest {
+  static final String DB_PATH = "/tmp/rocksdbjni_readoptions_test";
   static {
     RocksDB.loadLibrary();
   }
@@ -34,7 +37,90 @@ public class ReadOptionsTest {
       assert(opt.tailing() == boolValue);
     }
 
+    { // TotalOrderSeek test
+      boolean boolValue = rand.nextBoolean();
+      opt.setTotalOrderSeek(boolValue);
+      assert(opt.totalOrderSeek() == boolValue);
+    }
+
+    { // ReadTier test
+      ReadTier readTier = ReadTier.values()[
+          rand.nextInt(ReadTier.values().length)];
+      opt.setReadTier(readTier);
+      assert(opt.readTier() == readTier);
+    }
+
+    { // IterateUpperBound test
+      assert(opt.iterateUpperBound() == null);
+      Slice upperBound = new Slice("key");
+      opt.setIterateUpperBound(upperBound);
+      assert(opt.iterateUpperBound() == upperBound);
+      opt.setIterateUpperBound(null);
+      assert(opt.iterateUpperBound() == null);
+      upperBound.dispose();
+    }
+
     opt.dispose();
+
+    try {
+      testReadOptionsWithDB();
+    } catch (RocksDBException e) {
+      System.err.format("[ERROR]: %s%n", e);
+      e.printStackTrace();
+      assert(false);
+    }
     System.out.println("Passed ReadOptionsTest");
   }
+
+  private static void testReadOptionsWithDB() throws RocksDBException {
+    RocksDB db = null;
+    Options options = new Options();
+    ReadOptions readOptions = new ReadOptions();
+    Slice upperBound = new Slice("key3");
+    try {
+      options.setCreateIfMissing(true);
+      db = RocksDB.open(options, DB_PATH);
+      for (int i = 1; i <= 5; i++) {
+        db.put(("key" + i).getBytes(), ("value" + i).getBytes());
+      }
+
+      // the iterator stops at the exclusive upper bound
+      readOptions.setIterateUpperBound(upperBound);
+      RocksIterator iterator = db.newIterator(readOptions);
+      List<String> keys = new ArrayList<String>();
+      for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
+        keys.add(new String(iterator.key()));
+      }
+      iterator.dispose();
+      assert(keys.equals(Arrays.asList("key1", "key2")));
+      readOptions.setIterateUpperBound(null);
+
+      // reopening writes the data into a table file, which is not cached
+      db.close();
+      db = RocksDB.open(options, DB_PATH);
+      db.put("memkey".getBytes(), "memvalue".getBytes());
+
+      readOptions.setReadTier(ReadTier.BLOCK_CACHE_TIER);
+      byte[] value = new byte[16];
+      assert(db.get(readOptions, "memkey".getBytes(), value) == 8);
+      assert(db.get(readOptions, "key1".getBytes(), value) ==
+          RocksDB.INCOMPLETE);
+
+      readOptions.setReadTier(ReadTier.READ_ALL_TIER);
+      assert(db.get(readOptions, "key1".getBytes(), value) == 6);
+      assert(db.get(readOptions, "missing".getBytes(), value) ==
+          RocksDB.NOT_FOUND);
+
+      // the data block is cached now
+      readOptions.setReadTier(ReadTier.BLOCK_CACHE_TIER);
+      assert(db.get(readOptions, "key2".getBytes(), value) == 6);
+    } finally {
+      if (db != null) {
+        db.close();
+      }
+      options.dispose();
+      readOptions.dispose();
+      upperBound.dispose();
+    }
+  }
 }
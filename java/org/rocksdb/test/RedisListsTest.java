@@ -0,0 +1,98 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+package org.rocksdb.test;
+
+import org.rocksdb.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class RedisListsTest {
+  static final String DB_PATH = "/tmp/rocksdbjni_redis_lists_test";
+  static {
+    RocksDB.loadLibrary();
+  }
+
+  private static void assertRange(List<byte[]> range, String... expected) {
+    assert(range.size() == expected.length);
+    for (int i = 0; i < expected.length; i++) {
+      assert(Arrays.equals(range.get(i), expected[i].getBytes()));
+    }
+  }
+
+  public static void main(String[] args) {
+    RedisLists lists = null;
+    Options options = new Options();
+    try {
+      options.setCreateIfMissing(true);
+      lists = RedisLists.open(options, DB_PATH, true);
+      byte[] key = "k".getBytes();
+
+      assert(lists.length(key) == 0);
+      assert(lists.popLeft(key) == null);
+      assert(lists.pushRight(key, "b".getBytes()) == 1);
+      assert(lists.pushRight(key, "c".getBytes()) == 2);
+      assert(lists.pushLeft(key, "a".getBytes()) == 3);
+      assert(lists.insertAfter(key, "c".getBytes(), "d".getBytes()) == 4);
+      assert(lists.insertBefore(key, "a".getBytes(), "x".getBytes()) == 5);
+      // the pivot does not exist
+      assert(lists.insertBefore(key, "z".getBytes(), "y".getBytes()) == 5);
+      assertRange(lists.range(key, 0, -1), "x", "a", "b", "c", "d");
+      assertRange(lists.range(key, 1, 2), "a", "b");
+      assertRange(lists.range(key, 7, 9));
+
+      assert(Arrays.equals(lists.index(key, 0), "x".getBytes()));
+      assert(Arrays.equals(lists.index(key, -1), "d".getBytes()));
+      assert(lists.index(key, 5) == null);
+      assert(lists.set(key, 0, "a".getBytes()));
+      assert(!lists.set(key, 5, "a".getBytes()));
+
+      assert(Arrays.equals(lists.popLeft(key), "a".getBytes()));
+      assert(Arrays.equals(lists.popRight(key), "d".getBytes()));
+      assertRange(lists.range(key, 0, -1), "a", "b", "c");
+
+      lists.pushRight(key, "a".getBytes());
+      lists.pushRight(key, "a".getBytes());
+      assert(lists.remove(key, -1, "a".getBytes()) == 1);
+      assertRange(lists.range(key, 0, -1), "a", "b", "c", "a");
+      assert(lists.remove(key, 0, "a".getBytes()) == 2);
+      assertRange(lists.range(key, 0, -1), "b", "c");
+
+      for (int i = 0; i < 10; i++) {
+        lists.pushRight(key, ("e" + i).getBytes());
+      }
+      assert(lists.trim(key, 2, 4));
+      assertRange(lists.range(key, 0, -1), "e0", "e1", "e2");
+      lists.close();
+
+      // the lists are persistent
+      lists = RedisLists.open(options, DB_PATH);
+      assert(lists.length(key) == 3);
+      assert(lists.length("other".getBytes()) == 0);
+      lists.close();
+
+      lists = RedisLists.open(options, DB_PATH, true);
+      assert(lists.length(key) == 0);
+      lists.close();
+
+      options.setCreateIfMissing(false);
+      try {
+        lists = RedisLists.open(options, "/tmp/rocksdbjni_not_found");
+        assert(false);
+      } catch (RocksDBException e) {
+        assert(true);
+      }
+    } catch (RocksDBException e) {
+      System.err.format("[ERROR]: %s%n", e);
+      e.printStackTrace();
+    } finally {
+      if (lists != null) {
+        lists.close();
+      }
+      options.dispose();
+    }
+    System.out.println("Passed RedisListsTest.");
+  }
+}
@@ -0,0 +1,93 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+package org.rocksdb.test;
+
+import org.rocksdb.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class SliceTransformTest {
+  static final String DB_PATH = "/tmp/rocksdbjni_slice_transform_test";
+  static {
+    RocksDB.loadLibrary();
+  }
+
+  private static List<String> scan(RocksIterator iterator, String seekKey) {
+    List<String> keys = new ArrayList<String>();
+    if (seekKey == null) {
+      iterator.seekToFirst();
+    } else {
+      iterator.seek(seekKey.getBytes());
+    }
+    for (; iterator.isValid(); iterator.next()) {
+      String key = new String(iterator.key());
+      if (seekKey != null && !key.startsWith(seekKey)) {
+        break;
+      }
+      keys.add(key);
+    }
+    iterator.dispose();
+    return keys;
+  }
+
+  private static void testPrefixSeek(SliceTransform prefixExtractor,
+      String dbPath) throws RocksDBException {
+    RocksDB db = null;
+    Options options = new Options();
+    ReadOptions totalOrderReadOptions = new ReadOptions();
+    try {
+      options.setCreateIfMissing(true).
+          setMemTableConfig(new HashSkipListMemTableConfig()).
+          setPrefixExtractor(prefixExtractor);
+      totalOrderReadOptions.setTotalOrderSeek(true);
+      db = RocksDB.open(options, dbPath);
+      db.put("tenant1:b".getBytes(), "v".getBytes());
+      db.put("tenant1:a".getBytes(), "v".getBytes());
+      db.put("tenant2:a".getBytes(), "v".getBytes());
+      db.put("tenant10:x".getBytes(), "v".getBytes());
+
+      // per-prefix scan
+      assert(scan(db.newIterator(), "tenant1:").equals(
+          Arrays.asList("tenant1:a", "tenant1:b")));
+      assert(scan(db.newIterator(), "tenant2:").equals(
+          Arrays.asList("tenant2:a")));
+
+      // full scan across prefixes
+      assert(scan(db.newIterator(totalOrderReadOptions), null).equals(
+          Arrays.asList("tenant10:x", "tenant1:a", "tenant1:b",
+              "tenant2:a")));
+    } finally {
+      if (db != null) {
+        db.close();
+      }
+      options.dispose();
+      totalOrderReadOptions.dispose();
+    }
+  }
+
+  public static void main(String[] args) {
+    SliceTransform separator = new SeparatorPrefixTransform((byte)':');
+    SliceTransform capped = new CappedPrefixTransform(7);
+    SliceTransform fixed = new FixedPrefixTransform(7);
+    try {
+      testPrefixSeek(separator, DB_PATH + "_separator");
+      testPrefixSeek(capped, DB_PATH + "_capped");
+
+      Options options = new Options();
+      options.setPrefixExtractor(fixed);
+      options.dispose();
+    } catch (RocksDBException e) {
+      System.err.format("[ERROR]: %s%n", e);
+      e.printStackTrace();
+    } finally {
+      separator.dispose();
+      capped.dispose();
+      fixed.dispose();
+    }
+    System.out.println("Passed SliceTransformTest");
+  }
+}
@@ -0,0 +1,136 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+package org.rocksdb.test;
+
+import org.rocksdb.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SpatialDBTest {
+  static final String DB_PATH = "/tmp/rocksdbjni_spatial_db_test";
+  static {
+    RocksDB.loadLibrary();
+  }
+
+  private static Map<String, FeatureSet> query(SpatialDB db,
+      BoundingBox bbox, String index, int chunkSize)
+      throws RocksDBException {
+    Map<String, FeatureSet> results = new HashMap<String, FeatureSet>();
+    ReadOptions readOptions = new ReadOptions();
+    SpatialCursor cursor = db.query(readOptions, bbox, index, chunkSize);
+    try {
+      while (cursor.isValid()) {
+        assert(results.put(new String(cursor.blob()),
+            cursor.featureSet()) == null);
+        cursor.next();
+      }
+    } finally {
+      cursor.dispose();
+      readOptions.dispose();
+    }
+    return results;
+  }
+
+  public static void main(String[] args) {
+    SpatialDBOptions options = new SpatialDBOptions()
+        .setCacheSize(8 * 1024 * 1024)
+        .setNumThreads(2)
+        .setBulkLoad(true);
+    WriteOptions writeOptions = new WriteOptions();
+    SpatialDB db = null;
+    try {
+      List<SpatialIndexOptions> indexes = new ArrayList<SpatialIndexOptions>();
+      indexes.add(new SpatialIndexOptions("index",
+          new BoundingBox(0, 0, 128, 128), 3));
+      indexes.add(new SpatialIndexOptions("coarse",
+          new BoundingBox(0, 0, 128, 128), 1));
+      SpatialDB.create(options, DB_PATH, indexes);
+      try {
+        SpatialDB.create(options, DB_PATH, indexes);
+        assert(false);
+      } catch (RocksDBException e) {
+        assert(true);
+      }
+
+      db = SpatialDB.open(options, DB_PATH);
+      // one element per 16x16 tile
+      SpatialBatch batch = new SpatialBatch();
+      for (int x = 0; x < 8; x++) {
+        for (int y = 0; y < 8; y++) {
+          FeatureSet featureSet = new FeatureSet()
+              .set("x", (long) x)
+              .set("center", x * 16 + 8.5)
+              .set("diagonal", x == y)
+              .set("name", "tile" + x + y)
+              .setNull("none");
+          batch.add(new BoundingBox(x * 16 + 1, y * 16 + 1,
+              x * 16 + 15, y * 16 + 15), ("blob" + x + y).getBytes(),
+              featureSet, Arrays.asList("index", "coarse"));
+        }
+      }
+      assert(batch.count() == 64);
+      db.insert(writeOptions, batch);
+      batch.clear();
+      assert(batch.count() == 0);
+      db.insert(writeOptions, new BoundingBox(200, 200, 201, 201),
+          "outside".getBytes(), new FeatureSet(), "index");
+      db.compact();
+
+      // results are streamed in chunks of different sizes
+      for (int chunkSize : new int[] {1, 7, 64, 1000}) {
+        Map<String, FeatureSet> results = query(db,
+            new BoundingBox(0, 0, 31, 31), "index", chunkSize);
+        assert(results.size() == 4);
+        FeatureSet featureSet = results.get("blob11");
+        assert(featureSet != null);
+        assert(featureSet.size() == 5);
+        assert(featureSet.get("x").equals(1L));
+        assert(featureSet.get("center").equals(24.5));
+        assert(featureSet.get("diagonal").equals(true));
+        assert(featureSet.get("name").equals("tile11"));
+        assert(featureSet.contains("none"));
+        assert(featureSet.get("none") == null);
+        assert(results.get("blob10").get("diagonal").equals(false));
+      }
+      assert(query(db, new BoundingBox(0, 0, 128, 128), "index", 10)
+          .size() == 64);
+      // a coarse index may return extra elements
+      assert(query(db, new BoundingBox(0, 0, 31, 31), "coarse", 10)
+          .size() == 16);
+
+      try {
+        query(db, new BoundingBox(0, 0, 1, 1), "unknown", 10);
+        assert(false);
+      } catch (RocksDBException e) {
+        assert(true);
+      }
+      try {
+        db.insert(writeOptions, new BoundingBox(0, 0, 1, 1),
+            "x".getBytes(), new FeatureSet(), "unknown");
+        assert(false);
+      } catch (RocksDBException e) {
+        assert(true);
+      }
+      db.close();
+
+      db = SpatialDB.open(options.setBulkLoad(false), DB_PATH, true);
+      assert(query(db, new BoundingBox(0, 0, 128, 128), "index", 16)
+          .size() == 64);
+    } catch (RocksDBException e) {
+      System.err.format("[ERROR]: %s%n", e);
+      e.printStackTrace();
+    } finally {
+      if (db != null) {
+        db.close();
+      }
+      writeOptions.dispose();
+    }
+    System.out.println("Passed SpatialDBTest.");
+  }
+}
@@ -5,11 +5,13 @@
 
 package org.rocksdb.test;
 
+import java.util.Arrays;
 import java.util.Collections;
 import org.rocksdb.*;
 
 public class StatisticsCollectorTest {
   static final String db_path = "/tmp/rocksdbjni_statistics_collector_test";
+  static final long TIMEOUT_MILLIS = 10000;
   static {
     RocksDB.loadLibrary();
   }
@@ -21,23 +23,96 @@ public class StatisticsCollectorTest {
 
     RocksDB db = RocksDB.open(opt, db_path);
 
-    StatsCallbackMock callback = new StatsCallbackMock();
+    final StatsCallbackMock callback = new StatsCallbackMock();
     StatsCollectorInput statsInput = new StatsCollectorInput(stats, callback);
 
     StatisticsCollector statsCollector = new StatisticsCollector(
         Collections.singletonList(statsInput), 100);
     statsCollector.start();
 
-    Thread.sleep(1000);
+    waitFor(new Condition() {
+      @Override public boolean isMet() {
+        return callback.tickerCallbackCount > 0 &&
+            callback.histCallbackCount > 0;
+      }
+    });
 
-    assert(callback.tickerCallbackCount > 0);
-    assert(callback.histCallbackCount > 0);
+    // the callback receives the increase since the previous collection
+    for (int i = 0; i < 100; i++) {
+      db.put(("key" + i).getBytes(), "value".getBytes());
+    }
+    waitFor(new Condition() {
+      @Override public boolean isMet() {
+        return callback.keysWritten >= 100;
+      }
+    });
+    assert(callback.keysWritten == 100);
 
     statsCollector.shutDown(1000);
 
+    testFailingInput(stats);
+
     db.close();
     opt.dispose();
 
     System.out.println("Stats collector test passed.!");
   }
+
+  /**
+   * A failing input is reported and does not stop the collection of the
+   * other inputs.
+   */
+  private static void testFailingInput(Statistics stats)
+      throws InterruptedException {
+    StatisticsCollectorCallback failingCallback =
+        new StatisticsCollectorCallback() {
+          @Override public void tickerCallback(TickerType tickerType,
+              long tickerCount) {
+            throw new IllegalStateException("failing callback");
+          }
+
+          @Override public void histogramCallback(HistogramType histType,
+              HistogramData histData) {
+          }
+        };
+    final StatsCallbackMock callback = new StatsCallbackMock();
+    final int[] errorCount = {0};
+
+    StatisticsCollector statsCollector = new StatisticsCollector(
+        Arrays.asList(new StatsCollectorInput(stats, failingCallback),
+            new StatsCollectorInput(stats, callback)), 100) {
+      @Override protected void onCollectionError(
+          StatsCollectorInput statsCollectorInput, RuntimeException e) {
+        assert(e.getMessage().equals("failing callback"));
+        synchronized (errorCount) {
+          errorCount[0]++;
+        }
+      }
+    };
+    statsCollector.start();
+
+    // the collection continues after the first error
+    waitFor(new Condition() {
+      @Override public boolean isMet() {
+        synchronized (errorCount) {
+          return errorCount[0] > 1 && callback.tickerCallbackCount > 0;
+        }
+      }
+    });
+
+    statsCollector.shutDown(1000);
+  }
+
+  private interface Condition {
+    boolean isMet();
+  }
+
+  private static void waitFor(Condition condition)
+      throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+    while (!condition.isMet()) {
+      assert(System.currentTimeMillis() < deadline);
+      Thread.sleep(10);
+    }
+  }
 }
@@ -0,0 +1,114 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+
+package org.rocksdb.test;
+
+import org.rocksdb.*;
+
+public class StatisticsTest {
+  static final String db_path = "/tmp/rocksdbjni_statistics_test";
+  static {
+    RocksDB.loadLibrary();
+  }
+
+  public static void main(String[] args) {
+    long[] limits = HistogramData.bucketLimits();
+    assert(limits.length > 0);
+    assert(limits[0] == 1);
+    for (int b = 1; b < limits.length; b++) {
+      assert(limits[b] > limits[b - 1]);
+    }
+
+    Options options = new Options().createStatistics().setCreateIfMissing(true);
+    Statistics stats = options.statisticsPtr();
+    RocksDB db = null;
+    try {
+      db = RocksDB.open(options, db_path);
+      for (int i = 0; i < 100; i++) {
+        db.put(("key" + i).getBytes(), "value".getBytes());
+        db.get(("key" + i).getBytes());
+      }
+
+      HistogramData data = stats.geHistogramData(HistogramType.DB_GET);
+      assert(data.getCount() == 100);
+      assert(data.getBuckets().length == limits.length);
+      long count = 0;
+      for (long bucket : data.getBuckets()) {
+        count += bucket;
+      }
+      assert(count == 100);
+      assert(data.getMin() <= data.getMax());
+      assert(data.getSum() >= data.getCount() * (long) data.getMin());
+      assert(data.getPercentile(50) == data.getMedian());
+      assert(data.getPercentile(99) == data.getPercentile99());
+      assert(data.getPercentile(99.9) >= data.getPercentile99());
+      assert(data.getPercentile(99.99) <= data.getMax());
+
+      // merging histograms of several instances
+      HistogramData merged = data.merge(data);
+      assert(merged.getCount() == 200);
+      assert(merged.getSum() == 2 * data.getSum());
+      assert(merged.getMax() == data.getMax());
+      assert(merged.getMin() == data.getMin());
+      assert(merged.getMedian() == data.getMedian());
+      assert(Math.abs(merged.getAverage() - data.getAverage()) < 0.001);
+      assert(Math.abs(merged.getStandardDeviation() -
+          data.getStandardDeviation()) < 0.001);
+
+      // deltas since the last read
+      HistogramData delta = stats.getHistogramDelta(HistogramType.DB_GET);
+      assert(delta.getCount() == 100);
+      assert(stats.getHistogramDelta(HistogramType.DB_GET).getCount() == 0);
+      for (int i = 0; i < 10; i++) {
+        db.get(("key" + i).getBytes());
+      }
+      delta = stats.getHistogramDelta(HistogramType.DB_GET);
+      assert(delta.getCount() == 10);
+      count = 0;
+      for (long bucket : delta.getBuckets()) {
+        count += bucket;
+      }
+      assert(count == 10);
+      assert(delta.getMin() <= delta.getMedian());
+      assert(delta.getMedian() <= delta.getMax());
+      assert(delta.getMax() <= stats.geHistogramData(
+          HistogramType.DB_GET).getMax());
+
+      // all tickers and histograms at once
+      StatisticsSnapshot snapshot = stats.snapshot();
+      assert(snapshot.getTickerCount(TickerType.NUMBER_KEYS_WRITTEN) == 100);
+      assert(snapshot.getTickerCount(TickerType.NUMBER_KEYS_READ) ==
+          stats.getTickerCount(TickerType.NUMBER_KEYS_READ));
+      data = stats.geHistogramData(HistogramType.DB_GET);
+      HistogramData snapshotData =
+          snapshot.getHistogramData(HistogramType.DB_GET);
+      assert(snapshotData.getCount() == 110);
+      assert(snapshotData.getMedian() == data.getMedian());
+      assert(snapshotData.getMax() == data.getMax());
+      assert(snapshotData.getSum() == data.getSum());
+      assert(java.util.Arrays.equals(snapshotData.getBuckets(),
+          data.getBuckets()));
+
+      for (int i = 0; i < 10; i++) {
+        db.put(("key" + i).getBytes(), "value".getBytes());
+      }
+      StatisticsSnapshot snapshotDelta = stats.snapshot().delta(snapshot);
+      assert(snapshotDelta.getTickerCount(TickerType.NUMBER_KEYS_WRITTEN) ==
+          10);
+      assert(snapshotDelta.getTickerCount(TickerType.NUMBER_KEYS_READ) == 0);
+      assert(snapshotDelta.getHistogramData(HistogramType.DB_GET)
+          .getCount() == 0);
+    } catch (RocksDBException e) {
+      System.out.format("[ERROR]: %s%n", e);
+      e.printStackTrace();
+    } finally {
+      if (db != null) {
+        db.close();
+      }
+      options.dispose();
+    }
+    System.out.println("Passed StatisticsTest.");
+  }
+}
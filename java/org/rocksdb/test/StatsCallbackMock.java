@@ -8,11 +8,15 @@ package org.rocksdb.test;
 import org.rocksdb.*;
 
 public class StatsCallbackMock implements StatisticsCollectorCallback {
-  public int tickerCallbackCount = 0;
-  public int histCallbackCount = 0;
+  public volatile int tickerCallbackCount = 0;
+  public volatile int histCallbackCount = 0;
+  public volatile long keysWritten = 0;
 
   public void tickerCallback(TickerType tickerType, long tickerCount) {
     tickerCallbackCount++;
+    if (tickerType == TickerType.NUMBER_KEYS_WRITTEN) {
+      keysWritten += tickerCount;
+    }
   }
 
   public void histogramCallback(HistogramType histType,
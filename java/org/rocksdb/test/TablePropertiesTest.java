@@ -0,0 +1,107 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+package org.rocksdb.test;
+
+import org.rocksdb.*;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+public class TablePropertiesTest {
+  static final String DB_PATH = "/tmp/rocksdbjni_table_properties_test";
+  static {
+    RocksDB.loadLibrary();
+  }
+
+  static class CountingCollectorFactory
+      extends TablePropertiesCollectorFactory {
+    CountingCollectorFactory() {
+      // use a tiny batch size so that multiple batches are passed
+      super(3);
+    }
+
+    @Override public String name() {
+      return "CountingCollectorFactory";
+    }
+
+    @Override public TablePropertiesCollector newCollector() {
+      return new TablePropertiesCollector() {
+        private long count_ = 0;
+
+        @Override public void add(byte[][] keys, byte[][] values,
+            int count) {
+          assert(count <= 3);
+          count_ += count;
+        }
+
+        @Override public Map<String, byte[]> finish() {
+          Map<String, byte[]> properties = new HashMap<String, byte[]>();
+          properties.put("counting.entries",
+              ByteBuffer.allocate(8).putLong(count_).array());
+          return properties;
+        }
+      };
+    }
+  }
+
+  public static void main(String[] args) {
+    RocksDB db = null;
+    Options options = new Options();
+    TimestampRangeCollectorFactory timestampFactory =
+        new TimestampRangeCollectorFactory("ts",
+            TimestampRangeCollectorFactory.Source.VALUE, 0);
+    CountingCollectorFactory countingFactory =
+        new CountingCollectorFactory();
+    try {
+      options.setCreateIfMissing(true).
+          addTablePropertiesCollectorFactory(timestampFactory).
+          addTablePropertiesCollectorFactory(countingFactory);
+
+      db = RocksDB.open(options, DB_PATH);
+      assert(db.getPropertiesOfAllTables().isEmpty());
+      for (long i = 0; i < 10; i++) {
+        byte[] value = ByteBuffer.allocate(8).putLong(100 + i).array();
+        db.put(("key" + i).getBytes(), value);
+      }
+      // entry without timestamp
+      db.put("short".getBytes(), "v".getBytes());
+      db.close();
+
+      // recovery of the WAL writes the memtable into a table
+      db = RocksDB.open(options, DB_PATH);
+      Map<String, TableProperties> tables = db.getPropertiesOfAllTables();
+      assert(tables.size() == 1);
+      TableProperties properties = tables.values().iterator().next();
+      assert(properties.numEntries() == 11);
+      assert(properties.numDeletions() == 0);
+      assert(properties.numDataBlocks() >= 1);
+      assert(properties.dataSize() > 0);
+      assert(properties.rawKeySize() > 0);
+
+      assert(timestampFactory.minTimestamp(properties) == 100L);
+      assert(timestampFactory.maxTimestamp(properties) == 109L);
+      assert(ByteBuffer.wrap(properties.userCollectedProperties().
+          get("ts.count")).getLong() == 10);
+      assert(ByteBuffer.wrap(properties.userCollectedProperties().
+          get("counting.entries")).getLong() == 11);
+
+      ColumnFamilyHandle columnFamilyHandle =
+          db.createColumnFamily("new_cf");
+      assert(db.getPropertiesOfAllTables(columnFamilyHandle).isEmpty());
+    } catch (RocksDBException e) {
+      System.err.format("[ERROR]: %s%n", e);
+      e.printStackTrace();
+    } finally {
+      if (db != null) {
+        db.close();
+      }
+      options.dispose();
+      timestampFactory.dispose();
+      countingFactory.dispose();
+    }
+    System.out.println("Passed TablePropertiesTest.");
+  }
+}
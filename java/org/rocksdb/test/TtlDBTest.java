@@ -0,0 +1,182 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+package org.rocksdb.test;
+
+import org.rocksdb.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class TtlDBTest {
+  static final String DB_PATH = "/tmp/rocksdbjni_ttldb_test";
+  static final String CF_DB_PATH = "/tmp/rocksdbjni_ttldb_cf_test";
+  static {
+    RocksDB.loadLibrary();
+  }
+
+  private static void waitForCompaction(RocksDB db)
+      throws RocksDBException, InterruptedException {
+    for (int i = 0; i < 100 &&
+        !"0".equals(db.getProperty("rocksdb.num-files-at-level0")); i++) {
+      Thread.sleep(100);
+    }
+    assert("0".equals(db.getProperty("rocksdb.num-files-at-level0")));
+  }
+
+  private static void testTtl() throws RocksDBException,
+      InterruptedException {
+    TtlDB ttlDB = null;
+    Options options = new Options();
+    try {
+      options.setCreateIfMissing(true).
+          setLevelZeroFileNumCompactionTrigger(2);
+
+      // each reopen writes the recovered data into a level-0 file
+      ttlDB = TtlDB.open(options, DB_PATH, 1, false);
+      ttlDB.put("key1".getBytes(), "value1".getBytes());
+      ttlDB.put("key2".getBytes(), "value2".getBytes());
+      // values are returned without the internal timestamp
+      assert(Arrays.equals(ttlDB.get("key1".getBytes()),
+          "value1".getBytes()));
+      RocksIterator iterator = ttlDB.newIterator();
+      iterator.seekToFirst();
+      assert(iterator.isValid());
+      assert(Arrays.equals(iterator.value(), "value1".getBytes()));
+      iterator.dispose();
+      ttlDB.close();
+
+      // read-only mode does not remove anything
+      ttlDB = TtlDB.open(options, DB_PATH, 1, true);
+      assert(Arrays.equals(ttlDB.get("key2".getBytes()),
+          "value2".getBytes()));
+      ttlDB.close();
+
+      Thread.sleep(2000);
+      // a non positive ttl keeps the new entry forever
+      // the new file overlaps the expired one so that both are compacted
+      ttlDB = TtlDB.open(options, DB_PATH, 0, false);
+      ttlDB.put("key0".getBytes(), "value0".getBytes());
+      ttlDB.put("key3".getBytes(), "value3".getBytes());
+      ttlDB.close();
+
+      // the second level-0 file triggers the compaction
+      // which drops the expired entries
+      ttlDB = TtlDB.open(options, DB_PATH, 1, false);
+      waitForCompaction(ttlDB);
+      assert(ttlDB.get("key1".getBytes()) == null);
+      assert(ttlDB.get("key2".getBytes()) == null);
+      assert(Arrays.equals(ttlDB.get("key0".getBytes()),
+          "value0".getBytes()));
+      assert(Arrays.equals(ttlDB.get("key3".getBytes()),
+          "value3".getBytes()));
+    } finally {
+      if (ttlDB != null) {
+        ttlDB.close();
+      }
+      options.dispose();
+    }
+  }
+
+  private static void testColumnFamilies() throws RocksDBException,
+      InterruptedException {
+    TtlDB ttlDB = null;
+    Options options = new Options();
+    List<ColumnFamilyHandle> columnFamilyHandles =
+        new ArrayList<ColumnFamilyHandle>();
+    try {
+      options.setCreateIfMissing(true).
+          setCreateMissingColumnFamilies(true).
+          setLevelZeroFileNumCompactionTrigger(2);
+
+      List<String> columnFamilyNames = new ArrayList<String>();
+      columnFamilyNames.add("default");
+      columnFamilyNames.add("sessions");
+      List<Integer> ttlValues = new ArrayList<Integer>();
+      ttlValues.add(0);
+      ttlValues.add(1);
+
+      try {
+        TtlDB.open(options, CF_DB_PATH, columnFamilyNames,
+            columnFamilyHandles, new ArrayList<Integer>(), false);
+        assert(false);
+      } catch (IllegalArgumentException e) {
+        assert(columnFamilyHandles.isEmpty());
+      }
+
+      ttlDB = TtlDB.open(options, CF_DB_PATH, columnFamilyNames,
+          columnFamilyHandles, ttlValues, false);
+      assert(columnFamilyHandles.size() == 2);
+      ColumnFamilyHandle created =
+          ttlDB.createColumnFamilyWithTtl("created", 1);
+      ttlDB.put(columnFamilyHandles.get(0), "key".getBytes(),
+          "value".getBytes());
+      ttlDB.put(columnFamilyHandles.get(1), "key".getBytes(),
+          "value".getBytes());
+      ttlDB.put(created, "key".getBytes(), "value".getBytes());
+      assert(Arrays.equals(ttlDB.get(columnFamilyHandles.get(1),
+          "key".getBytes()), "value".getBytes()));
+      assert(Arrays.equals(ttlDB.get(created, "key".getBytes()),
+          "value".getBytes()));
+      ttlDB.close();
+
+      Thread.sleep(2000);
+      columnFamilyNames.add("created");
+      ttlValues.add(1);
+      for (int i = 0; i < 2; i++) {
+        columnFamilyHandles.clear();
+        ttlDB = TtlDB.open(options, CF_DB_PATH, columnFamilyNames,
+            columnFamilyHandles, ttlValues, false);
+        // the new entries surround the expired one
+        ttlDB.put(columnFamilyHandles.get(1), ("a" + i).getBytes(),
+            "value".getBytes());
+        ttlDB.put(columnFamilyHandles.get(1), ("z" + i).getBytes(),
+            "value".getBytes());
+        ttlDB.close();
+      }
+
+      columnFamilyHandles.clear();
+      ttlDB = TtlDB.open(options, CF_DB_PATH, columnFamilyNames,
+          columnFamilyHandles, ttlValues, false);
+      for (int i = 0; i < 100 && ttlDB.get(columnFamilyHandles.get(1),
+          "key".getBytes()) != null; i++) {
+        Thread.sleep(100);
+      }
+      // only the column family with a ttl drops the old entry
+      assert(Arrays.equals(ttlDB.get(columnFamilyHandles.get(0),
+          "key".getBytes()), "value".getBytes()));
+      assert(ttlDB.get(columnFamilyHandles.get(1),
+          "key".getBytes()) == null);
+      assert(Arrays.equals(ttlDB.get(columnFamilyHandles.get(1),
+          "z0".getBytes()), "value".getBytes()));
+    } finally {
+      if (ttlDB != null) {
+        ttlDB.close();
+      }
+      options.dispose();
+    }
+  }
+
+  public static void main(String[] args) throws IOException {
+    // the tests count the level 0 files and create column families
+    DirectoryHelper.removeDirectory(DB_PATH);
+    DirectoryHelper.removeDirectory(CF_DB_PATH);
+
+    try {
+      testTtl();
+      testColumnFamilies();
+    } catch (RocksDBException e) {
+      System.err.format("[ERROR]: %s%n", e);
+      e.printStackTrace();
+      assert(false);
+    } catch (InterruptedException e) {
+      System.err.format("[ERROR]: %s%n", e);
+      e.printStackTrace();
+      assert(false);
+    }
+    System.out.println("Passed TtlDBTest.");
+  }
+}
@@ -0,0 +1,167 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+package org.rocksdb.test;
+
+import org.rocksdb.*;
+
+import java.util.Arrays;
+
+public class WriteBatchWithIndexTest {
+  static final String DB_PATH = "/tmp/rocksdbjni_write_batch_with_index_test";
+  static {
+    RocksDB.loadLibrary();
+  }
+
+  private static void testIterator() {
+    WriteBatchWithIndex wbwi = new WriteBatchWithIndex();
+    try {
+      wbwi.put("k2".getBytes(), "v2".getBytes());
+      wbwi.put("k1".getBytes(), "v1".getBytes());
+      wbwi.merge("k3".getBytes(), "v3".getBytes());
+      wbwi.remove("k4".getBytes());
+      wbwi.put("k1".getBytes(), "v1b".getBytes());
+      wbwi.putLogData("blob".getBytes());
+      assert(wbwi.count() == 5);
+
+      WBWIIterator it = wbwi.newIterator();
+      // entries are ordered by key, updates of the same key by time
+      it.seekToFirst();
+      String[] keys = {"k1", "k1", "k2", "k3", "k4"};
+      String[] values = {"v1", "v1b", "v2", "v3", null};
+      WBWIIterator.WriteType[] types = {
+          WBWIIterator.WriteType.PUT, WBWIIterator.WriteType.PUT,
+          WBWIIterator.WriteType.PUT, WBWIIterator.WriteType.MERGE,
+          WBWIIterator.WriteType.DELETE};
+      for (int i = 0; i < keys.length; i++) {
+        assert(it.isValid());
+        WBWIIterator.WriteEntry entry = it.entry();
+        assert(entry.getType() == types[i]);
+        assert(Arrays.equals(entry.getKey(), keys[i].getBytes()));
+        if (values[i] == null) {
+          assert(entry.getValue() == null);
+        } else {
+          assert(Arrays.equals(entry.getValue(), values[i].getBytes()));
+        }
+        it.next();
+      }
+      assert(!it.isValid());
+
+      it.seek("k2".getBytes());
+      assert(it.isValid());
+      assert(Arrays.equals(it.entry().getKey(), "k2".getBytes()));
+      it.prev();
+      assert(Arrays.equals(it.entry().getValue(), "v1b".getBytes()));
+      it.seekToLast();
+      assert(it.entry().getType() == WBWIIterator.WriteType.DELETE);
+      it.dispose();
+    } finally {
+      wbwi.dispose();
+    }
+  }
+
+  private static void testIteratorWithBase() throws RocksDBException {
+    RocksDB db = null;
+    Options options = new Options();
+    WriteOptions writeOptions = new WriteOptions();
+    WriteBatchWithIndex wbwi = new WriteBatchWithIndex(true);
+    try {
+      options.setCreateIfMissing(true);
+      db = RocksDB.open(options, DB_PATH);
+      db.put("a".getBytes(), "db_a".getBytes());
+      db.put("c".getBytes(), "db_c".getBytes());
+      db.put("e".getBytes(), "db_e".getBytes());
+
+      wbwi.put("b".getBytes(), "batch_b".getBytes());
+      wbwi.put("c".getBytes(), "batch_c1".getBytes());
+      wbwi.put("c".getBytes(), "batch_c2".getBytes());
+      wbwi.remove("e".getBytes());
+      wbwi.put("f".getBytes(), "batch_f".getBytes());
+      // duplicate keys are overwritten in the index
+      assert(wbwi.count() == 5);
+
+      RocksIterator base = db.newIterator();
+      RocksIterator it = wbwi.newIteratorWithBase(base);
+      String[] keys = {"a", "b", "c", "f"};
+      String[] values = {"db_a", "batch_b", "batch_c2", "batch_f"};
+      it.seekToFirst();
+      for (int i = 0; i < keys.length; i++) {
+        assert(it.isValid());
+        assert(Arrays.equals(it.key(), keys[i].getBytes()));
+        assert(Arrays.equals(it.value(), values[i].getBytes()));
+        it.next();
+      }
+      assert(!it.isValid());
+
+      // read back a value staged in the batch
+      it.seek("c".getBytes());
+      assert(it.isValid());
+      assert(Arrays.equals(it.value(), "batch_c2".getBytes()));
+      it.seek("d".getBytes());
+      assert(Arrays.equals(it.key(), "f".getBytes()));
+      it.seekToLast();
+      assert(Arrays.equals(it.key(), "f".getBytes()));
+      it.prev();
+      assert(Arrays.equals(it.key(), "c".getBytes()));
+      it.status();
+      it.dispose();
+      // disposing the base iterator is a no-op now
+      base.dispose();
+
+      // the database is untouched until the batch is written
+      assert(Arrays.equals(db.get("e".getBytes()), "db_e".getBytes()));
+      db.write(writeOptions, wbwi);
+      assert(db.get("e".getBytes()) == null);
+      assert(Arrays.equals(db.get("c".getBytes()), "batch_c2".getBytes()));
+      assert(Arrays.equals(db.get("f".getBytes()), "batch_f".getBytes()));
+
+      // the iterator keeps an unreferenced batch from being finalized
+      RocksIterator unreferenced = newIteratorWithUnreferencedBatch(db);
+      for (int i = 0; i < 3; i++) {
+        System.gc();
+        System.runFinalization();
+      }
+      unreferenced.seek("unreferenced".getBytes());
+      assert(unreferenced.isValid());
+      assert(Arrays.equals(unreferenced.key(), "unreferenced".getBytes()));
+      unreferenced.dispose();
+
+      WriteBatchWithIndex duplicates = new WriteBatchWithIndex();
+      RocksIterator base2 = db.newIterator();
+      try {
+        duplicates.newIteratorWithBase(base2);
+        assert(false);
+      } catch (IllegalStateException e) {
+        assert(true);
+      } finally {
+        base2.dispose();
+        duplicates.dispose();
+      }
+    } finally {
+      wbwi.dispose();
+      if (db != null) {
+        db.close();
+      }
+      writeOptions.dispose();
+      options.dispose();
+    }
+  }
+
+  private static RocksIterator newIteratorWithUnreferencedBatch(RocksDB db) {
+    WriteBatchWithIndex batch = new WriteBatchWithIndex(true);
+    batch.put("unreferenced".getBytes(), "value".getBytes());
+    return batch.newIteratorWithBase(db.newIterator());
+  }
+
+  public static void main(String[] args) {
+    try {
+      testIterator();
+      testIteratorWithBase();
+    } catch (RocksDBException e) {
+      System.err.format("[ERROR]: %s%n", e);
+      e.printStackTrace();
+    }
+    System.out.println("Passed WriteBatchWithIndexTest.");
+  }
+}
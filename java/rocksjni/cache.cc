@@ -0,0 +1,73 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+//
+// This file implements the "bridge" between Java and C++ for
+// rocksdb::Cache.
+//
+// The java handle is a pointer to a std::shared_ptr<rocksdb::Cache>, so
+// that the cache can be shared by many table factories.
+
+#include <jni.h>
+#include <memory>
+
+#include "include/org_rocksdb_Cache.h"
+#include "include/org_rocksdb_LRUCache.h"
+#include "rocksjni/portal.h"
+#include "rocksdb/cache.h"
+
+/*
+ * Class:     org_rocksdb_LRUCache
+ * Method:    newLRUCache
+ * Signature: (JI)J
+ */
+jlong Java_org_rocksdb_LRUCache_newLRUCache(
+    JNIEnv* env, jobject jobj, jlong jcapacity, jint jnum_shard_bits) {
+  auto cache = new std::shared_ptr<rocksdb::Cache>(rocksdb::NewLRUCache(
+      static_cast<size_t>(jcapacity), static_cast<int>(jnum_shard_bits)));
+  return reinterpret_cast<jlong>(cache);
+}
+
+/*
+ * Class:     org_rocksdb_Cache
+ * Method:    capacity
+ * Signature: (J)J
+ */
+jlong Java_org_rocksdb_Cache_capacity(
+    JNIEnv* env, jobject jobj, jlong jhandle) {
+  auto cache = reinterpret_cast<std::shared_ptr<rocksdb::Cache>*>(jhandle);
+  return static_cast<jlong>((*cache)->GetCapacity());
+}
+
+/*
+ * Class:     org_rocksdb_Cache
+ * Method:    usage
+ * Signature: (J)J
+ */
+jlong Java_org_rocksdb_Cache_usage(
+    JNIEnv* env, jobject jobj, jlong jhandle) {
+  auto cache = reinterpret_cast<std::shared_ptr<rocksdb::Cache>*>(jhandle);
+  return static_cast<jlong>((*cache)->GetUsage());
+}
+
+/*
+ * Class:     org_rocksdb_Cache
+ * Method:    pinnedUsage
+ * Signature: (J)J
+ */
+jlong Java_org_rocksdb_Cache_pinnedUsage(
+    JNIEnv* env, jobject jobj, jlong jhandle) {
+  auto cache = reinterpret_cast<std::shared_ptr<rocksdb::Cache>*>(jhandle);
+  return static_cast<jlong>((*cache)->GetPinnedUsage());
+}
+
+/*
+ * Class:     org_rocksdb_Cache
+ * Method:    disposeInternal
+ * Signature: (J)V
+ */
+void Java_org_rocksdb_Cache_disposeInternal(
+    JNIEnv* env, jobject jobj, jlong jhandle) {
+  delete reinterpret_cast<std::shared_ptr<rocksdb::Cache>*>(jhandle);
+}
@@ -0,0 +1,57 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+//
+// This file implements the "bridge" between Java and C++ for
+// rocksdb::CompactionFilterFactoryV2.
+
+#include <jni.h>
+#include <memory>
+#include <string>
+
+#include "include/org_rocksdb_CompactionFilterFactory.h"
+#include "rocksjni/compactionfilterjnicallback.h"
+#include "rocksjni/portal.h"
+#include "rocksdb/compaction_filter.h"
+#include "rocksdb/slice_transform.h"
+
+/*
+ * Class:     org_rocksdb_CompactionFilterFactory
+ * Method:    createNewCompactionFilterFactory0
+ * Signature: (I)V
+ */
+void Java_org_rocksdb_CompactionFilterFactory_createNewCompactionFilterFactory0(
+    JNIEnv* env, jobject jobj, jint jprefix_length) {
+  auto* factory = new std::shared_ptr<rocksdb::CompactionFilterFactoryV2>(
+      new rocksdb::CompactionFilterFactoryJniCallback(env, jobj,
+          std::shared_ptr<const rocksdb::SliceTransform>(
+              rocksdb::NewCappedPrefixTransform(
+                  static_cast<size_t>(jprefix_length)))));
+  rocksdb::CompactionFilterFactoryJni::setHandle(env, jobj, factory);
+}
+
+/*
+ * Class:     org_rocksdb_CompactionFilterFactory
+ * Method:    createNewCompactionFilterFactory1
+ * Signature: (J)V
+ */
+void Java_org_rocksdb_CompactionFilterFactory_createNewCompactionFilterFactory1(
+    JNIEnv* env, jobject jobj, jlong jtransform_handle) {
+  auto* factory = new std::shared_ptr<rocksdb::CompactionFilterFactoryV2>(
+      new rocksdb::CompactionFilterFactoryJniCallback(env, jobj,
+          *reinterpret_cast<std::shared_ptr<const rocksdb::SliceTransform>*>(
+              jtransform_handle)));
+  rocksdb::CompactionFilterFactoryJni::setHandle(env, jobj, factory);
+}
+
+/*
+ * Class:     org_rocksdb_CompactionFilterFactory
+ * Method:    disposeInternal
+ * Signature: (J)V
+ */
+void Java_org_rocksdb_CompactionFilterFactory_disposeInternal(
+    JNIEnv* env, jobject jobj, jlong jhandle) {
+  delete reinterpret_cast<
+      std::shared_ptr<rocksdb::CompactionFilterFactoryV2>*>(jhandle);
+}
@@ -0,0 +1,169 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+//
+// This file implements the callback "bridge" between Java and C++ for
+// rocksdb::CompactionFilterV2 and rocksdb::CompactionFilterFactoryV2.
+
+#include "rocksjni/compactionfilterjnicallback.h"
+#include "rocksjni/portal.h"
+
+namespace rocksdb {
+CompactionFilterJniCallback::CompactionFilterJniCallback(
+    JNIEnv* env, jobject jCompactionFilter, const std::string& name,
+    bool attached)
+    : m_name(name), m_attached(attached) {
+  const jint rs = env->GetJavaVM(&m_jvm);
+  assert(rs == JNI_OK);
+
+  // Note: the filter is used across multiple Filter() calls,
+  // so we create a global ref
+  m_jCompactionFilter = env->NewGlobalRef(jCompactionFilter);
+}
+
+const char* CompactionFilterJniCallback::Name() const {
+  return m_name.c_str();
+}
+
+std::vector<bool> CompactionFilterJniCallback::Filter(
+    int level, const SliceVector& keys, const SliceVector& existing_values,
+    std::vector<std::string>* new_values,
+    std::vector<bool>* values_changed) const {
+  const jsize count = static_cast<jsize>(keys.size());
+  std::vector<bool> removals(keys.size(), false);
+  values_changed->assign(keys.size(), false);
+  if (count == 0) {
+    return removals;
+  }
+
+  // Note: a JNIEnv is only valid on its own thread, and Filter() runs
+  // on the compaction thread, which is usually attached by the factory
+  bool attached;
+  JNIEnv* env = JniUtil::getJniEnv(m_jvm, &attached);
+  jclass jbyte_array_clazz = env->FindClass("[B");
+  jobjectArray jkeys = env->NewObjectArray(count, jbyte_array_clazz, nullptr);
+  jobjectArray jvalues =
+      env->NewObjectArray(count, jbyte_array_clazz, nullptr);
+  jobjectArray jnew_values =
+      env->NewObjectArray(count, jbyte_array_clazz, nullptr);
+  for (jsize i = 0; i < count; i++) {
+    jbyteArray jkey = JniUtil::newByteArray(env, keys[i]);
+    env->SetObjectArrayElement(jkeys, i, jkey);
+    env->DeleteLocalRef(jkey);
+    jbyteArray jvalue = JniUtil::newByteArray(env, existing_values[i]);
+    env->SetObjectArrayElement(jvalues, i, jvalue);
+    env->DeleteLocalRef(jvalue);
+  }
+
+  jlongArray jremovals = static_cast<jlongArray>(env->CallObjectMethod(
+      m_jCompactionFilter, AbstractCompactionFilterJni::getFilterMethodId(env),
+      static_cast<jint>(level), jkeys, jvalues, jnew_values));
+
+  if (env->ExceptionCheck()) {
+    // keep the batch untouched if the Java filter failed
+    env->ExceptionClear();
+  } else {
+    if (jremovals != nullptr) {
+      const jsize words = env->GetArrayLength(jremovals);
+      jlong* bits = env->GetLongArrayElements(jremovals, nullptr);
+      for (jsize w = 0; w < words; w++) {
+        for (jsize b = 0; b < 64 && w * 64 + b < count; b++) {
+          if ((static_cast<uint64_t>(bits[w]) >> b) & 1) {
+            removals[w * 64 + b] = true;
+          }
+        }
+      }
+      env->ReleaseLongArrayElements(jremovals, bits, JNI_ABORT);
+      env->DeleteLocalRef(jremovals);
+    }
+
+    for (jsize i = 0; i < count; i++) {
+      if (removals[i]) {
+        continue;
+      }
+      jbyteArray jnew_value = static_cast<jbyteArray>(
+          env->GetObjectArrayElement(jnew_values, i));
+      if (jnew_value != nullptr) {
+        new_values->push_back(JniUtil::copyBytes(env, jnew_value));
+        (*values_changed)[i] = true;
+        env->DeleteLocalRef(jnew_value);
+      }
+    }
+  }
+
+  env->DeleteLocalRef(jkeys);
+  env->DeleteLocalRef(jvalues);
+  env->DeleteLocalRef(jnew_values);
+  env->DeleteLocalRef(jbyte_array_clazz);
+  JniUtil::releaseJniEnv(m_jvm, attached);
+  return removals;
+}
+
+CompactionFilterJniCallback::~CompactionFilterJniCallback() {
+  bool attached;
+  JNIEnv* env = JniUtil::getJniEnv(m_jvm, &attached);
+  env->DeleteGlobalRef(m_jCompactionFilter);
+  JniUtil::releaseJniEnv(m_jvm, attached);
+  // detach the thread attached by the factory for this compaction run
+  JniUtil::releaseJniEnv(m_jvm, m_attached);
+}
+
+CompactionFilterFactoryJniCallback::CompactionFilterFactoryJniCallback(
+    JNIEnv* env, jobject jFactory,
+    std::shared_ptr<const SliceTransform> prefix_extractor)
+    : CompactionFilterFactoryV2(prefix_extractor.get()),
+      m_prefix_extractor(prefix_extractor) {
+  const jint rs = env->GetJavaVM(&m_jvm);
+  assert(rs == JNI_OK);
+
+  // Note: the factory is called from background compaction
+  // threads, so we create a global ref
+  m_jFactory = env->NewGlobalRef(jFactory);
+
+  // Note: The name of a factory will not change during it's lifetime,
+  // so we cache it
+  jstring jsName = static_cast<jstring>(env->CallObjectMethod(m_jFactory,
+      CompactionFilterFactoryJni::getNameMethodId(env)));
+  m_name = JniUtil::copyString(env, jsName);  // also releases jsName
+}
+
+const char* CompactionFilterFactoryJniCallback::Name() const {
+  return m_name.c_str();
+}
+
+std::unique_ptr<CompactionFilterV2>
+    CompactionFilterFactoryJniCallback::CreateCompactionFilterV2(
+    const CompactionFilterContext& context) {
+  // Note: the thread stays attached for the whole compaction run,
+  // the compaction filter detaches it when destroyed
+  bool attached;
+  JNIEnv* env = JniUtil::getJniEnv(m_jvm, &attached);
+
+  jobject jfilter = env->CallObjectMethod(m_jFactory,
+      CompactionFilterFactoryJni::getNewCompactionFilterMethodId(env),
+      static_cast<jboolean>(context.is_full_compaction),
+      static_cast<jboolean>(context.is_manual_compaction));
+  if (env->ExceptionCheck()) {
+    env->ExceptionClear();
+    jfilter = nullptr;
+  }
+
+  if (jfilter == nullptr) {
+    JniUtil::releaseJniEnv(m_jvm, attached);
+    return std::unique_ptr<CompactionFilterV2>(nullptr);
+  }
+
+  std::unique_ptr<CompactionFilterV2> filter(
+      new CompactionFilterJniCallback(env, jfilter, m_name, attached));
+  env->DeleteLocalRef(jfilter);
+  return filter;
+}
+
+CompactionFilterFactoryJniCallback::~CompactionFilterFactoryJniCallback() {
+  bool attached;
+  JNIEnv* env = JniUtil::getJniEnv(m_jvm, &attached);
+  env->DeleteGlobalRef(m_jFactory);
+  JniUtil::releaseJniEnv(m_jvm, attached);
+}
+}  // namespace rocksdb
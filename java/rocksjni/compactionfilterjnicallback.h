@@ -0,0 +1,81 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+//
+// This file implements the callback "bridge" between Java and C++ for
+// rocksdb::CompactionFilterV2 and rocksdb::CompactionFilterFactoryV2.
+
+#ifndef JAVA_ROCKSJNI_COMPACTIONFILTERJNICALLBACK_H_
+#define JAVA_ROCKSJNI_COMPACTIONFILTERJNICALLBACK_H_
+
+#include <jni.h>
+#include <memory>
+#include <string>
+#include <vector>
+#include "rocksdb/compaction_filter.h"
+#include "rocksdb/slice.h"
+#include "rocksdb/slice_transform.h"
+
+namespace rocksdb {
+
+/**
+ * This class acts as a bridge between C++ and Java for a single
+ * org.rocksdb.AbstractCompactionFilter.
+ *
+ * All key/value pairs sharing a prefix are passed to Java in a
+ * single upcall, and the decisions are returned as a bitmap.
+ *
+ * A filter is created and destroyed by the thread doing its
+ * compaction run. That thread is attached to the JVM for the whole
+ * run rather than for every batch, and detached again (if it was
+ * attached by the factory) when the filter is destroyed.
+ */
+class CompactionFilterJniCallback : public CompactionFilterV2 {
+ public:
+    CompactionFilterJniCallback(
+      JNIEnv* env, jobject jCompactionFilter, const std::string& name,
+      bool attached);
+    virtual ~CompactionFilterJniCallback();
+    virtual std::vector<bool> Filter(int level,
+                                     const SliceVector& keys,
+                                     const SliceVector& existing_values,
+                                     std::vector<std::string>* new_values,
+                                     std::vector<bool>* values_changed)
+        const override;
+    virtual const char* Name() const override;
+
+ private:
+    JavaVM* m_jvm;
+    jobject m_jCompactionFilter;
+    std::string m_name;
+    bool m_attached;
+};
+
+/**
+ * This class acts as a bridge between C++ and Java for
+ * org.rocksdb.CompactionFilterFactory. Each call to
+ * CreateCompactionFilterV2() asks the Java factory for a new
+ * org.rocksdb.AbstractCompactionFilter.
+ *
+ * The factory shares the ownership of the prefix extractor.
+ */
+class CompactionFilterFactoryJniCallback : public CompactionFilterFactoryV2 {
+ public:
+    CompactionFilterFactoryJniCallback(
+      JNIEnv* env, jobject jFactory,
+      std::shared_ptr<const SliceTransform> prefix_extractor);
+    virtual ~CompactionFilterFactoryJniCallback();
+    virtual std::unique_ptr<CompactionFilterV2> CreateCompactionFilterV2(
+        const CompactionFilterContext& context) override;
+    virtual const char* Name() const override;
+
+ private:
+    JavaVM* m_jvm;
+    jobject m_jFactory;
+    std::string m_name;
+    std::shared_ptr<const SliceTransform> m_prefix_extractor;
+};
+}  // namespace rocksdb
+
+#endif  // JAVA_ROCKSJNI_COMPACTIONFILTERJNICALLBACK_H_
@@ -0,0 +1,282 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+//
+// This file implements the "bridge" between Java and C++ and enables
+// calling c++ rocksdb::DocumentDB methods from Java side.
+//
+// Documents are passed from Java as JSON text and returned to Java
+// serialized by JSONDocument::Serialize(). A cursor chunk is a sequence of
+// length prefixed serialized documents.
+
+#include <jni.h>
+#include <memory>
+#include <string>
+#include <vector>
+
+#include "include/org_rocksdb_DocumentDB.h"
+#include "include/org_rocksdb_DocumentCursor.h"
+#include "include/org_rocksdb_JsonDocument.h"
+#include "rocksjni/portal.h"
+#include "rocksdb/utilities/document_db.h"
+#include "rocksdb/utilities/json_document.h"
+#include "util/coding.h"
+
+namespace {
+// returns nullptr and throws a RocksDBException if jjson is not valid JSON
+rocksdb::JSONDocument* ParseJSON(JNIEnv* env, jstring jjson) {
+  const char* json = env->GetStringUTFChars(jjson, 0);
+  rocksdb::JSONDocument* document = rocksdb::JSONDocument::ParseJSON(json);
+  env->ReleaseStringUTFChars(jjson, json);
+  if (document == nullptr) {
+    rocksdb::RocksDBExceptionJni::ThrowNew(env,
+        rocksdb::Status::InvalidArgument("Failed parsing JSON"));
+  }
+  return document;
+}
+}  // namespace
+
+/*
+ * Class:     org_rocksdb_JsonDocument
+ * Method:    parse0
+ * Signature: (Ljava/lang/String;)[B
+ */
+jbyteArray Java_org_rocksdb_JsonDocument_parse0(
+    JNIEnv* env, jclass jclazz, jstring jjson) {
+  const char* json = env->GetStringUTFChars(jjson, 0);
+  std::unique_ptr<rocksdb::JSONDocument> document(
+      rocksdb::JSONDocument::ParseJSON(json));
+  env->ReleaseStringUTFChars(jjson, json);
+  if (document == nullptr) {
+    return nullptr;
+  }
+
+  // only objects can be serialized, so the parsed value is wrapped
+  rocksdb::JSONDocument wrapper(rocksdb::JSONDocument::kObject);
+  wrapper.Set("", *document);
+  std::string serialized;
+  wrapper.Serialize(&serialized);
+  return rocksdb::JniUtil::newByteArray(env, serialized);
+}
+
+/*
+ * Class:     org_rocksdb_DocumentDB
+ * Method:    openDocumentDB
+ * Signature: (IJJLjava/lang/String;[Ljava/lang/String;[Ljava/lang/String;Z)V
+ */
+void Java_org_rocksdb_DocumentDB_openDocumentDB(
+    JNIEnv* env, jobject jdocument_db, jint jbackground_threads,
+    jlong jmemtable_size, jlong jcache_size, jstring jdb_path,
+    jobjectArray jindex_names, jobjectArray jindex_descriptions,
+    jboolean jread_only) {
+  rocksdb::DocumentDBOptions options;
+  options.background_threads = static_cast<int>(jbackground_threads);
+  options.memtable_size = static_cast<uint64_t>(jmemtable_size);
+  options.cache_size = static_cast<uint64_t>(jcache_size);
+
+  std::vector<std::unique_ptr<rocksdb::JSONDocument>> descriptions;
+  std::vector<rocksdb::DocumentDB::IndexDescriptor> indexes;
+  jsize num_indexes = env->GetArrayLength(jindex_names);
+  for (jsize i = 0; i < num_indexes; ++i) {
+    jstring jname = static_cast<jstring>(
+        env->GetObjectArrayElement(jindex_names, i));
+    jstring jdescription = static_cast<jstring>(
+        env->GetObjectArrayElement(jindex_descriptions, i));
+    rocksdb::JSONDocument* description = ParseJSON(env, jdescription);
+    if (description == nullptr) {
+      // exception thrown
+      env->DeleteLocalRef(jname);
+      env->DeleteLocalRef(jdescription);
+      return;
+    }
+    descriptions.emplace_back(description);
+    rocksdb::DocumentDB::IndexDescriptor index;
+    index.name = rocksdb::JniUtil::copyString(env, jname);
+    index.description = description;
+    indexes.push_back(index);
+    env->DeleteLocalRef(jname);
+    env->DeleteLocalRef(jdescription);
+  }
+
+  rocksdb::DocumentDB* db = nullptr;
+  rocksdb::Status s = rocksdb::DocumentDB::Open(options,
+      rocksdb::JniUtil::copyString(env, jdb_path), indexes, &db, jread_only);
+
+  // as DocumentDB extends RocksDB on the java side, we can reuse
+  // the RocksDB portal here.
+  if (s.ok()) {
+    rocksdb::RocksDBJni::setHandle(env, jdocument_db, db);
+    return;
+  }
+  rocksdb::RocksDBExceptionJni::ThrowNew(env, s);
+}
+
+/*
+ * Class:     org_rocksdb_DocumentDB
+ * Method:    createIndex
+ * Signature: (JJLjava/lang/String;Ljava/lang/String;)V
+ */
+void Java_org_rocksdb_DocumentDB_createIndex(
+    JNIEnv* env, jobject jdocument_db, jlong jhandle, jlong jwrite_options,
+    jstring jname, jstring jdescription) {
+  auto db = reinterpret_cast<rocksdb::DocumentDB*>(jhandle);
+  auto write_options = reinterpret_cast<rocksdb::WriteOptions*>(
+      jwrite_options);
+  std::unique_ptr<rocksdb::JSONDocument> description(
+      ParseJSON(env, jdescription));
+  if (description == nullptr) {
+    return;
+  }
+
+  rocksdb::DocumentDB::IndexDescriptor index;
+  index.name = rocksdb::JniUtil::copyString(env, jname);
+  index.description = description.get();
+  rocksdb::Status s = db->CreateIndex(*write_options, index);
+  if (!s.ok()) {
+    rocksdb::RocksDBExceptionJni::ThrowNew(env, s);
+  }
+}
+
+/*
+ * Class:     org_rocksdb_DocumentDB
+ * Method:    dropIndex
+ * Signature: (JLjava/lang/String;)V
+ */
+void Java_org_rocksdb_DocumentDB_dropIndex(
+    JNIEnv* env, jobject jdocument_db, jlong jhandle, jstring jname) {
+  auto db = reinterpret_cast<rocksdb::DocumentDB*>(jhandle);
+  rocksdb::Status s = db->DropIndex(rocksdb::JniUtil::copyString(env, jname));
+  if (!s.ok()) {
+    rocksdb::RocksDBExceptionJni::ThrowNew(env, s);
+  }
+}
+
+/*
+ * Class:     org_rocksdb_DocumentDB
+ * Method:    insert
+ * Signature: (JJLjava/lang/String;)V
+ */
+void Java_org_rocksdb_DocumentDB_insert(
+    JNIEnv* env, jobject jdocument_db, jlong jhandle, jlong jwrite_options,
+    jstring jdocument) {
+  auto db = reinterpret_cast<rocksdb::DocumentDB*>(jhandle);
+  auto write_options = reinterpret_cast<rocksdb::WriteOptions*>(
+      jwrite_options);
+  std::unique_ptr<rocksdb::JSONDocument> document(ParseJSON(env, jdocument));
+  if (document == nullptr) {
+    return;
+  }
+
+  rocksdb::Status s = db->Insert(*write_options, *document);
+  if (!s.ok()) {
+    rocksdb::RocksDBExceptionJni::ThrowNew(env, s);
+  }
+}
+
+/*
+ * Class:     org_rocksdb_DocumentDB
+ * Method:    remove
+ * Signature: (JJJLjava/lang/String;)V
+ */
+void Java_org_rocksdb_DocumentDB_remove(
+    JNIEnv* env, jobject jdocument_db, jlong jhandle, jlong jread_options,
+    jlong jwrite_options, jstring jfilter) {
+  auto db = reinterpret_cast<rocksdb::DocumentDB*>(jhandle);
+  auto read_options = reinterpret_cast<rocksdb::ReadOptions*>(jread_options);
+  auto write_options = reinterpret_cast<rocksdb::WriteOptions*>(
+      jwrite_options);
+  std::unique_ptr<rocksdb::JSONDocument> filter(ParseJSON(env, jfilter));
+  if (filter == nullptr) {
+    return;
+  }
+
+  rocksdb::Status s = db->Remove(*read_options, *write_options, *filter);
+  if (!s.ok()) {
+    rocksdb::RocksDBExceptionJni::ThrowNew(env, s);
+  }
+}
+
+/*
+ * Class:     org_rocksdb_DocumentDB
+ * Method:    update
+ * Signature: (JJJLjava/lang/String;Ljava/lang/String;)V
+ */
+void Java_org_rocksdb_DocumentDB_update(
+    JNIEnv* env, jobject jdocument_db, jlong jhandle, jlong jread_options,
+    jlong jwrite_options, jstring jfilter, jstring jupdates) {
+  auto db = reinterpret_cast<rocksdb::DocumentDB*>(jhandle);
+  auto read_options = reinterpret_cast<rocksdb::ReadOptions*>(jread_options);
+  auto write_options = reinterpret_cast<rocksdb::WriteOptions*>(
+      jwrite_options);
+  std::unique_ptr<rocksdb::JSONDocument> filter(ParseJSON(env, jfilter));
+  if (filter == nullptr) {
+    return;
+  }
+  std::unique_ptr<rocksdb::JSONDocument> updates(ParseJSON(env, jupdates));
+  if (updates == nullptr) {
+    return;
+  }
+
+  rocksdb::Status s = db->Update(*read_options, *write_options, *filter,
+      *updates);
+  if (!s.ok()) {
+    rocksdb::RocksDBExceptionJni::ThrowNew(env, s);
+  }
+}
+
+/*
+ * Class:     org_rocksdb_DocumentDB
+ * Method:    query
+ * Signature: (JJLjava/lang/String;)J
+ */
+jlong Java_org_rocksdb_DocumentDB_query(
+    JNIEnv* env, jobject jdocument_db, jlong jhandle, jlong jread_options,
+    jstring jquery) {
+  auto db = reinterpret_cast<rocksdb::DocumentDB*>(jhandle);
+  auto read_options = reinterpret_cast<rocksdb::ReadOptions*>(jread_options);
+  std::unique_ptr<rocksdb::JSONDocument> query(ParseJSON(env, jquery));
+  if (query == nullptr) {
+    return 0;
+  }
+  // errors are reported by the returned cursor
+  return reinterpret_cast<jlong>(db->Query(*read_options, *query));
+}
+
+/*
+ * Class:     org_rocksdb_DocumentCursor
+ * Method:    nextChunk
+ * Signature: (JI)[B
+ */
+jbyteArray Java_org_rocksdb_DocumentCursor_nextChunk(
+    JNIEnv* env, jobject jcursor, jlong jhandle, jint jchunk_size) {
+  auto cursor = reinterpret_cast<rocksdb::Cursor*>(jhandle);
+  std::string chunk;
+  std::string document;
+  for (jint i = 0; i < jchunk_size && cursor->Valid(); ++i) {
+    document.clear();
+    cursor->document().Serialize(&document);
+    rocksdb::PutLengthPrefixedSlice(&chunk, document);
+    cursor->Next();
+  }
+
+  rocksdb::Status s = cursor->status();
+  if (!s.ok()) {
+    rocksdb::RocksDBExceptionJni::ThrowNew(env, s);
+    return nullptr;
+  }
+  if (chunk.empty()) {
+    return nullptr;
+  }
+  return rocksdb::JniUtil::newByteArray(env, chunk);
+}
+
+/*
+ * Class:     org_rocksdb_DocumentCursor
+ * Method:    disposeInternal
+ * Signature: (J)V
+ */
+void Java_org_rocksdb_DocumentCursor_disposeInternal(
+    JNIEnv* env, jobject jcursor, jlong jhandle) {
+  delete reinterpret_cast<rocksdb::Cursor*>(jhandle);
+}
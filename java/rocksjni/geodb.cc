@@ -0,0 +1,161 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+//
+// This file implements the "bridge" between Java and C++ and enables
+// calling c++ rocksdb::GeoDB methods from Java side.
+
+#include <jni.h>
+#include <string>
+#include <vector>
+
+#include "include/org_rocksdb_GeoDB.h"
+#include "rocksjni/portal.h"
+#include "rocksdb/db.h"
+#include "rocksdb/utilities/geo_db.h"
+#include "utilities/geodb/geodb_impl.h"
+
+/*
+ * Class:     org_rocksdb_GeoDB
+ * Method:    openGeoDB
+ * Signature: (JLjava/lang/String;)V
+ */
+void Java_org_rocksdb_GeoDB_openGeoDB(
+    JNIEnv* env, jobject jgeodb, jlong jopt_handle, jstring jdb_path) {
+  auto opt = reinterpret_cast<rocksdb::Options*>(jopt_handle);
+  rocksdb::DB* db = nullptr;
+  const char* db_path = env->GetStringUTFChars(jdb_path, 0);
+  rocksdb::Status s = rocksdb::DB::Open(*opt, db_path, &db);
+  env->ReleaseStringUTFChars(jdb_path, db_path);
+
+  if (s.ok()) {
+    // GeoDB owns the opened db from now on. As GeoDB extends RocksDB
+    // on the java side, we can reuse the RocksDB portal here.
+    rocksdb::GeoDB* geodb = new rocksdb::GeoDBImpl(db,
+        rocksdb::GeoDBOptions());
+    rocksdb::RocksDBJni::setHandle(env, jgeodb, geodb);
+    return;
+  }
+  rocksdb::RocksDBExceptionJni::ThrowNew(env, s);
+}
+
+/*
+ * Class:     org_rocksdb_GeoDB
+ * Method:    insert
+ * Signature: (JDDLjava/lang/String;[B)V
+ */
+void Java_org_rocksdb_GeoDB_insert(
+    JNIEnv* env, jobject jgeodb, jlong jhandle, jdouble jlatitude,
+    jdouble jlongitude, jstring jid, jbyteArray jvalue) {
+  auto geodb = reinterpret_cast<rocksdb::GeoDB*>(jhandle);
+  rocksdb::GeoObject object(
+      rocksdb::GeoPosition(jlatitude, jlongitude),
+      rocksdb::JniUtil::copyString(env, jid),
+      rocksdb::JniUtil::copyBytes(env, jvalue));
+
+  rocksdb::Status s = geodb->Insert(object);
+  if (!s.ok()) {
+    rocksdb::RocksDBExceptionJni::ThrowNew(env, s);
+  }
+}
+
+/*
+ * Class:     org_rocksdb_GeoDB
+ * Method:    getByPosition
+ * Signature: (JDDLjava/lang/String;)[B
+ */
+jbyteArray Java_org_rocksdb_GeoDB_getByPosition(
+    JNIEnv* env, jobject jgeodb, jlong jhandle, jdouble jlatitude,
+    jdouble jlongitude, jstring jid) {
+  auto geodb = reinterpret_cast<rocksdb::GeoDB*>(jhandle);
+  std::string id = rocksdb::JniUtil::copyString(env, jid);
+  std::string value;
+
+  rocksdb::Status s = geodb->GetByPosition(
+      rocksdb::GeoPosition(jlatitude, jlongitude), id, &value);
+  if (s.ok()) {
+    return rocksdb::JniUtil::newByteArray(env, value);
+  }
+  if (!s.IsNotFound()) {
+    rocksdb::RocksDBExceptionJni::ThrowNew(env, s);
+  }
+  return nullptr;
+}
+
+/*
+ * Class:     org_rocksdb_GeoDB
+ * Method:    getById
+ * Signature: (JLjava/lang/String;)Lorg/rocksdb/GeoObject;
+ */
+jobject Java_org_rocksdb_GeoDB_getById(
+    JNIEnv* env, jobject jgeodb, jlong jhandle, jstring jid) {
+  auto geodb = reinterpret_cast<rocksdb::GeoDB*>(jhandle);
+  std::string id = rocksdb::JniUtil::copyString(env, jid);
+  rocksdb::GeoObject object;
+
+  rocksdb::Status s = geodb->GetById(id, &object);
+  if (s.ok()) {
+    return rocksdb::GeoObjectJni::construct(env,
+        rocksdb::GeoObjectJni::getJClass(env), object);
+  }
+  if (!s.IsNotFound()) {
+    rocksdb::RocksDBExceptionJni::ThrowNew(env, s);
+  }
+  return nullptr;
+}
+
+/*
+ * Class:     org_rocksdb_GeoDB
+ * Method:    remove
+ * Signature: (JLjava/lang/String;)Z
+ */
+jboolean Java_org_rocksdb_GeoDB_remove(
+    JNIEnv* env, jobject jgeodb, jlong jhandle, jstring jid) {
+  auto geodb = reinterpret_cast<rocksdb::GeoDB*>(jhandle);
+  std::string id = rocksdb::JniUtil::copyString(env, jid);
+
+  rocksdb::Status s = geodb->Remove(id);
+  if (s.ok()) {
+    return JNI_TRUE;
+  }
+  if (!s.IsNotFound()) {
+    rocksdb::RocksDBExceptionJni::ThrowNew(env, s);
+  }
+  return JNI_FALSE;
+}
+
+/*
+ * Class:     org_rocksdb_GeoDB
+ * Method:    searchRadial
+ * Signature: (JDDDI)Ljava/util/List;
+ */
+jobject Java_org_rocksdb_GeoDB_searchRadial(
+    JNIEnv* env, jobject jgeodb, jlong jhandle, jdouble jlatitude,
+    jdouble jlongitude, jdouble jradius, jint jlimit) {
+  auto geodb = reinterpret_cast<rocksdb::GeoDB*>(jhandle);
+  std::vector<rocksdb::GeoObject> objects;
+
+  rocksdb::Status s = geodb->SearchRadial(
+      rocksdb::GeoPosition(jlatitude, jlongitude), jradius, &objects,
+      static_cast<int>(jlimit));
+  if (!s.ok()) {
+    rocksdb::RocksDBExceptionJni::ThrowNew(env, s);
+    return nullptr;
+  }
+
+  jclass jListClazz = env->FindClass("java/util/ArrayList");
+  jmethodID midList = rocksdb::ListJni::getArrayListConstructorMethodId(
+      env, jListClazz);
+  jobject jobject_list = env->NewObject(jListClazz, midList,
+      static_cast<jint>(objects.size()));
+  jclass jGeoObjectClazz = rocksdb::GeoObjectJni::getJClass(env);
+  for (const auto& object : objects) {
+    jobject jgeo_object = rocksdb::GeoObjectJni::construct(env,
+        jGeoObjectClazz, object);
+    env->CallBooleanMethod(jobject_list,
+        rocksdb::ListJni::getListAddMethodId(env), jgeo_object);
+    env->DeleteLocalRef(jgeo_object);
+  }
+  return jobject_list;
+}
@@ -26,9 +26,11 @@
 #include "rocksdb/statistics.h"
 #include "rocksdb/memtablerep.h"
 #include "rocksdb/table.h"
+#include "rocksdb/table_properties.h"
 #include "rocksdb/slice_transform.h"
 #include "rocksdb/rate_limiter.h"
 #include "rocksdb/comparator.h"
+#include "rocksdb/compaction_filter.h"
 #include "rocksdb/merge_operator.h"
 #include "utilities/merge_operators.h"
 
@@ -162,6 +164,18 @@ void Java_org_rocksdb_Options_setMergeOperator(
       (mergeOperatorHandle));
 }
 
+/*
+ * Class:     org_rocksdb_Options
+ * Method:    setCompactionFilterFactory
+ * Signature: (JJ)V
+ */
+void Java_org_rocksdb_Options_setCompactionFilterFactory(
+    JNIEnv* env, jobject jobj, jlong jhandle, jlong jfactory_handle) {
+  reinterpret_cast<rocksdb::Options*>(jhandle)->compaction_filter_factory_v2 =
+      *(reinterpret_cast<std::shared_ptr<rocksdb::CompactionFilterFactoryV2>*>(
+          jfactory_handle));
+}
+
 /*
  * Class:     org_rocksdb_Options
  * Method:    setWriteBufferSize
@@ -667,6 +681,32 @@ void Java_org_rocksdb_Options_useFixedLengthPrefixExtractor(
           static_cast<int>(jprefix_length)));
 }
 
+/*
+ * Class:     org_rocksdb_Options
+ * Method:    setPrefixExtractor
+ * Signature: (JJ)V
+ */
+void Java_org_rocksdb_Options_setPrefixExtractor(
+    JNIEnv* env, jobject jobj, jlong jhandle, jlong jtransform_handle) {
+  reinterpret_cast<rocksdb::Options*>(jhandle)->prefix_extractor =
+      *reinterpret_cast<std::shared_ptr<const rocksdb::SliceTransform>*>(
+          jtransform_handle);
+}
+
+/*
+ * Class:     org_rocksdb_Options
+ * Method:    addTablePropertiesCollectorFactory
+ * Signature: (JJ)V
+ */
+void Java_org_rocksdb_Options_addTablePropertiesCollectorFactory(
+    JNIEnv* env, jobject jobj, jlong jhandle, jlong jfactory_handle) {
+  reinterpret_cast<rocksdb::Options*>(jhandle)->
+      table_properties_collector_factories.push_back(
+          *reinterpret_cast<
+              std::shared_ptr<rocksdb::TablePropertiesCollectorFactory>*>(
+                  jfactory_handle));
+}
+
 /*
  * Class:     org_rocksdb_Options
  * Method:    walTtlSeconds
@@ -3607,6 +3647,59 @@ jboolean Java_org_rocksdb_ReadOptions_tailing(
   return reinterpret_cast<rocksdb::ReadOptions*>(jhandle)->tailing;
 }
 
+/*
+ * Class:     org_rocksdb_ReadOptions
+ * Method:    setTotalOrderSeek
+ * Signature: (JZ)V
+ */
+void Java_org_rocksdb_ReadOptions_setTotalOrderSeek(
+    JNIEnv* env, jobject jobj, jlong jhandle, jboolean jtotal_order_seek) {
+  reinterpret_cast<rocksdb::ReadOptions*>(jhandle)->total_order_seek =
+      static_cast<bool>(jtotal_order_seek);
+}
+
+/*
+ * Class:     org_rocksdb_ReadOptions
+ * Method:    totalOrderSeek
+ * Signature: (J)Z
+ */
+jboolean Java_org_rocksdb_ReadOptions_totalOrderSeek(
+    JNIEnv* env, jobject jobj, jlong jhandle) {
+  return reinterpret_cast<rocksdb::ReadOptions*>(jhandle)->total_order_seek;
+}
+
+/*
+ * Class:     org_rocksdb_ReadOptions
+ * Method:    setIterateUpperBound
+ * Signature: (JJ)V
+ */
+void Java_org_rocksdb_ReadOptions_setIterateUpperBound(
+    JNIEnv* env, jobject jobj, jlong jhandle, jlong jslice_handle) {
+  reinterpret_cast<rocksdb::ReadOptions*>(jhandle)->iterate_upper_bound =
+      reinterpret_cast<rocksdb::Slice*>(jslice_handle);
+}
+
+/*
+ * Class:     org_rocksdb_ReadOptions
+ * Method:    setReadTier
+ * Signature: (JB)V
+ */
+void Java_org_rocksdb_ReadOptions_setReadTier(
+    JNIEnv* env, jobject jobj, jlong jhandle, jbyte jread_tier) {
+  reinterpret_cast<rocksdb::ReadOptions*>(jhandle)->read_tier =
+      static_cast<rocksdb::ReadTier>(jread_tier);
+}
+
+/*
+ * Class:     org_rocksdb_ReadOptions
+ * Method:    readTier
+ * Signature: (J)B
+ */
+jbyte Java_org_rocksdb_ReadOptions_readTier(
+    JNIEnv* env, jobject jobj, jlong jhandle) {
+  return reinterpret_cast<rocksdb::ReadOptions*>(jhandle)->read_tier;
+}
+
 /*
  * Class:     org_rocksdb_ComparatorOptions
  * Method:    newComparatorOptions
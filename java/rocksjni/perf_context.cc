@@ -0,0 +1,110 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+//
+// This file implements the "bridge" between Java and C++ for
+// rocksdb::PerfContext and rocksdb::IOStatsContext.
+//
+// Both contexts are thread local, JNI calls run on the calling java
+// thread and therefore access the context of that thread.
+
+#include <jni.h>
+
+#include "include/org_rocksdb_PerfContext.h"
+#include "include/org_rocksdb_IOStatsContext.h"
+#include "rocksdb/perf_context.h"
+#include "rocksdb/iostats_context.h"
+
+/*
+ * Class:     org_rocksdb_PerfContext
+ * Method:    setPerfLevel
+ * Signature: (B)V
+ */
+void Java_org_rocksdb_PerfContext_setPerfLevel(
+    JNIEnv* env, jclass jclazz, jbyte jperf_level) {
+  rocksdb::SetPerfLevel(static_cast<rocksdb::PerfLevel>(jperf_level));
+}
+
+/*
+ * Class:     org_rocksdb_PerfContext
+ * Method:    getPerfLevel
+ * Signature: ()B
+ */
+jbyte Java_org_rocksdb_PerfContext_getPerfLevel(
+    JNIEnv* env, jclass jclazz) {
+  return static_cast<jbyte>(rocksdb::GetPerfLevel());
+}
+
+/*
+ * Class:     org_rocksdb_PerfContext
+ * Method:    reset0
+ * Signature: ()V
+ */
+void Java_org_rocksdb_PerfContext_reset0(
+    JNIEnv* env, jclass jclazz) {
+  rocksdb::perf_context.Reset();
+}
+
+/*
+ * Class:     org_rocksdb_PerfContext
+ * Method:    getCounters
+ * Signature: ([J)V
+ */
+void Java_org_rocksdb_PerfContext_getCounters(
+    JNIEnv* env, jclass jclazz, jlongArray jcounters) {
+  const rocksdb::PerfContext& ctx = rocksdb::perf_context;
+  // the order has to match the indexes in PerfContext.java
+  const jlong counters[] = {
+      static_cast<jlong>(ctx.user_key_comparison_count),
+      static_cast<jlong>(ctx.block_cache_hit_count),
+      static_cast<jlong>(ctx.block_read_count),
+      static_cast<jlong>(ctx.block_read_byte),
+      static_cast<jlong>(ctx.block_read_time),
+      static_cast<jlong>(ctx.block_checksum_time),
+      static_cast<jlong>(ctx.block_decompress_time),
+      static_cast<jlong>(ctx.internal_key_skipped_count),
+      static_cast<jlong>(ctx.internal_delete_skipped_count),
+      static_cast<jlong>(ctx.get_snapshot_time),
+      static_cast<jlong>(ctx.get_from_memtable_time),
+      static_cast<jlong>(ctx.get_from_memtable_count),
+      static_cast<jlong>(ctx.get_post_process_time),
+      static_cast<jlong>(ctx.get_from_output_files_time),
+      static_cast<jlong>(ctx.seek_child_seek_time),
+      static_cast<jlong>(ctx.seek_child_seek_count),
+      static_cast<jlong>(ctx.seek_min_heap_time),
+      static_cast<jlong>(ctx.seek_internal_seek_time),
+      static_cast<jlong>(ctx.find_next_user_entry_time),
+      static_cast<jlong>(ctx.write_pre_and_post_process_time),
+      static_cast<jlong>(ctx.write_wal_time),
+      static_cast<jlong>(ctx.write_memtable_time)};
+  env->SetLongArrayRegion(jcounters, 0,
+      sizeof(counters) / sizeof(counters[0]), counters);
+}
+
+/*
+ * Class:     org_rocksdb_IOStatsContext
+ * Method:    reset0
+ * Signature: ()V
+ */
+void Java_org_rocksdb_IOStatsContext_reset0(
+    JNIEnv* env, jclass jclazz) {
+  rocksdb::iostats_context.Reset();
+}
+
+/*
+ * Class:     org_rocksdb_IOStatsContext
+ * Method:    getCounters
+ * Signature: ([J)V
+ */
+void Java_org_rocksdb_IOStatsContext_getCounters(
+    JNIEnv* env, jclass jclazz, jlongArray jcounters) {
+  const rocksdb::IOStatsContext& ctx = rocksdb::iostats_context;
+  // the order has to match the indexes in IOStatsContext.java
+  const jlong counters[] = {
+      static_cast<jlong>(ctx.thread_pool_id),
+      static_cast<jlong>(ctx.bytes_written),
+      static_cast<jlong>(ctx.bytes_read)};
+  env->SetLongArrayRegion(jcounters, 0,
+      sizeof(counters) / sizeof(counters[0]), counters);
+}
@@ -18,7 +18,12 @@
 #include "rocksdb/db.h"
 #include "rocksdb/filter_policy.h"
 #include "rocksdb/status.h"
+#include "rocksdb/table_properties.h"
+#include "rocksdb/compaction_filter.h"
+#include "rocksdb/slice_transform.h"
 #include "rocksdb/utilities/backupable_db.h"
+#include "rocksdb/utilities/geo_db.h"
+#include "rocksdb/utilities/write_batch_with_index.h"
 #include "rocksjni/comparatorjnicallback.h"
 
 namespace rocksdb {
@@ -288,10 +293,93 @@ class WriteBatchJni {
   }
 };
 
+class WriteBatchWithIndexJni {
+ public:
+  static jclass getJClass(JNIEnv* env) {
+    jclass jclazz = env->FindClass("org/rocksdb/WriteBatchWithIndex");
+    assert(jclazz != nullptr);
+    return jclazz;
+  }
+
+  static jfieldID getHandleFieldID(JNIEnv* env) {
+    static jfieldID fid = env->GetFieldID(
+        getJClass(env), "nativeHandle_", "J");
+    assert(fid != nullptr);
+    return fid;
+  }
+
+  // Get the pointer to rocksdb::WriteBatchWithIndex of the specified
+  // org.rocksdb.WriteBatchWithIndex.
+  static rocksdb::WriteBatchWithIndex* getHandle(JNIEnv* env, jobject jwbwi) {
+    return reinterpret_cast<rocksdb::WriteBatchWithIndex*>(
+        env->GetLongField(jwbwi, getHandleFieldID(env)));
+  }
+
+  // Pass the rocksdb::WriteBatchWithIndex pointer to the java side.
+  static void setHandle(JNIEnv* env, jobject jwbwi,
+      rocksdb::WriteBatchWithIndex* wbwi) {
+    env->SetLongField(
+        jwbwi, getHandleFieldID(env),
+        reinterpret_cast<jlong>(wbwi));
+  }
+};
+
+class WriteEntryJni {
+ public:
+  // Get the java class id of org.rocksdb.WBWIIterator.WriteEntry.
+  static jclass getJClass(JNIEnv* env) {
+    jclass jclazz = env->FindClass("org/rocksdb/WBWIIterator$WriteEntry");
+    assert(jclazz != nullptr);
+    return jclazz;
+  }
+
+  static jmethodID getConstructorMethodId(JNIEnv* env, jclass jclazz) {
+    static jmethodID mid = env->GetMethodID(jclazz, "<init>", "(I[B[B)V");
+    assert(mid != nullptr);
+    return mid;
+  }
+};
+
+class GeoObjectJni {
+ public:
+  // Get the java class id of org.rocksdb.GeoObject.
+  static jclass getJClass(JNIEnv* env) {
+    jclass jclazz = env->FindClass("org/rocksdb/GeoObject");
+    assert(jclazz != nullptr);
+    return jclazz;
+  }
+
+  static jmethodID getConstructorMethodId(JNIEnv* env, jclass jclazz) {
+    static jmethodID mid = env->GetMethodID(jclazz, "<init>",
+        "(DDLjava/lang/String;[B)V");
+    assert(mid != nullptr);
+    return mid;
+  }
+
+  // Create a new org.rocksdb.GeoObject holding a copy of the
+  // given rocksdb::GeoObject.
+  static jobject construct(JNIEnv* env, jclass jclazz,
+      const rocksdb::GeoObject& object) {
+    jstring jid = env->NewStringUTF(object.id.c_str());
+    jbyteArray jvalue = env->NewByteArray(
+        static_cast<jsize>(object.value.size()));
+    env->SetByteArrayRegion(jvalue, 0,
+        static_cast<jsize>(object.value.size()),
+        reinterpret_cast<const jbyte*>(object.value.data()));
+    jobject jgeo_object = env->NewObject(jclazz,
+        getConstructorMethodId(env, jclazz),
+        object.position.latitude, object.position.longitude, jid, jvalue);
+    env->DeleteLocalRef(jid);
+    env->DeleteLocalRef(jvalue);
+    return jgeo_object;
+  }
+};
+
 class HistogramDataJni {
  public:
   static jmethodID getConstructorMethodId(JNIEnv* env, jclass jclazz) {
-    static jmethodID mid = env->GetMethodID(jclazz, "<init>", "(DDDDD)V");
+    static jmethodID mid = env->GetMethodID(
+        jclazz, "<init>", "(DDDDDDDJJ[J)V");
     assert(mid != nullptr);
     return mid;
   }
@@ -713,6 +801,306 @@ class JniUtil {
       env->ReleaseStringUTFChars(js, utf);
       return name;
     }
+
+    /**
+     * Copies a jbyteArray to a std::string
+     */
+    static std::string copyBytes(JNIEnv* env, jbyteArray jbytes) {
+      const jsize len = env->GetArrayLength(jbytes);
+      std::string bytes(static_cast<size_t>(len), '\0');
+      env->GetByteArrayRegion(jbytes, 0, len,
+          reinterpret_cast<jbyte*>(&bytes[0]));
+      return bytes;
+    }
+
+    /**
+     * Creates a new jbyteArray holding a copy of the given Slice
+     */
+    static jbyteArray newByteArray(JNIEnv* env, const Slice& slice) {
+      jbyteArray jbytes = env->NewByteArray(static_cast<jsize>(slice.size()));
+      env->SetByteArrayRegion(jbytes, 0, static_cast<jsize>(slice.size()),
+          reinterpret_cast<const jbyte*>(slice.data()));
+      return jbytes;
+    }
+
+    /**
+     * Get a JNIEnv for the current native thread, attaching the
+     * thread to the JVM if necessary. {@code attached} is set to
+     * true if the thread was attached by this call and so must be
+     * detached again through releaseJniEnv.
+     */
+    static JNIEnv* getJniEnv(JavaVM* jvm, bool* attached) {
+      JNIEnv* env = nullptr;
+      *attached = false;
+      jint rs = jvm->GetEnv(reinterpret_cast<void**>(&env), JNI_VERSION_1_2);
+      if (rs == JNI_EDETACHED) {
+        rs = jvm->AttachCurrentThread(reinterpret_cast<void**>(&env), NULL);
+        *attached = (rs == JNI_OK);
+      }
+      assert(rs == JNI_OK);
+      return env;
+    }
+
+    /**
+     * Detaches the current native thread if it was attached
+     * by getJniEnv.
+     */
+    static void releaseJniEnv(JavaVM* jvm, bool attached) {
+      if (attached) {
+        jvm->DetachCurrentThread();
+      }
+    }
+};
+
+class HashMapJni {
+ public:
+  // Get the java class id of java.util.HashMap.
+  static jclass getJClass(JNIEnv* env) {
+    jclass jclazz = env->FindClass("java/util/HashMap");
+    assert(jclazz != nullptr);
+    return jclazz;
+  }
+
+  // Construct an empty java.util.HashMap with the given initial capacity.
+  static jobject construct(JNIEnv* env, uint32_t initial_capacity) {
+    static jmethodID mid = env->GetMethodID(getJClass(env), "<init>", "(I)V");
+    assert(mid != nullptr);
+    return env->NewObject(getJClass(env), mid,
+        static_cast<jint>(initial_capacity));
+  }
+
+  // Get the java method id of java.util.Map.put().
+  static jmethodID getMapPutMethodId(JNIEnv* env) {
+    jclass jclazz = env->FindClass("java/util/Map");
+    assert(jclazz != nullptr);
+    static jmethodID mid = env->GetMethodID(jclazz, "put",
+        "(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;");
+    assert(mid != nullptr);
+    return mid;
+  }
+};
+
+class TablePropertiesJni {
+ public:
+  // Get the java class id of org.rocksdb.TableProperties.
+  static jclass getJClass(JNIEnv* env) {
+    jclass jclazz = env->FindClass("org/rocksdb/TableProperties");
+    assert(jclazz != nullptr);
+    return jclazz;
+  }
+
+  // Create a new org.rocksdb.TableProperties from
+  // the given rocksdb::TableProperties.
+  static jobject construct(JNIEnv* env, const TableProperties& props) {
+    static jmethodID mid = env->GetMethodID(getJClass(env), "<init>",
+        "(JJJJJJJJJJLjava/lang/String;Ljava/util/Map;)V");
+    assert(mid != nullptr);
+
+    jobject juser_props = HashMapJni::construct(env,
+        static_cast<uint32_t>(props.user_collected_properties.size()));
+    for (const auto& prop : props.user_collected_properties) {
+      jstring jname = env->NewStringUTF(prop.first.c_str());
+      jbyteArray jvalue = JniUtil::newByteArray(env, prop.second);
+      env->CallObjectMethod(juser_props, HashMapJni::getMapPutMethodId(env),
+          jname, jvalue);
+      env->DeleteLocalRef(jname);
+      env->DeleteLocalRef(jvalue);
+    }
+    jstring jfilter_policy_name =
+        env->NewStringUTF(props.filter_policy_name.c_str());
+
+    jobject jprops = env->NewObject(getJClass(env), mid,
+        static_cast<jlong>(props.data_size),
+        static_cast<jlong>(props.index_size),
+        static_cast<jlong>(props.filter_size),
+        static_cast<jlong>(props.raw_key_size),
+        static_cast<jlong>(props.raw_value_size),
+        static_cast<jlong>(props.num_data_blocks),
+        static_cast<jlong>(props.num_entries),
+        static_cast<jlong>(GetDeletedKeys(props.user_collected_properties)),
+        static_cast<jlong>(props.format_version),
+        static_cast<jlong>(props.fixed_key_len),
+        jfilter_policy_name, juser_props);
+    env->DeleteLocalRef(jfilter_policy_name);
+    env->DeleteLocalRef(juser_props);
+    return jprops;
+  }
+};
+
+class AbstractTablePropertiesCollectorFactoryJni {
+ public:
+  // Get the java class id of
+  // org.rocksdb.AbstractTablePropertiesCollectorFactory.
+  static jclass getJClass(JNIEnv* env) {
+    jclass jclazz = env->FindClass(
+        "org/rocksdb/AbstractTablePropertiesCollectorFactory");
+    assert(jclazz != nullptr);
+    return jclazz;
+  }
+
+  // Get the field id of the member variable that stores the pointer
+  // to std::shared_ptr<rocksdb::TablePropertiesCollectorFactory>.
+  static jfieldID getHandleFieldID(JNIEnv* env) {
+    static jfieldID fid = env->GetFieldID(
+        getJClass(env), "nativeHandle_", "J");
+    assert(fid != nullptr);
+    return fid;
+  }
+
+  // Pass the std::shared_ptr<rocksdb::TablePropertiesCollectorFactory>
+  // pointer to the java side.
+  static void setHandle(JNIEnv* env, jobject jobj,
+      std::shared_ptr<rocksdb::TablePropertiesCollectorFactory>* op) {
+    env->SetLongField(
+        jobj, getHandleFieldID(env),
+        reinterpret_cast<jlong>(op));
+  }
+};
+
+class TablePropertiesCollectorFactoryJni {
+ public:
+  // Get the java class id of org.rocksdb.TablePropertiesCollectorFactory.
+  static jclass getJClass(JNIEnv* env) {
+    jclass jclazz = env->FindClass(
+        "org/rocksdb/TablePropertiesCollectorFactory");
+    assert(jclazz != nullptr);
+    return jclazz;
+  }
+
+  // Get the java method `name` of
+  // org.rocksdb.TablePropertiesCollectorFactory.
+  static jmethodID getNameMethodId(JNIEnv* env) {
+    static jmethodID mid = env->GetMethodID(
+        getJClass(env), "name", "()Ljava/lang/String;");
+    assert(mid != nullptr);
+    return mid;
+  }
+
+  // Get the java method `newCollector` of
+  // org.rocksdb.TablePropertiesCollectorFactory.
+  static jmethodID getNewCollectorMethodId(JNIEnv* env) {
+    static jmethodID mid = env->GetMethodID(getJClass(env), "newCollector",
+        "()Lorg/rocksdb/TablePropertiesCollector;");
+    assert(mid != nullptr);
+    return mid;
+  }
+};
+
+class TablePropertiesCollectorJni {
+ public:
+  // Get the java class id of org.rocksdb.TablePropertiesCollector.
+  static jclass getJClass(JNIEnv* env) {
+    jclass jclazz = env->FindClass("org/rocksdb/TablePropertiesCollector");
+    assert(jclazz != nullptr);
+    return jclazz;
+  }
+
+  // Get the java method `add` of org.rocksdb.TablePropertiesCollector.
+  static jmethodID getAddMethodId(JNIEnv* env) {
+    static jmethodID mid = env->GetMethodID(getJClass(env), "add",
+        "([[B[[BI)V");
+    assert(mid != nullptr);
+    return mid;
+  }
+
+  // Get the java method `finish0` of org.rocksdb.TablePropertiesCollector.
+  static jmethodID getFinishMethodId(JNIEnv* env) {
+    static jmethodID mid = env->GetMethodID(getJClass(env), "finish0",
+        "()[[B");
+    assert(mid != nullptr);
+    return mid;
+  }
+};
+
+class CompactionFilterFactoryJni {
+ public:
+  // Get the java class id of org.rocksdb.CompactionFilterFactory.
+  static jclass getJClass(JNIEnv* env) {
+    jclass jclazz = env->FindClass("org/rocksdb/CompactionFilterFactory");
+    assert(jclazz != nullptr);
+    return jclazz;
+  }
+
+  // Get the field id of the member variable that stores the pointer
+  // to std::shared_ptr<rocksdb::CompactionFilterFactoryV2>.
+  static jfieldID getHandleFieldID(JNIEnv* env) {
+    static jfieldID fid = env->GetFieldID(
+        getJClass(env), "nativeHandle_", "J");
+    assert(fid != nullptr);
+    return fid;
+  }
+
+  // Pass the std::shared_ptr<rocksdb::CompactionFilterFactoryV2>
+  // pointer to the java side.
+  static void setHandle(JNIEnv* env, jobject jobj,
+      std::shared_ptr<rocksdb::CompactionFilterFactoryV2>* op) {
+    env->SetLongField(
+        jobj, getHandleFieldID(env),
+        reinterpret_cast<jlong>(op));
+  }
+
+  // Get the java method `name` of org.rocksdb.CompactionFilterFactory.
+  static jmethodID getNameMethodId(JNIEnv* env) {
+    static jmethodID mid = env->GetMethodID(
+        getJClass(env), "name", "()Ljava/lang/String;");
+    assert(mid != nullptr);
+    return mid;
+  }
+
+  // Get the java method `newCompactionFilter` of
+  // org.rocksdb.CompactionFilterFactory.
+  static jmethodID getNewCompactionFilterMethodId(JNIEnv* env) {
+    static jmethodID mid = env->GetMethodID(getJClass(env),
+        "newCompactionFilter", "(ZZ)Lorg/rocksdb/AbstractCompactionFilter;");
+    assert(mid != nullptr);
+    return mid;
+  }
+};
+
+class AbstractCompactionFilterJni {
+ public:
+  // Get the java class id of org.rocksdb.AbstractCompactionFilter.
+  static jclass getJClass(JNIEnv* env) {
+    jclass jclazz = env->FindClass("org/rocksdb/AbstractCompactionFilter");
+    assert(jclazz != nullptr);
+    return jclazz;
+  }
+
+  // Get the java method `filter0` of org.rocksdb.AbstractCompactionFilter.
+  static jmethodID getFilterMethodId(JNIEnv* env) {
+    static jmethodID mid = env->GetMethodID(getJClass(env), "filter0",
+        "(I[[B[[B[[B)[J");
+    assert(mid != nullptr);
+    return mid;
+  }
+};
+
+class SliceTransformJni {
+ public:
+  // Get the java class id of org.rocksdb.SliceTransform.
+  static jclass getJClass(JNIEnv* env) {
+    jclass jclazz = env->FindClass("org/rocksdb/SliceTransform");
+    assert(jclazz != nullptr);
+    return jclazz;
+  }
+
+  // Get the field id of the member variable that stores the pointer
+  // to std::shared_ptr<const rocksdb::SliceTransform>.
+  static jfieldID getHandleFieldID(JNIEnv* env) {
+    static jfieldID fid = env->GetFieldID(
+        getJClass(env), "nativeHandle_", "J");
+    assert(fid != nullptr);
+    return fid;
+  }
+
+  // Pass the std::shared_ptr<const rocksdb::SliceTransform> pointer
+  // to the java side.
+  static void setHandle(JNIEnv* env, jobject jobj,
+      std::shared_ptr<const rocksdb::SliceTransform>* op) {
+    env->SetLongField(
+        jobj, getHandleFieldID(env),
+        reinterpret_cast<jlong>(op));
+  }
 };
 
 }  // namespace rocksdb
@@ -0,0 +1,281 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+//
+// This file implements the "bridge" between Java and C++ and enables
+// calling c++ rocksdb::RedisLists methods from Java side.
+//
+// RedisLists reports errors by throwing a RedisListException, which must
+// not cross the JNI boundary. Every call catches it and throws a
+// RocksDBException on the Java side instead.
+
+#include <jni.h>
+#include <string>
+#include <vector>
+
+#include "include/org_rocksdb_RedisLists.h"
+#include "rocksjni/portal.h"
+#include "utilities/redis/redis_lists.h"
+
+namespace {
+void ThrowRedisListException(JNIEnv* env,
+                             const rocksdb::RedisListException& e) {
+  rocksdb::RocksDBExceptionJni::ThrowNew(env,
+      rocksdb::Status::Corruption(e.what()));
+}
+}  // namespace
+
+/*
+ * Class:     org_rocksdb_RedisLists
+ * Method:    open
+ * Signature: (JLjava/lang/String;Z)J
+ */
+jlong Java_org_rocksdb_RedisLists_open(
+    JNIEnv* env, jobject jredis_lists, jlong joptions_handle,
+    jstring jdb_path, jboolean jdestructive) {
+  auto options = reinterpret_cast<rocksdb::Options*>(joptions_handle);
+  try {
+    auto redis_lists = new rocksdb::RedisLists(
+        rocksdb::JniUtil::copyString(env, jdb_path), *options, jdestructive);
+    return reinterpret_cast<jlong>(redis_lists);
+  } catch (const rocksdb::RedisListException& e) {
+    // the constructor only throws if the database can not be opened
+    rocksdb::RocksDBExceptionJni::ThrowNew(env,
+        rocksdb::Status::IOError("Failed to open RedisLists database"));
+  }
+  return 0;
+}
+
+/*
+ * Class:     org_rocksdb_RedisLists
+ * Method:    length
+ * Signature: (J[B)I
+ */
+jint Java_org_rocksdb_RedisLists_length(
+    JNIEnv* env, jobject jredis_lists, jlong jhandle, jbyteArray jkey) {
+  auto redis_lists = reinterpret_cast<rocksdb::RedisLists*>(jhandle);
+  try {
+    return redis_lists->Length(rocksdb::JniUtil::copyBytes(env, jkey));
+  } catch (const rocksdb::RedisListException& e) {
+    ThrowRedisListException(env, e);
+  }
+  return 0;
+}
+
+/*
+ * Class:     org_rocksdb_RedisLists
+ * Method:    index
+ * Signature: (J[BI)[B
+ */
+jbyteArray Java_org_rocksdb_RedisLists_index(
+    JNIEnv* env, jobject jredis_lists, jlong jhandle, jbyteArray jkey,
+    jint jindex) {
+  auto redis_lists = reinterpret_cast<rocksdb::RedisLists*>(jhandle);
+  try {
+    std::string result;
+    if (redis_lists->Index(rocksdb::JniUtil::copyBytes(env, jkey),
+                           static_cast<int32_t>(jindex), &result)) {
+      return rocksdb::JniUtil::newByteArray(env, result);
+    }
+  } catch (const rocksdb::RedisListException& e) {
+    ThrowRedisListException(env, e);
+  }
+  return nullptr;
+}
+
+/*
+ * Class:     org_rocksdb_RedisLists
+ * Method:    range
+ * Signature: (J[BII)Ljava/util/List;
+ */
+jobject Java_org_rocksdb_RedisLists_range(
+    JNIEnv* env, jobject jredis_lists, jlong jhandle, jbyteArray jkey,
+    jint jfirst, jint jlast) {
+  auto redis_lists = reinterpret_cast<rocksdb::RedisLists*>(jhandle);
+  std::vector<std::string> elements;
+  try {
+    elements = redis_lists->Range(rocksdb::JniUtil::copyBytes(env, jkey),
+        static_cast<int32_t>(jfirst), static_cast<int32_t>(jlast));
+  } catch (const rocksdb::RedisListException& e) {
+    ThrowRedisListException(env, e);
+    return nullptr;
+  }
+
+  jclass jListClazz = env->FindClass("java/util/ArrayList");
+  jmethodID midList = rocksdb::ListJni::getArrayListConstructorMethodId(
+      env, jListClazz);
+  jobject jelement_list = env->NewObject(jListClazz, midList,
+      static_cast<jint>(elements.size()));
+  for (const auto& element : elements) {
+    jbyteArray jelement = rocksdb::JniUtil::newByteArray(env, element);
+    env->CallBooleanMethod(jelement_list,
+        rocksdb::ListJni::getListAddMethodId(env), jelement);
+    env->DeleteLocalRef(jelement);
+  }
+  return jelement_list;
+}
+
+/*
+ * Class:     org_rocksdb_RedisLists
+ * Method:    insert
+ * Signature: (J[B[B[BZ)I
+ */
+jint Java_org_rocksdb_RedisLists_insert(
+    JNIEnv* env, jobject jredis_lists, jlong jhandle, jbyteArray jkey,
+    jbyteArray jpivot, jbyteArray jvalue, jboolean jinsert_after) {
+  auto redis_lists = reinterpret_cast<rocksdb::RedisLists*>(jhandle);
+  std::string key = rocksdb::JniUtil::copyBytes(env, jkey);
+  std::string pivot = rocksdb::JniUtil::copyBytes(env, jpivot);
+  std::string value = rocksdb::JniUtil::copyBytes(env, jvalue);
+  try {
+    if (jinsert_after) {
+      return redis_lists->InsertAfter(key, pivot, value);
+    }
+    return redis_lists->InsertBefore(key, pivot, value);
+  } catch (const rocksdb::RedisListException& e) {
+    ThrowRedisListException(env, e);
+  }
+  return 0;
+}
+
+/*
+ * Class:     org_rocksdb_RedisLists
+ * Method:    pushLeft
+ * Signature: (J[B[B)I
+ */
+jint Java_org_rocksdb_RedisLists_pushLeft(
+    JNIEnv* env, jobject jredis_lists, jlong jhandle, jbyteArray jkey,
+    jbyteArray jvalue) {
+  auto redis_lists = reinterpret_cast<rocksdb::RedisLists*>(jhandle);
+  try {
+    return redis_lists->PushLeft(rocksdb::JniUtil::copyBytes(env, jkey),
+        rocksdb::JniUtil::copyBytes(env, jvalue));
+  } catch (const rocksdb::RedisListException& e) {
+    ThrowRedisListException(env, e);
+  }
+  return 0;
+}
+
+/*
+ * Class:     org_rocksdb_RedisLists
+ * Method:    pushRight
+ * Signature: (J[B[B)I
+ */
+jint Java_org_rocksdb_RedisLists_pushRight(
+    JNIEnv* env, jobject jredis_lists, jlong jhandle, jbyteArray jkey,
+    jbyteArray jvalue) {
+  auto redis_lists = reinterpret_cast<rocksdb::RedisLists*>(jhandle);
+  try {
+    return redis_lists->PushRight(rocksdb::JniUtil::copyBytes(env, jkey),
+        rocksdb::JniUtil::copyBytes(env, jvalue));
+  } catch (const rocksdb::RedisListException& e) {
+    ThrowRedisListException(env, e);
+  }
+  return 0;
+}
+
+/*
+ * Class:     org_rocksdb_RedisLists
+ * Method:    set
+ * Signature: (J[BI[B)Z
+ */
+jboolean Java_org_rocksdb_RedisLists_set(
+    JNIEnv* env, jobject jredis_lists, jlong jhandle, jbyteArray jkey,
+    jint jindex, jbyteArray jvalue) {
+  auto redis_lists = reinterpret_cast<rocksdb::RedisLists*>(jhandle);
+  try {
+    return redis_lists->Set(rocksdb::JniUtil::copyBytes(env, jkey),
+        static_cast<int32_t>(jindex),
+        rocksdb::JniUtil::copyBytes(env, jvalue));
+  } catch (const rocksdb::RedisListException& e) {
+    ThrowRedisListException(env, e);
+  }
+  return JNI_FALSE;
+}
+
+/*
+ * Class:     org_rocksdb_RedisLists
+ * Method:    trim
+ * Signature: (J[BII)Z
+ */
+jboolean Java_org_rocksdb_RedisLists_trim(
+    JNIEnv* env, jobject jredis_lists, jlong jhandle, jbyteArray jkey,
+    jint jstart, jint jstop) {
+  auto redis_lists = reinterpret_cast<rocksdb::RedisLists*>(jhandle);
+  try {
+    return redis_lists->Trim(rocksdb::JniUtil::copyBytes(env, jkey),
+        static_cast<int32_t>(jstart), static_cast<int32_t>(jstop));
+  } catch (const rocksdb::RedisListException& e) {
+    ThrowRedisListException(env, e);
+  }
+  return JNI_FALSE;
+}
+
+/*
+ * Class:     org_rocksdb_RedisLists
+ * Method:    popLeft
+ * Signature: (J[B)[B
+ */
+jbyteArray Java_org_rocksdb_RedisLists_popLeft(
+    JNIEnv* env, jobject jredis_lists, jlong jhandle, jbyteArray jkey) {
+  auto redis_lists = reinterpret_cast<rocksdb::RedisLists*>(jhandle);
+  try {
+    std::string result;
+    if (redis_lists->PopLeft(rocksdb::JniUtil::copyBytes(env, jkey),
+                             &result)) {
+      return rocksdb::JniUtil::newByteArray(env, result);
+    }
+  } catch (const rocksdb::RedisListException& e) {
+    ThrowRedisListException(env, e);
+  }
+  return nullptr;
+}
+
+/*
+ * Class:     org_rocksdb_RedisLists
+ * Method:    popRight
+ * Signature: (J[B)[B
+ */
+jbyteArray Java_org_rocksdb_RedisLists_popRight(
+    JNIEnv* env, jobject jredis_lists, jlong jhandle, jbyteArray jkey) {
+  auto redis_lists = reinterpret_cast<rocksdb::RedisLists*>(jhandle);
+  try {
+    std::string result;
+    if (redis_lists->PopRight(rocksdb::JniUtil::copyBytes(env, jkey),
+                              &result)) {
+      return rocksdb::JniUtil::newByteArray(env, result);
+    }
+  } catch (const rocksdb::RedisListException& e) {
+    ThrowRedisListException(env, e);
+  }
+  return nullptr;
+}
+
+/*
+ * Class:     org_rocksdb_RedisLists
+ * Method:    remove
+ * Signature: (J[BI[B)I
+ */
+jint Java_org_rocksdb_RedisLists_remove(
+    JNIEnv* env, jobject jredis_lists, jlong jhandle, jbyteArray jkey,
+    jint jnum, jbyteArray jvalue) {
+  auto redis_lists = reinterpret_cast<rocksdb::RedisLists*>(jhandle);
+  try {
+    return redis_lists->Remove(rocksdb::JniUtil::copyBytes(env, jkey),
+        static_cast<int32_t>(jnum), rocksdb::JniUtil::copyBytes(env, jvalue));
+  } catch (const rocksdb::RedisListException& e) {
+    ThrowRedisListException(env, e);
+  }
+  return 0;
+}
+
+/*
+ * Class:     org_rocksdb_RedisLists
+ * Method:    disposeInternal
+ * Signature: (J)V
+ */
+void Java_org_rocksdb_RedisLists_disposeInternal(
+    JNIEnv* env, jobject jredis_lists, jlong jhandle) {
+  delete reinterpret_cast<rocksdb::RedisLists*>(jhandle);
+}
@@ -8,6 +8,7 @@
 
 #include <stdio.h>
 #include <stdlib.h>
+#include <string.h>
 #include <jni.h>
 #include <string>
 #include <vector>
@@ -16,6 +17,9 @@
 #include "rocksjni/portal.h"
 #include "rocksdb/db.h"
 #include "rocksdb/cache.h"
+#include "rocksdb/utilities/write_batch_with_index.h"
+#include "table/block_based_table_factory.h"
+#include "utilities/compacted_db/compacted_db_impl.h"
 
 //////////////////////////////////////////////////////////////////////////////
 // rocksdb::DB::Open
@@ -134,6 +138,28 @@ jobject
   return nullptr;
 }
 
+/*
+ * Class:     org_rocksdb_RocksDB
+ * Method:    openAsCompactedDB
+ * Signature: (JLjava/lang/String;)V
+ */
+void Java_org_rocksdb_RocksDB_openAsCompactedDB(
+    JNIEnv* env, jobject jdb, jlong jopt_handle, jstring jdb_path) {
+  auto opt = reinterpret_cast<rocksdb::Options*>(jopt_handle);
+  rocksdb::DB* db = nullptr;
+  const char* db_path = env->GetStringUTFChars(jdb_path, 0);
+  // unlike DB::OpenForReadOnly there is no fallback to the regular
+  // read-only mode if the db is not fully compacted.
+  rocksdb::Status s = rocksdb::CompactedDBImpl::Open(*opt, db_path, &db);
+  env->ReleaseStringUTFChars(jdb_path, db_path);
+
+  if (s.ok()) {
+    rocksdb::RocksDBJni::setHandle(env, jdb, db);
+    return;
+  }
+  rocksdb::RocksDBExceptionJni::ThrowNew(env, s);
+}
+
 /*
  * Class:     org_rocksdb_RocksDB
  * Method:    open
@@ -382,6 +408,26 @@ void Java_org_rocksdb_RocksDB_write(
   }
 }
 
+/*
+ * Class:     org_rocksdb_RocksDB
+ * Method:    writeWithIndex
+ * Signature: (JJ)V
+ */
+void Java_org_rocksdb_RocksDB_writeWithIndex(
+    JNIEnv* env, jobject jdb,
+    jlong jwrite_options_handle, jlong jwbwi_handle) {
+  rocksdb::DB* db = rocksdb::RocksDBJni::getHandle(env, jdb);
+  auto write_options = reinterpret_cast<rocksdb::WriteOptions*>(
+      jwrite_options_handle);
+  auto wbwi = reinterpret_cast<rocksdb::WriteBatchWithIndex*>(jwbwi_handle);
+
+  rocksdb::Status s = db->Write(*write_options, wbwi->GetWriteBatch());
+
+  if (!s.ok()) {
+    rocksdb::RocksDBExceptionJni::ThrowNew(env, s);
+  }
+}
+
 //////////////////////////////////////////////////////////////////////////////
 // rocksdb::DB::KeyMayExist
 jboolean key_may_exist_helper(JNIEnv* env, rocksdb::DB* db,
@@ -603,7 +649,8 @@ jint rocksdb_get_helper(
     rocksdb::ColumnFamilyHandle* column_family_handle, jbyteArray jkey,
     jint jkey_len, jbyteArray jentry_value, jint jentry_value_len) {
   static const int kNotFound = -1;
-  static const int kStatusError = -2;
+  static const int kIncomplete = -2;
+  static const int kStatusError = -3;
 
   jbyte* key = env->GetByteArrayElements(jkey, 0);
   rocksdb::Slice key_slice(
@@ -627,6 +674,9 @@ jint rocksdb_get_helper(
 
   if (s.IsNotFound()) {
     return kNotFound;
+  } else if (s.IsIncomplete()) {
+    // the read tier did not allow reading the value
+    return kIncomplete;
   } else if (!s.ok()) {
     // Here since we are throwing a Java exception from c++ side.
     // As a result, c++ does not know calling this function will in fact
@@ -1105,6 +1155,36 @@ jlong Java_org_rocksdb_RocksDB_iterator0__JJ(
   return reinterpret_cast<jlong>(iterator);
 }
 
+/*
+ * Class:     org_rocksdb_RocksDB
+ * Method:    iterator
+ * Signature: (JJ)J
+ */
+jlong Java_org_rocksdb_RocksDB_iterator__JJ(
+    JNIEnv* env, jobject jdb, jlong db_handle, jlong jread_options_handle) {
+  auto db = reinterpret_cast<rocksdb::DB*>(db_handle);
+  auto& read_options =
+      *reinterpret_cast<rocksdb::ReadOptions*>(jread_options_handle);
+  rocksdb::Iterator* iterator = db->NewIterator(read_options);
+  return reinterpret_cast<jlong>(iterator);
+}
+
+/*
+ * Class:     org_rocksdb_RocksDB
+ * Method:    iterator
+ * Signature: (JJJ)J
+ */
+jlong Java_org_rocksdb_RocksDB_iterator__JJJ(
+    JNIEnv* env, jobject jdb, jlong db_handle, jlong jcf_handle,
+    jlong jread_options_handle) {
+  auto db = reinterpret_cast<rocksdb::DB*>(db_handle);
+  auto cf_handle = reinterpret_cast<rocksdb::ColumnFamilyHandle*>(jcf_handle);
+  auto& read_options =
+      *reinterpret_cast<rocksdb::ReadOptions*>(jread_options_handle);
+  rocksdb::Iterator* iterator = db->NewIterator(read_options, cf_handle);
+  return reinterpret_cast<jlong>(iterator);
+}
+
 /*
  * Class:     org_rocksdb_RocksDB
  * Method:    iterators
@@ -1255,3 +1335,178 @@ jstring Java_org_rocksdb_RocksDB_getProperty0__JJLjava_lang_String_2I(
 
   return env->NewStringUTF(property_value.data());
 }
+
+/*
+ * Class:     org_rocksdb_RocksDB
+ * Method:    getIntProperties0
+ * Signature: (JJ[Ljava/lang/String;)[J
+ */
+jlongArray Java_org_rocksdb_RocksDB_getIntProperties0(
+    JNIEnv* env, jobject jdb, jlong db_handle, jlong jcf_handle,
+    jobjectArray jproperties) {
+  auto db = reinterpret_cast<rocksdb::DB*>(db_handle);
+  auto cf_handle = jcf_handle == 0 ? db->DefaultColumnFamily() :
+      reinterpret_cast<rocksdb::ColumnFamilyHandle*>(jcf_handle);
+
+  jsize len = env->GetArrayLength(jproperties);
+  std::vector<jlong> values(len);
+  for (jsize i = 0; i < len; i++) {
+    jstring jproperty =
+        static_cast<jstring>(env->GetObjectArrayElement(jproperties, i));
+    const char* property = env->GetStringUTFChars(jproperty, 0);
+    uint64_t value = 0;
+    bool retCode = db->GetIntProperty(cf_handle, property, &value);
+    // name the property which failed before the string is released
+    rocksdb::Status s = retCode ? rocksdb::Status::OK() :
+        rocksdb::Status::NotFound(property);
+    env->ReleaseStringUTFChars(jproperty, property);
+    env->DeleteLocalRef(jproperty);
+    if (!s.ok()) {
+      rocksdb::RocksDBExceptionJni::ThrowNew(env, s);
+      return nullptr;
+    }
+    values[i] = static_cast<jlong>(value);
+  }
+
+  jlongArray jvalues = env->NewLongArray(len);
+  env->SetLongArrayRegion(jvalues, 0, len, values.data());
+  return jvalues;
+}
+
+//////////////////////////////////////////////////////////////////////////////
+// rocksdb::DB::Flush
+
+/*
+ * Class:     org_rocksdb_RocksDB
+ * Method:    flush
+ * Signature: (JJ)V
+ */
+void Java_org_rocksdb_RocksDB_flush(
+    JNIEnv* env, jobject jdb, jlong db_handle, jlong jcf_handle) {
+  auto db = reinterpret_cast<rocksdb::DB*>(db_handle);
+  auto cf_handle = jcf_handle == 0 ? db->DefaultColumnFamily() :
+      reinterpret_cast<rocksdb::ColumnFamilyHandle*>(jcf_handle);
+  // waits for the flush to finish
+  rocksdb::Status s = db->Flush(rocksdb::FlushOptions(), cf_handle);
+  if (!s.ok()) {
+    rocksdb::RocksDBExceptionJni::ThrowNew(env, s);
+  }
+}
+
+//////////////////////////////////////////////////////////////////////////////
+// rocksdb::DB memory usage
+
+namespace {
+void AddCacheUsage(const std::shared_ptr<rocksdb::Cache>& cache,
+                   std::vector<jlong>* usage) {
+  if (cache == nullptr) {
+    usage->insert(usage->end(), {0, 0, 0});
+    return;
+  }
+  // the address identifies caches shared by several column families
+  usage->push_back(reinterpret_cast<jlong>(cache.get()));
+  usage->push_back(static_cast<jlong>(cache->GetUsage()));
+  usage->push_back(static_cast<jlong>(cache->GetPinnedUsage()));
+}
+}  // namespace
+
+/*
+ * Class:     org_rocksdb_RocksDB
+ * Method:    getMemoryUsage0
+ * Signature: (J[J[Ljava/lang/String;)[J
+ */
+jlongArray Java_org_rocksdb_RocksDB_getMemoryUsage0(
+    JNIEnv* env, jobject jdb, jlong db_handle, jlongArray jcf_handles,
+    jobjectArray jcf_names) {
+  auto db = reinterpret_cast<rocksdb::DB*>(db_handle);
+  jsize len = env->GetArrayLength(jcf_handles);
+  jlong* cf_handles = env->GetLongArrayElements(jcf_handles, 0);
+
+  // memtables, table readers, block cache and compressed block cache
+  // of each column family, see RocksDB.getMemoryUsage()
+  std::vector<jlong> usage;
+  for (jsize i = 0; i < len; i++) {
+    auto cf_handle = cf_handles[i] == 0 ? db->DefaultColumnFamily() :
+        reinterpret_cast<rocksdb::ColumnFamilyHandle*>(cf_handles[i]);
+    jstring jname = env->NewStringUTF(cf_handle->GetName().c_str());
+    env->SetObjectArrayElement(jcf_names, i, jname);
+    env->DeleteLocalRef(jname);
+
+    uint64_t value = 0;
+    db->GetIntProperty(cf_handle, "rocksdb.cur-size-all-mem-tables", &value);
+    usage.push_back(static_cast<jlong>(value));
+    value = 0;
+    db->GetIntProperty(cf_handle, "rocksdb.estimate-table-readers-mem",
+        &value);
+    usage.push_back(static_cast<jlong>(value));
+
+    auto table_factory = db->GetOptions(cf_handle).table_factory;
+    if (table_factory != nullptr &&
+        strcmp(table_factory->Name(), "BlockBasedTable") == 0) {
+      auto& table_options = static_cast<rocksdb::BlockBasedTableFactory*>(
+          table_factory.get())->table_options();
+      AddCacheUsage(table_options.block_cache, &usage);
+      AddCacheUsage(table_options.block_cache_compressed, &usage);
+    } else {
+      AddCacheUsage(nullptr, &usage);
+      AddCacheUsage(nullptr, &usage);
+    }
+  }
+  env->ReleaseLongArrayElements(jcf_handles, cf_handles, JNI_ABORT);
+
+  jlongArray jusage = env->NewLongArray(static_cast<jsize>(usage.size()));
+  env->SetLongArrayRegion(jusage, 0, static_cast<jsize>(usage.size()),
+      usage.data());
+  return jusage;
+}
+
+//////////////////////////////////////////////////////////////////////////////
+// rocksdb::DB::GetPropertiesOfAllTables
+
+jobject rocksdb_get_properties_of_all_tables_helper(JNIEnv* env,
+    rocksdb::DB* db, rocksdb::ColumnFamilyHandle* cf_handle) {
+  rocksdb::TablePropertiesCollection props;
+  rocksdb::Status s = db->GetPropertiesOfAllTables(cf_handle, &props);
+  if (!s.ok()) {
+    rocksdb::RocksDBExceptionJni::ThrowNew(env, s);
+    return nullptr;
+  }
+
+  jobject jprops_map = rocksdb::HashMapJni::construct(env,
+      static_cast<uint32_t>(props.size()));
+  for (const auto& table_props : props) {
+    jstring jfile_name = env->NewStringUTF(table_props.first.c_str());
+    jobject jtable_props =
+        rocksdb::TablePropertiesJni::construct(env, *table_props.second);
+    env->CallObjectMethod(jprops_map,
+        rocksdb::HashMapJni::getMapPutMethodId(env), jfile_name,
+        jtable_props);
+    env->DeleteLocalRef(jfile_name);
+    env->DeleteLocalRef(jtable_props);
+  }
+  return jprops_map;
+}
+
+/*
+ * Class:     org_rocksdb_RocksDB
+ * Method:    getPropertiesOfAllTables
+ * Signature: (J)Ljava/util/Map;
+ */
+jobject Java_org_rocksdb_RocksDB_getPropertiesOfAllTables__J(
+    JNIEnv* env, jobject jdb, jlong db_handle) {
+  auto db = reinterpret_cast<rocksdb::DB*>(db_handle);
+  return rocksdb_get_properties_of_all_tables_helper(env, db,
+      db->DefaultColumnFamily());
+}
+
+/*
+ * Class:     org_rocksdb_RocksDB
+ * Method:    getPropertiesOfAllTables
+ * Signature: (JJ)Ljava/util/Map;
+ */
+jobject Java_org_rocksdb_RocksDB_getPropertiesOfAllTables__JJ(
+    JNIEnv* env, jobject jdb, jlong db_handle, jlong jcf_handle) {
+  auto db = reinterpret_cast<rocksdb::DB*>(db_handle);
+  auto cf_handle = reinterpret_cast<rocksdb::ColumnFamilyHandle*>(jcf_handle);
+  return rocksdb_get_properties_of_all_tables_helper(env, db, cf_handle);
+}
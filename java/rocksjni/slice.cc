@@ -27,7 +27,10 @@
 void Java_org_rocksdb_AbstractSlice_createNewSliceFromString(
     JNIEnv* env, jobject jobj, jstring str) {
   const std::string s = rocksdb::JniUtil::copyString(env, str);
-  const rocksdb::Slice* slice = new rocksdb::Slice(s);
+  // the slice must own a copy of the data, as the string is temporary
+  char* buf = new char[s.size()];
+  memcpy(buf, s.data(), s.size());
+  const rocksdb::Slice* slice = new rocksdb::Slice(buf, s.size());
   rocksdb::AbstractSliceJni::setHandle(env, jobj, slice);
 }
 
@@ -228,24 +231,51 @@ jbyte Java_org_rocksdb_DirectSlice_get0(
 /*
  * Class:     org_rocksdb_DirectSlice
  * Method:    clear0
- * Signature: (J)V
+ * Signature: (JZ)V
  */
 void Java_org_rocksdb_DirectSlice_clear0(
-    JNIEnv* env, jobject jobj, jlong handle) {
+    JNIEnv* env, jobject jobj, jlong handle, jboolean internal_buffer) {
   rocksdb::Slice* slice = reinterpret_cast<rocksdb::Slice*>(handle);
-  delete [] slice->data_;
+  // only a slice created from a String owns its data, the others
+  // point into a ByteBuffer which is owned by Java
+  if (internal_buffer) {
+    delete [] slice->data_;
+  }
   slice->clear();
 }
 
 /*
  * Class:     org_rocksdb_DirectSlice
  * Method:    removePrefix0
- * Signature: (JI)V
+ * Signature: (JIZ)V
  */
 void Java_org_rocksdb_DirectSlice_removePrefix0(
-    JNIEnv* env, jobject jobj, jlong handle, jint length) {
+    JNIEnv* env, jobject jobj, jlong handle, jint length,
+    jboolean internal_buffer) {
   rocksdb::Slice* slice = reinterpret_cast<rocksdb::Slice*>(handle);
-  slice->remove_prefix(length);
+  if (internal_buffer) {
+    // keep data_ at the start of the owned allocation, so that it
+    // can still be freed on dispose
+    assert(static_cast<size_t>(length) <= slice->size());
+    const size_t size = slice->size() - length;
+    char* buf = new char[size];
+    memcpy(buf, slice->data() + length, size);
+    delete [] slice->data_;
+    *slice = rocksdb::Slice(buf, size);
+  } else {
+    slice->remove_prefix(length);
+  }
+}
+
+/*
+ * Class:     org_rocksdb_DirectSlice
+ * Method:    disposeInternalBuf
+ * Signature: (J)V
+ */
+void Java_org_rocksdb_DirectSlice_disposeInternalBuf(
+    JNIEnv* env, jobject jobj, jlong handle) {
+  const rocksdb::Slice* slice = reinterpret_cast<rocksdb::Slice*>(handle);
+  delete [] slice->data_;
 }
 
 // </editor-fold>
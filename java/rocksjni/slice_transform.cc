@@ -0,0 +1,106 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+//
+// This file implements the "bridge" between Java and C++ for
+// rocksdb::SliceTransform.
+
+#include <jni.h>
+#include <memory>
+#include <string>
+
+#include "include/org_rocksdb_SliceTransform.h"
+#include "include/org_rocksdb_FixedPrefixTransform.h"
+#include "include/org_rocksdb_CappedPrefixTransform.h"
+#include "include/org_rocksdb_SeparatorPrefixTransform.h"
+#include "rocksjni/portal.h"
+#include "rocksdb/slice.h"
+#include "rocksdb/slice_transform.h"
+
+namespace rocksdb {
+namespace {
+// Uses the bytes of a key up to and including the first occurrence
+// of a separator as prefix. Keys without separator are out of domain,
+// but as the hash based mem-tables and compaction filter v2 transform
+// every key, Transform() falls back to the whole key for them.
+class SeparatorPrefixTransform : public SliceTransform {
+ public:
+  explicit SeparatorPrefixTransform(char separator)
+      : separator_(separator),
+        name_("rocksdb.SeparatorPrefix." +
+            std::to_string(static_cast<unsigned char>(separator))) {}
+
+  virtual const char* Name() const override { return name_.c_str(); }
+
+  virtual Slice Transform(const Slice& src) const override {
+    const void* pos = memchr(src.data(), separator_, src.size());
+    if (pos == nullptr) {
+      return src;
+    }
+    return Slice(src.data(),
+        static_cast<const char*>(pos) - src.data() + 1);
+  }
+
+  virtual bool InDomain(const Slice& src) const override {
+    return memchr(src.data(), separator_, src.size()) != nullptr;
+  }
+
+  virtual bool InRange(const Slice& dst) const override {
+    return dst.size() > 0 && dst[dst.size() - 1] == separator_ &&
+        memchr(dst.data(), separator_, dst.size() - 1) == nullptr;
+  }
+
+ private:
+  char separator_;
+  std::string name_;
+};
+}  // namespace
+}  // namespace rocksdb
+
+/*
+ * Class:     org_rocksdb_FixedPrefixTransform
+ * Method:    createNewFixedPrefixTransform
+ * Signature: (I)V
+ */
+void Java_org_rocksdb_FixedPrefixTransform_createNewFixedPrefixTransform(
+    JNIEnv* env, jobject jobj, jint jprefix_length) {
+  auto* transform = new std::shared_ptr<const rocksdb::SliceTransform>(
+      rocksdb::NewFixedPrefixTransform(static_cast<size_t>(jprefix_length)));
+  rocksdb::SliceTransformJni::setHandle(env, jobj, transform);
+}
+
+/*
+ * Class:     org_rocksdb_CappedPrefixTransform
+ * Method:    createNewCappedPrefixTransform
+ * Signature: (I)V
+ */
+void Java_org_rocksdb_CappedPrefixTransform_createNewCappedPrefixTransform(
+    JNIEnv* env, jobject jobj, jint jcap_length) {
+  auto* transform = new std::shared_ptr<const rocksdb::SliceTransform>(
+      rocksdb::NewCappedPrefixTransform(static_cast<size_t>(jcap_length)));
+  rocksdb::SliceTransformJni::setHandle(env, jobj, transform);
+}
+
+/*
+ * Class:     org_rocksdb_SeparatorPrefixTransform
+ * Method:    createNewSeparatorPrefixTransform
+ * Signature: (B)V
+ */
+void Java_org_rocksdb_SeparatorPrefixTransform_createNewSeparatorPrefixTransform(
+    JNIEnv* env, jobject jobj, jbyte jseparator) {
+  auto* transform = new std::shared_ptr<const rocksdb::SliceTransform>(
+      new rocksdb::SeparatorPrefixTransform(static_cast<char>(jseparator)));
+  rocksdb::SliceTransformJni::setHandle(env, jobj, transform);
+}
+
+/*
+ * Class:     org_rocksdb_SliceTransform
+ * Method:    disposeInternal
+ * Signature: (J)V
+ */
+void Java_org_rocksdb_SliceTransform_disposeInternal(
+    JNIEnv* env, jobject jobj, jlong jhandle) {
+  delete reinterpret_cast<
+      std::shared_ptr<const rocksdb::SliceTransform>*>(jhandle);
+}
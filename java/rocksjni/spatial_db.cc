@@ -0,0 +1,228 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+//
+// This file implements the "bridge" between Java and C++ and enables
+// calling c++ rocksdb::spatial::SpatialDB methods from Java side.
+//
+// Elements are exchanged with Java in bulk, as byte arrays produced by
+// org.rocksdb.SpatialBatch and consumed by org.rocksdb.SpatialCursor:
+// * insert: for each element
+//   min_x, min_y, max_x, max_y (native doubles) blob (length prefixed)
+//   feature_set (length prefixed, serialized) count (varint64)
+//   spatial_index names (length prefixed)
+// * cursor chunk: for each element
+//   blob (length prefixed) feature_set (length prefixed, serialized)
+
+#include <jni.h>
+#include <string>
+#include <vector>
+
+#include "include/org_rocksdb_SpatialDB.h"
+#include "include/org_rocksdb_SpatialCursor.h"
+#include "rocksjni/portal.h"
+#include "rocksdb/utilities/spatial_db.h"
+#include "util/coding.h"
+#include "utilities/spatialdb/utils.h"
+
+namespace {
+rocksdb::spatial::SpatialDBOptions GetSpatialDBOptions(
+    jlong jcache_size, jint jnum_threads, jboolean jbulk_load) {
+  rocksdb::spatial::SpatialDBOptions options;
+  options.cache_size = static_cast<uint64_t>(jcache_size);
+  options.num_threads = static_cast<int>(jnum_threads);
+  options.bulk_load = jbulk_load;
+  return options;
+}
+
+bool DecodeElement(rocksdb::Slice* input,
+                   rocksdb::spatial::BoundingBox<double>* bbox,
+                   rocksdb::Slice* blob,
+                   rocksdb::spatial::FeatureSet* feature_set,
+                   std::vector<std::string>* spatial_indexes) {
+  rocksdb::Slice serialized_feature_set;
+  uint64_t num_indexes;
+  if (!rocksdb::spatial::GetDouble(input, &bbox->min_x) ||
+      !rocksdb::spatial::GetDouble(input, &bbox->min_y) ||
+      !rocksdb::spatial::GetDouble(input, &bbox->max_x) ||
+      !rocksdb::spatial::GetDouble(input, &bbox->max_y) ||
+      !rocksdb::GetLengthPrefixedSlice(input, blob) ||
+      !rocksdb::GetLengthPrefixedSlice(input, &serialized_feature_set) ||
+      !feature_set->Deserialize(serialized_feature_set) ||
+      !rocksdb::GetVarint64(input, &num_indexes)) {
+    return false;
+  }
+  for (uint64_t i = 0; i < num_indexes; ++i) {
+    rocksdb::Slice name;
+    if (!rocksdb::GetLengthPrefixedSlice(input, &name)) {
+      return false;
+    }
+    spatial_indexes->push_back(name.ToString());
+  }
+  return true;
+}
+}  // namespace
+
+/*
+ * Class:     org_rocksdb_SpatialDB
+ * Method:    createSpatialDB
+ * Signature: (JIZLjava/lang/String;[Ljava/lang/String;[D[I)V
+ */
+void Java_org_rocksdb_SpatialDB_createSpatialDB(
+    JNIEnv* env, jclass jclazz, jlong jcache_size, jint jnum_threads,
+    jboolean jbulk_load, jstring jdb_path, jobjectArray jindex_names,
+    jdoubleArray jindex_bboxes, jintArray jindex_tile_bits) {
+  std::vector<rocksdb::spatial::SpatialIndexOptions> spatial_indexes;
+  jsize num_indexes = env->GetArrayLength(jindex_names);
+  jdouble* bboxes = env->GetDoubleArrayElements(jindex_bboxes, 0);
+  jint* tile_bits = env->GetIntArrayElements(jindex_tile_bits, 0);
+  for (jsize i = 0; i < num_indexes; ++i) {
+    jstring jname = static_cast<jstring>(
+        env->GetObjectArrayElement(jindex_names, i));
+    spatial_indexes.push_back(rocksdb::spatial::SpatialIndexOptions(
+        rocksdb::JniUtil::copyString(env, jname),
+        rocksdb::spatial::BoundingBox<double>(bboxes[4 * i],
+            bboxes[4 * i + 1], bboxes[4 * i + 2], bboxes[4 * i + 3]),
+        static_cast<uint32_t>(tile_bits[i])));
+    env->DeleteLocalRef(jname);
+  }
+  env->ReleaseIntArrayElements(jindex_tile_bits, tile_bits, JNI_ABORT);
+  env->ReleaseDoubleArrayElements(jindex_bboxes, bboxes, JNI_ABORT);
+
+  rocksdb::Status s = rocksdb::spatial::SpatialDB::Create(
+      GetSpatialDBOptions(jcache_size, jnum_threads, jbulk_load),
+      rocksdb::JniUtil::copyString(env, jdb_path), spatial_indexes);
+  if (!s.ok()) {
+    rocksdb::RocksDBExceptionJni::ThrowNew(env, s);
+  }
+}
+
+/*
+ * Class:     org_rocksdb_SpatialDB
+ * Method:    openSpatialDB
+ * Signature: (JIZLjava/lang/String;Z)V
+ */
+void Java_org_rocksdb_SpatialDB_openSpatialDB(
+    JNIEnv* env, jobject jspatial_db, jlong jcache_size, jint jnum_threads,
+    jboolean jbulk_load, jstring jdb_path, jboolean jread_only) {
+  rocksdb::spatial::SpatialDB* db = nullptr;
+  rocksdb::Status s = rocksdb::spatial::SpatialDB::Open(
+      GetSpatialDBOptions(jcache_size, jnum_threads, jbulk_load),
+      rocksdb::JniUtil::copyString(env, jdb_path), &db, jread_only);
+
+  // as SpatialDB extends RocksDB on the java side, we can reuse
+  // the RocksDB portal here.
+  if (s.ok()) {
+    rocksdb::RocksDBJni::setHandle(env, jspatial_db, db);
+    return;
+  }
+  rocksdb::RocksDBExceptionJni::ThrowNew(env, s);
+}
+
+/*
+ * Class:     org_rocksdb_SpatialDB
+ * Method:    insert
+ * Signature: (JJ[BI)V
+ */
+void Java_org_rocksdb_SpatialDB_insert(
+    JNIEnv* env, jobject jspatial_db, jlong jhandle, jlong jwrite_options,
+    jbyteArray jelements, jint jcount) {
+  auto db = reinterpret_cast<rocksdb::spatial::SpatialDB*>(jhandle);
+  auto write_options = reinterpret_cast<rocksdb::WriteOptions*>(
+      jwrite_options);
+
+  jsize len = env->GetArrayLength(jelements);
+  jbyte* elements = env->GetByteArrayElements(jelements, 0);
+  rocksdb::Slice input(reinterpret_cast<char*>(elements), len);
+
+  rocksdb::Status s;
+  for (jint i = 0; i < jcount && s.ok(); ++i) {
+    rocksdb::spatial::BoundingBox<double> bbox;
+    rocksdb::Slice blob;
+    rocksdb::spatial::FeatureSet feature_set;
+    std::vector<std::string> spatial_indexes;
+    if (!DecodeElement(&input, &bbox, &blob, &feature_set,
+                       &spatial_indexes)) {
+      s = rocksdb::Status::Corruption("Malformed spatial element");
+      break;
+    }
+    s = db->Insert(*write_options, bbox, blob, feature_set, spatial_indexes);
+  }
+  env->ReleaseByteArrayElements(jelements, elements, JNI_ABORT);
+
+  if (!s.ok()) {
+    rocksdb::RocksDBExceptionJni::ThrowNew(env, s);
+  }
+}
+
+/*
+ * Class:     org_rocksdb_SpatialDB
+ * Method:    compact
+ * Signature: (J)V
+ */
+void Java_org_rocksdb_SpatialDB_compact(
+    JNIEnv* env, jobject jspatial_db, jlong jhandle) {
+  auto db = reinterpret_cast<rocksdb::spatial::SpatialDB*>(jhandle);
+  rocksdb::Status s = db->Compact();
+  if (!s.ok()) {
+    rocksdb::RocksDBExceptionJni::ThrowNew(env, s);
+  }
+}
+
+/*
+ * Class:     org_rocksdb_SpatialDB
+ * Method:    query
+ * Signature: (JJDDDDLjava/lang/String;)J
+ */
+jlong Java_org_rocksdb_SpatialDB_query(
+    JNIEnv* env, jobject jspatial_db, jlong jhandle, jlong jread_options,
+    jdouble jmin_x, jdouble jmin_y, jdouble jmax_x, jdouble jmax_y,
+    jstring jspatial_index) {
+  auto db = reinterpret_cast<rocksdb::spatial::SpatialDB*>(jhandle);
+  auto read_options = reinterpret_cast<rocksdb::ReadOptions*>(jread_options);
+  // errors are reported by the returned cursor
+  rocksdb::spatial::Cursor* cursor = db->Query(*read_options,
+      rocksdb::spatial::BoundingBox<double>(jmin_x, jmin_y, jmax_x, jmax_y),
+      rocksdb::JniUtil::copyString(env, jspatial_index));
+  return reinterpret_cast<jlong>(cursor);
+}
+
+/*
+ * Class:     org_rocksdb_SpatialCursor
+ * Method:    nextChunk
+ * Signature: (JI)[B
+ */
+jbyteArray Java_org_rocksdb_SpatialCursor_nextChunk(
+    JNIEnv* env, jobject jcursor, jlong jhandle, jint jchunk_size) {
+  auto cursor = reinterpret_cast<rocksdb::spatial::Cursor*>(jhandle);
+  std::string chunk;
+  std::string feature_set;
+  for (jint i = 0; i < jchunk_size && cursor->Valid(); ++i) {
+    rocksdb::PutLengthPrefixedSlice(&chunk, cursor->blob());
+    feature_set.clear();
+    cursor->feature_set().Serialize(&feature_set);
+    rocksdb::PutLengthPrefixedSlice(&chunk, feature_set);
+    cursor->Next();
+  }
+
+  rocksdb::Status s = cursor->status();
+  if (!s.ok()) {
+    rocksdb::RocksDBExceptionJni::ThrowNew(env, s);
+    return nullptr;
+  }
+  if (chunk.empty()) {
+    return nullptr;
+  }
+  return rocksdb::JniUtil::newByteArray(env, chunk);
+}
+
+/*
+ * Class:     org_rocksdb_SpatialCursor
+ * Method:    disposeInternal
+ * Signature: (J)V
+ */
+void Java_org_rocksdb_SpatialCursor_disposeInternal(
+    JNIEnv* env, jobject jcursor, jlong jhandle) {
+  delete reinterpret_cast<rocksdb::spatial::Cursor*>(jhandle);
+}
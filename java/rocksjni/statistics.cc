@@ -11,8 +11,20 @@
 #include <jni.h>
 
 #include "include/org_rocksdb_Statistics.h"
+#include "include/org_rocksdb_HistogramData.h"
 #include "rocksjni/portal.h"
 #include "rocksdb/statistics.h"
+#include "util/histogram.h"
+
+namespace {
+jlongArray NewLongArray(JNIEnv* env, const std::vector<uint64_t>& values) {
+  jlongArray jvalues = env->NewLongArray(static_cast<jsize>(values.size()));
+  std::vector<jlong> elements(values.begin(), values.end());
+  env->SetLongArrayRegion(jvalues, 0, static_cast<jsize>(elements.size()),
+      elements.data());
+  return jvalues;
+}
+}  // namespace
 
 /*
  * Class:     org_rocksdb_Statistics
@@ -45,6 +57,75 @@ jobject Java_org_rocksdb_Statistics_geHistogramData0(
   jclass jclazz = env->FindClass("org/rocksdb/HistogramData");
   jmethodID mid = rocksdb::HistogramDataJni::getConstructorMethodId(
       env, jclazz);
-  return env->NewObject(jclazz, mid, data.median, data.percentile95,
-      data.percentile99, data.average, data.standard_deviation);
+  jlongArray jbuckets = NewLongArray(env, data.buckets);
+  jobject jdata = env->NewObject(jclazz, mid, data.median, data.percentile95,
+      data.percentile99, data.average, data.standard_deviation, data.max,
+      data.min, static_cast<jlong>(data.count), static_cast<jlong>(data.sum),
+      jbuckets);
+  env->DeleteLocalRef(jbuckets);
+  return jdata;
+}
+
+/*
+ * Class:     org_rocksdb_Statistics
+ * Method:    snapshot0
+ * Signature: (J[I[I[J[D[J)V
+ */
+void Java_org_rocksdb_Statistics_snapshot0(
+    JNIEnv* env, jobject jobj, jlong handle, jintArray jticker_types,
+    jintArray jhistogram_types, jlongArray jtickers,
+    jdoubleArray jhistogram_values, jlongArray jhistogram_counts) {
+  auto st = reinterpret_cast<rocksdb::Statistics*>(handle);
+  assert(st != nullptr);
+
+  jsize num_tickers = env->GetArrayLength(jticker_types);
+  jint* ticker_types = env->GetIntArrayElements(jticker_types, 0);
+  std::vector<jlong> tickers(num_tickers);
+  for (jsize i = 0; i < num_tickers; i++) {
+    tickers[i] = st->getTickerCount(ticker_types[i]);
+  }
+  env->ReleaseIntArrayElements(jticker_types, ticker_types, JNI_ABORT);
+  env->SetLongArrayRegion(jtickers, 0, num_tickers, tickers.data());
+
+  // each histogram has 7 values and 2 counts followed by its buckets,
+  // see Statistics.java
+  jsize num_histograms = env->GetArrayLength(jhistogram_types);
+  if (num_histograms == 0) {
+    return;
+  }
+  jsize stride = env->GetArrayLength(jhistogram_counts) / num_histograms;
+  jint* histogram_types = env->GetIntArrayElements(jhistogram_types, 0);
+  std::vector<jdouble> values;
+  std::vector<jlong> counts;
+  rocksdb::HistogramData data;
+  for (jsize i = 0; i < num_histograms; i++) {
+    st->histogramData(histogram_types[i], &data);
+    values.insert(values.end(), {data.median, data.percentile95,
+        data.percentile99, data.average, data.standard_deviation, data.max,
+        data.min});
+    counts.push_back(static_cast<jlong>(data.count));
+    counts.push_back(static_cast<jlong>(data.sum));
+    data.buckets.resize(stride - 2);
+    counts.insert(counts.end(), data.buckets.begin(), data.buckets.end());
+  }
+  env->ReleaseIntArrayElements(jhistogram_types, histogram_types, JNI_ABORT);
+  env->SetDoubleArrayRegion(jhistogram_values, 0,
+      static_cast<jsize>(values.size()), values.data());
+  env->SetLongArrayRegion(jhistogram_counts, 0,
+      static_cast<jsize>(counts.size()), counts.data());
+}
+
+/*
+ * Class:     org_rocksdb_HistogramData
+ * Method:    bucketLimits0
+ * Signature: ()[J
+ */
+jlongArray Java_org_rocksdb_HistogramData_bucketLimits0(
+    JNIEnv* env, jclass jcls) {
+  rocksdb::HistogramBucketMapper mapper;
+  std::vector<uint64_t> limits;
+  for (size_t b = 0; b < mapper.BucketCount(); b++) {
+    limits.push_back(mapper.BucketLimit(b));
+  }
+  return NewLongArray(env, limits);
 }
@@ -8,6 +8,8 @@
 #include <jni.h>
 #include "include/org_rocksdb_PlainTableConfig.h"
 #include "include/org_rocksdb_BlockBasedTableConfig.h"
+#include "include/org_rocksdb_CuckooTableConfig.h"
+#include "include/org_rocksdb_AdaptiveTableConfig.h"
 #include "rocksdb/table.h"
 #include "rocksdb/cache.h"
 #include "rocksdb/filter_policy.h"
@@ -38,10 +40,11 @@ jlong Java_org_rocksdb_PlainTableConfig_newTableFactoryHandle(
 /*
  * Class:     org_rocksdb_BlockBasedTableConfig
  * Method:    newTableFactoryHandle
- * Signature: (ZJIJIIZIZZJIBB)J
+ * Signature: (ZJJIJIIZJZZJIBB)J
  */
 jlong Java_org_rocksdb_BlockBasedTableConfig_newTableFactoryHandle(
-    JNIEnv* env, jobject jobj, jboolean no_block_cache, jlong block_cache_size,
+    JNIEnv* env, jobject jobj, jboolean no_block_cache,
+    jlong jblock_cache_handle, jlong block_cache_size,
     jint block_cache_num_shardbits, jlong block_size, jint block_size_deviation,
     jint block_restart_interval, jboolean whole_key_filtering,
     jlong jfilterPolicy, jboolean cache_index_and_filter_blocks,
@@ -51,7 +54,12 @@ jlong Java_org_rocksdb_BlockBasedTableConfig_newTableFactoryHandle(
   rocksdb::BlockBasedTableOptions options;
   options.no_block_cache = no_block_cache;
 
-  if (!no_block_cache && block_cache_size > 0) {
+  if (!no_block_cache && jblock_cache_handle != 0) {
+    // a cache shared with other table factories
+    options.block_cache =
+        *reinterpret_cast<std::shared_ptr<rocksdb::Cache>*>(
+            jblock_cache_handle);
+  } else if (!no_block_cache && block_cache_size > 0) {
     if (block_cache_num_shardbits > 0) {
       options.block_cache =
           rocksdb::NewLRUCache(block_cache_size, block_cache_num_shardbits);
@@ -73,11 +81,12 @@ jlong Java_org_rocksdb_BlockBasedTableConfig_newTableFactoryHandle(
   options.hash_index_allow_collision = hash_index_allow_collision;
   if (block_cache_compressed_size > 0) {
     if (block_cache_compressd_num_shard_bits > 0) {
-      options.block_cache =
+      options.block_cache_compressed =
           rocksdb::NewLRUCache(block_cache_compressed_size,
               block_cache_compressd_num_shard_bits);
     } else {
-      options.block_cache = rocksdb::NewLRUCache(block_cache_compressed_size);
+      options.block_cache_compressed =
+          rocksdb::NewLRUCache(block_cache_compressed_size);
     }
   }
   options.checksum = static_cast<rocksdb::ChecksumType>(jchecksum_type);
@@ -86,3 +95,46 @@ jlong Java_org_rocksdb_BlockBasedTableConfig_newTableFactoryHandle(
 
   return reinterpret_cast<jlong>(rocksdb::NewBlockBasedTableFactory(options));
 }
+
+/*
+ * Class:     org_rocksdb_CuckooTableConfig
+ * Method:    newTableFactoryHandle
+ * Signature: (DIIZZ)J
+ */
+jlong Java_org_rocksdb_CuckooTableConfig_newTableFactoryHandle(
+    JNIEnv* env, jobject jobj, jdouble jhash_table_ratio,
+    jint jmax_search_depth, jint jcuckoo_block_size,
+    jboolean jidentity_as_first_hash, jboolean juse_module_hash) {
+  rocksdb::CuckooTableOptions options = rocksdb::CuckooTableOptions();
+  options.hash_table_ratio = jhash_table_ratio;
+  options.max_search_depth = static_cast<uint32_t>(jmax_search_depth);
+  options.cuckoo_block_size = static_cast<uint32_t>(jcuckoo_block_size);
+  options.identity_as_first_hash = jidentity_as_first_hash;
+  options.use_module_hash = juse_module_hash;
+  return reinterpret_cast<jlong>(rocksdb::NewCuckooTableFactory(options));
+}
+
+namespace {
+// takes the ownership of a table factory handle created by
+// TableFormatConfig.newTableFactoryHandle(), 0 is mapped to nullptr.
+std::shared_ptr<rocksdb::TableFactory> TableFactoryFromHandle(jlong jhandle) {
+  return std::shared_ptr<rocksdb::TableFactory>(
+      reinterpret_cast<rocksdb::TableFactory*>(jhandle));
+}
+}  // namespace
+
+/*
+ * Class:     org_rocksdb_AdaptiveTableConfig
+ * Method:    newTableFactoryHandle
+ * Signature: (JJJJ)J
+ */
+jlong Java_org_rocksdb_AdaptiveTableConfig_newTableFactoryHandle(
+    JNIEnv* env, jobject jobj, jlong jwrite_table_factory,
+    jlong jblock_based_table_factory, jlong jplain_table_factory,
+    jlong jcuckoo_table_factory) {
+  return reinterpret_cast<jlong>(rocksdb::NewAdaptiveTableFactory(
+      TableFactoryFromHandle(jwrite_table_factory),
+      TableFactoryFromHandle(jblock_based_table_factory),
+      TableFactoryFromHandle(jplain_table_factory),
+      TableFactoryFromHandle(jcuckoo_table_factory)));
+}
@@ -0,0 +1,154 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+//
+// This file implements the "bridge" between Java and C++ for
+// rocksdb::TablePropertiesCollectorFactory.
+
+#include <jni.h>
+#include <memory>
+#include <string>
+
+#include "include/org_rocksdb_AbstractTablePropertiesCollectorFactory.h"
+#include "include/org_rocksdb_TablePropertiesCollectorFactory.h"
+#include "include/org_rocksdb_TimestampRangeCollectorFactory.h"
+#include "rocksjni/portal.h"
+#include "rocksjni/tablepropertiescollectorjnicallback.h"
+#include "rocksdb/table_properties.h"
+
+namespace rocksdb {
+namespace {
+// Records the smallest and the largest 8 byte big-endian timestamp
+// found at a fixed offset of each key (or value) in a table.
+class TimestampRangeCollector : public TablePropertiesCollector {
+ public:
+  TimestampRangeCollector(const std::string& name, bool from_value,
+                          size_t offset)
+      : name_(name), from_value_(from_value), offset_(offset),
+        min_(0), max_(0), count_(0) {}
+
+  virtual Status Add(const Slice& key, const Slice& value) override {
+    const Slice& field = from_value_ ? value : key;
+    if (field.size() < offset_ + sizeof(uint64_t)) {
+      return Status::OK();
+    }
+    uint64_t ts = DecodeBigEndian(field.data() + offset_);
+    if (count_ == 0 || ts < min_) {
+      min_ = ts;
+    }
+    if (count_ == 0 || ts > max_) {
+      max_ = ts;
+    }
+    count_++;
+    return Status::OK();
+  }
+
+  virtual Status Finish(UserCollectedProperties* properties) override {
+    if (count_ > 0) {
+      properties->insert({name_ + ".min", EncodeBigEndian(min_)});
+      properties->insert({name_ + ".max", EncodeBigEndian(max_)});
+    }
+    properties->insert({name_ + ".count", EncodeBigEndian(count_)});
+    return Status::OK();
+  }
+
+  virtual UserCollectedProperties GetReadableProperties() const override {
+    return UserCollectedProperties{
+        {name_ + ".min", std::to_string(min_)},
+        {name_ + ".max", std::to_string(max_)},
+        {name_ + ".count", std::to_string(count_)}};
+  }
+
+  virtual const char* Name() const override { return name_.c_str(); }
+
+ private:
+  static uint64_t DecodeBigEndian(const char* p) {
+    uint64_t v = 0;
+    for (size_t i = 0; i < sizeof(uint64_t); i++) {
+      v = (v << 8) | static_cast<unsigned char>(p[i]);
+    }
+    return v;
+  }
+
+  static std::string EncodeBigEndian(uint64_t v) {
+    std::string dst(sizeof(uint64_t), '\0');
+    for (size_t i = sizeof(uint64_t); i > 0; i--) {
+      dst[i - 1] = static_cast<char>(v & 0xff);
+      v >>= 8;
+    }
+    return dst;
+  }
+
+  const std::string name_;
+  const bool from_value_;
+  const size_t offset_;
+  uint64_t min_;
+  uint64_t max_;
+  uint64_t count_;
+};
+
+class TimestampRangeCollectorFactory : public TablePropertiesCollectorFactory {
+ public:
+  TimestampRangeCollectorFactory(const std::string& name, bool from_value,
+                                 size_t offset)
+      : name_(name), from_value_(from_value), offset_(offset) {}
+
+  virtual TablePropertiesCollector* CreateTablePropertiesCollector()
+      override {
+    return new TimestampRangeCollector(name_, from_value_, offset_);
+  }
+
+  virtual const char* Name() const override { return name_.c_str(); }
+
+ private:
+  const std::string name_;
+  const bool from_value_;
+  const size_t offset_;
+};
+}  // namespace
+}  // namespace rocksdb
+
+/*
+ * Class:     org_rocksdb_AbstractTablePropertiesCollectorFactory
+ * Method:    disposeInternal
+ * Signature: (J)V
+ */
+void Java_org_rocksdb_AbstractTablePropertiesCollectorFactory_disposeInternal(
+    JNIEnv* env, jobject jobj, jlong jhandle) {
+  delete reinterpret_cast<
+      std::shared_ptr<rocksdb::TablePropertiesCollectorFactory>*>(jhandle);
+}
+
+/*
+ * Class:     org_rocksdb_TimestampRangeCollectorFactory
+ * Method:    createNewTimestampRangeCollectorFactory
+ * Signature: (Ljava/lang/String;ZI)V
+ */
+void Java_org_rocksdb_TimestampRangeCollectorFactory_createNewTimestampRangeCollectorFactory(
+    JNIEnv* env, jobject jobj, jstring jname, jboolean jfrom_value,
+    jint joffset) {
+  const char* name = env->GetStringUTFChars(jname, 0);
+  auto* factory =
+      new std::shared_ptr<rocksdb::TablePropertiesCollectorFactory>(
+          new rocksdb::TimestampRangeCollectorFactory(name,
+              static_cast<bool>(jfrom_value), static_cast<size_t>(joffset)));
+  env->ReleaseStringUTFChars(jname, name);
+  rocksdb::AbstractTablePropertiesCollectorFactoryJni::setHandle(
+      env, jobj, factory);
+}
+
+/*
+ * Class:     org_rocksdb_TablePropertiesCollectorFactory
+ * Method:    createNewTablePropertiesCollectorFactory0
+ * Signature: (I)V
+ */
+void Java_org_rocksdb_TablePropertiesCollectorFactory_createNewTablePropertiesCollectorFactory0(
+    JNIEnv* env, jobject jobj, jint jbatch_size) {
+  auto* factory =
+      new std::shared_ptr<rocksdb::TablePropertiesCollectorFactory>(
+          new rocksdb::TablePropertiesCollectorFactoryJniCallback(
+              env, jobj, static_cast<size_t>(jbatch_size)));
+  rocksdb::AbstractTablePropertiesCollectorFactoryJni::setHandle(
+      env, jobj, factory);
+}
@@ -0,0 +1,211 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+//
+// This file implements the callback "bridge" between Java and C++ for
+// rocksdb::TablePropertiesCollector and
+// rocksdb::TablePropertiesCollectorFactory.
+
+#include "rocksjni/tablepropertiescollectorjnicallback.h"
+#include "rocksjni/portal.h"
+
+namespace rocksdb {
+namespace {
+// Used in place of a Java collector when the Java factory failed
+// to provide one, as the table builders do not accept nullptr.
+class EmptyTablePropertiesCollector : public TablePropertiesCollector {
+ public:
+  explicit EmptyTablePropertiesCollector(const std::string& name)
+      : name_(name) {}
+  virtual Status Add(const Slice& key, const Slice& value) override {
+    return Status::OK();
+  }
+  virtual Status Finish(UserCollectedProperties* properties) override {
+    return Status::OK();
+  }
+  virtual UserCollectedProperties GetReadableProperties() const override {
+    return UserCollectedProperties();
+  }
+  virtual const char* Name() const override { return name_.c_str(); }
+
+ private:
+  std::string name_;
+};
+}  // namespace
+
+TablePropertiesCollectorJniCallback::TablePropertiesCollectorJniCallback(
+    JNIEnv* env, jobject jCollector, const std::string& name,
+    size_t batch_size)
+    : m_name(name), m_batch_size(batch_size > 0 ? batch_size : 1) {
+  const jint rs = env->GetJavaVM(&m_jvm);
+  assert(rs == JNI_OK);
+
+  // Note: the collector is used across multiple Add() calls,
+  // so we create a global ref
+  m_jCollector = env->NewGlobalRef(jCollector);
+
+  m_keys.reserve(m_batch_size);
+  m_values.reserve(m_batch_size);
+}
+
+const char* TablePropertiesCollectorJniCallback::Name() const {
+  return m_name.c_str();
+}
+
+Status TablePropertiesCollectorJniCallback::Add(
+    const Slice& key, const Slice& value) {
+  m_keys.push_back(key.ToString());
+  m_values.push_back(value.ToString());
+  if (m_keys.size() < m_batch_size) {
+    return Status::OK();
+  }
+
+  bool attached;
+  JNIEnv* env = JniUtil::getJniEnv(m_jvm, &attached);
+  Status s = FlushBatch(env);
+  JniUtil::releaseJniEnv(m_jvm, attached);
+  return s;
+}
+
+/**
+ * Hands the buffered key/value pairs over to the Java
+ * collector in a single upcall.
+ */
+Status TablePropertiesCollectorJniCallback::FlushBatch(JNIEnv* env) {
+  const jsize count = static_cast<jsize>(m_keys.size());
+  if (count == 0) {
+    return Status::OK();
+  }
+
+  jclass jbyte_array_clazz = env->FindClass("[B");
+  jobjectArray jkeys = env->NewObjectArray(count, jbyte_array_clazz, nullptr);
+  jobjectArray jvalues =
+      env->NewObjectArray(count, jbyte_array_clazz, nullptr);
+  for (jsize i = 0; i < count; i++) {
+    jbyteArray jkey = JniUtil::newByteArray(env, m_keys[i]);
+    env->SetObjectArrayElement(jkeys, i, jkey);
+    env->DeleteLocalRef(jkey);
+    jbyteArray jvalue = JniUtil::newByteArray(env, m_values[i]);
+    env->SetObjectArrayElement(jvalues, i, jvalue);
+    env->DeleteLocalRef(jvalue);
+  }
+  m_keys.clear();
+  m_values.clear();
+
+  env->CallVoidMethod(m_jCollector,
+      TablePropertiesCollectorJni::getAddMethodId(env), jkeys, jvalues, count);
+
+  env->DeleteLocalRef(jkeys);
+  env->DeleteLocalRef(jvalues);
+  env->DeleteLocalRef(jbyte_array_clazz);
+
+  if (env->ExceptionCheck()) {
+    env->ExceptionClear();
+    return Status::Aborted(m_name, "exception thrown in add");
+  }
+  return Status::OK();
+}
+
+Status TablePropertiesCollectorJniCallback::Finish(
+    UserCollectedProperties* properties) {
+  bool attached;
+  JNIEnv* env = JniUtil::getJniEnv(m_jvm, &attached);
+
+  Status s = FlushBatch(env);
+  if (s.ok()) {
+    // finish0 returns the collected properties flattened as
+    // {name0, value0, name1, value1, ...}
+    jobjectArray jprops = static_cast<jobjectArray>(env->CallObjectMethod(
+        m_jCollector, TablePropertiesCollectorJni::getFinishMethodId(env)));
+    if (env->ExceptionCheck()) {
+      env->ExceptionClear();
+      s = Status::Aborted(m_name, "exception thrown in finish");
+    } else if (jprops != nullptr) {
+      const jsize len = env->GetArrayLength(jprops);
+      for (jsize i = 0; i + 1 < len; i += 2) {
+        jbyteArray jname =
+            static_cast<jbyteArray>(env->GetObjectArrayElement(jprops, i));
+        jbyteArray jvalue =
+            static_cast<jbyteArray>(env->GetObjectArrayElement(jprops, i + 1));
+        m_properties[JniUtil::copyBytes(env, jname)] =
+            JniUtil::copyBytes(env, jvalue);
+        env->DeleteLocalRef(jname);
+        env->DeleteLocalRef(jvalue);
+      }
+      env->DeleteLocalRef(jprops);
+      properties->insert(m_properties.begin(), m_properties.end());
+    }
+  }
+
+  JniUtil::releaseJniEnv(m_jvm, attached);
+  return s;
+}
+
+UserCollectedProperties
+    TablePropertiesCollectorJniCallback::GetReadableProperties() const {
+  return m_properties;
+}
+
+TablePropertiesCollectorJniCallback::~TablePropertiesCollectorJniCallback() {
+  bool attached;
+  JNIEnv* env = JniUtil::getJniEnv(m_jvm, &attached);
+  env->DeleteGlobalRef(m_jCollector);
+  JniUtil::releaseJniEnv(m_jvm, attached);
+}
+
+TablePropertiesCollectorFactoryJniCallback::
+    TablePropertiesCollectorFactoryJniCallback(
+    JNIEnv* env, jobject jFactory, size_t batch_size)
+    : m_batch_size(batch_size) {
+  const jint rs = env->GetJavaVM(&m_jvm);
+  assert(rs == JNI_OK);
+
+  // Note: the factory is called from background flush and
+  // compaction threads, so we create a global ref
+  m_jFactory = env->NewGlobalRef(jFactory);
+
+  // Note: The name of a factory will not change during it's lifetime,
+  // so we cache it
+  jstring jsName = static_cast<jstring>(env->CallObjectMethod(m_jFactory,
+      TablePropertiesCollectorFactoryJni::getNameMethodId(env)));
+  m_name = JniUtil::copyString(env, jsName);  // also releases jsName
+}
+
+const char* TablePropertiesCollectorFactoryJniCallback::Name() const {
+  return m_name.c_str();
+}
+
+TablePropertiesCollector*
+    TablePropertiesCollectorFactoryJniCallback::CreateTablePropertiesCollector() {
+  bool attached;
+  JNIEnv* env = JniUtil::getJniEnv(m_jvm, &attached);
+
+  jobject jcollector = env->CallObjectMethod(m_jFactory,
+      TablePropertiesCollectorFactoryJni::getNewCollectorMethodId(env));
+  if (env->ExceptionCheck()) {
+    env->ExceptionClear();
+    jcollector = nullptr;
+  }
+
+  TablePropertiesCollector* collector;
+  if (jcollector != nullptr) {
+    collector = new TablePropertiesCollectorJniCallback(
+        env, jcollector, m_name, m_batch_size);
+    env->DeleteLocalRef(jcollector);
+  } else {
+    collector = new EmptyTablePropertiesCollector(m_name);
+  }
+
+  JniUtil::releaseJniEnv(m_jvm, attached);
+  return collector;
+}
+
+TablePropertiesCollectorFactoryJniCallback::
+    ~TablePropertiesCollectorFactoryJniCallback() {
+  bool attached;
+  JNIEnv* env = JniUtil::getJniEnv(m_jvm, &attached);
+  env->DeleteGlobalRef(m_jFactory);
+  JniUtil::releaseJniEnv(m_jvm, attached);
+}
+}  // namespace rocksdb
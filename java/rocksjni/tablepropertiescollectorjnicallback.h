@@ -0,0 +1,82 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+//
+// This file implements the callback "bridge" between Java and C++ for
+// rocksdb::TablePropertiesCollector and
+// rocksdb::TablePropertiesCollectorFactory.
+
+#ifndef JAVA_ROCKSJNI_TABLEPROPERTIESCOLLECTORJNICALLBACK_H_
+#define JAVA_ROCKSJNI_TABLEPROPERTIESCOLLECTORJNICALLBACK_H_
+
+#include <jni.h>
+#include <string>
+#include <vector>
+#include "rocksdb/slice.h"
+#include "rocksdb/status.h"
+#include "rocksdb/table_properties.h"
+
+namespace rocksdb {
+
+/**
+ * This class acts as a bridge between C++ and Java for a single
+ * org.rocksdb.TablePropertiesCollector.
+ *
+ * To keep the JNI overhead per table rather than per key, the
+ * key/value pairs handed to Add() are buffered natively and passed
+ * to Java in batches of at most batch_size entries. The final
+ * partial batch is delivered just before Finish() is called on the
+ * Java collector.
+ *
+ * A collector is only ever used by the single thread building its
+ * table, so no locking is required.
+ */
+class TablePropertiesCollectorJniCallback : public TablePropertiesCollector {
+ public:
+    TablePropertiesCollectorJniCallback(
+      JNIEnv* env, jobject jCollector, const std::string& name,
+      size_t batch_size);
+    virtual ~TablePropertiesCollectorJniCallback();
+    virtual Status Add(const Slice& key, const Slice& value) override;
+    virtual Status Finish(UserCollectedProperties* properties) override;
+    virtual UserCollectedProperties GetReadableProperties() const override;
+    virtual const char* Name() const override;
+
+ private:
+    Status FlushBatch(JNIEnv* env);
+
+    JavaVM* m_jvm;
+    jobject m_jCollector;
+    std::string m_name;
+    size_t m_batch_size;
+    std::vector<std::string> m_keys;
+    std::vector<std::string> m_values;
+    UserCollectedProperties m_properties;
+};
+
+/**
+ * This class acts as a bridge between C++ and Java for
+ * org.rocksdb.TablePropertiesCollectorFactory. Each call to
+ * CreateTablePropertiesCollector() asks the Java factory for a
+ * new org.rocksdb.TablePropertiesCollector.
+ */
+class TablePropertiesCollectorFactoryJniCallback
+    : public TablePropertiesCollectorFactory {
+ public:
+    TablePropertiesCollectorFactoryJniCallback(
+      JNIEnv* env, jobject jFactory, size_t batch_size);
+    virtual ~TablePropertiesCollectorFactoryJniCallback();
+    virtual TablePropertiesCollector* CreateTablePropertiesCollector()
+        override;
+    virtual const char* Name() const override;
+
+ private:
+    JavaVM* m_jvm;
+    jobject m_jFactory;
+    std::string m_name;
+    size_t m_batch_size;
+};
+}  // namespace rocksdb
+
+#endif  // JAVA_ROCKSJNI_TABLEPROPERTIESCOLLECTORJNICALLBACK_H_
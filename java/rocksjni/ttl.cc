@@ -0,0 +1,147 @@
+// Copyright (c) 2014, Facebook, Inc.  All rights reserved.
+// This source code is licensed under the BSD-style license found in the
+// LICENSE file in the root directory of this source tree. An additional grant
+// of patent rights can be found in the PATENTS file in the same directory.
+//
+// This file implements the "bridge" between Java and C++ and enables
+// calling c++ rocksdb::DBWithTTL methods from Java side.
+
+#include <stdio.h>
+#include <stdlib.h>
+#include <jni.h>
+#include <string>
+#include <vector>
+
+#include "include/org_rocksdb_TtlDB.h"
+#include "rocksjni/portal.h"
+#include "rocksdb/utilities/db_ttl.h"
+
+/*
+ * Class:     org_rocksdb_TtlDB
+ * Method:    open
+ * Signature: (JLjava/lang/String;IZ)V
+ */
+void Java_org_rocksdb_TtlDB_open__JLjava_lang_String_2IZ(JNIEnv* env,
+    jobject jttldb, jlong joptions_handle, jstring jdb_path,
+    jint jttl, jboolean jread_only) {
+  auto opt = reinterpret_cast<rocksdb::Options*>(joptions_handle);
+  rocksdb::DBWithTTL* db = nullptr;
+  const char* db_path = env->GetStringUTFChars(jdb_path, 0);
+  rocksdb::Status s = rocksdb::DBWithTTL::Open(*opt, db_path, &db,
+      jttl, jread_only);
+  env->ReleaseStringUTFChars(jdb_path, db_path);
+
+  // as TtlDB extends RocksDB on the java side, we can reuse
+  // the RocksDB portal here.
+  if (s.ok()) {
+    rocksdb::RocksDBJni::setHandle(env, jttldb, db);
+    return;
+  }
+  rocksdb::RocksDBExceptionJni::ThrowNew(env, s);
+}
+
+/*
+ * Class:     org_rocksdb_TtlDB
+ * Method:    open
+ * Signature: (JLjava/lang/String;Ljava/util/List;I[IZ)Ljava/util/List;
+ */
+jobject
+    Java_org_rocksdb_TtlDB_open__JLjava_lang_String_2Ljava_util_List_2I_3IZ(
+    JNIEnv* env, jobject jttldb, jlong jopt_handle, jstring jdb_path,
+    jobject jcfname_list, jint jcfname_count, jintArray jttls,
+    jboolean jread_only) {
+  auto opt = reinterpret_cast<rocksdb::Options*>(jopt_handle);
+  rocksdb::DBWithTTL* db = nullptr;
+  const char* db_path = env->GetStringUTFChars(jdb_path, 0);
+
+  std::vector<const char*> cfnames_to_free;
+  std::vector<jstring> jcfnames_for_free;
+
+  std::vector<rocksdb::ColumnFamilyDescriptor> column_families;
+  std::vector<rocksdb::ColumnFamilyHandle* > handles;
+  // get iterator for cfnames
+  jobject iteratorObj = env->CallObjectMethod(
+      jcfname_list, rocksdb::ListJni::getIteratorMethod(env));
+
+  // iterate over cfnames and convert cfnames to
+  // ColumnFamilyDescriptor instances
+  while (env->CallBooleanMethod(
+      iteratorObj, rocksdb::ListJni::getHasNextMethod(env)) == JNI_TRUE) {
+    jstring jstr = (jstring) env->CallObjectMethod(iteratorObj,
+        rocksdb::ListJni::getNextMethod(env));
+    const char* cfname = env->GetStringUTFChars(jstr, 0);
+
+    // free allocated cfnames after call to open
+    cfnames_to_free.push_back(cfname);
+    jcfnames_for_free.push_back(jstr);
+    column_families.push_back(rocksdb::ColumnFamilyDescriptor(cfname,
+        *static_cast<rocksdb::ColumnFamilyOptions*>(opt)));
+  }
+
+  std::vector<int32_t> ttl_values;
+  jint* ttls = env->GetIntArrayElements(jttls, 0);
+  jsize ttls_len = env->GetArrayLength(jttls);
+  for (jsize i = 0; i < ttls_len; i++) {
+    ttl_values.push_back(ttls[i]);
+  }
+  env->ReleaseIntArrayElements(jttls, ttls, JNI_ABORT);
+
+  rocksdb::Status s = rocksdb::DBWithTTL::Open(*opt, db_path,
+      column_families, &handles, &db, ttl_values, jread_only);
+  env->ReleaseStringUTFChars(jdb_path, db_path);
+  // free jbyte allocations
+  for (std::vector<jbyte*>::size_type i = 0;
+      i != cfnames_to_free.size(); i++) {
+    // free cfnames
+    env->ReleaseStringUTFChars(jcfnames_for_free[i], cfnames_to_free[i]);
+  }
+
+  // check if open operation was successful
+  if (s.ok()) {
+    rocksdb::RocksDBJni::setHandle(env, jttldb, db);
+    jclass jListClazz = env->FindClass("java/util/ArrayList");
+    jmethodID midList = rocksdb::ListJni::getArrayListConstructorMethodId(
+        env, jListClazz);
+    jobject jcfhandle_list = env->NewObject(jListClazz,
+        midList, handles.size());
+    // insert in java list
+    for (std::vector<rocksdb::ColumnFamilyHandle*>::size_type i = 0;
+        i != handles.size(); i++) {
+      // jlong must be converted to Long due to collections restrictions
+      jclass jLongClazz = env->FindClass("java/lang/Long");
+      jmethodID midLong = env->GetMethodID(jLongClazz, "<init>", "(J)V");
+      jobject obj = env->NewObject(jLongClazz, midLong,
+          reinterpret_cast<jlong>(handles[i]));
+      env->CallBooleanMethod(jcfhandle_list,
+          rocksdb::ListJni::getListAddMethodId(env), obj);
+    }
+
+    return jcfhandle_list;
+  }
+  rocksdb::RocksDBExceptionJni::ThrowNew(env, s);
+  return nullptr;
+}
+
+/*
+ * Class:     org_rocksdb_TtlDB
+ * Method:    createColumnFamilyWithTtl
+ * Signature: (JJLjava/lang/String;I)J;
+ */
+jlong Java_org_rocksdb_TtlDB_createColumnFamilyWithTtl(
+    JNIEnv* env, jobject jobj, jlong jdb_handle, jlong jopt_handle,
+    jstring jcfname, jint jttl) {
+  rocksdb::ColumnFamilyHandle* handle;
+  const char* cfname = env->GetStringUTFChars(jcfname, 0);
+  auto db_handle = reinterpret_cast<rocksdb::DBWithTTL*>(jdb_handle);
+  auto opt = reinterpret_cast<rocksdb::Options*>(jopt_handle);
+  rocksdb::Status s = db_handle->CreateColumnFamilyWithTtl(
+      *static_cast<rocksdb::ColumnFamilyOptions*>(opt), cfname, &handle,
+      jttl);
+  env->ReleaseStringUTFChars(jcfname, cfname);
+
+  if (s.ok()) {
+    return reinterpret_cast<jlong>(handle);
+  }
+  rocksdb::RocksDBExceptionJni::ThrowNew(env, s);
+  return 0;
+}
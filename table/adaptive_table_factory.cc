@@ -18,15 +18,15 @@ AdaptiveTableFactory::AdaptiveTableFactory(
       block_based_table_factory_(block_based_table_factory),
       plain_table_factory_(plain_table_factory),
       cuckoo_table_factory_(cuckoo_table_factory) {
-  if (!table_factory_to_write_) {
-    table_factory_to_write_ = block_based_table_factory_;
-  }
   if (!plain_table_factory_) {
     plain_table_factory_.reset(NewPlainTableFactory());
   }
   if (!block_based_table_factory_) {
     block_based_table_factory_.reset(NewBlockBasedTableFactory());
   }
+  if (!table_factory_to_write_) {
+    table_factory_to_write_ = block_based_table_factory_;
+  }
   if (!cuckoo_table_factory_) {
     cuckoo_table_factory_.reset(NewCuckooTableFactory());
   }
@@ -78,25 +78,25 @@ std::string AdaptiveTableFactory::GetPrintableTableOptions() const {
   const int kBufferSize = 200;
   char buffer[kBufferSize];
 
-  if (!table_factory_to_write_) {
+  if (table_factory_to_write_) {
     snprintf(buffer, kBufferSize, "  write factory (%s) options:\n%s\n",
              table_factory_to_write_->Name(),
              table_factory_to_write_->GetPrintableTableOptions().c_str());
     ret.append(buffer);
   }
-  if (!plain_table_factory_) {
+  if (plain_table_factory_) {
     snprintf(buffer, kBufferSize, "  %s options:\n%s\n",
              plain_table_factory_->Name(),
              plain_table_factory_->GetPrintableTableOptions().c_str());
     ret.append(buffer);
   }
-  if (!block_based_table_factory_) {
+  if (block_based_table_factory_) {
     snprintf(buffer, kBufferSize, "  %s options:\n%s\n",
              block_based_table_factory_->Name(),
              block_based_table_factory_->GetPrintableTableOptions().c_str());
     ret.append(buffer);
   }
-  if (!cuckoo_table_factory_) {
+  if (cuckoo_table_factory_) {
     snprintf(buffer, kBufferSize, "  %s options:\n%s\n",
              cuckoo_table_factory_->Name(),
              cuckoo_table_factory_->GetPrintableTableOptions().c_str());
@@ -51,6 +51,10 @@ class BlockBasedTableFactory : public TableFactory {
 
   std::string GetPrintableTableOptions() const override;
 
+  const BlockBasedTableOptions& table_options() const {
+    return table_options_;
+  }
+
  private:
   BlockBasedTableOptions table_options_;
 };
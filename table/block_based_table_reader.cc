@@ -1103,8 +1103,12 @@ Status BlockBasedTable::Get(
 
   // First check the full filter
   // If full filter not useful, Then go into each block
-  if (filter != nullptr && !filter->IsBlockBased()
-                        && !filter->KeyMayMatch(ExtractUserKey(key))) {
+  bool full_filter_useful = false;
+  if (filter != nullptr && !filter->IsBlockBased()) {
+    full_filter_useful = !filter->KeyMayMatch(ExtractUserKey(key));
+    get_context->RecordFilterCheck(full_filter_useful);
+  }
+  if (full_filter_useful) {
     RecordTick(rep_->ioptions.statistics, BLOOM_FILTER_USEFUL);
   } else {
     BlockIter iiter;
@@ -1115,10 +1119,13 @@ Status BlockBasedTable::Get(
       Slice handle_value = iiter.value();
 
       BlockHandle handle;
-      bool not_exist_in_filter =
-          filter != nullptr && filter->IsBlockBased() == true &&
-          handle.DecodeFrom(&handle_value).ok() &&
-          !filter->KeyMayMatch(ExtractUserKey(key), handle.offset());
+      bool not_exist_in_filter = false;
+      if (filter != nullptr && filter->IsBlockBased() == true &&
+          handle.DecodeFrom(&handle_value).ok()) {
+        not_exist_in_filter =
+            !filter->KeyMayMatch(ExtractUserKey(key), handle.offset());
+        get_context->RecordFilterCheck(not_exist_in_filter);
+      }
 
       if (not_exist_in_filter) {
         // Not found
@@ -1133,8 +1140,11 @@ Status BlockBasedTable::Get(
         if (read_options.read_tier && biter.status().IsIncomplete()) {
           // couldn't get block from block_cache
           // Update Saver.state to Found because we are only looking for whether
-          // we can guarantee the key is not there when "no_io" is set
+          // we can guarantee the key is not there when "no_io" is set.
+          // Return the incomplete status, so that a Get() does not mistake
+          // the key for one having an empty value
           get_context->MarkKeyMayExist();
+          s = biter.status();
           break;
         }
         if (!biter.status().ok()) {
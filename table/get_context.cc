@@ -23,7 +23,9 @@ GetContext::GetContext(const Comparator* ucmp,
     user_key_(user_key),
     value_(ret_value),
     value_found_(value_found),
-    merge_context_(merge_context) {
+    merge_context_(merge_context),
+    filter_checked_(0),
+    filter_useful_(0) {
 }
 
 // Called from TableCache::Get and Table::Get when file/block in which
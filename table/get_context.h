@@ -26,9 +26,19 @@ class GetContext {
              bool* value_found, MergeContext* merge_context);
 
   void MarkKeyMayExist();
+  // Called by table readers every time a filter is consulted, useful is
+  // true if the filter ruled out the key.
+  void RecordFilterCheck(bool useful) {
+    ++filter_checked_;
+    if (useful) {
+      ++filter_useful_;
+    }
+  }
   void SaveValue(const Slice& value);
   bool SaveValue(const ParsedInternalKey& parsed_key, const Slice& value);
   GetState State() const { return state_; }
+  uint64_t filter_checked() const { return filter_checked_; }
+  uint64_t filter_useful() const { return filter_useful_; }
 
  private:
   const Comparator* ucmp_;
@@ -42,6 +52,8 @@ class GetContext {
   std::string* value_;
   bool* value_found_;  // Is value set correctly? Used by KeyMayExist
   MergeContext* merge_context_;
+  uint64_t filter_checked_;
+  uint64_t filter_useful_;
 };
 
 }  // namespace rocksdb
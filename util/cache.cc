@@ -37,6 +37,7 @@ struct LRUHandle {
   size_t charge;      // TODO(opt): Only allow uint32_t?
   size_t key_length;
   uint32_t refs;
+  bool in_cache;      // Whether the entry is in the LRU list
   uint32_t hash;      // Hash of key(); used for fast sharding and comparisons
   char key_data[1];   // Beginning of key
 
@@ -164,10 +165,17 @@ class LRUCache {
     return usage_;
   }
 
+  size_t GetPinnedUsage() const {
+    MutexLock l(&mutex_);
+    return pinned_usage_;
+  }
+
   void ApplyToAllCacheEntries(void (*callback)(void*, size_t),
                               bool thread_safe);
 
  private:
+  // Remove or append an entry of the LRU list, updating usage_ and
+  // pinned_usage_ with the current refs of the entry.
   void LRU_Remove(LRUHandle* e);
   void LRU_Append(LRUHandle* e);
   // Just reduce the reference count by 1.
@@ -185,6 +193,9 @@ class LRUCache {
   // don't mind mutex_ invoking the non-const actions.
   mutable port::Mutex mutex_;
   size_t usage_;
+  // Total charge of the entries in the LRU list which are referenced by
+  // anyone but the cache, i.e. whose refs are greater than 1.
+  size_t pinned_usage_;
 
   // Dummy head of LRU list.
   // lru.prev is newest entry, lru.next is oldest entry.
@@ -194,7 +205,7 @@ class LRUCache {
 };
 
 LRUCache::LRUCache()
-    : usage_(0) {
+    : usage_(0), pinned_usage_(0) {
   // Make empty circular linked list
   lru_.next = &lru_;
   lru_.prev = &lru_;
@@ -239,7 +250,11 @@ void LRUCache::ApplyToAllCacheEntries(void (*callback)(void*, size_t),
 void LRUCache::LRU_Remove(LRUHandle* e) {
   e->next->prev = e->prev;
   e->prev->next = e->next;
+  e->in_cache = false;
   usage_ -= e->charge;
+  if (e->refs > 1) {
+    pinned_usage_ -= e->charge;
+  }
 }
 
 void LRUCache::LRU_Append(LRUHandle* e) {
@@ -248,15 +263,19 @@ void LRUCache::LRU_Append(LRUHandle* e) {
   e->prev = lru_.prev;
   e->prev->next = e;
   e->next->prev = e;
+  e->in_cache = true;
   usage_ += e->charge;
+  if (e->refs > 1) {
+    pinned_usage_ += e->charge;
+  }
 }
 
 Cache::Handle* LRUCache::Lookup(const Slice& key, uint32_t hash) {
   MutexLock l(&mutex_);
   LRUHandle* e = table_.Lookup(key, hash);
   if (e != nullptr) {
-    e->refs++;
     LRU_Remove(e);
+    e->refs++;
     LRU_Append(e);
   }
   return reinterpret_cast<Cache::Handle*>(e);
@@ -267,6 +286,10 @@ void LRUCache::Release(Cache::Handle* handle) {
   bool last_reference = false;
   {
     MutexLock l(&mutex_);
+    if (e->in_cache && e->refs == 2) {
+      // only the cache references the entry from now on
+      pinned_usage_ -= e->charge;
+    }
     last_reference = Unref(e);
   }
   if (last_reference) {
@@ -288,6 +311,7 @@ Cache::Handle* LRUCache::Insert(
   e->key_length = key.size();
   e->hash = hash;
   e->refs = 2;  // One from LRUCache, one for the returned handle
+  e->in_cache = false;
   memcpy(e->key_data, key.data(), key.size());
 
   {
@@ -445,6 +469,15 @@ class ShardedLRUCache : public Cache {
     return usage;
   }
 
+  virtual size_t GetPinnedUsage() const {
+    int num_shards = 1 << num_shard_bits_;
+    size_t usage = 0;
+    for (int s = 0; s < num_shards; s++) {
+      usage += shards_[s].GetPinnedUsage();
+    }
+    return usage;
+  }
+
   virtual void DisownData() {
     shards_ = nullptr;
   }
@@ -142,6 +142,61 @@ TEST(CacheTest, UsageTest) {
   ASSERT_LT(kCapacity * 0.95, cache->GetUsage());
 }
 
+TEST(CacheTest, PinnedUsageTest) {
+  // cache is shared_ptr and will be automatically cleaned up.
+  const uint64_t kCapacity = 100000;
+  auto cache = NewLRUCache(kCapacity, 8, 200);
+
+  size_t pinned_usage = 0;
+  const char* value = "abcdef";
+  std::vector<Cache::Handle*> unreleased_handles;
+
+  // entries with an outstanding handle are pinned
+  for (int i = 1; i < 100; ++i) {
+    std::string key(i, 'a');
+    auto kv_size = key.size() + 5;
+    auto handle = cache->Insert(key, (void*)value, kv_size, dumbDeleter);
+    pinned_usage += kv_size;
+    ASSERT_EQ(pinned_usage, cache->GetPinnedUsage());
+    unreleased_handles.push_back(handle);
+  }
+
+  // released entries are not pinned
+  for (int i = 1; i < 100; ++i) {
+    std::string key(i, 'b');
+    cache->Release(
+        cache->Insert(key, (void*)value, key.size() + 5, dumbDeleter));
+    ASSERT_EQ(pinned_usage, cache->GetPinnedUsage());
+  }
+  ASSERT_LT(pinned_usage, cache->GetUsage());
+
+  // a lookup pins an entry again
+  auto handle = cache->Lookup(std::string(10, 'b'));
+  ASSERT_TRUE(handle != nullptr);
+  ASSERT_EQ(pinned_usage + 15, cache->GetPinnedUsage());
+  cache->Release(handle);
+  ASSERT_EQ(pinned_usage, cache->GetPinnedUsage());
+
+  // a second handle does not pin an entry twice
+  handle = cache->Lookup(std::string(1, 'a'));
+  ASSERT_TRUE(handle != nullptr);
+  ASSERT_EQ(pinned_usage, cache->GetPinnedUsage());
+  cache->Release(handle);
+  ASSERT_EQ(pinned_usage, cache->GetPinnedUsage());
+
+  // erased and replaced entries are not pinned, even if still referenced
+  cache->Erase(std::string(1, 'a'));
+  ASSERT_EQ(pinned_usage - 6, cache->GetPinnedUsage());
+  cache->Release(
+      cache->Insert(std::string(2, 'a'), (void*)value, 7, dumbDeleter));
+  ASSERT_EQ(pinned_usage - 13, cache->GetPinnedUsage());
+
+  for (auto h : unreleased_handles) {
+    cache->Release(h);
+  }
+  ASSERT_EQ(0U, cache->GetPinnedUsage());
+}
+
 TEST(CacheTest, HitAndMiss) {
   ASSERT_EQ(-1, Lookup(100));
 
@@ -193,6 +193,11 @@ void HistogramImpl::Data(HistogramData * const data) const {
   data->percentile99 = Percentile(99);
   data->average = Average();
   data->standard_deviation = StandardDeviation();
+  data->max = max_;
+  data->min = (num_ == 0.0 ? 0.0 : min_);
+  data->count = static_cast<uint64_t>(num_);
+  data->sum = static_cast<uint64_t>(sum_);
+  data->buckets.assign(buckets_, buckets_ + bucketMapper.BucketCount());
 }
 
 } // namespace levedb
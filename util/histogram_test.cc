@@ -55,6 +55,33 @@ TEST(HistogramTest, ClearHistogram) {
   ASSERT_EQ(histogram.Average(), 0);
 }
 
+TEST(HistogramTest, HistogramData) {
+  HistogramImpl histogram;
+  HistogramData data;
+  histogram.Data(&data);
+  ASSERT_EQ(data.count, 0U);
+  ASSERT_EQ(data.min, 0.0);
+  ASSERT_EQ(data.max, 0.0);
+
+  for (uint64_t i = 1; i <= 100; i++) {
+    histogram.Add(i);
+  }
+  histogram.Data(&data);
+  ASSERT_EQ(data.count, 100U);
+  ASSERT_EQ(data.sum, 5050U);
+  ASSERT_EQ(data.min, 1.0);
+  ASSERT_EQ(data.max, 100.0);
+  ASSERT_EQ(data.buckets.size(), HistogramBucketMapper().BucketCount());
+  uint64_t count = 0;
+  for (auto bucket : data.buckets) {
+    count += bucket;
+  }
+  ASSERT_EQ(count, 100U);
+  // values 1 to 10 have a bucket each
+  ASSERT_EQ(data.buckets[0], 1U);
+  ASSERT_EQ(data.buckets[9], 1U);
+}
+
 }  // namespace rocksdb
 
 int main(int argc, char** argv) {
@@ -102,6 +102,11 @@ Status CompactedDBImpl::Init(const Options& options) {
   if (!s.ok()) {
     return s;
   }
+  // Get() only looks into the table files, entries recovered from the
+  // log files would silently be missing
+  if (!cfd_->mem()->IsEmpty()) {
+    return Status::NotSupported("Log files contain unflushed entries");
+  }
   version_ = cfd_->GetSuperVersion()->current;
   user_comparator_ = cfd_->user_comparator();
   auto* vstorage = version_->storage_info();
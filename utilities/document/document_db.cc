@@ -422,6 +422,26 @@ class SimpleSortedIndex : public Index {
     }
     iterator->Seek(Slice(encoded_limit));
 
+    if (direction == kBackwards) {
+      // Seek() positions at the first entry equal to the upper bound, but
+      // entries equal to the bound with bigger primary keys follow it. Skip
+      // them and start from the last entry that is not bigger than the bound
+      while (iterator->Valid()) {
+        IndexKey index_key(iterator->key());
+        if (!index_key.ok() ||
+            index_key.GetSecondaryKey().compare(Slice(encoded_limit)) > 0) {
+          break;
+        }
+        iterator->Next();
+      }
+      if (iterator->Valid()) {
+        iterator->Prev();
+      } else {
+        // all entries are smaller than or equal to the bound
+        iterator->SeekToLast();
+      }
+    }
+
     return direction;
   }
   // REQUIRES: UsefulIndex(filter) == true
@@ -237,6 +237,24 @@ TEST(DocumentDBTest, ComplexQueryTest) {
     AssertCursorIDs(cursor.get(), {4, 5, 9, 11});
   }
 
+  // priority <= 3, index priority
+  // (documents 4 and 9 have the same priority as the upper bound)
+  {
+    std::unique_ptr<JSONDocument> query(Parse(
+        "[{'$filter': {'priority': {'$lte': 3}, '$index': 'priority'}}]"));
+    std::unique_ptr<Cursor> cursor(db_->Query(ReadOptions(), *query));
+    AssertCursorIDs(cursor.get(), {2, 4, 6, 9});
+  }
+
+  // priority < 100, index priority
+  // (the upper bound is bigger than all index entries)
+  {
+    std::unique_ptr<JSONDocument> query(Parse(
+        "[{'$filter': {'priority': {'$lt': 100}, '$index': 'priority'}}]"));
+    std::unique_ptr<Cursor> cursor(db_->Query(ReadOptions(), *query));
+    AssertCursorIDs(cursor.get(), {1, 2, 4, 5, 6, 9, 11});
+  }
+
   // update set priority to 10 where job_name is 'white'
   {
     std::unique_ptr<JSONDocument> query(Parse("{'job_name': 'white'}"));
@@ -166,7 +166,10 @@ Status GeoDBImpl::SearchRadial(const GeoPosition& pos,
   // create an iterator
   Iterator* iter = db_->NewIterator(ReadOptions());
 
-  // Process each prospective quadkey
+  // Process each prospective quadkey. The corners of the bounding box
+  // may fall into the same tile, which must be scanned only once.
+  std::sort(qids.begin(), qids.end());
+  qids.erase(std::unique(qids.begin(), qids.end()), qids.end());
   for (std::string qid : qids) {
     // The user is interested in only these many objects.
     if (number_of_values == 0) {
@@ -193,7 +196,7 @@ Status GeoDBImpl::SearchRadial(const GeoPosition& pos,
       auto res = std::mismatch(qid.begin(), qid.end(), quadkey->begin());
       if (res.first == qid.end()) {
         GeoPosition obj_pos(atof(parts[3].c_str()), atof(parts[4].c_str()));
-        GeoObject obj(obj_pos, parts[4], iter->value().ToString());
+        GeoObject obj(obj_pos, parts[2], iter->value().ToString());
         values->push_back(obj);
         number_of_values--;
       } else {
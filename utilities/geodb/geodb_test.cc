@@ -107,6 +107,15 @@ TEST(GeoDBTest, Search) {
   status = getdb()->SearchRadial(GeoPosition(46, 46), 200000, &values);
   ASSERT_TRUE(status.ok());
   ASSERT_EQ(values.size(), 1U);
+  ASSERT_EQ(values[0].id, id1);
+  ASSERT_EQ(values[0].value, value1);
+
+  // search all objects centered at the inserted object with a radius
+  // of 10 meters. The object must be returned only once.
+  values.clear();
+  status = getdb()->SearchRadial(pos1, 10, &values);
+  ASSERT_TRUE(status.ok());
+  ASSERT_EQ(values.size(), 1U);
 
   // search all objects centered at 46 degree latitude with
   // a radius of 2 kilometers. There should be none.
@@ -54,7 +54,7 @@ RedisLists::RedisLists(const std::string& db_path,
   Status s = DB::Open(options, db_name_, &db);
   if (!s.ok()) {
     std::cerr << "ERROR " << s.ToString() << std::endl;
-    assert(false);
+    throw RedisListException();
   }
 
   db_ = std::unique_ptr<DB>(db);